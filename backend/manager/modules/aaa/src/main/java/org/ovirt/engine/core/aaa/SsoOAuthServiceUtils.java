@@ -148,6 +148,7 @@ public class SsoOAuthServiceUtils {
     }
 
     public static Map<String, Object> revoke(String token, String scope) {
+        SsoTokenCache.getInstance().invalidate(token);
         try {
             HttpPost request = createPost("/oauth/revoke");
             setClientIdSecretBasicAuthHeader(request);
@@ -182,6 +183,14 @@ public class SsoOAuthServiceUtils {
     }
 
     public static Map<String, Object> getTokenInfo(String token, String scope) {
+        // The basic information of recently validated tokens is cached, to save the round trip to the SSO service:
+        boolean cacheable = StringUtils.isEmpty(scope);
+        if (cacheable) {
+            Map<String, Object> cached = SsoTokenCache.getInstance().get(token);
+            if (cached != null) {
+                return cached;
+            }
+        }
         try {
             HttpPost request = createPost("/oauth/token-info");
             setClientIdSecretBasicAuthHeader(request);
@@ -199,6 +208,9 @@ public class SsoOAuthServiceUtils {
                     ovirtData.put("group_ids", SsoOAuthServiceUtils.processGroupMembershipsFromJson(groupIds));
                 }
             }
+            if (cacheable) {
+                SsoTokenCache.getInstance().put(token, jsonData);
+            }
             return jsonData;
         } catch (Exception ex) {
             return buildMapWithError("server_error", ex.getMessage());
@@ -303,7 +315,17 @@ public class SsoOAuthServiceUtils {
     }
 
     public static Map<String, Object> getSessionStatues(Set<String> entries) {
-        return search(null, Collections.singletonMap("tokens", entries), "session-statuses", publicAuthzSearchScope);
+        Map<String, Object> response =
+                search(null, Collections.singletonMap("tokens", entries), "session-statuses", publicAuthzSearchScope);
+        Map<String, Boolean> statuses = (Map<String, Boolean>) response.get("result");
+        if (response.get("error") == null && statuses != null) {
+            SsoTokenCache.getInstance().invalidate(statuses.entrySet()
+                    .stream()
+                    .filter(entry -> !Boolean.TRUE.equals(entry.getValue()))
+                    .map(Map.Entry::getKey)
+                    .collect(toList()));
+        }
+        return response;
     }
 
     public static Map<String, Object> getProfileList() {
@@ -0,0 +1,137 @@
+package org.ovirt.engine.core.aaa;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.apache.commons.lang.SerializationException;
+import org.apache.commons.lang.SerializationUtils;
+import org.apache.commons.lang.math.NumberUtils;
+import org.ovirt.engine.core.utils.EngineLocalConfig;
+
+/**
+ * Caches the information of SSO tokens validated by the SSO service, so requests presenting the same token within a
+ * short time don't each send the token to the SSO service. The cache is bounded in size, evicting the least recently
+ * used tokens once full, and tokens expire from it after a short time, or when their SSO session expires if that is
+ * sooner. Tokens are removed from the cache when they are revoked, or found inactive by the engine.
+ * <p>
+ * The cache is disabled by default. Once enabled, a token revoked at the SSO service by anything other than the engine,
+ * such as a logout from another application, is still accepted by the engine until it expires from the cache.
+ * <p>
+ * The information of tokens is copied, including the maps and collections nested in it, on the way in and out of the
+ * cache, so callers are free to modify the information they get.
+ * <p>
+ * Only the basic information of tokens is cached, information requested with a scope, such as the password of the
+ * user, is always fetched from the SSO service.
+ */
+public class SsoTokenCache {
+
+    private static final String ERROR = "error";
+    private static final String ACTIVE = "active";
+    private static final String EXPIRES = "exp";
+
+    private static volatile SsoTokenCache instance;
+
+    private final int maxSize;
+    private final long timeToLive;
+    private final LongSupplier currentTime;
+    private final Map<String, CachedToken> tokens;
+
+    SsoTokenCache(int maxSize, long timeToLive, LongSupplier currentTime) {
+        this.maxSize = maxSize;
+        this.timeToLive = timeToLive;
+        this.currentTime = currentTime;
+        this.tokens = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedToken> eldest) {
+                return size() > SsoTokenCache.this.maxSize;
+            }
+        };
+    }
+
+    public static SsoTokenCache getInstance() {
+        if (instance == null) {
+            synchronized (SsoTokenCache.class) {
+                if (instance == null) {
+                    EngineLocalConfig config = EngineLocalConfig.getInstance();
+                    instance = new SsoTokenCache(
+                            config.getInteger("ENGINE_SSO_TOKEN_CACHE_SIZE", 0),
+                            TimeUnit.SECONDS.toMillis(config.getInteger("ENGINE_SSO_TOKEN_CACHE_TIME_TO_LIVE", 30)),
+                            System::currentTimeMillis);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * @return a deep copy of the cached information of the given token, or {@code null} if it isn't cached
+     */
+    public synchronized Map<String, Object> get(String token) {
+        CachedToken cached = tokens.get(token);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.expiresAt - currentTime.getAsLong() <= 0) {
+            tokens.remove(token);
+            return null;
+        }
+        return copy(cached.info);
+    }
+
+    /**
+     * Caches the information of the given token, as returned by the SSO service, if the token is valid. Information
+     * which can't be copied isn't cached.
+     */
+    public synchronized void put(String token, Map<String, Object> info) {
+        if (maxSize <= 0 || timeToLive <= 0 || info.get(ERROR) != null || Boolean.FALSE.equals(info.get(ACTIVE))) {
+            return;
+        }
+        HashMap<String, Object> copy;
+        try {
+            copy = copy(new HashMap<>(info));
+        } catch (SerializationException e) {
+            tokens.remove(token);
+            return;
+        }
+        long now = currentTime.getAsLong();
+        long expiresAt = now + timeToLive;
+        long sessionExpiresAt = NumberUtils.toLong(String.valueOf(info.get(EXPIRES)), expiresAt);
+        tokens.put(token, new CachedToken(copy, Math.min(expiresAt, sessionExpiresAt)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Serializable> T copy(T info) {
+        return (T) SerializationUtils.clone(info);
+    }
+
+    public synchronized void invalidate(String token) {
+        tokens.remove(token);
+    }
+
+    public synchronized void invalidate(Collection<String> tokens) {
+        this.tokens.keySet().removeAll(tokens);
+    }
+
+    public synchronized void invalidateAll() {
+        tokens.clear();
+    }
+
+    public synchronized int size() {
+        return tokens.size();
+    }
+
+    private static class CachedToken {
+        private final HashMap<String, Object> info;
+        private final long expiresAt;
+
+        CachedToken(HashMap<String, Object> info, long expiresAt) {
+            this.info = info;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package org.ovirt.engine.core.aaa;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class SsoTokenCacheTest {
+
+    private static final long TIME_TO_LIVE = 30_000;
+
+    private long now;
+    private SsoTokenCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        now = 1_000_000;
+        cache = new SsoTokenCache(2, TIME_TO_LIVE, () -> now);
+    }
+
+    /**
+     * Check that the information of a cached token is returned as a copy, so callers can't modify the cached entry.
+     */
+    @Test
+    public void testGetReturnsCopy() {
+        cache.put("token", tokenInfo());
+        Map<String, Object> info = cache.get("token");
+        assertNotNull(info);
+        assertEquals("admin@internal", info.get("user_id"));
+        info.put("user_id", "other");
+        assertEquals("admin@internal", cache.get("token").get("user_id"));
+    }
+
+    /**
+     * Check that the maps nested in the information of a cached token are copied too.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGetReturnsDeepCopy() {
+        Map<String, Object> info = tokenInfo();
+        Map<String, Object> ovirt = new HashMap<>();
+        ovirt.put("group_ids", new ArrayList<>(Arrays.asList("group")));
+        info.put("ovirt", ovirt);
+        cache.put("token", info);
+        ((List<String>) ovirt.get("group_ids")).add("added before get");
+
+        Map<String, Object> cached = (Map<String, Object>) cache.get("token").get("ovirt");
+        ((List<String>) cached.get("group_ids")).add("added after get");
+
+        assertEquals(Arrays.asList("group"), ((Map<String, Object>) cache.get("token").get("ovirt")).get("group_ids"));
+    }
+
+    @Test
+    public void testTokenExpiresAfterTimeToLive() {
+        cache.put("token", tokenInfo());
+        now += TIME_TO_LIVE - 1;
+        assertNotNull(cache.get("token"));
+        now += 1;
+        assertNull(cache.get("token"));
+        assertEquals(0, cache.size());
+    }
+
+    /**
+     * Check that a token isn't cached beyond the expiration of its SSO session.
+     */
+    @Test
+    public void testTokenExpiresWithSession() {
+        Map<String, Object> info = tokenInfo();
+        info.put("exp", String.valueOf(now + 1000));
+        cache.put("token", info);
+        now += 999;
+        assertNotNull(cache.get("token"));
+        now += 1;
+        assertNull(cache.get("token"));
+    }
+
+    @Test
+    public void testErrorIsNotCached() {
+        Map<String, Object> info = new HashMap<>();
+        info.put("error", "invalid_grant");
+        cache.put("token", info);
+        assertNull(cache.get("token"));
+    }
+
+    @Test
+    public void testInactiveTokenIsNotCached() {
+        Map<String, Object> info = tokenInfo();
+        info.put("active", false);
+        cache.put("token", info);
+        assertNull(cache.get("token"));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedTokenIsEvicted() {
+        cache.put("first", tokenInfo());
+        cache.put("second", tokenInfo());
+        cache.get("first");
+        cache.put("third", tokenInfo());
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get("first"));
+        assertNull(cache.get("second"));
+        assertNotNull(cache.get("third"));
+    }
+
+    @Test
+    public void testDisabledCache() {
+        cache = new SsoTokenCache(0, TIME_TO_LIVE, () -> now);
+        cache.put("token", tokenInfo());
+        assertNull(cache.get("token"));
+    }
+
+    @Test
+    public void testInvalidate() {
+        cache.put("first", tokenInfo());
+        cache.put("second", tokenInfo());
+        cache.invalidate("first");
+        assertNull(cache.get("first"));
+        assertNotNull(cache.get("second"));
+        cache.invalidate(Arrays.asList("second", "unknown"));
+        assertEquals(0, cache.size());
+    }
+
+    private static Map<String, Object> tokenInfo() {
+        Map<String, Object> info = new HashMap<>();
+        info.put("active", true);
+        info.put("user_id", "admin@internal");
+        return info;
+    }
+}
@@ -68,16 +68,16 @@ public class AddExternalEventCommand<T extends AddExternalEventParameters> exten
 
         switch (getEvent().getSeverity()){
             case NORMAL:
-                auditLogDirector.log(event, AuditLogType.EXTERNAL_EVENT_NORMAL, message);
+                auditLogDirector.logSynchronously(event, AuditLogType.EXTERNAL_EVENT_NORMAL, message);
                 break;
             case WARNING:
-                auditLogDirector.log(event, AuditLogType.EXTERNAL_EVENT_WARNING, message);
+                auditLogDirector.logSynchronously(event, AuditLogType.EXTERNAL_EVENT_WARNING, message);
                 break;
             case ERROR:
-                auditLogDirector.log(event, AuditLogType.EXTERNAL_EVENT_ERROR, message);
+                auditLogDirector.logSynchronously(event, AuditLogType.EXTERNAL_EVENT_ERROR, message);
                 break;
             case ALERT:
-                auditLogDirector.log(event, AuditLogType.EXTERNAL_ALERT, message);
+                auditLogDirector.logSynchronously(event, AuditLogType.EXTERNAL_ALERT, message);
                 break;
         }
 
@@ -1356,6 +1356,7 @@ public class AddVmCommand<T extends AddVmParameters> extends VmManagementCommand
         vmDynamic.setLastStopTime(new Date());
         vmDynamicDao.save(vmDynamic);
         getCompensationContext().snapshotNewEntity(vmDynamic);
+        invalidateVmDynamic();
     }
 
     private void addVmStatistics() {
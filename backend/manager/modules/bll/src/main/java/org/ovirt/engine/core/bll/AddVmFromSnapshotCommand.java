@@ -251,6 +251,7 @@ public class AddVmFromSnapshotCommand<T extends AddVmFromSnapshotParameters> ext
         // Assumption - this is last DB change of command, no need for compensation here
         snapshotDao.updateStatus(sourceSnapshotId, SnapshotStatus.OK);
         vmDynamicDao.updateStatus(getVmId(), VMStatus.Down);
+        invalidateVmDynamic();
     }
 
     @Override
@@ -25,6 +25,12 @@ public class AuditLogCleanupManager implements BackendService {
 
     private static final Logger log = LoggerFactory.getLogger(AuditLogCleanupManager.class);
 
+    /**
+     * The number of partitions created ahead of the current one, so the audit log is not left without a partition
+     * to write to if a cleanup is missed
+     */
+    private static final int PARTITIONS_AHEAD = 2;
+
     @Inject
     @ThreadPools(ThreadPools.ThreadPoolType.EngineScheduledThreadPool)
     private ManagedScheduledExecutorService executor;
@@ -53,6 +59,11 @@ public class AuditLogCleanupManager implements BackendService {
             DateTime latestTimeToKeep = DateTime.getNow().addDays(
                     Config.<Integer>getValue(ConfigValues.AuditLogAgingThreshold)
                             * -1);
+            int partitionDays = Config.<Integer> getValue(ConfigValues.AuditLogPartitionDays);
+            if (partitionDays > 0) {
+                auditLogDao.createPartitions(DateTime.getNow().addDays(partitionDays * PARTITIONS_AHEAD),
+                        partitionDays);
+            }
             auditLogDao.removeAllBeforeDate(latestTimeToKeep);
             log.debug("Finished cleanup");
         } catch (Throwable t) {
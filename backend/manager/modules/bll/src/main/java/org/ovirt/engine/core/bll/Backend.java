@@ -71,7 +71,10 @@ import org.ovirt.engine.core.common.utils.SimpleDependencyInjector;
 import org.ovirt.engine.core.common.utils.customprop.VmPropertiesUtils;
 import org.ovirt.engine.core.compat.DateTime;
 import org.ovirt.engine.core.compat.WindowsJavaTimezoneMapping;
+import org.ovirt.engine.core.dal.cache.EntityCacheManager;
 import org.ovirt.engine.core.dal.dbbroker.DbConnectionUtil;
+import org.ovirt.engine.core.dal.dbbroker.StoredProceduresPrecompiler;
+import org.ovirt.engine.core.dal.dbbroker.auditloghandling.AuditLogWriter;
 import org.ovirt.engine.core.dal.dbbroker.generic.DBConfigUtils;
 import org.ovirt.engine.core.dal.job.ExecutionMessageDirector;
 import org.ovirt.engine.core.dal.utils.CacheManager;
@@ -160,6 +163,12 @@ public class Backend implements BackendInternal, BackendCommandObjectsHandler {
     @Inject
     private DBConfigUtils dbConfigUtils;
 
+    @Inject
+    private EntityCacheManager entityCacheManager;
+
+    @Inject
+    private AuditLogWriter auditLogWriter;
+
     private void initHandlers() {
         BaseConditionFieldAutoCompleter.tagsHandler = tagsDirector;
         serviceLoader.load(VmHandler.class);
@@ -238,6 +247,11 @@ public class Backend implements BackendInternal, BackendCommandObjectsHandler {
         // initialize configuration utils to use DB
         Config.setConfigUtils(dbConfigUtils);
 
+        serviceLoader.load(StoredProceduresPrecompiler.class);
+        entityCacheManager.configure(Config.getValue(ConfigValues.EntityCacheTimeToLiveInSeconds),
+                Config.<Integer> getValue(ConfigValues.EntityCacheMaxSize));
+        auditLogWriter.start(Config.<Integer> getValue(ConfigValues.AuditLogQueueCapacity));
+
         // we need to initialize os-info before the compensations take place because of VmPoolCommandBase#osRepository
         initOsRepository();
 
@@ -12,6 +12,7 @@ import org.ovirt.engine.core.common.action.ActionType;
 import org.ovirt.engine.core.common.businessentities.BusinessEntity;
 import org.ovirt.engine.core.common.businessentities.BusinessEntitySnapshot;
 import org.ovirt.engine.core.common.businessentities.TransientCompensationBusinessEntity;
+import org.ovirt.engine.core.common.businessentities.VmDynamic;
 import org.ovirt.engine.core.compat.CommandStatus;
 import org.ovirt.engine.core.compat.Guid;
 import org.ovirt.engine.core.compat.backendcompat.CommandExecutionStatus;
@@ -23,6 +24,7 @@ import org.ovirt.engine.core.utils.Deserializer;
 import org.ovirt.engine.core.utils.ReflectionUtils;
 import org.ovirt.engine.core.utils.SerializationFactory;
 import org.ovirt.engine.core.utils.transaction.TransactionSupport;
+import org.ovirt.engine.core.vdsbroker.ResourceManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -41,6 +43,9 @@ public class CommandCompensator {
     @Inject
     private CommandCoordinatorUtil commandCoordinatorUtil;
 
+    @Inject
+    private ResourceManager resourceManager;
+
     /**
      * Handles compensation in case of uncompleted compensation-aware commands resulted from server failure.
      */
@@ -116,6 +121,10 @@ public class CommandCompensator {
                             BusinessEntitySnapshot.SnapshotType.class.getName(),
                             snapshot.getSnapshotType()));
                 }
+                // the dynamic data of VMs is compensated directly in the database, bypassing their managers
+                if (VmDynamic.class.equals(entityClass)) {
+                    resourceManager.invalidateVmDynamic(Guid.createGuidFromString(snapshot.getEntityId()));
+                }
             }
             if (compensationContext == null) {
                 businessEntitySnapshotDao.removeAllForCommandId(commandId);
@@ -648,6 +648,7 @@ public class MigrateVmCommand<T extends MigrateVmParameters> extends RunVmComman
             addNumaPinningForDedicated(getDestinationVdsId());
             setExclusiveCpuPinning(getDestinationVdsManager());
             vmDynamicDao.clearMigratingToVdsAndSetDynamicPinning(getVmId(), getVm().getCurrentCpuPinning(), getVm().getCurrentNumaPinning());
+            invalidateVmDynamic();
             updateVmAfterMigrationToDifferentCluster();
             plugPassthroughNics();
             initParametersForExternalNetworks(destinationVds, true);
@@ -1135,6 +1136,7 @@ public class MigrateVmCommand<T extends MigrateVmParameters> extends RunVmComman
     public void reportCompleted() {
         try {
             vmDynamicDao.clearMigratingToVds(getVmId());
+            invalidateVmDynamic();
             managedBlockStorageCommandUtil.disconnectManagedBlockStorageDisks(getVm(), vmHandler);
         } finally {
             super.reportCompleted();
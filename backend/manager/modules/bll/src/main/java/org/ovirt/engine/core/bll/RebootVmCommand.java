@@ -62,6 +62,7 @@ public class RebootVmCommand<T extends RebootVmParameters> extends VmOperationCo
                 if (getSucceeded()) {
                     resourceManager.getVmManager(getVmId()).setColdReboot(true);
                     vmDynamicDao.updateStatus(getVm().getId(), VMStatus.RebootInProgress);
+                    invalidateVmDynamic();
                 }
             } finally {
                 vmManager.unlockVm();
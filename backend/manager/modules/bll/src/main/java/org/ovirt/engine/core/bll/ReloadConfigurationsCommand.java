@@ -3,6 +3,8 @@ package org.ovirt.engine.core.bll;
 import java.util.Collections;
 import java.util.List;
 
+import javax.inject.Inject;
+
 import org.ovirt.engine.core.bll.context.CommandContext;
 import org.ovirt.engine.core.bll.utils.PermissionSubject;
 import org.ovirt.engine.core.common.AuditLogType;
@@ -13,6 +15,9 @@ import org.ovirt.engine.core.common.config.Config;
 @NonTransactiveCommandAttribute
 public class ReloadConfigurationsCommand<T extends ActionParametersBase> extends CommandBase<T> {
 
+    @Inject
+    private SearchQueryCache searchQueryCache;
+
     public ReloadConfigurationsCommand(T parameters, CommandContext cmdContext) {
         super(parameters, cmdContext);
     }
@@ -20,6 +25,7 @@ public class ReloadConfigurationsCommand<T extends ActionParametersBase> extends
     @Override
     protected void executeCommand() {
         Config.refresh();
+        searchQueryCache.reload();
         setSucceeded(true);
     }
 
@@ -278,6 +278,7 @@ public class RunVmCommand<T extends RunVmParams> extends RunVmCommandBase<T>
             }
             getVm().setLeaseInfo(retVal.getActionReturnValue());
             vmDynamicDao.updateVmLeaseInfo(getParameters().getVmId(), getVm().getLeaseInfo());
+            invalidateVmDynamic();
         }
         return;
     }
@@ -4,7 +4,6 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -60,7 +59,6 @@ import org.ovirt.engine.core.common.queries.QueryType;
 import org.ovirt.engine.core.common.queries.SearchParameters;
 import org.ovirt.engine.core.compat.DateTime;
 import org.ovirt.engine.core.compat.Guid;
-import org.ovirt.engine.core.compat.TimeSpan;
 import org.ovirt.engine.core.compat.Version;
 import org.ovirt.engine.core.dao.AuditLogDao;
 import org.ovirt.engine.core.dao.ClusterDao;
@@ -88,13 +86,17 @@ import org.ovirt.engine.core.searchbackend.SearchObjects;
 import org.ovirt.engine.core.searchbackend.SyntaxCheckerFactory;
 import org.ovirt.engine.core.searchbackend.SyntaxContainer;
 import org.ovirt.engine.core.searchbackend.SyntaxError;
+import org.ovirt.engine.core.searchbackend.SyntaxObject;
+import org.ovirt.engine.core.searchbackend.SyntaxObjectType;
 import org.ovirt.engine.core.utils.lock.EngineLock;
 import org.ovirt.engine.core.utils.lock.LockManager;
 
 public class SearchQuery<P extends SearchParameters> extends QueriesCommandBase<P> {
-    private static final Map<String, QueryData> queriesCache = new HashMap<>();
     public static final String LDAP = "LDAP";
 
+    @Inject
+    private SearchQueryCache searchQueryCache;
+
     @Inject
     private QuotaManager quotaManager;
 
@@ -512,33 +514,24 @@ public class SearchQuery<P extends SearchParameters> extends QueriesCommandBase<
     private QueryData initQueryData(boolean useCache) {
         final String ASTR = "*";
         QueryData data = null;
-        boolean isExistsValue = false;
-        boolean IsFromYesterday = false;
         boolean isSafe = false;
-        String searchKey = "";
+        SearchQueryCache.Key searchKey = null;
         try {
             if (getParameters().getMaxCount() < 0) {
                 throw new RuntimeException(String.format("Illegal max count value for query : %s", getParameters().getMaxCount()));
             }
             String searchText = getParameters().getSearchPattern();
-            // do not cache expressions with '*' since it is translated to specific IDs that might be changed
-            useCache = useCache && !searchText.contains(ASTR);
+            // do not cache expressions with '*' since it is translated to specific IDs that might be changed, nor the
+            // pages following the first keyset page, since each of them is searched once
+            useCache = useCache && !searchText.contains(ASTR) && getParameters().getSearchAfter() == null;
             if (useCache) {
                 // first lets check the cache of queries.
-                searchKey = String.format("%1$s,%2$s,%3$s", searchText, getParameters().getMaxCount(), getParameters().getCaseSensitive());
-                data = queriesCache.get(searchKey);
-                isExistsValue = data != null;
-
-                if (isExistsValue) {
-                    TimeSpan span = DateTime.getNow().subtract(new Date(data.getDate()));
-                    if (span.Days >= 1) {
-                        IsFromYesterday = true;
-                    }
-                }
+                searchKey = new SearchQueryCache.Key(getParameters());
+                data = searchQueryCache.get(searchKey);
             }
             // query not in cache or the cached entry is too old, process the
             // search text.
-            if (!isExistsValue || IsFromYesterday) {
+            if (data == null) {
                 log.debug("ResourceManager::searchBusinessObjects(''{}'') - entered", searchText);
                 final char AT='@';
                 String queryAuthz = null;
@@ -593,6 +586,8 @@ public class SearchQuery<P extends SearchParameters> extends QueriesCommandBase<
                 searchObj.setMaxCount(Math.min(Integer.MAX_VALUE, getParameters().getMaxCount()));
                 // setting FromSearch value
                 searchObj.setSearchFrom(getParameters().getSearchFrom());
+                searchObj.setKeysetPaging(getParameters().isKeysetPaging());
+                searchObj.setSearchAfter(getParameters().getSearchAfter());
                 if (searchObj.getError() != SyntaxError.NO_ERROR) {
                     int startPos = searchObj.getErrorStartPos();
                     int endPos = searchObj.getErrorEndPos();
@@ -609,22 +604,27 @@ public class SearchQuery<P extends SearchParameters> extends QueriesCommandBase<
                                     :
                                     searchObj.getError().toString();
                     getQueryReturnValue().setExceptionString(error);
-                    if (!queriesCache.containsKey(searchKey)) {
-                        // log error only once
+                    // log error only once in case that this query is scheduled to be called repeatedly
+                    if (markInvalid(searchKey)) {
                         log.info(
                                 "ResourceManager::searchBusinessObjects - erroneous search text - ''{}'' error - ''{}''",
                                 searchText,
                                 error);
-                        // add search to the cache in order not process it again in case that
-                        // this query is scheduled to be called repeatedly
-                        queriesCache.put(searchKey, null);
                     }
                     return null;
                 }
                 if (!searchObj.getvalid()) {
-                    if (!queriesCache.containsKey(searchKey)) {
+                    if (markInvalid(searchKey)) {
                         log.warn("ResourceManager::searchBusinessObjects - Invalid search text - ''{}''", searchText);
-                        queriesCache.put(searchKey, null);
+                    }
+                    return null;
+                }
+                if (searchObj.isKeysetPaging() && isSortedOrPaged(searchObj)) {
+                    getQueryReturnValue().setExceptionString(
+                            "Keyset paging can't be combined with 'sortby' or 'page' in the search text");
+                    if (markInvalid(searchKey)) {
+                        log.warn("ResourceManager::searchBusinessObjects - keyset paging of sorted or paged search - ''{}''",
+                                searchText);
                     }
                     return null;
                 }
@@ -639,34 +639,47 @@ public class SearchQuery<P extends SearchParameters> extends QueriesCommandBase<
                 // statically, therefore , in order to reflect changes in the parent tree
                 // we should not rely on the cached query in such case and have to build the
                 // query from scratch.
-                if (!containsStaticInValues(data.getQuery())) {
-                    queriesCache.put(searchKey, data);
+                if (searchKey != null && !containsStaticInValues(data.getQuery())) {
+                    searchQueryCache.put(searchKey, data);
                 }
             }
         } catch (SearchEngineIllegalCharacterException e) {
-            if (!queriesCache.containsKey(searchKey)) {
+            if (markInvalid(searchKey)) {
                 log.error("Search expression can not end with ESCAPE character: {}",
                         getParameters().getSearchPattern());
-                queriesCache.put(searchKey, null);
             }
             data = null;
         } catch (SqlInjectionException e) {
-            if (!queriesCache.containsKey(searchKey)) {
+            if (markInvalid(searchKey)) {
                 log.error("Sql Injection in search: {}", getParameters().getSearchPattern());
-                queriesCache.put(searchKey, null);
             }
             data = null;
         } catch (RuntimeException ex) {
-            if (!queriesCache.containsKey(searchKey)) {
+            if (markInvalid(searchKey)) {
                 log.warn("Illegal search: {}: {}", getParameters().getSearchPattern(), ex.getMessage());
                 log.debug("Exception", ex);
-                queriesCache.put(searchKey, null);
             }
             throw ex;
         }
         return data;
     }
 
+    private static boolean isSortedOrPaged(SyntaxContainer searchObj) {
+        for (SyntaxObject obj : searchObj) {
+            if (obj.getType() == SyntaxObjectType.SORTBY || obj.getType() == SyntaxObjectType.PAGE) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return {@code true} if the search should be reported as invalid, which happens only once for cached searches
+     */
+    private boolean markInvalid(SearchQueryCache.Key searchKey) {
+        return searchKey == null || searchQueryCache.markInvalid(searchKey);
+    }
+
     protected String getDefaultAuthz() {
         return AuthenticationProfileRepository.getInstance().getProfiles().get(0).getName();
     }
@@ -0,0 +1,225 @@
+package org.ovirt.engine.core.bll;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Singleton;
+import javax.management.ObjectName;
+
+import org.ovirt.engine.core.aaa.QueryData;
+import org.ovirt.engine.core.common.config.Config;
+import org.ovirt.engine.core.common.config.ConfigValues;
+import org.ovirt.engine.core.common.interfaces.SearchType;
+import org.ovirt.engine.core.common.queries.SearchParameters;
+import org.ovirt.engine.core.utils.MBeanUtils;
+
+/**
+ * A size bounded cache of the queries generated by the search syntax checker, evicting the least recently used queries
+ * once full and expiring queries a day after they were generated. The cache is cleared when the configuration is
+ * reloaded, since the generated queries depend on it.
+ * <p>
+ * Searches found to be invalid are remembered as well, so they are reported only once.
+ */
+@Singleton
+public class SearchQueryCache implements SearchQueryCacheMXBean {
+
+    static final long TIME_TO_LIVE_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+    private final LongSupplier currentTime;
+    private final Map<Key, CachedQuery> queries;
+    private int maxSize;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    private ObjectName objectName;
+
+    public SearchQueryCache() {
+        this(System::currentTimeMillis);
+    }
+
+    SearchQueryCache(LongSupplier currentTime) {
+        this.currentTime = currentTime;
+        this.queries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, CachedQuery> eldest) {
+                if (size() > maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @PostConstruct
+    void init() {
+        reload();
+        registerMBean();
+    }
+
+    /**
+     * Clears the cache and applies the current configuration.
+     */
+    public synchronized void reload() {
+        maxSize = Config.<Integer> getValue(ConfigValues.SearchQueryCacheMaxSize);
+        queries.clear();
+    }
+
+    /**
+     * @return the cached query of the given search, or {@code null} if it is not cached or it is invalid
+     */
+    public synchronized QueryData get(Key key) {
+        CachedQuery cached = queries.get(key);
+        if (cached != null && cached.expiresAt - currentTime.getAsLong() <= 0) {
+            queries.remove(key);
+            evictions.incrementAndGet();
+            cached = null;
+        }
+        if (cached == null || cached.data == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return cached.data;
+    }
+
+    public synchronized void put(Key key, QueryData data) {
+        queries.put(key, new CachedQuery(data, currentTime.getAsLong() + TIME_TO_LIVE_MILLIS));
+    }
+
+    /**
+     * Remembers the given search as invalid.
+     *
+     * @return {@code true} if the search wasn't known to be invalid, so it should be reported
+     */
+    public synchronized boolean markInvalid(Key key) {
+        CachedQuery cached = queries.get(key);
+        if (cached != null && cached.data == null && cached.expiresAt - currentTime.getAsLong() > 0) {
+            return false;
+        }
+        put(key, null);
+        return true;
+    }
+
+    @Override
+    public synchronized void invalidateAll() {
+        queries.clear();
+    }
+
+    private void registerMBean() {
+        if (objectName == null) {
+            objectName = MBeanUtils.registerMBean(this, "SearchQueryCache", "search query cache monitor");
+        }
+    }
+
+    @PreDestroy
+    private void unregisterMBean() {
+        MBeanUtils.unregisterMBean(objectName, "search query cache monitor");
+        objectName = null;
+    }
+
+    @Override
+    public long getHits() {
+        return hits.get();
+    }
+
+    @Override
+    public long getMisses() {
+        return misses.get();
+    }
+
+    @Override
+    public double getHitRate() {
+        long currentHits = hits.get();
+        long total = currentHits + misses.get();
+        return total == 0 ? 0 : (double) currentHits / total;
+    }
+
+    @Override
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    @Override
+    public synchronized int getSize() {
+        return queries.size();
+    }
+
+    @Override
+    public synchronized int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Identifies a search by everything its generated query depends on: the searched object type, the search text and
+     * the paging and matching parameters.
+     */
+    public static final class Key {
+        private final SearchType searchType;
+        private final String searchText;
+        private final int maxCount;
+        private final long searchFrom;
+        private final boolean caseSensitive;
+        private final boolean keysetPaging;
+
+        public Key(SearchParameters parameters) {
+            this.searchType = parameters.getSearchTypeValue();
+            this.searchText = parameters.getSearchPattern();
+            this.maxCount = parameters.getMaxCount();
+            this.searchFrom = parameters.getSearchFrom();
+            this.caseSensitive = parameters.getCaseSensitive();
+            this.keysetPaging = parameters.isKeysetPaging();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return searchType == other.searchType
+                    && Objects.equals(searchText, other.searchText)
+                    && maxCount == other.maxCount
+                    && searchFrom == other.searchFrom
+                    && caseSensitive == other.caseSensitive
+                    && keysetPaging == other.keysetPaging;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(searchType, searchText, maxCount, searchFrom, caseSensitive, keysetPaging);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s,%s,%s,%s,%s,%s",
+                    searchType,
+                    searchText,
+                    maxCount,
+                    searchFrom,
+                    caseSensitive,
+                    keysetPaging);
+        }
+    }
+
+    private static class CachedQuery {
+        private final QueryData data;
+        private final long expiresAt;
+
+        CachedQuery(QueryData data, long expiresAt) {
+            this.data = data;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package org.ovirt.engine.core.bll;
+
+/**
+ * The following interface is used as interface for JMX bean
+ */
+public interface SearchQueryCacheMXBean {
+
+    /**
+     * The following method will return the number of searches which used a cached query
+     */
+    long getHits();
+
+    /**
+     * The following method will return the number of searches which had to generate their query
+     */
+    long getMisses();
+
+    /**
+     * The following method will return the ratio of the searches which used a cached query
+     */
+    double getHitRate();
+
+    /**
+     * The following method will return the number of evicted and expired queries
+     */
+    long getEvictions();
+
+    /**
+     * The following method will return the number of currently cached queries
+     */
+    int getSize();
+
+    /**
+     * The following method will return the maximal number of cached queries
+     */
+    int getMaxSize();
+
+    /**
+     * The following method will allow to clear the cache via JMX console
+     */
+    void invalidateAll();
+}
@@ -199,6 +199,7 @@ public abstract class StopVmCommandBase<T extends StopVmParametersBase> extends
         getVm().setStatus(VMStatus.Down);
         snapshotDao.removeMemoryFromActiveSnapshot(getVmId());
         vmDynamicDao.update(getVm().getDynamicData());
+        invalidateVmDynamic();
         setSucceeded(true);
     }
 
@@ -437,6 +437,7 @@ public class UpdateVmCommand<T extends VmManagementParametersBase> extends VmMan
         // In case of remove lease only, VM lease info should set to null
         if (oldVm.getLeaseStorageDomainId() != null && newVmStatic.getLeaseStorageDomainId() == null) {
             vmDynamicDao.updateVmLeaseInfo(getVmId(), null);
+            invalidateVmDynamic();
         }
 
         // best effort to remove the lease from the previous storage domain
@@ -129,6 +129,14 @@ public abstract class VmCommand<T extends VmOperationParameterBase> extends Comm
         return resourceManager.getVmManager(getVmId());
     }
 
+    /**
+     * Notifies the manager of the VM that the dynamic data of the VM was changed directly in the database, so the
+     * manager doesn't keep using the data it knew before.
+     */
+    protected void invalidateVmDynamic() {
+        resourceManager.invalidateVmDynamic(getVmId());
+    }
+
     protected MacPool getMacPool() {
         if (this.macPool == null) {
             this.macPool = macPoolPerCluster.getMacPoolForCluster(getClusterId(), getContext());
@@ -1131,6 +1131,7 @@ public class VmHandler implements BackendService {
         if (vm.getOvirtGuestAgentStatus() != ovirtGuestAgentStatus) {
             vm.setOvirtGuestAgentStatus(ovirtGuestAgentStatus);
             vmDynamicDao.updateOvirtGuestAgentStatus(vm.getId(), vm.getOvirtGuestAgentStatus());
+            resourceManager.invalidateVmDynamic(vm.getId());
         }
     }
 
@@ -1138,6 +1139,7 @@ public class VmHandler implements BackendService {
         if (vm.getQemuGuestAgentStatus() != qemuGuestAgentStatus) {
             vm.setQemuGuestAgentStatus(qemuGuestAgentStatus);
             vmDynamicDao.updateQemuGuestAgentStatus(vm.getId(), vm.getQemuGuestAgentStatus());
+            resourceManager.invalidateVmDynamic(vm.getId());
         }
     }
 
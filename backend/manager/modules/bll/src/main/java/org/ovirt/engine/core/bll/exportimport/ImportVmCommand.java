@@ -1405,6 +1405,7 @@ public class ImportVmCommand<T extends ImportVmParameters> extends ImportVmComma
             endActionOnDisks();
             removeVmNetworkInterfaces();
             vmDynamicDao.remove(getVmId());
+            invalidateVmDynamic();
             vmStatisticsDao.remove(getVmId());
             vmStaticDao.remove(getVmId());
             setSucceeded(true);
@@ -728,6 +728,7 @@ public abstract class ImportVmCommandBase<T extends ImportVmParameters> extends
         VmDynamic tempVar = createVmDynamic();
         vmDynamicDao.save(tempVar);
         getCompensationContext().snapshotNewEntity(tempVar);
+        invalidateVmDynamic();
     }
 
     protected VmDynamic createVmDynamic() {
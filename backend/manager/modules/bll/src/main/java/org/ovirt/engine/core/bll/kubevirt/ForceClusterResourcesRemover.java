@@ -23,6 +23,7 @@ import org.ovirt.engine.core.dao.VmStaticDao;
 import org.ovirt.engine.core.dao.VmStatisticsDao;
 import org.ovirt.engine.core.dao.VmTemplateDao;
 import org.ovirt.engine.core.utils.transaction.TransactionSupport;
+import org.ovirt.engine.core.vdsbroker.ResourceManager;
 
 @ApplicationScoped
 public class ForceClusterResourcesRemover {
@@ -34,6 +35,8 @@ public class ForceClusterResourcesRemover {
     @Inject
     private VmDynamicDao vmDynamicDao;
     @Inject
+    private ResourceManager resourceManager;
+    @Inject
     private VmStaticDao vmStaticDao;
     @Inject
     private SnapshotDao snapshotDao;
@@ -55,6 +58,7 @@ public class ForceClusterResourcesRemover {
             vms.stream().map(snapshotDao::getAll).flatMap(List::stream).forEach(s -> snapshotDao.remove(s.getId()));
             vmStatisticsDao.removeAll(vms);
             vmDynamicDao.removeAll(vms);
+            vms.forEach(resourceManager::invalidateVmDynamic);
             vms.stream()
                     .map(id -> new Pair<>(id, tagDao.getAllForVm(id.toString())))
                     .forEach(v -> v.getSecond()
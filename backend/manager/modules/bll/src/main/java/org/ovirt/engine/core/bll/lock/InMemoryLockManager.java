@@ -1,18 +1,11 @@
 package org.ovirt.engine.core.bll.lock;
 
 import java.lang.management.ManagementFactory;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
-import java.util.Map.Entry;
-import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
-import java.util.stream.Collectors;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -26,9 +19,8 @@ import javax.ejb.TransactionAttributeType;
 import javax.management.MBeanServer;
 import javax.management.ObjectName;
 
-import org.ovirt.engine.core.common.errors.EngineMessage;
 import org.ovirt.engine.core.common.locks.LockInfo;
-import org.ovirt.engine.core.common.utils.Pair;
+import org.ovirt.engine.core.utils.EngineLocalConfig;
 import org.ovirt.engine.core.utils.lock.EngineLock;
 import org.ovirt.engine.core.utils.lock.LockManager;
 import org.ovirt.engine.core.utils.lock.LockingResult;
@@ -36,7 +28,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * The following class an implementation of internal locking mechanism
+ * The following class an implementation of internal locking mechanism. By default all the operations are synchronized
+ * by a single global lock, when ENGINE_LOCK_MANAGER_STRIPES is set they are delegated to a
+ * {@link StripedLockManager} with that number of stripes instead.
  */
 @Startup
 @Singleton(name = "LockManager")
@@ -45,8 +39,8 @@ import org.slf4j.LoggerFactory;
 @Local(LockManager.class)
 public class InMemoryLockManager implements LockManager, LockManagerMonitorMXBean {
 
-    /** A map which is contains all internal representation of locks **/
-    private final Map<String, InternalLockView> locks = new HashMap<>();
+    /** A table which is contains all internal representation of locks **/
+    private final LockTable locks = new LockTable();
     /** A lock which is used to synchronized acquireLock(), acquireLockWait() and releaseLock() operations **/
     private final Lock globalLock = new ReentrantLock();
     /** A condition which is used in order to notify for waiting threads that some lock was released**/
@@ -56,8 +50,25 @@ public class InMemoryLockManager implements LockManager, LockManagerMonitorMXBea
     private ObjectName objectName = null;
     private static final Logger log = LoggerFactory.getLogger(InMemoryLockManager.class);
 
+    /** The striped implementation all the operations are delegated to, if configured **/
+    private StripedLockManager stripedLockManager;
+
+    public InMemoryLockManager() {
+    }
+
+    InMemoryLockManager(int stripes) {
+        if (stripes > 0) {
+            stripedLockManager = new StripedLockManager(stripes);
+        }
+    }
+
     @PostConstruct
     public void registerInJMX() {
+        int stripes = EngineLocalConfig.getInstance().getInteger("ENGINE_LOCK_MANAGER_STRIPES", 0);
+        if (stripes > 0) {
+            stripedLockManager = new StripedLockManager(stripes);
+            log.info("Using striped lock manager with {} stripes", stripes);
+        }
         try {
             objectName = new ObjectName("InMemoryLockManager:type=" + this.getClass().getName());
             platformMBeanServer = ManagementFactory.getPlatformMBeanServer();
@@ -78,6 +89,9 @@ public class InMemoryLockManager implements LockManager, LockManagerMonitorMXBea
 
     @Override
     public LockingResult acquireLock(EngineLock lock) {
+        if (stripedLockManager != null) {
+            return stripedLockManager.acquireLock(lock);
+        }
         log.debug("Before acquiring lock '{}'", lock);
         globalLock.lock();
         try {
@@ -89,6 +103,10 @@ public class InMemoryLockManager implements LockManager, LockManagerMonitorMXBea
 
     @Override
     public void acquireLockWait(EngineLock lock) {
+        if (stripedLockManager != null) {
+            stripedLockManager.acquireLockWait(lock);
+            return;
+        }
         log.debug("Before acquiring and wait lock '{}'", lock);
         validateLockForAcquireAndWait(lock);
         globalLock.lock();
@@ -106,6 +124,9 @@ public class InMemoryLockManager implements LockManager, LockManagerMonitorMXBea
 
     @Override
     public LockingResult acquireLockWait(EngineLock lock, long timeoutMillis) {
+        if (stripedLockManager != null) {
+            return stripedLockManager.acquireLockWait(lock, timeoutMillis);
+        }
         log.debug("Before acquiring wait or timeout lock '{}'", lock);
         validateLockForAcquireAndWait(lock);
         if (timeoutMillis <= 0) {
@@ -134,7 +155,7 @@ public class InMemoryLockManager implements LockManager, LockManagerMonitorMXBea
         return lockAcquired;
     }
 
-    private void validateLockForAcquireAndWait(EngineLock lock) {
+    static void validateLockForAcquireAndWait(EngineLock lock) {
         if (lock.getSharedLocks() != null && lock.getExclusiveLocks().size() > 1) {
             log.error("Trying to acquire or wait on shared or more than one exclusive locks '{}'", lock);
             throw new IllegalArgumentException("Trying to acquire or wait on shared or more than one exclusive locks");
@@ -143,17 +164,14 @@ public class InMemoryLockManager implements LockManager, LockManagerMonitorMXBea
 
     @Override
     public void releaseLock(EngineLock lock) {
+        if (stripedLockManager != null) {
+            stripedLockManager.releaseLock(lock);
+            return;
+        }
         log.debug("Before releasing a lock '{}'", lock);
         globalLock.lock();
         try {
-            if (lock.getSharedLocks() != null) {
-                lock.getSharedLocks().entrySet().stream().forEach(entry ->
-                    releaseSharedLock(buildHashMapKey(entry), entry.getValue().getSecond()));
-            }
-            if (lock.getExclusiveLocks() != null) {
-                lock.getExclusiveLocks().entrySet().stream().forEach(entry ->
-                    releaseExclusiveLock(buildHashMapKey(entry)));
-            }
+            LockTable.release(lock, key -> locks);
             releasedLock.signalAll();
         } finally {
             globalLock.unlock();
@@ -162,6 +180,10 @@ public class InMemoryLockManager implements LockManager, LockManagerMonitorMXBea
 
     @Override
     public void clear() {
+        if (stripedLockManager != null) {
+            stripedLockManager.clear();
+            return;
+        }
         log.warn("Cleaning all in memory locks");
         globalLock.lock();
         try {
@@ -174,21 +196,18 @@ public class InMemoryLockManager implements LockManager, LockManagerMonitorMXBea
 
     @Override
     public boolean releaseLock(String lockId) {
+        if (stripedLockManager != null) {
+            return stripedLockManager.releaseLock(lockId);
+        }
         log.warn("The following lock is going to be released via external call, lockId '{}', error message can be"
                 + " left for shared lock",
                 lockId);
         globalLock.lock();
         try {
-            InternalLockView lock = locks.get(lockId);
-            if (lock == null) {
+            if (!locks.release(lockId)) {
                 log.warn("Lock with id '{}' does not exist and can not be released via external call", lockId);
                 return false;
             }
-            if (lock.getExclusive()) {
-                releaseExclusiveLock(lockId);
-            } else {
-                releaseSharedLock(lockId, null);
-            }
             releasedLock.signalAll();
         } finally {
             globalLock.unlock();
@@ -199,223 +218,38 @@ public class InMemoryLockManager implements LockManager, LockManagerMonitorMXBea
 
     @Override
     public List<String> showAllLocks() {
+        if (stripedLockManager != null) {
+            return stripedLockManager.showAllLocks();
+        }
         log.debug("All in memory locks will be shown");
         globalLock.lock();
         try {
-            return locks.entrySet().stream().map(this::createLockDescription).collect(Collectors.toList());
+            return locks.describeLocks();
         } finally {
             globalLock.unlock();
             log.debug("All in memory locks were shown");
         }
     }
 
-    private String createLockDescription(Entry<String, InternalLockView> e) {
-        return "The object id is : " + e.getKey() + ' ' + e.getValue();
-    }
-
-    /**
-     * Internal method should build a key for lock
-     */
-    private String buildHashMapKey(Entry<String, Pair<String, String>> entry) {
-        return entry.getKey() + entry.getValue().getFirst();
-    }
-
     /**
-     * The following method contains a logic for acquiring a lock. It is comprised of two steps:
-     * 1. Check if the lock can be acquired
-     * 2. If the first step succeeds, acquire a lock
+     * The following method contains a logic for acquiring a lock, see {@link LockTable#acquire}
      */
     private LockingResult acquireLockInternal(EngineLock lock) {
-        var result = acquireLockInternalStep(lock, true);
-        if (!result.isAcquired()) {
-            return result;
-        }
-
-        result = acquireLockInternalStep(lock, false);
-        if (!result.isAcquired()) {
-            return result;
-        }
-
-        log.debug("Success acquiring lock '{}'", lock);
-        return LockingResult.success();
-    }
-
-    private LockingResult acquireLockInternalStep(EngineLock lock, boolean checkOnly) {
-        if (lock.getSharedLocks() != null) {
-            for (Entry<String, Pair<String, String>> entry : lock.getSharedLocks().entrySet()) {
-                LockingResult result =
-                        insertSharedLock(buildHashMapKey(entry), entry.getValue().getSecond(), checkOnly);
-                if (!result.isAcquired()) {
-                    log.debug("Failed to acquire lock. Shared lock is taken for key '{}', value '{}'",
-                            entry.getKey(),
-                            entry.getValue().getFirst());
-                    return result;
-                }
-            }
-        }
-        if (lock.getExclusiveLocks() != null) {
-            for (Entry<String, Pair<String, String>> entry : lock.getExclusiveLocks().entrySet()) {
-                LockingResult result =
-                        insertExclusiveLock(buildHashMapKey(entry), entry.getValue().getSecond(), checkOnly);
-                if (!result.isAcquired()) {
-                    log.debug("Failed to acquire lock. Exclusive lock is taken for key '{}', value '{}'",
-                            entry.getKey(),
-                            entry.getValue().getFirst());
-                    return result;
-                }
-            }
-        }
-        return LockingResult.success();
-    }
-
-    /**
-     * The following method should insert an "shared" internal lock
-     * @param message
-     *            - error message associated with lock
-     */
-    private LockingResult insertSharedLock(String key, String message, boolean isCheckOnly) {
-        InternalLockView lock = locks.get(key);
-        if (lock != null) {
-            if (!isCheckOnly) {
-                lock.increaseCount();
-                lock.addMessage(message);
-            } else if (lock.getExclusive()) {
-                return LockingResult.fail(lock.getMessages());
-            }
-        } else if (!isCheckOnly) {
-            locks.put(key, new InternalLockView(1, message, false));
-        }
-        return LockingResult.success();
-    }
-
-    /**
-     * The following method will add exclusive lock, the exclusive key can be
-     * added only if there is not exist any shared or exclusive lock for given key
-     */
-    private LockingResult insertExclusiveLock(String key, String message, boolean isCheckOnly) {
-        InternalLockView lock = locks.get(key);
-        if (lock != null) {
-            return LockingResult.fail(lock.getMessages());
-        }
-        if (!isCheckOnly) {
-            locks.put(key, new InternalLockView(0, message, true));
-        }
-        return LockingResult.success();
-    }
-
-    private void releaseExclusiveLock(String key) {
-        InternalLockView lock = locks.get(key);
-        if (lock != null && lock.getExclusive()) {
-            locks.remove(key);
-            log.debug("The exclusive lock for key '{}' is released and lock is removed from map", key);
-        } else if (lock == null) {
-            log.warn("Trying to release exclusive lock which does not exist, lock key: '{}'", key);
-        } else {
-            log.warn("Trying to release exclusive lock but lock is not exclusive. lock key: '{}'", key);
-        }
-    }
-
-    private void releaseSharedLock(String key, String message) {
-        InternalLockView lock = locks.get(key);
-        if (lock != null) {
-            if (lock.getCount() > 0) {
-                lock.decreaseCount();
-                log.debug("The shared lock for key '{}' is released.", key);
-                if (lock.getCount() == 0) {
-                    locks.remove(key);
-                    log.debug("The shared lock for key '{}' is removed from map", key);
-                } else {
-                    lock.removeMessage(message);
-                }
-            } else {
-                log.warn("Trying to decrease a shared lock for key: '{}' , but shared index is 0", key);
-            }
-        } else {
-            log.warn("Trying to release a shared lock for key: '{}' , but lock does not exist", key);
-        }
+        return LockTable.acquire(lock, key -> locks);
     }
 
     @Override
     public LockInfo getLockInfo(String key) {
-        InternalLockView internalLockView = locks.get(key);
-        if (internalLockView == null) {
-            return null;
+        if (stripedLockManager != null) {
+            return stripedLockManager.getLockInfo(key);
         }
-
-        Set<String> messages = internalLockView.getMessages();
-        messages.remove(EngineMessage.ACTION_TYPE_FAILED_OBJECT_LOCKED.name());
-        if (messages.isEmpty()) {
-            // EngineMessage.ACTION_TYPE_FAILED_OBJECT_LOCKED should only be used for
-            // short locks (locks for the execute phase) so we filter it and if no
-            // other lock exists, the entity should be displayed as unlocked
-            return null;
-        }
-
-        return new LockInfo(internalLockView.getExclusive(), messages);
+        return locks.getLockInfo(key);
     }
 
     @Override
     public boolean isExclusiveLockPresent(EngineLock lock) {
         return lock.getExclusiveLocks() != null &&
             lock.getExclusiveLocks().entrySet().stream()
-                .anyMatch(entry -> getLockInfo(buildHashMapKey(entry)) != null);
-    }
-
-    /**
-     * The following class represents different locks which are kept inside InMemoryLockManager
-     */
-    private static class InternalLockView {
-
-        /** Number for shared locks **/
-        private int count;
-        /** Indicate if the lock is exclusive and not allowing any other exclusive/shared locks with the same key **/
-        private final boolean exclusive;
-        /** Contains error messages for that key **/
-        private List<String> messages;
-
-        public InternalLockView(int count, String message, boolean exclusive) {
-            this.count = count;
-            this.exclusive = exclusive;
-            messages = new ArrayList<>();
-            messages.add(message);
-        }
-
-        public boolean getExclusive() {
-            return exclusive;
-        }
-
-        public int getCount() {
-            return count;
-        }
-
-        public void increaseCount() {
-            count++;
-        }
-
-        public void decreaseCount() {
-            count--;
-        }
-
-        public Set<String> getMessages() {
-            return new HashSet<>(messages);
-        }
-
-        public void addMessage(String message) {
-            messages.add(message);
-        }
-
-        public void removeMessage(String message) {
-            if (message != null) {
-                messages.remove(message);
-            }
-        }
-
-        @Override
-        public String toString() {
-            if(exclusive) {
-                return "The lock is exclusive";
-            }
-            return "The lock is shared and a number of shared locks is " + count;
-        }
+                .anyMatch(entry -> getLockInfo(LockTable.buildHashMapKey(entry)) != null);
     }
 }
@@ -0,0 +1,320 @@
+package org.ovirt.engine.core.bll.lock;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.ovirt.engine.core.common.errors.EngineMessage;
+import org.ovirt.engine.core.common.locks.LockInfo;
+import org.ovirt.engine.core.common.utils.Pair;
+import org.ovirt.engine.core.utils.lock.EngineLock;
+import org.ovirt.engine.core.utils.lock.LockingResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The following class keeps the internal representation of the locks held by the lock managers. It is not thread safe,
+ * the lock managers are responsible for guarding it.
+ */
+class LockTable {
+
+    private static final Logger log = LoggerFactory.getLogger(LockTable.class);
+
+    /** A map which is contains all internal representation of locks **/
+    private final Map<String, InternalLockView> locks = new HashMap<>();
+
+    /**
+     * Internal method should build a key for lock
+     */
+    static String buildHashMapKey(Entry<String, Pair<String, String>> entry) {
+        return entry.getKey() + entry.getValue().getFirst();
+    }
+
+    /**
+     * @return the keys of all the locks in the given engine lock
+     */
+    static List<String> getKeys(EngineLock lock) {
+        List<String> keys = new ArrayList<>();
+        if (lock.getSharedLocks() != null) {
+            lock.getSharedLocks().entrySet().forEach(entry -> keys.add(buildHashMapKey(entry)));
+        }
+        if (lock.getExclusiveLocks() != null) {
+            lock.getExclusiveLocks().entrySet().forEach(entry -> keys.add(buildHashMapKey(entry)));
+        }
+        return keys;
+    }
+
+    /**
+     * @param tables
+     *            - provides the table which holds each of the keys, all of them should be guarded by the caller
+     * @return the keys of the given engine lock which can't be acquired because of the locks which are currently held
+     */
+    static List<String> getConflictingKeys(EngineLock lock, Function<String, LockTable> tables) {
+        List<String> keys = new ArrayList<>();
+        if (lock.getSharedLocks() != null) {
+            lock.getSharedLocks().entrySet().forEach(entry -> {
+                String key = buildHashMapKey(entry);
+                InternalLockView heldLock = tables.apply(key).locks.get(key);
+                if (heldLock != null && heldLock.getExclusive()) {
+                    keys.add(key);
+                }
+            });
+        }
+        if (lock.getExclusiveLocks() != null) {
+            lock.getExclusiveLocks().entrySet().forEach(entry -> {
+                String key = buildHashMapKey(entry);
+                if (tables.apply(key).locks.containsKey(key)) {
+                    keys.add(key);
+                }
+            });
+        }
+        return keys;
+    }
+
+    /**
+     * The following method contains a logic for acquiring a lock. It is comprised of two steps:
+     * 1. Check if the lock can be acquired
+     * 2. If the first step succeeds, acquire a lock
+     * @param tables
+     *            - provides the table which holds each of the keys, all of them should be guarded by the caller
+     */
+    static LockingResult acquire(EngineLock lock, Function<String, LockTable> tables) {
+        var result = acquireStep(lock, tables, true);
+        if (!result.isAcquired()) {
+            return result;
+        }
+
+        result = acquireStep(lock, tables, false);
+        if (!result.isAcquired()) {
+            return result;
+        }
+
+        log.debug("Success acquiring lock '{}'", lock);
+        return LockingResult.success();
+    }
+
+    private static LockingResult acquireStep(EngineLock lock, Function<String, LockTable> tables, boolean checkOnly) {
+        if (lock.getSharedLocks() != null) {
+            for (Entry<String, Pair<String, String>> entry : lock.getSharedLocks().entrySet()) {
+                String key = buildHashMapKey(entry);
+                LockingResult result = tables.apply(key).insertSharedLock(key, entry.getValue().getSecond(), checkOnly);
+                if (!result.isAcquired()) {
+                    log.debug("Failed to acquire lock. Shared lock is taken for key '{}', value '{}'",
+                            entry.getKey(),
+                            entry.getValue().getFirst());
+                    return result;
+                }
+            }
+        }
+        if (lock.getExclusiveLocks() != null) {
+            for (Entry<String, Pair<String, String>> entry : lock.getExclusiveLocks().entrySet()) {
+                String key = buildHashMapKey(entry);
+                LockingResult result =
+                        tables.apply(key).insertExclusiveLock(key, entry.getValue().getSecond(), checkOnly);
+                if (!result.isAcquired()) {
+                    log.debug("Failed to acquire lock. Exclusive lock is taken for key '{}', value '{}'",
+                            entry.getKey(),
+                            entry.getValue().getFirst());
+                    return result;
+                }
+            }
+        }
+        return LockingResult.success();
+    }
+
+    /**
+     * Releases all the locks in the given engine lock
+     * @param tables
+     *            - provides the table which holds each of the keys, all of them should be guarded by the caller
+     */
+    static void release(EngineLock lock, Function<String, LockTable> tables) {
+        if (lock.getSharedLocks() != null) {
+            lock.getSharedLocks().entrySet().forEach(entry -> {
+                String key = buildHashMapKey(entry);
+                tables.apply(key).releaseSharedLock(key, entry.getValue().getSecond());
+            });
+        }
+        if (lock.getExclusiveLocks() != null) {
+            lock.getExclusiveLocks().entrySet().forEach(entry -> {
+                String key = buildHashMapKey(entry);
+                tables.apply(key).releaseExclusiveLock(key);
+            });
+        }
+    }
+
+    /**
+     * Releases the lock with the given key, whether it is shared or exclusive
+     * @return false if there is no lock with the given key
+     */
+    boolean release(String key) {
+        InternalLockView lock = locks.get(key);
+        if (lock == null) {
+            return false;
+        }
+        if (lock.getExclusive()) {
+            releaseExclusiveLock(key);
+        } else {
+            releaseSharedLock(key, null);
+        }
+        return true;
+    }
+
+    void clear() {
+        locks.clear();
+    }
+
+    List<String> describeLocks() {
+        return locks.entrySet().stream()
+                .map(e -> "The object id is : " + e.getKey() + ' ' + e.getValue())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * The following method should insert an "shared" internal lock
+     * @param message
+     *            - error message associated with lock
+     */
+    private LockingResult insertSharedLock(String key, String message, boolean isCheckOnly) {
+        InternalLockView lock = locks.get(key);
+        if (lock != null) {
+            if (!isCheckOnly) {
+                lock.increaseCount();
+                lock.addMessage(message);
+            } else if (lock.getExclusive()) {
+                return LockingResult.fail(lock.getMessages());
+            }
+        } else if (!isCheckOnly) {
+            locks.put(key, new InternalLockView(1, message, false));
+        }
+        return LockingResult.success();
+    }
+
+    /**
+     * The following method will add exclusive lock, the exclusive key can be
+     * added only if there is not exist any shared or exclusive lock for given key
+     */
+    private LockingResult insertExclusiveLock(String key, String message, boolean isCheckOnly) {
+        InternalLockView lock = locks.get(key);
+        if (lock != null) {
+            return LockingResult.fail(lock.getMessages());
+        }
+        if (!isCheckOnly) {
+            locks.put(key, new InternalLockView(0, message, true));
+        }
+        return LockingResult.success();
+    }
+
+    private void releaseExclusiveLock(String key) {
+        InternalLockView lock = locks.get(key);
+        if (lock != null && lock.getExclusive()) {
+            locks.remove(key);
+            log.debug("The exclusive lock for key '{}' is released and lock is removed from map", key);
+        } else if (lock == null) {
+            log.warn("Trying to release exclusive lock which does not exist, lock key: '{}'", key);
+        } else {
+            log.warn("Trying to release exclusive lock but lock is not exclusive. lock key: '{}'", key);
+        }
+    }
+
+    private void releaseSharedLock(String key, String message) {
+        InternalLockView lock = locks.get(key);
+        if (lock != null) {
+            if (lock.getCount() > 0) {
+                lock.decreaseCount();
+                log.debug("The shared lock for key '{}' is released.", key);
+                if (lock.getCount() == 0) {
+                    locks.remove(key);
+                    log.debug("The shared lock for key '{}' is removed from map", key);
+                } else {
+                    lock.removeMessage(message);
+                }
+            } else {
+                log.warn("Trying to decrease a shared lock for key: '{}' , but shared index is 0", key);
+            }
+        } else {
+            log.warn("Trying to release a shared lock for key: '{}' , but lock does not exist", key);
+        }
+    }
+
+    LockInfo getLockInfo(String key) {
+        InternalLockView internalLockView = locks.get(key);
+        if (internalLockView == null) {
+            return null;
+        }
+
+        Set<String> messages = internalLockView.getMessages();
+        messages.remove(EngineMessage.ACTION_TYPE_FAILED_OBJECT_LOCKED.name());
+        if (messages.isEmpty()) {
+            // EngineMessage.ACTION_TYPE_FAILED_OBJECT_LOCKED should only be used for
+            // short locks (locks for the execute phase) so we filter it and if no
+            // other lock exists, the entity should be displayed as unlocked
+            return null;
+        }
+
+        return new LockInfo(internalLockView.getExclusive(), messages);
+    }
+
+    /**
+     * The following class represents different locks which are kept inside the lock managers
+     */
+    private static class InternalLockView {
+
+        /** Number for shared locks **/
+        private int count;
+        /** Indicate if the lock is exclusive and not allowing any other exclusive/shared locks with the same key **/
+        private final boolean exclusive;
+        /** Contains error messages for that key **/
+        private List<String> messages;
+
+        public InternalLockView(int count, String message, boolean exclusive) {
+            this.count = count;
+            this.exclusive = exclusive;
+            messages = new ArrayList<>();
+            messages.add(message);
+        }
+
+        public boolean getExclusive() {
+            return exclusive;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public void increaseCount() {
+            count++;
+        }
+
+        public void decreaseCount() {
+            count--;
+        }
+
+        public Set<String> getMessages() {
+            return new HashSet<>(messages);
+        }
+
+        public void addMessage(String message) {
+            messages.add(message);
+        }
+
+        public void removeMessage(String message) {
+            if (message != null) {
+                messages.remove(message);
+            }
+        }
+
+        @Override
+        public String toString() {
+            if(exclusive) {
+                return "The lock is exclusive";
+            }
+            return "The lock is shared and a number of shared locks is " + count;
+        }
+    }
+}
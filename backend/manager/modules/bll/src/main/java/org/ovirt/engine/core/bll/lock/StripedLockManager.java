@@ -0,0 +1,361 @@
+package org.ovirt.engine.core.bll.lock;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.ovirt.engine.core.common.locks.LockInfo;
+import org.ovirt.engine.core.utils.lock.EngineLock;
+import org.ovirt.engine.core.utils.lock.LockManager;
+import org.ovirt.engine.core.utils.lock.LockingResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The following class is an implementation of the internal locking mechanism which stripes the locks by the hash of
+ * their keys, so operations on unrelated keys don't contend on a single global lock.
+ * <p>
+ * An {@link EngineLock} which spans several stripes takes their locks in ascending order, which keeps the multi-key
+ * acquisition deadlock free. Threads which wait for a lock register on the keys they failed to acquire and are
+ * notified only upon the release of these keys.
+ */
+class StripedLockManager implements LockManager, LockManagerMonitorMXBean {
+
+    private static final Logger log = LoggerFactory.getLogger(StripedLockManager.class);
+
+    private final Stripe[] stripes;
+
+    StripedLockManager(int stripesCount) {
+        if (stripesCount <= 0) {
+            throw new IllegalArgumentException("stripes count must be positive");
+        }
+        stripes = new Stripe[stripesCount];
+        for (int i = 0; i < stripesCount; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    @Override
+    public LockingResult acquireLock(EngineLock lock) {
+        log.debug("Before acquiring lock '{}'", lock);
+        Stripe[] lockStripes = getStripes(LockTable.getKeys(lock));
+        lockAll(lockStripes);
+        try {
+            return LockTable.acquire(lock, key -> getStripe(key).locks);
+        } finally {
+            unlockAll(lockStripes);
+        }
+    }
+
+    @Override
+    public void acquireLockWait(EngineLock lock) {
+        log.debug("Before acquiring and wait lock '{}'", lock);
+        InMemoryLockManager.validateLockForAcquireAndWait(lock);
+        try {
+            acquireLockWait(lock, false, 0L);
+        } catch (InterruptedException ignore) {
+
+        }
+    }
+
+    @Override
+    public LockingResult acquireLockWait(EngineLock lock, long timeoutMillis) {
+        log.debug("Before acquiring wait or timeout lock '{}'", lock);
+        InMemoryLockManager.validateLockForAcquireAndWait(lock);
+        if (timeoutMillis <= 0) {
+            throw new IllegalArgumentException("timeout must be positive");
+        }
+        try {
+            return acquireLockWait(lock, true, TimeUnit.MILLISECONDS.toNanos(timeoutMillis));
+        } catch (InterruptedException ignore) {
+            log.info("Acquire lock operation was interrupted. lock '{}'", lock);
+            return LockingResult.fail();
+        }
+    }
+
+    /**
+     * Tries to acquire the lock until it succeeds or the timeout elapses. After each failed attempt the waiter is
+     * registered on the keys of the lock which failed to be acquired before the stripes are unlocked, so a release
+     * which happens before it starts waiting is not missed while releases of the other keys don't wake it up.
+     */
+    private LockingResult acquireLockWait(EngineLock lock, boolean timed, long timeoutNanos)
+            throws InterruptedException {
+        List<String> keys = LockTable.getKeys(lock);
+        Stripe[] lockStripes = getStripes(keys);
+        Waiter waiter = new Waiter();
+        List<String> waitedKeys = Collections.emptyList();
+        long remainingNanos = timeoutNanos;
+        try {
+            while (true) {
+                lockAll(lockStripes);
+                try {
+                    unregister(waiter, waitedKeys);
+                    LockingResult result = LockTable.acquire(lock, key -> getStripe(key).locks);
+                    if (result.isAcquired()) {
+                        return result;
+                    }
+                    if (timed && remainingNanos <= 0L) {
+                        log.info("Failed to acquire lock because timeout was reached. lock {}", lock);
+                        return result;
+                    }
+                    waitedKeys = LockTable.getConflictingKeys(lock, key -> getStripe(key).locks);
+                    if (waitedKeys.isEmpty()) {
+                        // the lock conflicts only with itself, e.g. a key which is both shared and exclusive
+                        waitedKeys = keys;
+                    }
+                    waiter.reset();
+                    register(waiter, waitedKeys);
+                } finally {
+                    unlockAll(lockStripes);
+                }
+                if (timed) {
+                    log.info("Failed to acquire lock, will try again until timeout. lock '{}'", lock);
+                    remainingNanos = waiter.awaitNanos(remainingNanos);
+                } else {
+                    log.info("Failed to acquire lock and wait lock '{}'", lock);
+                    waiter.await();
+                }
+            }
+        } catch (InterruptedException e) {
+            lockAll(lockStripes);
+            try {
+                unregister(waiter, waitedKeys);
+            } finally {
+                unlockAll(lockStripes);
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void releaseLock(EngineLock lock) {
+        log.debug("Before releasing a lock '{}'", lock);
+        List<String> keys = LockTable.getKeys(lock);
+        Stripe[] lockStripes = getStripes(keys);
+        lockAll(lockStripes);
+        try {
+            LockTable.release(lock, key -> getStripe(key).locks);
+            keys.forEach(key -> getStripe(key).signal(key));
+        } finally {
+            unlockAll(lockStripes);
+        }
+    }
+
+    @Override
+    public void clear() {
+        log.warn("Cleaning all in memory locks");
+        lockAll(stripes);
+        try {
+            for (Stripe stripe : stripes) {
+                stripe.locks.clear();
+                stripe.signalAll();
+            }
+        } finally {
+            unlockAll(stripes);
+        }
+    }
+
+    @Override
+    public boolean releaseLock(String lockId) {
+        log.warn("The following lock is going to be released via external call, lockId '{}', error message can be"
+                + " left for shared lock",
+                lockId);
+        Stripe stripe = getStripe(lockId);
+        stripe.lock.lock();
+        try {
+            if (!stripe.locks.release(lockId)) {
+                log.warn("Lock with id '{}' does not exist and can not be released via external call", lockId);
+                return false;
+            }
+            stripe.signal(lockId);
+        } finally {
+            stripe.lock.unlock();
+        }
+        log.warn("Lock '{}' was released via external call", lockId);
+        return true;
+    }
+
+    /**
+     * Shows the locks of each stripe in turn, so unlike the global lock manager the result is not a consistent
+     * snapshot of all the locks.
+     */
+    @Override
+    public List<String> showAllLocks() {
+        log.debug("All in memory locks will be shown");
+        List<String> descriptions = new ArrayList<>();
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                descriptions.addAll(stripe.locks.describeLocks());
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        log.debug("All in memory locks were shown");
+        return descriptions;
+    }
+
+    @Override
+    public LockInfo getLockInfo(String key) {
+        Stripe stripe = getStripe(key);
+        stripe.lock.lock();
+        try {
+            return stripe.locks.getLockInfo(key);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isExclusiveLockPresent(EngineLock lock) {
+        return lock.getExclusiveLocks() != null &&
+            lock.getExclusiveLocks().entrySet().stream()
+                .anyMatch(entry -> getLockInfo(LockTable.buildHashMapKey(entry)) != null);
+    }
+
+    /**
+     * @return the keys which threads are currently waiting for
+     */
+    // Visible for testing
+    Set<String> getWaitedKeys() {
+        Set<String> keys = new HashSet<>();
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                keys.addAll(stripe.waiters.keySet());
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return keys;
+    }
+
+    private Stripe getStripe(String key) {
+        return stripes[Math.floorMod(key.hashCode(), stripes.length)];
+    }
+
+    /**
+     * @return the distinct stripes of the given keys, in the order they should be locked
+     */
+    private Stripe[] getStripes(List<String> keys) {
+        return keys.stream()
+                .mapToInt(key -> Math.floorMod(key.hashCode(), stripes.length))
+                .distinct()
+                .sorted()
+                .mapToObj(i -> stripes[i])
+                .toArray(Stripe[]::new);
+    }
+
+    private static void lockAll(Stripe[] lockStripes) {
+        for (Stripe stripe : lockStripes) {
+            stripe.lock.lock();
+        }
+    }
+
+    private static void unlockAll(Stripe[] lockStripes) {
+        for (int i = lockStripes.length - 1; i >= 0; i--) {
+            lockStripes[i].lock.unlock();
+        }
+    }
+
+    private void register(Waiter waiter, List<String> keys) {
+        keys.forEach(key -> getStripe(key).waiters.computeIfAbsent(key, k -> new HashSet<>()).add(waiter));
+    }
+
+    private void unregister(Waiter waiter, List<String> keys) {
+        keys.forEach(key -> {
+            Map<String, Set<Waiter>> waiters = getStripe(key).waiters;
+            Set<Waiter> keyWaiters = waiters.get(key);
+            if (keyWaiters != null) {
+                keyWaiters.remove(waiter);
+                if (keyWaiters.isEmpty()) {
+                    waiters.remove(key);
+                }
+            }
+        });
+    }
+
+    /**
+     * The following class holds the locks whose keys are mapped to a single stripe, the threads waiting for them and
+     * the lock guarding both
+     */
+    private static class Stripe {
+        private final Lock lock = new ReentrantLock();
+        private final LockTable locks = new LockTable();
+        private final Map<String, Set<Waiter>> waiters = new HashMap<>();
+
+        /**
+         * Notifies the threads waiting for the given key, should be called while holding the stripe lock
+         */
+        private void signal(String key) {
+            Set<Waiter> keyWaiters = waiters.remove(key);
+            if (keyWaiters != null) {
+                keyWaiters.forEach(Waiter::signal);
+            }
+        }
+
+        private void signalAll() {
+            waiters.values().forEach(keyWaiters -> keyWaiters.forEach(Waiter::signal));
+            waiters.clear();
+        }
+    }
+
+    /**
+     * The following class is used by a single thread in order to wait until one of the keys it waits for is released
+     */
+    private static class Waiter {
+        private final Lock lock = new ReentrantLock();
+        private final Condition released = lock.newCondition();
+        private boolean signaled;
+
+        private void reset() {
+            lock.lock();
+            try {
+                signaled = false;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void signal() {
+            lock.lock();
+            try {
+                signaled = true;
+                released.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void await() throws InterruptedException {
+            lock.lock();
+            try {
+                while (!signaled) {
+                    released.await();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private long awaitNanos(long nanos) throws InterruptedException {
+            lock.lock();
+            try {
+                while (!signaled && nanos > 0L) {
+                    nanos = released.awaitNanos(nanos);
+                }
+                return nanos;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -115,6 +115,15 @@ public abstract class PolicyUnitImpl {
         return pendingResourceManager;
     }
 
+    /**
+     * @return whether the filter decides about each host independently of the other hosts
+     * @see SchedulingUnit#hostIndependent()
+     */
+    public boolean isHostIndependent() {
+        SchedulingUnit unit = getClass().getAnnotation(SchedulingUnit.class);
+        return unit != null && unit.hostIndependent();
+    }
+
     // The following methods are only used when instantiating an internal policy unit
 
     protected String getName() {
@@ -0,0 +1,29 @@
+package org.ovirt.engine.core.bll.scheduling;
+
+import java.util.Map;
+
+/**
+ * The following interface is used as interface for JMX bean
+ */
+public interface PolicyUnitsMonitorMXBean {
+
+    /**
+     * The following method will return the number of evaluations, per policy unit name
+     */
+    Map<String, Long> getEvaluations();
+
+    /**
+     * The following method will return the total time spent in evaluations in milliseconds, per policy unit name
+     */
+    Map<String, Long> getTotalTimeMillis();
+
+    /**
+     * The following method will return the time of the longest evaluation in milliseconds, per policy unit name
+     */
+    Map<String, Long> getMaxTimeMillis();
+
+    /**
+     * The following method will allow to reset the statistics via JMX console
+     */
+    void resetStatistics();
+}
@@ -0,0 +1,224 @@
+package org.ovirt.engine.core.bll.scheduling;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Singleton;
+import javax.management.ObjectName;
+
+import org.ovirt.engine.core.common.businessentities.VDS;
+import org.ovirt.engine.core.common.businessentities.VM;
+import org.ovirt.engine.core.common.config.Config;
+import org.ovirt.engine.core.common.config.ConfigValues;
+import org.ovirt.engine.core.common.scheduling.PerHostMessages;
+import org.ovirt.engine.core.common.utils.Pair;
+import org.ovirt.engine.core.compat.Guid;
+import org.ovirt.engine.core.utils.MBeanUtils;
+import org.ovirt.engine.core.utils.threadpool.ThreadPoolUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Evaluates the internal filter and weight policy units of the scheduling and keeps the time spent in each of them.
+ * <p>
+ * When SchedulingParallelism is set, the weight policy units and the host independent filters are split into up to that
+ * many tasks, which run concurrently on the engine thread pool. The results are always merged in the order of the
+ * sequential evaluation, so they are equal to it. If the thread pool rejects the tasks, they run on the calling thread.
+ */
+@Singleton
+public class PolicyUnitsRunner implements PolicyUnitsMonitorMXBean {
+
+    private static final Logger log = LoggerFactory.getLogger(PolicyUnitsRunner.class);
+
+    /** The minimal number of hosts filtered by a single task **/
+    static final int MIN_HOSTS_PER_PARTITION = 32;
+
+    private final Map<String, UnitTiming> timings = new ConcurrentHashMap<>();
+
+    private int parallelism;
+    private ObjectName objectName;
+
+    @PostConstruct
+    void init() {
+        parallelism = Math.max(1, Config.<Integer> getValue(ConfigValues.SchedulingParallelism));
+        if (isParallel()) {
+            log.info("Policy units are evaluated with parallelism of {}", parallelism);
+        }
+        registerMBean();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        unregisterMBean();
+    }
+
+    private boolean isParallel() {
+        return parallelism > 1;
+    }
+
+    /**
+     * Filters the hosts by the given internal filter.
+     */
+    public List<VDS> filter(PolicyUnitImpl filter,
+            SchedulingContext context,
+            List<VDS> hosts,
+            List<VM> vmGroup,
+            PerHostMessages messages) {
+        int partitions = !isParallel() || !filter.isHostIndependent()
+                ? 1
+                : Math.min(parallelism, hosts.size() / MIN_HOSTS_PER_PARTITION);
+        if (partitions <= 1) {
+            return timed(filter, () -> filter.filter(context, hosts, vmGroup, messages));
+        }
+
+        return timed(filter, () -> {
+            List<Callable<Pair<List<VDS>, PerHostMessages>>> tasks = new ArrayList<>(partitions);
+            for (List<VDS> partition : partition(hosts, partitions)) {
+                tasks.add(() -> {
+                    PerHostMessages partitionMessages = new PerHostMessages();
+                    return new Pair<>(filter.filter(context, partition, vmGroup, partitionMessages),
+                            partitionMessages);
+                });
+            }
+
+            List<VDS> result = new ArrayList<>(hosts.size());
+            for (Pair<List<VDS>, PerHostMessages> partitionResult : invokeAll(tasks)) {
+                result.addAll(partitionResult.getFirst());
+                partitionResult.getSecond().getMessages().forEach(messages::addMessages);
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Scores the hosts by each of the given internal weight policy units.
+     *
+     * @return the scores of each of the policy units, in the order of the policy units
+     */
+    public List<List<Pair<Guid, Integer>>> score(List<Pair<PolicyUnitImpl, Integer>> functions,
+            SchedulingContext context,
+            List<VDS> hosts,
+            List<VM> vmGroup) {
+        Function<PolicyUnitImpl, List<Pair<Guid, Integer>>> score =
+                unit -> timed(unit, () -> unit.score(context, hosts, vmGroup));
+        if (!isParallel() || functions.size() <= 1) {
+            return functions.stream().map(pair -> score.apply(pair.getFirst())).collect(Collectors.toList());
+        }
+
+        List<Callable<List<List<Pair<Guid, Integer>>>>> tasks = new ArrayList<>();
+        for (List<Pair<PolicyUnitImpl, Integer>> partition
+                : partition(functions, Math.min(parallelism, functions.size()))) {
+            tasks.add(() -> partition.stream().map(pair -> score.apply(pair.getFirst())).collect(Collectors.toList()));
+        }
+        return invokeAll(tasks).stream().flatMap(List::stream).collect(Collectors.toList());
+    }
+
+    /**
+     * Runs the given tasks on the engine thread pool, or one after the other on the calling thread if the thread pool
+     * doesn't accept them, so a saturated thread pool slows the scheduling down rather than failing it.
+     */
+    private static <T> List<T> invokeAll(List<Callable<T>> tasks) {
+        try {
+            return ThreadPoolUtil.invokeAll(tasks);
+        } catch (RuntimeException e) {
+            if (!(e.getCause() instanceof RejectedExecutionException)) {
+                throw e;
+            }
+            log.warn("The thread pool rejected the evaluation of the policy units, evaluating them sequentially");
+        }
+
+        List<T> results = new ArrayList<>(tasks.size());
+        for (Callable<T> task : tasks) {
+            try {
+                results.add(task.call());
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }
+        return results;
+    }
+
+    static <T> List<List<T>> partition(List<T> values, int partitions) {
+        List<List<T>> result = new ArrayList<>(partitions);
+        int size = values.size();
+        for (int i = 0; i < partitions; i++) {
+            result.add(values.subList(i * size / partitions, (i + 1) * size / partitions));
+        }
+        return result;
+    }
+
+    private <T> T timed(PolicyUnitImpl unit, Supplier<T> evaluation) {
+        long start = System.nanoTime();
+        try {
+            return evaluation.get();
+        } finally {
+            long duration = System.nanoTime() - start;
+            timings.computeIfAbsent(unit.getPolicyUnit().getName(), name -> new UnitTiming()).record(duration);
+            log.debug("Policy unit '{}' was evaluated in {} ms",
+                    unit.getPolicyUnit().getName(),
+                    TimeUnit.NANOSECONDS.toMillis(duration));
+        }
+    }
+
+    @Override
+    public Map<String, Long> getEvaluations() {
+        return getTimings(timing -> timing.count.sum());
+    }
+
+    @Override
+    public Map<String, Long> getTotalTimeMillis() {
+        return getTimings(timing -> TimeUnit.NANOSECONDS.toMillis(timing.totalNanos.sum()));
+    }
+
+    @Override
+    public Map<String, Long> getMaxTimeMillis() {
+        return getTimings(timing -> TimeUnit.NANOSECONDS.toMillis(timing.maxNanos.get()));
+    }
+
+    @Override
+    public void resetStatistics() {
+        timings.clear();
+    }
+
+    private Map<String, Long> getTimings(Function<UnitTiming, Long> value) {
+        return timings.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> value.apply(e.getValue())));
+    }
+
+    private void registerMBean() {
+        if (objectName == null) {
+            objectName = MBeanUtils.registerMBean(this, "PolicyUnitsRunner", "policy units monitor");
+        }
+    }
+
+    private void unregisterMBean() {
+        MBeanUtils.unregisterMBean(objectName, "policy units monitor");
+        objectName = null;
+    }
+
+    private static class UnitTiming {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+
+        private void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+    }
+}
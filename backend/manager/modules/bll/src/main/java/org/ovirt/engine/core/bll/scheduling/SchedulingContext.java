@@ -1,11 +1,17 @@
 package org.ovirt.engine.core.bll.scheduling;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 import org.ovirt.engine.core.common.businessentities.Cluster;
+import org.ovirt.engine.core.common.businessentities.VmDevice;
+import org.ovirt.engine.core.common.scheduling.AffinityGroup;
 import org.ovirt.engine.core.common.utils.Pair;
+import org.ovirt.engine.core.compat.Guid;
 
 public class SchedulingContext {
     private final Cluster cluster;
@@ -36,6 +42,13 @@ public class SchedulingContext {
 
     private final List<String> messages = new ArrayList<>();
 
+    /**
+     * Affinity groups and devices of the scheduled VMs, fetched for all the VMs at once before running
+     * the policy units.
+     */
+    private final Map<Guid, List<AffinityGroup>> vmAffinityGroups = new HashMap<>();
+    private final Map<Guid, List<VmDevice>> vmDevices = new HashMap<>();
+
     public SchedulingContext(Cluster cluster, Map<String, String> policyParameters, boolean ignoreHardVmToVmAffinity, boolean doNotGroupVms) {
         this.cluster = cluster;
         this.policyParameters = policyParameters;
@@ -106,4 +119,48 @@ public class SchedulingContext {
     public List<String> getMessages() {
         return messages;
     }
+
+    /**
+     * Sets the affinity groups of the scheduled VMs.
+     *
+     * @param vmIds the ids of the scheduled VMs
+     * @param affinityGroups all the affinity groups containing any of the VMs, with members from labels
+     */
+    public void setVmAffinityGroups(Collection<Guid> vmIds, List<AffinityGroup> affinityGroups) {
+        vmIds.forEach(vmId -> vmAffinityGroups.put(vmId, new ArrayList<>()));
+        for (AffinityGroup group : affinityGroups) {
+            for (Guid vmId : group.getVmIds()) {
+                List<AffinityGroup> groups = vmAffinityGroups.get(vmId);
+                if (groups != null) {
+                    groups.add(group);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the affinity groups of the VM with members from labels, using the loader if they were not set
+     */
+    public List<AffinityGroup> getVmAffinityGroups(Guid vmId, Function<Guid, List<AffinityGroup>> loader) {
+        List<AffinityGroup> groups = vmAffinityGroups.get(vmId);
+        return groups != null ? groups : loader.apply(vmId);
+    }
+
+    /**
+     * Sets the devices of the scheduled VMs.
+     *
+     * @param vmIds the ids of the scheduled VMs
+     * @param devices the devices of the VMs keyed by the VM id
+     */
+    public void setVmDevices(Collection<Guid> vmIds, Map<Guid, List<VmDevice>> devices) {
+        vmIds.forEach(vmId -> vmDevices.put(vmId, devices.getOrDefault(vmId, new ArrayList<>())));
+    }
+
+    /**
+     * @return the devices of the VM, using the loader if they were not set
+     */
+    public List<VmDevice> getVmDevices(Guid vmId, Function<Guid, List<VmDevice>> loader) {
+        List<VmDevice> devices = vmDevices.get(vmId);
+        return devices != null ? devices : loader.apply(vmId);
+    }
 }
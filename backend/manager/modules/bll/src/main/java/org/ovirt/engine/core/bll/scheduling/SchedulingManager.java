@@ -61,7 +61,6 @@ import org.ovirt.engine.core.common.businessentities.HugePage;
 import org.ovirt.engine.core.common.businessentities.NumaNodeStatistics;
 import org.ovirt.engine.core.common.businessentities.NumaTuneMode;
 import org.ovirt.engine.core.common.businessentities.VDS;
-import org.ovirt.engine.core.common.businessentities.VDSStatus;
 import org.ovirt.engine.core.common.businessentities.VM;
 import org.ovirt.engine.core.common.businessentities.VdsCpuUnit;
 import org.ovirt.engine.core.common.businessentities.VdsNumaNode;
@@ -90,6 +89,7 @@ import org.ovirt.engine.core.dal.dbbroker.auditloghandling.MessageBundler;
 import org.ovirt.engine.core.dao.ClusterDao;
 import org.ovirt.engine.core.dao.VdsDao;
 import org.ovirt.engine.core.dao.VdsNumaNodeDao;
+import org.ovirt.engine.core.dao.VmDeviceDao;
 import org.ovirt.engine.core.dao.VmNumaNodeDao;
 import org.ovirt.engine.core.dao.scheduling.AffinityGroupDao;
 import org.ovirt.engine.core.dao.scheduling.ClusterPolicyDao;
@@ -97,6 +97,7 @@ import org.ovirt.engine.core.dao.scheduling.PolicyUnitDao;
 import org.ovirt.engine.core.di.Injector;
 import org.ovirt.engine.core.utils.threadpool.ThreadPoolUtil;
 import org.ovirt.engine.core.utils.threadpool.ThreadPools;
+import org.ovirt.engine.core.vdsbroker.ClusterResourceView;
 import org.ovirt.engine.core.vdsbroker.ResourceManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -113,6 +114,8 @@ public class SchedulingManager implements BackendService {
     @Inject
     private ResourceManager resourceManager;
     @Inject
+    private ClusterResourceView clusterResourceView;
+    @Inject
     private MigrationHandler migrationHandler;
     @Inject
     private ExternalSchedulerDiscovery exSchedulerDiscovery;
@@ -143,8 +146,12 @@ public class SchedulingManager implements BackendService {
     @Inject
     private AffinityGroupDao affinityGroupDao;
     @Inject
+    private VmDeviceDao vmDeviceDao;
+    @Inject
     private RunVmDelayer runVmDelayer;
     @Inject
+    private PolicyUnitsRunner policyUnitsRunner;
+    @Inject
     @ThreadPools(ThreadPools.ThreadPoolType.EngineScheduledThreadPool)
     private ManagedScheduledExecutorService executor;
     @Inject
@@ -378,6 +385,7 @@ public class SchedulingManager implements BackendService {
                     createClusterPolicyParameters(cluster),
                     ignoreHardVmToVmAffinity,
                     doNotGroupVms);
+            fetchVmAffinityGroupsAndDevices(vms, context);
 
             splitFilters(policy.getFilters(), policy.getFilterPositionMap(), context);
             splitFunctions(policy.getFunctions(), context);
@@ -507,15 +515,16 @@ public class SchedulingManager implements BackendService {
     }
 
     private List<VDS> fetchHosts(Guid clusterId, List<Guid> blackList, List<Guid> whiteList) {
-        List<VDS> vdsList = vdsDao.getAllForClusterWithStatus(clusterId, VDSStatus.Up);
+        List<VDS> vdsList = clusterResourceView.getUpHosts(clusterId);
         vdsList = removeBlacklistedHosts(vdsList, blackList);
         return keepOnlyWhitelistedHosts(vdsList, whiteList);
     }
 
     private void fetchNumaNodes(List<VM> vms, List<VDS> hosts) {
-        // TODO - fetch numa nodes for all VMs in 1 DB call
+        Map<Guid, List<VmNumaNode>> vmNumaNodes =
+                vmNumaNodeDao.getAllVmNumaNodeByVmIds(vms.stream().map(VM::getId).collect(Collectors.toList()));
         for (VM vm : vms) {
-            vm.setvNumaNodeList(vmNumaNodeDao.getAllVmNumaNodeByVmId(vm.getId()));
+            vm.setvNumaNodeList(vmNumaNodes.getOrDefault(vm.getId(), new ArrayList<>()));
         }
 
         for (VDS host : hosts) {
@@ -527,6 +536,16 @@ public class SchedulingManager implements BackendService {
         }
     }
 
+    /**
+     * Fetches the affinity groups and devices of all the VMs at once, so the policy units
+     * don't query them for each VM.
+     */
+    private void fetchVmAffinityGroupsAndDevices(List<VM> vms, SchedulingContext context) {
+        List<Guid> vmIds = vms.stream().map(VM::getId).collect(Collectors.toList());
+        context.setVmAffinityGroups(vmIds, affinityGroupDao.getAllAffinityGroupsWithFlatLabelsByVmIds(vmIds));
+        context.setVmDevices(vmIds, vmDeviceDao.getVmDevicesByVmIds(vmIds));
+    }
+
     private void updateHostNumaNodes(VDS host, Map<Integer, NumaNodeMemoryConsumption> numaConsumption) {
         for (VdsNumaNode node : host.getNumaNodeList()) {
             NumaNodeMemoryConsumption consumption = numaConsumption.getOrDefault(node.getIndex(), new NumaNodeMemoryConsumption());
@@ -879,6 +898,7 @@ public class SchedulingManager implements BackendService {
                 createClusterPolicyParameters(cluster),
                 ignoreHardVmToVmAffinity,
                 doNotGroupVms);
+        fetchVmAffinityGroupsAndDevices(vms, context);
         splitFilters(policy.getFilters(), policy.getFilterPositionMap(), context);
 
         for (List<VM> vmGroup : groupVms(vms, context)) {
@@ -1014,7 +1034,7 @@ public class SchedulingManager implements BackendService {
                 break;
             }
             List<VDS> currentHostList = new ArrayList<>(hostList);
-            hostList = filterPolicyUnit.filter(context, hostList, vmGroup, result.getDetails());
+            hostList = policyUnitsRunner.filter(filterPolicyUnit, context, hostList, vmGroup, result.getDetails());
             logFilterActions(currentHostList,
                     toIdSet(hostList),
                     EngineMessage.VAR__FILTERTYPE__INTERNAL,
@@ -1104,10 +1124,11 @@ public class SchedulingManager implements BackendService {
             List<VM> vmGroup,
             SchedulingContext context) {
 
-        for (Pair<PolicyUnitImpl, Integer> pair : context.getInternalScoreFunctions()) {
-            List<Pair<Guid, Integer>> scoreResult = pair.getFirst().score(context, hostList, vmGroup);
-            for (Pair<Guid, Integer> result : scoreResult) {
-                selector.record(pair.getFirst().getGuid(), result.getFirst(), result.getSecond());
+        List<Pair<PolicyUnitImpl, Integer>> functions = context.getInternalScoreFunctions();
+        List<List<Pair<Guid, Integer>>> scoreResults = policyUnitsRunner.score(functions, context, hostList, vmGroup);
+        for (int i = 0; i < functions.size(); i++) {
+            for (Pair<Guid, Integer> result : scoreResults.get(i)) {
+                selector.record(functions.get(i).getFirst().getGuid(), result.getFirst(), result.getSecond());
             }
         }
     }
@@ -15,4 +15,10 @@ public @interface SchedulingUnit {
     PolicyUnitType type() default PolicyUnitType.FILTER;
     String description() default "";
     PolicyUnitParameter[] parameters() default {};
+
+    /**
+     * Whether the filter decides about each host independently of the other hosts, so partitions of the hosts can be
+     * filtered separately.
+     */
+    boolean hostIndependent() default false;
 }
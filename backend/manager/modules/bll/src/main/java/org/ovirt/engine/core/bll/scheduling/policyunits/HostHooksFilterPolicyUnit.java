@@ -24,7 +24,8 @@ import org.slf4j.LoggerFactory;
         guid = "aae8c702-4756-4934-b84c-8daf59efc134",
         name = "Host-hooks",
         description = "Runs VMs only on hosts with a hooks required by VM's configuration",
-        type = PolicyUnitType.FILTER)
+        type = PolicyUnitType.FILTER,
+        hostIndependent = true)
 public class HostHooksFilterPolicyUnit extends PolicyUnitImpl {
 
     private static final String SAP_AGENT_REQUIRED_HOOK = "50_vhostmd";
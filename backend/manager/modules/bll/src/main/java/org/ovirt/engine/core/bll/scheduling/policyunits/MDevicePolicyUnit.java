@@ -51,7 +51,8 @@ public class MDevicePolicyUnit extends PolicyUnitImpl {
 
     @Override
     public List<VDS> filter(SchedulingContext context, List<VDS> hosts, VM vm, PerHostMessages messages) {
-        List<String> vmMDevs = MDevTypesUtils.getMdevs(vmInfoBuildUtils.getVmDevices(vm.getId()), VmDeviceType.VGPU)
+        List<String> vmMDevs = MDevTypesUtils.getMdevs(context.getVmDevices(vm.getId(), vmInfoBuildUtils::getVmDevices),
+                VmDeviceType.VGPU)
                 .stream().map(mdev -> (String) mdev.getSpecParams().get(MDevTypesUtils.MDEV_TYPE))
                 .collect(Collectors.toList());
         if (vmMDevs.isEmpty()) {
@@ -53,7 +53,7 @@ public class VmAffinityWeightPolicyUnit extends PolicyUnitImpl {
 
     @Override
     public List<Pair<Guid, Integer>> score(SchedulingContext context, List<VDS> hosts, List<VM> vmGroup) {
-        List<HostInfo> hostInfos = getHostInfos(vmGroup, hosts);
+        List<HostInfo> hostInfos = getHostInfos(context, vmGroup, hosts);
 
         // Using lexicographicListComparator to sort priorities of broken groups.
         // So that a host that breaks any number of affinity groups with low priority will
@@ -80,10 +80,10 @@ public class VmAffinityWeightPolicyUnit extends PolicyUnitImpl {
         return retList;
     }
 
-    private List<HostInfo> getHostInfos(List<VM> vmGroup, List<VDS> hosts) {
+    private List<HostInfo> getHostInfos(SchedulingContext context, List<VM> vmGroup, List<VDS> hosts) {
         Set<AffinityGroup> affinityGroups = new HashSet<>();
-        // TODO - get all affinity gorups in 1 DB call
-        vmGroup.forEach(vm -> affinityGroups.addAll(affinityGroupDao.getAllAffinityGroupsWithFlatLabelsByVmId(vm.getId()).stream()
+        vmGroup.forEach(vm -> affinityGroups.addAll(context.getVmAffinityGroups(vm.getId(),
+                affinityGroupDao::getAllAffinityGroupsWithFlatLabelsByVmId).stream()
                 .filter(AffinityGroup::isVmAffinityEnabled)
                 .collect(Collectors.toList())));
 
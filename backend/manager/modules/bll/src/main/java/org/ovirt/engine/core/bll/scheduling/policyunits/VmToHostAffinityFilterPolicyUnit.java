@@ -52,7 +52,8 @@ public class VmToHostAffinityFilterPolicyUnit extends PolicyUnitImpl {
             VM vm,
             PerHostMessages messages) {
 
-        List<AffinityGroup> affinityGroups = affinityGroupDao.getAllAffinityGroupsWithFlatLabelsByVmId(vm.getId()).stream()
+        List<AffinityGroup> affinityGroups = context.getVmAffinityGroups(vm.getId(),
+                affinityGroupDao::getAllAffinityGroupsWithFlatLabelsByVmId).stream()
                 .filter(ag -> ag.isVdsEnforcing() && ag.isVdsAffinityEnabled())
                 .collect(Collectors.toList());
 
@@ -43,8 +43,8 @@ public class VmToHostAffinityWeightPolicyUnit extends PolicyUnitImpl {
 
     @Override
     public List<Pair<Guid, Integer>> score(SchedulingContext context, List<VDS> hosts, VM vm) {
-        // TODO - cache affinity groups in scheduling context
-        List<AffinityGroup> affinityGroups = affinityGroupDao.getAllAffinityGroupsWithFlatLabelsByVmId(vm.getId()).stream()
+        List<AffinityGroup> affinityGroups = context.getVmAffinityGroups(vm.getId(),
+                affinityGroupDao::getAllAffinityGroupsWithFlatLabelsByVmId).stream()
                 .filter(ag -> ag.isVdsAffinityEnabled() && !ag.isVdsEnforcing())
                 .collect(Collectors.toList());
 
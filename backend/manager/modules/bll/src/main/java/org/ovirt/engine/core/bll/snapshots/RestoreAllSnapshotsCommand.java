@@ -332,6 +332,7 @@ public class RestoreAllSnapshotsCommand<T extends RestoreAllSnapshotsParameters>
         if (snapshotLeaseDomainId == null) {
             // there was no lease for the snapshot
             vmDynamicDao.updateVmLeaseInfo(getParameters().getVmId(), null);
+            invalidateVmDynamic();
             return true;
         }
 
@@ -354,6 +355,7 @@ public class RestoreAllSnapshotsCommand<T extends RestoreAllSnapshotsParameters>
         vmDynamicDao.updateVmLeaseInfo(
                 getParameters().getVmId(),
                 (Map<String, String>) retVal.getReturnValue());
+        invalidateVmDynamic();
 
         return true;
     }
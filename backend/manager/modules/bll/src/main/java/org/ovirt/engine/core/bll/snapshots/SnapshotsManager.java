@@ -77,6 +77,7 @@ import org.ovirt.engine.core.dao.network.VmNicDao;
 import org.ovirt.engine.core.utils.ovf.OvfManager;
 import org.ovirt.engine.core.utils.ovf.OvfReaderException;
 import org.ovirt.engine.core.utils.ovf.VMStaticOvfLogHandler;
+import org.ovirt.engine.core.vdsbroker.ResourceManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -99,6 +100,9 @@ public class SnapshotsManager {
     @Inject
     private SnapshotDao snapshotDao;
 
+    @Inject
+    private ResourceManager resourceManager;
+
     @Inject
     private VmDynamicDao vmDynamicDao;
 
@@ -461,6 +465,7 @@ public class SnapshotsManager {
         VmDynamic vmDynamic = vm.getDynamicData();
         vmDynamic.setStatus(withMemory ? VMStatus.Suspended : VMStatus.Down);
         vmDynamicDao.update(vmDynamic);
+        resourceManager.invalidateVmDynamic(vm.getId());
 
         List<DiskImage> imagesToExclude = diskImageDao.getAttachedDiskSnapshotsToVm(vm.getId(), Boolean.TRUE);
 
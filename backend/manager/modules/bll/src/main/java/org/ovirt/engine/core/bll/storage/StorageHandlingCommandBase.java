@@ -12,6 +12,7 @@ import java.util.Objects;
 import java.util.Random;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.inject.Inject;
 
@@ -577,10 +578,10 @@ public abstract class StorageHandlingCommandBase<T extends StoragePoolParameters
 
     protected void initUnregisteredDisksToDB(Guid storageDomainId) {
         // Using a Set to later use an O(1) HashSet#contains
-        Set<Guid> existingDiskIds = diskImageDao.getAllForStorageDomain(storageDomainId)
-                .stream()
-                .map(DiskImage::getId)
-                .collect(Collectors.toSet());
+        Set<Guid> existingDiskIds;
+        try (Stream<DiskImage> existingDisks = diskImageDao.streamAllForStorageDomain(storageDomainId)) {
+            existingDiskIds = existingDisks.map(DiskImage::getId).collect(Collectors.toSet());
+        }
 
         for (UnregisteredDisk unregisteredDisk: unregisteredDisks) {
             if (existingDiskIds.contains(unregisteredDisk.getDiskId())) {
@@ -4,6 +4,9 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.inject.Inject;
 
@@ -26,6 +29,7 @@ import org.ovirt.engine.core.common.queries.GetUnregisteredDisksQueryParameters;
 import org.ovirt.engine.core.common.queries.QueryReturnValue;
 import org.ovirt.engine.core.common.queries.QueryType;
 import org.ovirt.engine.core.common.utils.Pair;
+import org.ovirt.engine.core.compat.Guid;
 import org.ovirt.engine.core.dao.DiskImageDao;
 import org.ovirt.engine.core.dao.UnregisteredDisksDao;
 import org.ovirt.engine.core.dao.UnregisteredOVFDataDao;
@@ -132,9 +136,13 @@ public class ScanStorageForUnregisteredDisksCommand<T extends StorageDomainParam
     }
 
     protected void initUnregisteredDisksToDB() {
-        List<DiskImage> existingDisks = diskImageDao.getAllForStorageDomain(getParameters().getStorageDomainId());
+        Set<Guid> existingDiskIds;
+        try (Stream<DiskImage> existingDisks =
+                diskImageDao.streamAllForStorageDomain(getParameters().getStorageDomainId())) {
+            existingDiskIds = existingDisks.map(DiskImage::getId).collect(Collectors.toSet());
+        }
         for (UnregisteredDisk unregisteredDisk : unregisteredDisks) {
-            if (existingDisks.stream().anyMatch(diskImage -> diskImage.getId().equals(unregisteredDisk.getDiskImage().getId()))) {
+            if (existingDiskIds.contains(unregisteredDisk.getDiskImage().getId())) {
                 log.info("Disk {} with id '{}' already exists in the engine, therefore will not be " +
                                 "part of the unregistered disks.",
                         unregisteredDisk.getDiskAlias(),
@@ -14,6 +14,7 @@ import org.ovirt.engine.core.common.errors.EngineException;
 import org.ovirt.engine.core.common.vdscommands.LeaseVDSParameters;
 import org.ovirt.engine.core.common.vdscommands.VDSCommandType;
 import org.ovirt.engine.core.dao.VmDynamicDao;
+import org.ovirt.engine.core.vdsbroker.ResourceManager;
 
 @InternalCommandAttribute
 @NonTransactiveCommandAttribute
@@ -21,6 +22,8 @@ public class AddVmLeaseCommand<T extends VmLeaseParameters> extends VmLeaseComma
 
     @Inject
     private VmDynamicDao vmDynamicDao;
+    @Inject
+    private ResourceManager resourceManager;
 
     public AddVmLeaseCommand(T parameters, CommandContext cmdContext) {
         super(parameters, cmdContext);
@@ -80,6 +83,7 @@ public class AddVmLeaseCommand<T extends VmLeaseParameters> extends VmLeaseComma
         }
 
         vmDynamicDao.updateVmLeaseInfo(getParameters().getVmId(), getParameters().getVmLeaseInfo());
+        resourceManager.invalidateVmDynamic(getParameters().getVmId());
 
         if (getParameters().isHotPlugLease()) {
             boolean hotPlugSucceeded = false;
@@ -1,8 +1,11 @@
 package org.ovirt.engine.core.bll.storage.ovfstore;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -67,6 +70,7 @@ import org.ovirt.engine.core.dao.UnregisteredOVFDataDao;
 import org.ovirt.engine.core.dao.VmAndTemplatesGenerationsDao;
 import org.ovirt.engine.core.dao.VmDynamicDao;
 import org.ovirt.engine.core.dao.VmStaticDao;
+import org.ovirt.engine.core.utils.EngineLocalConfig;
 import org.ovirt.engine.core.utils.JsonHelper;
 import org.ovirt.engine.core.utils.archivers.tar.InMemoryTar;
 import org.ovirt.engine.core.utils.ovf.OvfInfoFileConstants;
@@ -227,11 +231,25 @@ public class ProcessOvfUpdateForStorageDomainCommand<T extends ProcessOvfUpdateP
         }
     }
 
-    private byte[] buildOvfInfoFileByteArray(List<Guid> vmAndTemplatesIds) {
-        ByteArrayOutputStream bufferedOutputStream = new ByteArrayOutputStream();
+    /**
+     * Writes the OVF store archive to a temporary file, loading the OVFs of the entities batch by batch, so that only
+     * one batch is kept in memory regardless of the number of entities in the domain. The archive is spooled to a file
+     * rather than piped directly to the upload because its length has to be sent before its content, and because the
+     * same archive is uploaded to each of the OVF stores of the domain.
+     */
+    private Path buildOvfInfoFile(List<Guid> vmAndTemplatesIds) {
+        Path ovfInfoFile;
+        try {
+            ovfInfoFile =
+                    Files.createTempFile(EngineLocalConfig.getInstance().getTmpDir().toPath(), "ovfstore", ".tar");
+        } catch (IOException e) {
+            throw new RuntimeException(String.format("Exception while creating the OVF store file of domain %s",
+                    getParameters().getStorageDomainId()), e);
+        }
         Set<Guid> processedIds = new HashSet<>();
 
-        try (InMemoryTar inMemoryTar = new InMemoryTar(bufferedOutputStream)) {
+        try (InMemoryTar inMemoryTar =
+                new InMemoryTar(new BufferedOutputStream(Files.newOutputStream(ovfInfoFile)))) {
             inMemoryTar.addTarEntry(generateInfoFileData().getBytes(),
                     OvfInfoFileConstants.InfoFileName);
             Map<String, Object> metaDataForEntities = generateMetaDataFile(vmAndTemplatesIds);
@@ -252,11 +270,21 @@ public class ProcessOvfUpdateForStorageDomainCommand<T extends ProcessOvfUpdateP
             inMemoryTar.addTarEntry(buildJson(metaDataForEntities, true).getBytes(), OvfInfoFileConstants.MetaDataFileName);
             buildFilesForOvfs(unprocessedOvfData, inMemoryTar);
         } catch (Exception e) {
-            throw new RuntimeException(String.format("Exception while building in memory tar of the OVFs of domain %s",
+            deleteOvfInfoFile(ovfInfoFile);
+            throw new RuntimeException(String.format("Exception while building the tar of the OVFs of domain %s",
                     getParameters().getStorageDomainId()), e);
         }
 
-        return bufferedOutputStream.toByteArray();
+        return ovfInfoFile;
+    }
+
+    private void deleteOvfInfoFile(Path ovfInfoFile) {
+        try {
+            Files.deleteIfExists(ovfInfoFile);
+        } catch (IOException e) {
+            log.warn("Failed to delete the OVF store file '{}': {}", ovfInfoFile, e.getMessage());
+            log.debug("Exception", e);
+        }
     }
 
     private List<Pair<Guid, String>> retrieveUnprocessedUnregisteredOvfData(Set<Guid> processedIds,
@@ -291,8 +319,15 @@ public class ProcessOvfUpdateForStorageDomainCommand<T extends ProcessOvfUpdateP
 
         vmAndTemplatesIds.addAll(vmStaticDao.getVmAndTemplatesIdsWithoutAttachedImageDisks(getParameters().getStoragePoolId(), false));
 
-        byte[] bytes = buildOvfInfoFileByteArray(vmAndTemplatesIds);
+        Path ovfInfoFile = buildOvfInfoFile(vmAndTemplatesIds);
+        try {
+            return updateOvfStoreContent(ovfInfoFile, vmAndTemplatesIds);
+        } finally {
+            deleteOvfInfoFile(ovfInfoFile);
+        }
+    }
 
+    private boolean updateOvfStoreContent(Path ovfInfoFile, List<Guid> vmAndTemplatesIds) {
         Pair<StorageDomainOvfInfo, DiskImage> lastOvfStoreForUpdate = domainOvfStoresInfoForUpdate.getLast();
 
         // means that the last ovf store was never updated, if it was - we don't want to update
@@ -311,7 +346,7 @@ public class ProcessOvfUpdateForStorageDomainCommand<T extends ProcessOvfUpdateP
 
         for (Pair<StorageDomainOvfInfo, DiskImage> pair : domainOvfStoresInfoForUpdate) {
             shouldUpdateLastOvfStore |=
-                    performOvfUpdateForDomain(bytes,
+                    performOvfUpdateForDomain(ovfInfoFile,
                             pair.getFirst(),
                             pair.getSecond(),
                             vmAndTemplatesIds);
@@ -320,7 +355,7 @@ public class ProcessOvfUpdateForStorageDomainCommand<T extends ProcessOvfUpdateP
         // if we successfully updated any ovf store, we can attempt to also update the one we kept for best effort
         // backup (if we did)
         if (shouldUpdateLastOvfStore && lastOvfStoreForUpdate != null) {
-            performOvfUpdateForDomain(bytes,
+            performOvfUpdateForDomain(ovfInfoFile,
                     lastOvfStoreForUpdate.getFirst(),
                     lastOvfStoreForUpdate.getSecond(),
                     vmAndTemplatesIds);
@@ -354,7 +389,7 @@ public class ProcessOvfUpdateForStorageDomainCommand<T extends ProcessOvfUpdateP
         runVdsCommand(VDSCommandType.SetVolumeDescription, vdsCommandParameters);
     }
 
-    private boolean performOvfUpdateForDomain(byte[] ovfData,
+    private boolean performOvfUpdateForDomain(Path ovfInfoFile,
             StorageDomainOvfInfo storageDomainOvfInfo,
             DiskImage ovfDisk,
             List<Guid> vmAndTemplatesIds) {
@@ -374,20 +409,20 @@ public class ProcessOvfUpdateForStorageDomainCommand<T extends ProcessOvfUpdateP
 
             storageDomainOvfInfoDao.update(storageDomainOvfInfo);
 
-            ByteArrayInputStream byteArrayInputStream =
-                    new ByteArrayInputStream(ovfData);
-
-            Long size = Long.valueOf(ovfData.length);
-            UploadStreamParameters uploadStreamParameters =
-                    new UploadStreamParameters(storagePoolId, storageDomainId,
-                            diskId, volumeId, byteArrayInputStream,
-                            size);
-
-            uploadStreamParameters.setParentCommand(getActionType());
-            uploadStreamParameters.setParentParameters(getParameters());
-            uploadStreamParameters.setEndProcedure(EndProcedure.COMMAND_MANAGED);
-            ActionReturnValue actionReturnValue =
-                    runInternalActionWithTasksContext(ActionType.UploadStream, uploadStreamParameters);
+            Long size = Files.size(ovfInfoFile);
+            ActionReturnValue actionReturnValue;
+            try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(ovfInfoFile))) {
+                UploadStreamParameters uploadStreamParameters =
+                        new UploadStreamParameters(storagePoolId, storageDomainId,
+                                diskId, volumeId, inputStream,
+                                size);
+
+                uploadStreamParameters.setParentCommand(getActionType());
+                uploadStreamParameters.setParentParameters(getParameters());
+                uploadStreamParameters.setEndProcedure(EndProcedure.COMMAND_MANAGED);
+                actionReturnValue =
+                        runInternalActionWithTasksContext(ActionType.UploadStream, uploadStreamParameters);
+            }
             if (actionReturnValue.getSucceeded()) {
                 storageDomainOvfInfo.setStatus(StorageDomainOvfInfoStatus.UPDATED);
                 storageDomainOvfInfo.setStoredOvfIds(vmAndTemplatesIds);
@@ -410,6 +445,12 @@ public class ProcessOvfUpdateForStorageDomainCommand<T extends ProcessOvfUpdateP
             }
         } catch (EngineException e) {
             log.warn("failed to update domain '{}' ovf store disk '{}'", storageDomainId, diskId);
+        } catch (IOException e) {
+            log.warn("failed to read the ovf store file of domain '{}' for disk '{}': {}",
+                    storageDomainId,
+                    diskId,
+                    e.getMessage());
+            log.debug("Exception", e);
         }
 
         failedOvfDisks.add(diskId);
@@ -1,6 +1,11 @@
 package org.ovirt.engine.core.common.utils;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.annotation.Resource;
 import javax.enterprise.concurrent.ManagedExecutorService;
 import javax.enterprise.concurrent.ManagedScheduledExecutorService;
@@ -27,6 +32,7 @@ public class EngineThreadPools implements BackendService {
     public static final String ENGINE_THREAD_MONITORING_POOL_NAME =
             "java:jboss/ee/concurrency/scheduler/engineThreadMonitoringThreadPool";
     public static final String ENGINE_THREAD_FACTORY_NAME = "java:jboss/ee/concurrency/factory/engine";
+    public static final String HOST_MONITORING_THREAD_FACTORY_NAME = "java:jboss/ee/concurrency/factory/hostMonitoring";
 
     @Resource(lookup = EngineThreadPools.COMMAND_COORDINATOR_POOL_NAME)
     private ManagedExecutorService cocoPool;
@@ -43,6 +49,11 @@ public class EngineThreadPools implements BackendService {
     @Resource(lookup = ENGINE_THREAD_FACTORY_NAME)
     private static ManagedThreadFactory threadFactory;
 
+    @Resource(lookup = HOST_MONITORING_THREAD_FACTORY_NAME)
+    private ManagedThreadFactory hostMonitoringThreadFactory;
+
+    private ExecutorService hostMonitoringPool;
+
     @PostConstruct
     private void init() {
         // initialize ThreadPoolUtil
@@ -53,6 +64,19 @@ public class EngineThreadPools implements BackendService {
                         EngineLocalConfig.getInstance().getInteger("ENGINE_THREAD_POOL_MIN_SIZE"),
                         EngineLocalConfig.getInstance().getInteger("ENGINE_THREAD_POOL_MAX_SIZE"),
                         EngineLocalConfig.getInstance().getInteger("ENGINE_THREAD_POOL_QUEUE_SIZE")));
+
+        if (EngineLocalConfig.getInstance().getBoolean("HOST_MONITORING_DEDICATED_THREADS", false)) {
+            log.info("Host monitoring jobs run on dedicated threads");
+            // the threads are bounded by the hosts, each host runs at most one job of each type at a time
+            hostMonitoringPool = Executors.newCachedThreadPool(hostMonitoringThreadFactory);
+        }
+    }
+
+    @PreDestroy
+    private void shutdown() {
+        if (hostMonitoringPool != null) {
+            hostMonitoringPool.shutdownNow();
+        }
     }
 
     @Produces
@@ -78,4 +102,14 @@ public class EngineThreadPools implements BackendService {
     public ManagedScheduledExecutorService engineThreadMonitoringThreadPoolProducer() {
         return engineThreadMonitoringThreadPool;
     }
+
+    /**
+     * Produces the executor of the host monitoring jobs, which runs the jobs on the calling thread, that is on the
+     * scheduler, unless the jobs run on dedicated threads.
+     */
+    @Produces
+    @ThreadPools(ThreadPools.ThreadPoolType.HostMonitoring)
+    public Executor hostMonitoringPoolProducer() {
+        return hostMonitoringPool != null ? hostMonitoringPool : Runnable::run;
+    }
 }
@@ -0,0 +1,128 @@
+package org.ovirt.engine.core.bll;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.ovirt.engine.core.aaa.QueryData;
+import org.ovirt.engine.core.common.config.ConfigValues;
+import org.ovirt.engine.core.common.interfaces.SearchType;
+import org.ovirt.engine.core.common.queries.SearchParameters;
+import org.ovirt.engine.core.utils.MockConfigDescriptor;
+import org.ovirt.engine.core.utils.MockConfigExtension;
+
+@ExtendWith(MockConfigExtension.class)
+public class SearchQueryCacheTest {
+
+    private static final int MAX_SIZE = 2;
+
+    private long now;
+    private SearchQueryCache cache;
+
+    public static Stream<MockConfigDescriptor<?>> mockConfiguration() {
+        return Stream.of(MockConfigDescriptor.of(ConfigValues.SearchQueryCacheMaxSize, MAX_SIZE));
+    }
+
+    @BeforeEach
+    public void setUp() {
+        cache = new SearchQueryCache(() -> now);
+        cache.reload();
+    }
+
+    @Test
+    public void countsHitsAndMisses() {
+        SearchQueryCache.Key key = key("Vms: name=a", SearchType.VM);
+        QueryData data = new QueryData();
+
+        assertNull(cache.get(key));
+        cache.put(key, data);
+        assertSame(data, cache.get(key));
+        assertSame(data, cache.get(key));
+
+        assertEquals(2, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(2.0 / 3, cache.getHitRate(), 0.0001);
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedQuery() {
+        SearchQueryCache.Key first = key("Vms: name=a", SearchType.VM);
+        SearchQueryCache.Key second = key("Vms: name=b", SearchType.VM);
+        SearchQueryCache.Key third = key("Vms: name=c", SearchType.VM);
+        cache.put(first, new QueryData());
+        cache.put(second, new QueryData());
+        cache.get(first);
+
+        cache.put(third, new QueryData());
+
+        assertEquals(MAX_SIZE, cache.getSize());
+        assertEquals(1, cache.getEvictions());
+        assertNull(cache.get(second));
+        assertNotNull(cache.get(first));
+        assertNotNull(cache.get(third));
+    }
+
+    @Test
+    public void expiresQueries() {
+        SearchQueryCache.Key key = key("Vms: name=a", SearchType.VM);
+        cache.put(key, new QueryData());
+
+        now += SearchQueryCache.TIME_TO_LIVE_MILLIS;
+
+        assertNull(cache.get(key));
+        assertEquals(0, cache.getSize());
+        assertEquals(1, cache.getEvictions());
+    }
+
+    @Test
+    public void reportsInvalidSearchOnce() {
+        SearchQueryCache.Key key = key("Vms: nonsense", SearchType.VM);
+
+        assertTrue(cache.markInvalid(key));
+        assertFalse(cache.markInvalid(key));
+        assertNull(cache.get(key));
+
+        now += SearchQueryCache.TIME_TO_LIVE_MILLIS;
+        assertTrue(cache.markInvalid(key));
+    }
+
+    @Test
+    public void keyDependsOnSearchTypeAndPaging() {
+        SearchQueryCache.Key key = key("name=a", SearchType.VM);
+
+        assertEquals(key, key("name=a", SearchType.VM));
+        assertEquals(key.hashCode(), key("name=a", SearchType.VM).hashCode());
+        assertNotEquals(key, key("name=a", SearchType.VDS));
+
+        SearchParameters nextPage = new SearchParameters("name=a", SearchType.VM);
+        nextPage.setSearchFrom(100);
+        assertNotEquals(key, new SearchQueryCache.Key(nextPage));
+
+        SearchParameters keysetPage = new SearchParameters("name=a", SearchType.VM);
+        keysetPage.setKeysetPaging(true);
+        assertNotEquals(key, new SearchQueryCache.Key(keysetPage));
+    }
+
+    @Test
+    public void reloadClearsCache() {
+        cache.put(key("Vms: name=a", SearchType.VM), new QueryData());
+
+        cache.reload();
+
+        assertEquals(0, cache.getSize());
+        assertEquals(MAX_SIZE, cache.getMaxSize());
+    }
+
+    private static SearchQueryCache.Key key(String searchPattern, SearchType searchType) {
+        return new SearchQueryCache.Key(new SearchParameters(searchPattern, searchType));
+    }
+}
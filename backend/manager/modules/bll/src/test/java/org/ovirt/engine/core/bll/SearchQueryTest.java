@@ -15,6 +15,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.ovirt.engine.core.bll.quota.QuotaManager;
@@ -58,6 +59,7 @@ public class SearchQueryTest extends AbstractQueryTest<SearchParameters, SearchQ
                         MockConfigDescriptor.of(ConfigValues.UserSessionTimeOutInterval, 30),
                         MockConfigDescriptor.of(ConfigValues.SupportedClusterLevels,
                                 new HashSet<>(Collections.singletonList(new Version(3, 0)))),
+                        MockConfigDescriptor.of(ConfigValues.SearchQueryCacheMaxSize, 1000),
                         MockConfigDescriptor.of(ConfigValues.DBEngine, null),
                         MockConfigDescriptor.of(ConfigValues.DBPagingType, null),
                         MockConfigDescriptor.of(ConfigValues.DBSearchTemplate,
@@ -96,6 +98,8 @@ public class SearchQueryTest extends AbstractQueryTest<SearchParameters, SearchQ
     private VmHandler vmHandler;
     @Mock
     private VmNetworkInterfaceDao vmNetworkInterfaceDao;
+    @Spy
+    private SearchQueryCache searchQueryCache = new SearchQueryCache();
 
     List<Disk> diskImageResultList = new ArrayList<>();
     List<Quota> quotaResultList = new ArrayList<>();
@@ -108,6 +112,11 @@ public class SearchQueryTest extends AbstractQueryTest<SearchParameters, SearchQ
     List<GlusterVolumeEntity> glusterVolumeList = new ArrayList<>();
     List<NetworkView> networkResultList = new ArrayList<>();
 
+    @BeforeEach
+    public void initSearchQueryCache() {
+        searchQueryCache.reload();
+    }
+
     /**
      * Mock disk Dao so that when getAllWithQuery will be called with the appropriate query string, a unique list will
      * be returned. <BR/>
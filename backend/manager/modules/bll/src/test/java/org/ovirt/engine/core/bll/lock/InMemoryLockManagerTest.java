@@ -29,7 +29,11 @@ public class InMemoryLockManagerTest {
     private EngineLock failLockLock;
     private String updateGuid;
     private String lockGuid;
-    private InMemoryLockManager lockManager = new InMemoryLockManager();
+    protected InMemoryLockManager lockManager = createLockManager();
+
+    protected InMemoryLockManager createLockManager() {
+        return new InMemoryLockManager();
+    }
 
     @BeforeEach
     public void setup() {
@@ -0,0 +1,129 @@
+package org.ovirt.engine.core.bll.lock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.ovirt.engine.core.common.utils.Pair;
+import org.ovirt.engine.core.compat.Guid;
+import org.ovirt.engine.core.utils.lock.EngineLock;
+
+public class StripedLockManagerTest extends InMemoryLockManagerTest {
+
+    private static final int STRIPES = 4;
+
+    @Override
+    protected InMemoryLockManager createLockManager() {
+        return new InMemoryLockManager(STRIPES);
+    }
+
+    @Test
+    public void testMultipleKeysAcquiredTogether() {
+        List<String> ids = createIds(2 * STRIPES);
+        assertTrue(lockManager.acquireLock(createExclusiveLock(ids.get(0))).isAcquired());
+
+        EngineLock all = createExclusiveLock(ids.toArray(new String[0]));
+        assertFalse(lockManager.acquireLock(all).isAcquired());
+        assertEquals(1, lockManager.showAllLocks().size());
+
+        lockManager.releaseLock(createExclusiveLock(ids.get(0)));
+        assertTrue(lockManager.acquireLock(all).isAcquired());
+        assertEquals(ids.size(), lockManager.showAllLocks().size());
+        lockManager.releaseLock(all);
+        assertTrue(lockManager.showAllLocks().isEmpty());
+    }
+
+    @Test
+    public void testWaiterNotifiedOnRelease() throws InterruptedException {
+        EngineLock lock = createExclusiveLock(Guid.newGuid().toString());
+        assertTrue(lockManager.acquireLock(lock).isAcquired());
+
+        boolean[] acquired = new boolean[1];
+        Thread waiter = new Thread(() -> acquired[0] = lockManager.acquireLockWait(lock, 10000L).isAcquired());
+        waiter.start();
+        lockManager.releaseLock(createExclusiveLock(Guid.newGuid().toString()));
+        lockManager.releaseLock(lock);
+        waiter.join(TimeUnit.SECONDS.toMillis(5));
+
+        assertFalse(waiter.isAlive());
+        assertTrue(acquired[0]);
+        lockManager.releaseLock(lock);
+    }
+
+    @Test
+    public void testWaiterRegisteredOnFailedKeysOnly() throws InterruptedException {
+        StripedLockManager stripedLockManager = new StripedLockManager(STRIPES);
+        List<String> ids = createIds(2);
+        EngineLock held = createExclusiveLock(ids.get(0));
+        assertTrue(stripedLockManager.acquireLock(held).isAcquired());
+
+        EngineLock all = createExclusiveLock(ids.toArray(new String[0]));
+        boolean[] acquired = new boolean[1];
+        Thread waiter = new Thread(() -> acquired[0] = stripedLockManager.acquireLockWait(all, 10000L).isAcquired());
+        waiter.start();
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5);
+        while (stripedLockManager.getWaitedKeys().isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(Collections.singleton(LockTable.getKeys(held).get(0)), stripedLockManager.getWaitedKeys());
+
+        stripedLockManager.releaseLock(held);
+        waiter.join(TimeUnit.SECONDS.toMillis(5));
+        assertFalse(waiter.isAlive());
+        assertTrue(acquired[0]);
+        assertTrue(stripedLockManager.getWaitedKeys().isEmpty());
+        stripedLockManager.releaseLock(all);
+    }
+
+    @Test
+    public void testConcurrentOverlappingLocks() throws InterruptedException {
+        List<String> ids = createIds(2 * STRIPES);
+        EngineLock lock1 = createExclusiveLock(ids.subList(0, STRIPES + 1).toArray(new String[0]));
+        EngineLock lock2 = createExclusiveLock(ids.subList(STRIPES - 1, ids.size()).toArray(new String[0]));
+
+        Thread t1 = new Thread(() -> acquireAndRelease(lock1));
+        Thread t2 = new Thread(() -> acquireAndRelease(lock2));
+        t1.start();
+        t2.start();
+        t1.join(TimeUnit.SECONDS.toMillis(30));
+        t2.join(TimeUnit.SECONDS.toMillis(30));
+
+        assertFalse(t1.isAlive());
+        assertFalse(t2.isAlive());
+        assertTrue(lockManager.showAllLocks().isEmpty());
+    }
+
+    private void acquireAndRelease(EngineLock lock) {
+        for (int i = 0; i < 1000; i++) {
+            if (lockManager.acquireLock(lock).isAcquired()) {
+                lockManager.releaseLock(lock);
+            }
+        }
+    }
+
+    private static List<String> createIds(int count) {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(Guid.newGuid().toString());
+        }
+        return ids;
+    }
+
+    private static EngineLock createExclusiveLock(String... ids) {
+        Map<String, Pair<String, String>> exclusiveLocks = new HashMap<>();
+        for (String id : ids) {
+            exclusiveLocks.put(id, new Pair<>("1", "Error"));
+        }
+        EngineLock lock = new EngineLock();
+        lock.setExclusiveLocks(exclusiveLocks);
+        return lock;
+    }
+}
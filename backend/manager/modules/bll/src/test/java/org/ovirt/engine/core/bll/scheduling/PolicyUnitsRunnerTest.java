@@ -0,0 +1,196 @@
+package org.ovirt.engine.core.bll.scheduling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.ovirt.engine.core.bll.scheduling.pending.PendingResourceManager;
+import org.ovirt.engine.core.common.businessentities.VDS;
+import org.ovirt.engine.core.common.businessentities.VM;
+import org.ovirt.engine.core.common.config.ConfigValues;
+import org.ovirt.engine.core.common.scheduling.PerHostMessages;
+import org.ovirt.engine.core.common.scheduling.PolicyUnit;
+import org.ovirt.engine.core.common.scheduling.PolicyUnitType;
+import org.ovirt.engine.core.common.utils.Pair;
+import org.ovirt.engine.core.compat.Guid;
+import org.ovirt.engine.core.utils.ExecutorServiceExtension;
+import org.ovirt.engine.core.utils.MockConfigDescriptor;
+import org.ovirt.engine.core.utils.MockConfigExtension;
+import org.ovirt.engine.core.utils.threadpool.ThreadPoolUtil;
+
+@ExtendWith({MockConfigExtension.class, ExecutorServiceExtension.class})
+public class PolicyUnitsRunnerTest {
+
+    private static final int PARALLELISM = 4;
+    private static final int HOSTS = PARALLELISM * PolicyUnitsRunner.MIN_HOSTS_PER_PARTITION + 7;
+
+    public static Stream<MockConfigDescriptor<?>> mockConfiguration() {
+        return Stream.of(MockConfigDescriptor.of(ConfigValues.SchedulingParallelism, PARALLELISM));
+    }
+
+    @SchedulingUnit(
+            guid = "6b6e2a5e-2a5f-4d6c-9a8b-000000000001",
+            name = "Even-Hosts",
+            type = PolicyUnitType.FILTER,
+            hostIndependent = true
+    )
+    public static class EvenHostsFilter extends PolicyUnitImpl {
+        private final Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        public EvenHostsFilter(PolicyUnit policyUnit, PendingResourceManager pendingResourceManager) {
+            super(policyUnit, pendingResourceManager);
+        }
+
+        @Override
+        public List<VDS> filter(SchedulingContext context, List<VDS> hosts, VM vm, PerHostMessages messages) {
+            threads.add(Thread.currentThread().getName());
+            List<VDS> result = new ArrayList<>();
+            for (VDS host : hosts) {
+                if (host.getVdsSpmId() % 2 == 0) {
+                    result.add(host);
+                } else {
+                    messages.addMessage(host.getId(), "odd");
+                }
+            }
+            return result;
+        }
+    }
+
+    @SchedulingUnit(
+            guid = "6b6e2a5e-2a5f-4d6c-9a8b-000000000002",
+            name = "Rank",
+            type = PolicyUnitType.WEIGHT
+    )
+    public static class RankWeight extends PolicyUnitImpl {
+        private final int factor;
+
+        public RankWeight(int factor) {
+            super(null, null);
+            this.factor = factor;
+        }
+
+        @Override
+        public List<Pair<Guid, Integer>> score(SchedulingContext context, List<VDS> hosts, VM vm) {
+            List<Pair<Guid, Integer>> scores = new ArrayList<>();
+            for (VDS host : hosts) {
+                scores.add(new Pair<>(host.getId(), host.getVdsSpmId() * factor));
+            }
+            return scores;
+        }
+    }
+
+    private PolicyUnitsRunner runner;
+    private List<VDS> hosts;
+    private List<VM> vms;
+
+    @BeforeEach
+    public void setUp() {
+        runner = new PolicyUnitsRunner();
+        runner.init();
+        hosts = new ArrayList<>();
+        for (int i = 0; i < HOSTS; i++) {
+            VDS host = new VDS();
+            host.setId(Guid.newGuid());
+            host.setVdsSpmId(i);
+            hosts.add(host);
+        }
+        vms = Collections.singletonList(new VM());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        runner.shutdown();
+    }
+
+    @Test
+    public void testPartitionedFilterEqualsSequential() {
+        EvenHostsFilter filter = new EvenHostsFilter(null, null);
+        PerHostMessages sequentialMessages = new PerHostMessages();
+        List<VDS> sequential = filter.filter(null, hosts, vms, sequentialMessages);
+        filter.threads.clear();
+
+        PerHostMessages messages = new PerHostMessages();
+        List<VDS> result = runner.filter(filter, null, hosts, vms, messages);
+
+        assertEquals(sequential, result);
+        assertEquals(sequentialMessages.getMessages(), messages.getMessages());
+        assertFalse(filter.threads.contains(Thread.currentThread().getName()));
+    }
+
+    @Test
+    public void testRejectedTasksRunSequentially() {
+        ThreadPoolUtil.getExecutorService().shutdownNow();
+        EvenHostsFilter filter = new EvenHostsFilter(null, null);
+        PerHostMessages sequentialMessages = new PerHostMessages();
+        List<VDS> sequential = filter.filter(null, hosts, vms, sequentialMessages);
+        List<Pair<PolicyUnitImpl, Integer>> functions = Arrays.asList(
+                new Pair<>(new RankWeight(1), 1),
+                new Pair<>(new RankWeight(2), 1));
+
+        PerHostMessages messages = new PerHostMessages();
+        List<VDS> result = runner.filter(filter, null, hosts, vms, messages);
+        List<List<Pair<Guid, Integer>>> scores = runner.score(functions, null, hosts, vms);
+
+        assertEquals(sequential, result);
+        assertEquals(sequentialMessages.getMessages(), messages.getMessages());
+        assertEquals(Collections.singleton(Thread.currentThread().getName()), filter.threads);
+        assertEquals(functions.get(1).getFirst().score(null, hosts, vms), scores.get(1));
+    }
+
+    @Test
+    public void testSmallHostListIsNotPartitioned() {
+        EvenHostsFilter filter = new EvenHostsFilter(null, null);
+        List<VDS> smallList = hosts.subList(0, PolicyUnitsRunner.MIN_HOSTS_PER_PARTITION);
+
+        runner.filter(filter, null, smallList, vms, new PerHostMessages());
+
+        assertEquals(Collections.singleton(Thread.currentThread().getName()), filter.threads);
+    }
+
+    @Test
+    public void testScoresInFunctionsOrder() {
+        List<Pair<PolicyUnitImpl, Integer>> functions = Arrays.asList(
+                new Pair<>(new RankWeight(1), 1),
+                new Pair<>(new RankWeight(2), 1),
+                new Pair<>(new RankWeight(3), 1));
+
+        List<List<Pair<Guid, Integer>>> scores = runner.score(functions, null, hosts, vms);
+
+        assertEquals(functions.size(), scores.size());
+        for (int i = 0; i < functions.size(); i++) {
+            assertEquals(functions.get(i).getFirst().score(null, hosts, vms), scores.get(i));
+        }
+    }
+
+    @Test
+    public void testTimings() {
+        runner.resetStatistics();
+        runner.filter(new EvenHostsFilter(null, null), null, hosts, vms, new PerHostMessages());
+        runner.score(Collections.singletonList(new Pair<>(new RankWeight(1), 1)), null, hosts, vms);
+
+        assertEquals(Long.valueOf(1), runner.getEvaluations().get("Even-Hosts"));
+        assertEquals(Long.valueOf(1), runner.getEvaluations().get("Rank"));
+        assertTrue(runner.getTotalTimeMillis().keySet().containsAll(Arrays.asList("Even-Hosts", "Rank")));
+    }
+
+    @Test
+    public void testPartition() {
+        List<List<VDS>> partitions = PolicyUnitsRunner.partition(hosts, PARALLELISM);
+
+        assertEquals(PARALLELISM, partitions.size());
+        assertEquals(hosts, partitions.stream().flatMap(List::stream).collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,69 @@
+package org.ovirt.engine.core.bll.scheduling.policyunits;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.ovirt.engine.core.bll.scheduling.PolicyUnitImpl;
+import org.ovirt.engine.core.bll.scheduling.SchedulingContext;
+import org.ovirt.engine.core.common.businessentities.Cluster;
+import org.ovirt.engine.core.common.businessentities.VDS;
+import org.ovirt.engine.core.common.businessentities.VDSStatus;
+import org.ovirt.engine.core.common.businessentities.VM;
+import org.ovirt.engine.core.common.scheduling.PerHostMessages;
+import org.ovirt.engine.core.compat.Guid;
+import org.ovirt.engine.core.compat.Version;
+
+/**
+ * The scheduling reads the hosts from the copies of the hosts cached by the host managers, so the filters should
+ * accept the copy of a host just like the host itself.
+ */
+public class ClonedHostFilterPolicyUnitsTest {
+
+    private final SchedulingContext context = new SchedulingContext(new Cluster(), Collections.emptyMap());
+
+    private VDS host;
+    private VM vm;
+
+    @BeforeEach
+    public void setUp() {
+        host = new VDS();
+        host.setId(Guid.newGuid());
+        host.setStatus(VDSStatus.Up);
+        host.setSupportedClusterLevels("4.6,4.7");
+        host.setSupportedEmulatedMachines("pc-q35-rhel8.6.0,q35");
+
+        vm = new VM();
+        vm.setId(Guid.newGuid());
+    }
+
+    @Test
+    public void testCompatibilityVersionOfClone() {
+        vm.setCustomCompatibilityVersion(Version.v4_7);
+        CompatibilityVersionFilterPolicyUnit unit = new CompatibilityVersionFilterPolicyUnit(null, null);
+
+        assertThat(filter(unit, host)).containsExactly(host);
+        VDS clone = host.clone();
+        assertThat(filter(unit, clone)).containsExactly(clone);
+    }
+
+    @Test
+    public void testEmulatedMachineOfClone() {
+        vm.setCustomEmulatedMachine("q35");
+        EmulatedMachineFilterPolicyUnit unit = new EmulatedMachineFilterPolicyUnit(null, null);
+
+        assertThat(filter(unit, host)).containsExactly(host);
+        VDS clone = host.clone();
+        assertThat(filter(unit, clone)).containsExactly(clone);
+    }
+
+    private List<VDS> filter(PolicyUnitImpl unit, VDS vds) {
+        PerHostMessages messages = new PerHostMessages();
+        List<VDS> result = unit.filter(context, Collections.singletonList(vds), vm, messages);
+        assertThat(messages.getMessages()).isEmpty();
+        return result;
+    }
+}
@@ -1,16 +1,22 @@
 package org.ovirt.engine.core.bll.storage.disk.image;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
@@ -19,6 +25,8 @@ import org.mockito.quality.Strictness;
 import org.ovirt.engine.core.bll.BaseCommandTest;
 import org.ovirt.engine.core.common.action.StorageDomainParametersBase;
 import org.ovirt.engine.core.common.businessentities.OvfEntityData;
+import org.ovirt.engine.core.common.businessentities.storage.DiskImage;
+import org.ovirt.engine.core.common.businessentities.storage.UnregisteredDisk;
 import org.ovirt.engine.core.common.queries.QueryReturnValue;
 import org.ovirt.engine.core.compat.Guid;
 import org.ovirt.engine.core.dao.DiskImageDao;
@@ -52,6 +60,31 @@ public class ScanStorageForUnregisteredDisksCommandTest extends BaseCommandTest
         assertTrue(cmd.getReturnValue().getSucceeded(), "return value should be true");
     }
 
+    @Test
+    public void testExistingDisksNotSaved() {
+        DiskImage existingDisk = createDisk();
+        DiskImage newDisk = createDisk();
+        QueryReturnValue vdcRetVal = generateQueryReturnValueForGetDiskImages();
+        vdcRetVal.setReturnValue(new ArrayList<>(Arrays.asList(existingDisk, newDisk)));
+        doReturn(vdcRetVal).when(cmd).getUnregisteredDisksFromHost();
+        DiskImage engineDisk = new DiskImage();
+        engineDisk.setId(existingDisk.getId());
+        when(diskImageDaoMock.streamAllForStorageDomain(any())).thenReturn(Stream.of(engineDisk));
+
+        cmd.executeCommand();
+
+        ArgumentCaptor<UnregisteredDisk> savedDisk = ArgumentCaptor.forClass(UnregisteredDisk.class);
+        verify(cmd, times(1)).saveUnregisterDisk(savedDisk.capture());
+        assertEquals(newDisk.getId(), savedDisk.getValue().getDiskImage().getId());
+    }
+
+    private static DiskImage createDisk() {
+        DiskImage disk = new DiskImage();
+        disk.setId(Guid.newGuid());
+        disk.setStorageIds(new ArrayList<>(Arrays.asList(Guid.newGuid())));
+        return disk;
+    }
+
     @BeforeEach
     public void setUpCommandEntities() {
         QueryReturnValue vdcRetVal = generateQueryReturnValueForGetDiskImages();
@@ -2,6 +2,7 @@ package org.ovirt.engine.core.common.businessentities;
 
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -157,114 +158,42 @@ public class VDS implements Queryable, BusinessEntityWithStatus<Guid, VDSStatus>
 
     public VDS clone() {
         VDS vds = new VDS();
-        vds.setClusterId(getClusterId());
-        vds.setClusterCpuName(getClusterCpuName());
-        vds.setCpuName(getCpuName());
-        vds.setClusterDescription(getClusterDescription());
-        vds.setId(getId());
-        vds.setVdsName(getName());
-        vds.setHostName(getHostName());
-        vds.setComment(getComment());
-        vds.setPort(getPort());
-        vds.setSshPort(getSshPort());
-        vds.setSshUsername(getSshUsername());
-        vds.setStatus(getStatus());
-        vds.setExternalStatus(getExternalStatus());
-        vds.setHardwareManufacturer(getHardwareManufacturer());
-        vds.setHardwareProductName(getHardwareProductName());
-        vds.setHardwareVersion(getHardwareVersion());
-        vds.setHardwareSerialNumber(getHardwareSerialNumber());
-        vds.setHardwareUUID(getHardwareUUID());
-        vds.setHardwareFamily(getHardwareFamily());
-        vds.setCpuCores(getCpuCores());
-        vds.setCpuThreads(getCpuThreads());
-        vds.setCpuModel(getCpuModel());
-        vds.setOnlineCpus(getOnlineCpus());
-        vds.setCpuSpeedMh(getCpuSpeedMh());
-        vds.setIfTotalSpeed(getIfTotalSpeed());
-        vds.setKvmEnabled(getKvmEnabled());
-        vds.setPhysicalMemMb(getPhysicalMemMb());
-        vds.setCpuIdle(getCpuIdle());
-        vds.setCpuLoad(getCpuLoad());
-        vds.setCpuSys(getCpuSys());
-        vds.setCpuUser(getCpuUser());
-        vds.setMemCommited(getMemCommited());
-        vds.setVmActive(getVmActive());
-        vds.setVmCount(getVmCount());
-        vds.setVmMigrating(getVmMigrating());
-        vds.setUsageMemPercent(getUsageMemPercent());
-        vds.setUsageCpuPercent(getUsageCpuPercent());
-        vds.setUsageNetworkPercent(getUsageNetworkPercent());
-        vds.setReservedMem(getReservedMem());
-        vds.setBootTime(getBootTime());
-        vds.setGuestOverhead(getGuestOverhead());
-        vds.setPreviousStatus(getPreviousStatus());
-        vds.setMemShared(getMemShared());
-        vds.setSoftwareVersion(getSoftwareVersion());
-        vds.setVersionName(getVersionName());
-        vds.setVersion(getVersion());
-        vds.setServerSslEnabled(isServerSslEnabled());
-        vds.setCpuFlags(getCpuFlags());
-        vds.setNetConfigDirty(getNetConfigDirty());
-        vds.setPmEnabled(isPmEnabled());
-        vds.setPmKdumpDetection(isPmKdumpDetection());
-        vds.setConsoleAddress(getConsoleAddress());
-        vds.setHBAs(getHBAs());
-        vds.setVdsSpmPriority(getVdsSpmPriority());
-        vds.setOtpValidity(getOtpValidity());
-        vds.setKernelVersion(getKernelVersion());
-        vds.setKvmVersion(getKvmVersion());
-        vds.setLibvirtVersion(getLibvirtVersion());
-        vds.setGlusterfsCliVersion(getGlusterfsCliVersion());
-        vds.setGlusterVersion(getGlusterVersion());
-        vds.setLibrbdVersion(getLibrbdVersion());
-        vds.setHooksStr(getHooksStr());
-        vds.setActiveNic(getActiveNic());
-        vds.setPowerManagementControlledByPolicy(isPowerManagementControlledByPolicy());
-        vds.setDisablePowerManagementPolicy(isDisablePowerManagementPolicy());
-        vds.setHighlyAvailableScore(getHighlyAvailableScore());
-        vds.setHighlyAvailableIsConfigured(getHighlyAvailableIsConfigured());
-        vds.setHighlyAvailableIsActive(getHighlyAvailableIsActive());
-        vds.setHighlyAvailableGlobalMaintenance(getHighlyAvailableGlobalMaintenance());
-        vds.setHighlyAvailableLocalMaintenance(getHighlyAvailableLocalMaintenance());
-        vds.setBalloonEnabled(isBalloonEnabled());
-        vds.setNumaNodeList(getNumaNodeList());
-        vds.setAutoNumaBalancing(getAutoNumaBalancing());
-        vds.setFenceAgents(getFenceAgents());
-        vds.setClusterCompatibilityVersion(getClusterCompatibilityVersion());
-        vds.setUpdateAvailable(isUpdateAvailable());
-        vds.setHostDevicePassthroughEnabled(isHostDevicePassthroughEnabled());
-        vds.setHostedEngineHost(isHostedEngineHost());
-        vds.setCurrentKernelCmdline(getCurrentKernelCmdline());
-        vds.setLastStoredKernelCmdline(getLastStoredKernelCmdline());
-        vds.setKernelCmdlineParsable(isKernelCmdlineParsable());
-        vds.setKernelCmdlineBlacklistNouveau(isKernelCmdlineBlacklistNouveau());
-        vds.setKernelCmdlineIommu(isKernelCmdlineIommu());
-        vds.setKernelCmdlineKvmNested(isKernelCmdlineKvmNested());
-        vds.setKernelCmdlinePciRealloc(isKernelCmdlinePciRealloc());
-        vds.setKernelCmdlineFips(isKernelCmdlineFips());
-        vds.setKernelCmdlineSmtDisabled(isKernelCmdlineSmtDisabled());
-        vds.setKernelCmdlineUnsafeInterrupts(isKernelCmdlineUnsafeInterrupts());
-        vds.setGlusterPeerStatus(getGlusterPeerStatus());
-        vds.setKernelFeatures(getKernelFeatures());
-        vds.setOvsVersion(getOvsVersion());
-        vds.setDomains(getDomains());
-
-        DnsResolverConfiguration originalDnsResolverConfiguration = getReportedDnsResolverConfiguration();
-        if (originalDnsResolverConfiguration != null) {
-            vds.setReportedDnsResolverConfiguration(new DnsResolverConfiguration(originalDnsResolverConfiguration));
-        }
-        vds.setInFenceFlow(isInFenceFlow());
-        vds.setNetworkOperationInProgress(isNetworkOperationInProgress());
-        vds.setIsDefaultRouteRoleNetworkAttached(isDefaultRouteRoleNetworkAttached());
-        vds.setClusterSmtDisabled(isClusterSmtDisabled());
-        vds.setTscFrequency(getTscFrequency());
-        vds.setTscScalingEnabled(isTscScalingEnabled());
-        vds.setCpuFlagsMissing(getCpuFlagsMissing());
-        vds.setSupportedCpus(getSupportedCpus());
-        vds.setBootUuid(getBootUuid());
-        vds.setCdChangePdiv(isCdChangePdiv());
-        vds.setOvnConfigured(isOvnConfigured());
+        vds.vdsStatic = new VdsStatic(vdsStatic);
+        vds.vdsDynamic = new VdsDynamic(vdsDynamic);
+        vds.vdsStatistics = new VdsStatistics(vdsStatistics);
+        vds.interfaces = interfaces == null ? null : new ArrayList<>(interfaces);
+        vds.networkNames = networkNames == null ? null : new HashSet<>(networkNames);
+        vds.activeNic = activeNic;
+        vds.balloonEnabled = balloonEnabled;
+        vds.countThreadsAsCores = countThreadsAsCores;
+        vds.fenceAgents = fenceAgents == null ? null : new ArrayList<>(fenceAgents);
+        vds.spmStatus = spmStatus;
+        vds.clusterCompatibilityVersion = clusterCompatibilityVersion;
+        vds.clusterName = clusterName;
+        vds.clusterFlags = clusterFlags;
+        vds.clusterVerb = clusterVerb;
+        vds.clusterDescription = clusterDescription;
+        vds.clusterCpuName = clusterCpuName;
+        vds.clusterVirtService = clusterVirtService;
+        vds.storagePoolId = storagePoolId;
+        vds.storagePoolName = storagePoolName;
+        vds.maxVdsMemoryOverCommit = maxVdsMemoryOverCommit;
+        vds.privateDomains = privateDomains == null ? null : new ArrayList<>(privateDomains);
+        vds.clusterGlusterService = clusterGlusterService;
+        vds.imagesLastCheck = imagesLastCheck;
+        vds.imagesLastDelay = imagesLastDelay;
+        vds.cpuName = cpuName;
+        vds.vdsSpmId = vdsSpmId;
+        vds.cpuFlagsMissing = cpuFlagsMissing == null ? null : new HashSet<>(cpuFlagsMissing);
+        vds.supportedCpus = supportedCpus == null ? null : new ArrayList<>(supportedCpus);
+        vds.maxSchedulingMemory = maxSchedulingMemory;
+        vds.hostedEngineHost = hostedEngineHost;
+        vds.fencingEnabled = fencingEnabled;
+        vds.glusterPeerStatus = glusterPeerStatus;
+        vds.localDisksUsage = localDisksUsage == null ? null : new HashMap<>(localDisksUsage);
+        vds.networkOperationInProgress = networkOperationInProgress;
+        vds.isDefaultRouteRoleNetworkAttached = isDefaultRouteRoleNetworkAttached;
+        vds.isClusterSmtDisabled = isClusterSmtDisabled;
         return vds;
     }
 
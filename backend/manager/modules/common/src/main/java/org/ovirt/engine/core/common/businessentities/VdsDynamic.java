@@ -2,6 +2,7 @@ package org.ovirt.engine.core.common.businessentities;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -274,6 +275,108 @@ public class VdsDynamic implements BusinessEntityWithStatus<Guid, VDSStatus> {
         cpuTopology = new ArrayList<>();
     }
 
+    public VdsDynamic(VdsDynamic template) {
+        id = template.id;
+        status = template.status;
+        externalStatus = template.externalStatus;
+        cpuCores = template.cpuCores;
+        cpuThreads = template.cpuThreads;
+        cpuModel = template.cpuModel;
+        onlineCpus = template.onlineCpus;
+        cpuSpeedMh = template.cpuSpeedMh;
+        ifTotalSpeed = template.ifTotalSpeed;
+        kvmEnabled = template.kvmEnabled;
+        physicalMemMb = template.physicalMemMb;
+        memCommited = template.memCommited;
+        vmActive = template.vmActive;
+        vmCount = template.vmCount;
+        vmMigrating = template.vmMigrating;
+        incomingMigrations = template.incomingMigrations;
+        outgoingMigrations = template.outgoingMigrations;
+        reservedMem = template.reservedMem;
+        guestOverhead = template.guestOverhead;
+        softwareVersion = template.softwareVersion;
+        versionName = template.versionName;
+        buildName = template.buildName;
+        previousStatus = template.previousStatus;
+        cpuFlags = template.cpuFlags;
+        vmsCoresCount = template.vmsCoresCount;
+        pendingVcpusCount = template.pendingVcpusCount;
+        cpuSockets = template.cpuSockets;
+        netConfigDirty = template.netConfigDirty;
+        supportedClusterLevels = template.supportedClusterLevels;
+        supportedEngines = template.supportedEngines;
+        supportedDomainVersions = template.supportedDomainVersions == null
+                ? null
+                : new HashSet<>(template.supportedDomainVersions);
+        hostOs = template.hostOs;
+        kvmVersion = template.kvmVersion;
+        libvirtVersion = template.libvirtVersion;
+        spiceVersion = template.spiceVersion;
+        glusterVersion = template.glusterVersion;
+        kernelVersion = template.kernelVersion;
+        librbdVersion = template.librbdVersion;
+        glusterfsCliVersion = template.glusterfsCliVersion;
+        ovsVersion = template.ovsVersion;
+        nmstateVersion = template.nmstateVersion;
+        iScsiInitiatorName = template.iScsiInitiatorName;
+        kdumpStatus = template.kdumpStatus;
+        transparentHugePagesState = template.transparentHugePagesState;
+        HBAs = template.HBAs == null ? null : new HashMap<>(template.HBAs);
+        hooksStr = template.hooksStr;
+        hwManufacturer = template.hwManufacturer;
+        hwProductName = template.hwProductName;
+        hwVersion = template.hwVersion;
+        hwSerialNumber = template.hwSerialNumber;
+        hwUUID = template.hwUUID;
+        hwFamily = template.hwFamily;
+        nonOperationalReason = template.nonOperationalReason;
+        pendingVmemSize = template.pendingVmemSize;
+        rpmVersion = template.rpmVersion;
+        supportedClusterVersionsSet = template.supportedClusterVersionsSet == null
+                ? null
+                : new HashSet<>(template.supportedClusterVersionsSet);
+        supportedEngineVersionsSet = template.supportedEngineVersionsSet == null
+                ? null
+                : new HashSet<>(template.supportedEngineVersionsSet);
+        selinuxEnforceMode = template.selinuxEnforceMode;
+        powerManagementControlledByPolicy = template.powerManagementControlledByPolicy;
+        supportedEmulatedMachines = template.supportedEmulatedMachines;
+        numaNodeList = template.numaNodeList == null ? null : new ArrayList<>(template.numaNodeList);
+        autoNumaBalancing = template.autoNumaBalancing;
+        numaSupport = template.numaSupport;
+        supportedRngSources = template.supportedRngSources == null ? null : new HashSet<>(template.supportedRngSources);
+        maintenanceReason = template.maintenanceReason;
+        updateAvailable = template.updateAvailable;
+        additionalFeatures = template.additionalFeatures == null ? null : new HashSet<>(template.additionalFeatures);
+        hostDevicePassthroughEnabled = template.hostDevicePassthroughEnabled;
+        kernelArgs = template.kernelArgs;
+        prettyName = template.prettyName;
+        hostedEngineConfigured = template.hostedEngineConfigured;
+        inFenceFlow = template.inFenceFlow;
+        kernelFeatures = template.kernelFeatures == null ? null : new HashMap<>(template.kernelFeatures);
+        openstackBindingHostIds = template.openstackBindingHostIds == null
+                ? null
+                : new HashMap<>(template.openstackBindingHostIds);
+        connectorInfo = template.connectorInfo == null ? null : new HashMap<>(template.connectorInfo);
+        backupEnabled = template.backupEnabled;
+        coldBackupEnabled = template.coldBackupEnabled;
+        clearBitmapsEnabled = template.clearBitmapsEnabled;
+        reportedDnsResolverConfiguration = template.reportedDnsResolverConfiguration == null
+                ? null
+                : new DnsResolverConfiguration(template.reportedDnsResolverConfiguration);
+        vncEncryptionEnabled = template.vncEncryptionEnabled;
+        supportedBlockSize = template.supportedBlockSize == null ? null : new HashMap<>(template.supportedBlockSize);
+        tscFrequency = template.tscFrequency;
+        tscScalingEnabled = template.tscScalingEnabled;
+        fipsEnabled = template.fipsEnabled;
+        bootUuid = template.bootUuid;
+        cdChangePdiv = template.cdChangePdiv;
+        ovnConfigured = template.ovnConfigured;
+        cpuTopology = template.cpuTopology == null ? null : new ArrayList<>(template.cpuTopology);
+        vdsmCpusAffinity = template.vdsmCpusAffinity;
+    }
+
     public Integer getCpuCores() {
         return cpuCores;
     }
@@ -1,5 +1,6 @@
 package org.ovirt.engine.core.common.businessentities;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
@@ -191,6 +192,43 @@ public class VdsStatic implements BusinessEntity<Guid>, Commented {
         vgpuPlacement = VgpuPlacement.CONSOLIDATED.getValue();
     }
 
+    public VdsStatic(VdsStatic template) {
+        id = template.id;
+        name = template.name;
+        comment = template.comment;
+        consoleAddress = template.consoleAddress;
+        uniqueId = template.uniqueId;
+        hostName = template.hostName;
+        port = template.port;
+        sshPort = template.sshPort;
+        sshUsername = template.sshUsername;
+        clusterId = template.clusterId;
+        serverSslEnabled = template.serverSslEnabled;
+        vdsType = template.vdsType;
+        pmEnabled = template.pmEnabled;
+        fenceProxySources = template.fenceProxySources == null ? null : new ArrayList<>(template.fenceProxySources);
+        pmKdumpDetection = template.pmKdumpDetection;
+        disablePowerManagementPolicy = template.disablePowerManagementPolicy;
+        otpValidity = template.otpValidity;
+        vdsSpmPriority = template.vdsSpmPriority;
+        autoRecoverable = template.autoRecoverable;
+        sshKeyFingerprint = template.sshKeyFingerprint;
+        sshPublicKey = template.sshPublicKey;
+        hostProviderId = template.hostProviderId;
+        currentKernelCmdline = template.currentKernelCmdline;
+        kernelCmdlineParsable = template.kernelCmdlineParsable;
+        lastStoredKernelCmdline = template.lastStoredKernelCmdline;
+        kernelCmdlineBlacklistNouveau = template.kernelCmdlineBlacklistNouveau;
+        kernelCmdlineIommu = template.kernelCmdlineIommu;
+        kernelCmdlineKvmNested = template.kernelCmdlineKvmNested;
+        kernelCmdlineUnsafeInterrupts = template.kernelCmdlineUnsafeInterrupts;
+        kernelCmdlinePciRealloc = template.kernelCmdlinePciRealloc;
+        kernelCmdlineFips = template.kernelCmdlineFips;
+        kernelCmdlineSmtDisabled = template.kernelCmdlineSmtDisabled;
+        reinstallRequired = template.reinstallRequired;
+        vgpuPlacement = template.vgpuPlacement;
+    }
+
     public VdsStatic(String hostName, String uniqueId, int port, int sshPort, String sshUsername, Guid clusterId,
             Guid vdsId, String vdsName, boolean serverSslEnabled, VDSType vdsType, Guid hostProviderId) {
         this();
@@ -64,6 +64,35 @@ public class VdsStatistics implements BusinessEntity<Guid> {
         hugePages = new ArrayList<>();
     }
 
+    public VdsStatistics(VdsStatistics template) {
+        id = template.id;
+        cpuIdle = template.cpuIdle;
+        cpuLoad = template.cpuLoad;
+        cpuSys = template.cpuSys;
+        cpuUser = template.cpuUser;
+        usageMemPercent = template.usageMemPercent;
+        usageCpuPercent = template.usageCpuPercent;
+        usageNetworkPercent = template.usageNetworkPercent;
+        memFree = template.memFree;
+        memShared = template.memShared;
+        swapFree = template.swapFree;
+        swapTotal = template.swapTotal;
+        ksmCpuPercent = template.ksmCpuPercent;
+        ksmPages = template.ksmPages;
+        ksmState = template.ksmState;
+        anonymousHugePages = template.anonymousHugePages;
+        hugePages = template.hugePages == null ? null : new ArrayList<>(template.hugePages);
+        bootTime = template.bootTime;
+        highlyAvailableScore = template.highlyAvailableScore;
+        highlyAvailableIsConfigured = template.highlyAvailableIsConfigured;
+        highlyAvailableIsActive = template.highlyAvailableIsActive;
+        highlyAvailableGlobalMaintenance = template.highlyAvailableGlobalMaintenance;
+        highlyAvailableLocalMaintenance = template.highlyAvailableLocalMaintenance;
+        cpuOverCommitTimeStamp = template.cpuOverCommitTimeStamp;
+        cpuCoreStatistics = template.cpuCoreStatistics == null ? null : new ArrayList<>(template.cpuCoreStatistics);
+        v2vJobs = template.v2vJobs == null ? null : new ArrayList<>(template.v2vJobs);
+    }
+
     @Override
     public int hashCode() {
         return Objects.hash(
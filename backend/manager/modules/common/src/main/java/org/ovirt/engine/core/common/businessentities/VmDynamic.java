@@ -353,6 +353,7 @@ public class VmDynamic implements BusinessEntityWithStatus<Guid, VMStatus>, Comp
         currentCoresPerSocket = template.getCurrentCoresPerSocket();
         currentThreadsPerCore = template.getCurrentThreadsPerCore();
         currentNumaPinning = template.getCurrentNumaPinning();
+        runtimeName = template.getRuntimeName();
     }
 
     public String getAppList() {
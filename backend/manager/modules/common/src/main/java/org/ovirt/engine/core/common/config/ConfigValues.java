@@ -1631,6 +1631,106 @@ public enum ConfigValues {
     @TypeConverterAttribute(Boolean.class)
     IsDedicatedSupported,
 
+    /**
+     * Whether to resolve the parameters of all the stored procedures at startup, instead of upon their first call.
+     */
+    @TypeConverterAttribute(Boolean.class)
+    PrecompileStoredProcedures,
+
+    /**
+     * The time to live in seconds of the cached entities, keyed by the entity type name. Entity types not listed are
+     * not cached.
+     */
+    @TypeConverterAttribute(Map.class)
+    EntityCacheTimeToLiveInSeconds,
+
+    /**
+     * The maximal number of cached entities of each type.
+     */
+    @TypeConverterAttribute(Integer.class)
+    EntityCacheMaxSize,
+
+    /**
+     * The interval in seconds in which the VM statistics reported by the monitoring are written to the database, only
+     * the latest statistics of each VM are written. 0 means the statistics are written on each monitoring cycle.
+     */
+    @TypeConverterAttribute(Integer.class)
+    VmStatisticsPersistIntervalInSeconds,
+
+    /**
+     * The interval in seconds after which the VM statistics reported by the monitoring are written to the database
+     * even if they didn't change since they were last written. 0 means the statistics are written whether they
+     * changed or not. The statistics of the VM interfaces are always written.
+     */
+    @TypeConverterAttribute(Integer.class)
+    VmStatisticsRefreshIntervalInSeconds,
+
+    /**
+     * The percentage by which the rates, usage percentages and latencies of reported VM statistics may differ from the
+     * written ones and still count as unchanged. Only used when VmStatisticsRefreshIntervalInSeconds is positive.
+     */
+    @TypeConverterAttribute(Integer.class)
+    VmStatisticsChangeTolerancePercent,
+
+    /**
+     * The number of tasks evaluating the scheduling policy units concurrently on the engine thread pool. Values lower
+     * than 2 evaluate them sequentially.
+     */
+    @TypeConverterAttribute(Integer.class)
+    SchedulingParallelism,
+
+    /**
+     * The maximal age in seconds of the in-memory hosts read by the scheduling, older hosts make the scheduling load
+     * the hosts from the database. 0 always loads them from the database.
+     */
+    @TypeConverterAttribute(Integer.class)
+    SchedulingResourceViewMaxAgeInSeconds,
+
+    /**
+     * The maximal number of audit log events queued for writing to the database in the background, events which don't
+     * fit the queue are dropped. 0 writes the events synchronously.
+     */
+    @TypeConverterAttribute(Integer.class)
+    AuditLogQueueCapacity,
+
+    /**
+     * The number of days of audit log kept in each partition of the audit log table. The nightly cleanup creates the
+     * partitions ahead and drops the expired ones instead of deleting their entries one by one. 0 keeps the new entries
+     * in the default partition of the table, from which they are deleted one by one.
+     */
+    @Reloadable
+    @TypeConverterAttribute(Integer.class)
+    AuditLogPartitionDays,
+
+    /**
+     * The maximal number of queries generated from search expressions which are cached, the least recently used
+     * queries are evicted once the cache is full
+     */
+    @Reloadable
+    @TypeConverterAttribute(Integer.class)
+    SearchQueryCacheMaxSize,
+
+    /**
+     * The maximal interval in seconds in which the monitoring of a stable host runs, the monitoring of hosts which
+     * stay stable slows down gradually up to this interval. 0 monitors all the hosts in their usual rate.
+     */
+    @TypeConverterAttribute(Integer.class)
+    HostMonitoringMaxIntervalInSeconds,
+
+    /**
+     * The number of consecutive refreshes in which a host has to stay stable before its monitoring slows down
+     * further. Only used when HostMonitoringMaxIntervalInSeconds is positive.
+     */
+    @TypeConverterAttribute(Integer.class)
+    HostMonitoringStableRefreshesBeforeSlowdown,
+
+    /**
+     * The percentage points by which the CPU and memory usage of a host may change while it is still considered
+     * stable. Only used when HostMonitoringMaxIntervalInSeconds is positive.
+     */
+    @TypeConverterAttribute(Integer.class)
+    HostMonitoringUsageChangeTolerancePercent,
+
     Invalid;
 
     private ClientAccessLevel accessLevel;
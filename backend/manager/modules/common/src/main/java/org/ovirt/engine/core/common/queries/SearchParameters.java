@@ -13,6 +13,8 @@ public class SearchParameters extends QueryParametersBase implements Serializabl
     private int _maxCount;
     private long searchFrom;
     private boolean caseSensitive;
+    private boolean keysetPaging;
+    private String searchAfter;
 
     public SearchParameters() {
         this (null, SearchType.VM, true);
@@ -61,6 +63,29 @@ public class SearchParameters extends QueryParametersBase implements Serializabl
         caseSensitive = value;
     }
 
+    /**
+     * Keyset paging returns the results ordered by their primary key, starting after the one given by
+     * {@link #setSearchAfter(String)}, so the cost of fetching a page doesn't depend on how deep it is.
+     */
+    public boolean isKeysetPaging() {
+        return keysetPaging;
+    }
+
+    public void setKeysetPaging(boolean value) {
+        keysetPaging = value;
+    }
+
+    /**
+     * @return the primary key of the last result of the previous page, or {@code null} to fetch the first page
+     */
+    public String getSearchAfter() {
+        return searchAfter;
+    }
+
+    public void setSearchAfter(String value) {
+        searchAfter = value;
+    }
+
     @Override
     protected ToStringBuilder appendAttributes(ToStringBuilder tsb) {
         return super.appendAttributes(tsb)
@@ -68,6 +93,8 @@ public class SearchParameters extends QueryParametersBase implements Serializabl
                 .append("searchPattern", getSearchPattern())
                 .append("caseSensitive", getCaseSensitive())
                 .append("from", getSearchFrom())
+                .append("keysetPaging", isKeysetPaging())
+                .append("after", getSearchAfter())
                 .append("max", getMaxCount());
     }
 }
@@ -1,9 +1,13 @@
 package org.ovirt.engine.core.common.businessentities;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.stream.Stream;
 
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.ovirt.engine.core.compat.Guid;
@@ -33,4 +37,62 @@ public class VDSTest {
         assertEquals(vds, cloned, "clones not equal");
         assertEquals(vds.hashCode(), cloned.hashCode(), "clones do not have equal hashCodes");
     }
+
+    @Test
+    public void vdsClonedWithAllData() {
+        VDS vds = createFullVds();
+        VDS cloned = vds.clone();
+
+        assertEquals(vds.getStaticData(), cloned.getStaticData());
+        assertEquals(vds.getDynamicData(), cloned.getDynamicData());
+        assertEquals(vds.getStatisticsData(), cloned.getStatisticsData());
+        assertEquals(vds.getSpmStatus(), cloned.getSpmStatus());
+        assertEquals(vds.getStoragePoolId(), cloned.getStoragePoolId());
+        assertEquals(vds.getMaxVdsMemoryOverCommit(), cloned.getMaxVdsMemoryOverCommit());
+        assertEquals(vds.getMaxSchedulingMemory(), cloned.getMaxSchedulingMemory(), 0);
+        assertEquals(vds.getSupportedClusterVersionsSet(), cloned.getSupportedClusterVersionsSet());
+        assertEquals(vds.getSupportedEmulatedMachines(), cloned.getSupportedEmulatedMachines());
+        assertEquals(vds.getCpuTopology(), cloned.getCpuTopology());
+        assertEquals(vds.getHugePages(), cloned.getHugePages());
+    }
+
+    @Test
+    public void vdsClonedIndependently() {
+        VDS vds = createFullVds();
+        VDS cloned = vds.clone();
+
+        assertNotSame(vds.getDynamicData(), cloned.getDynamicData());
+        assertNotSame(vds.getStatisticsData(), cloned.getStatisticsData());
+        cloned.setPendingVmemSize(4096);
+        cloned.setMemFree(0L);
+        assertEquals(1024, vds.getPendingVmemSize());
+        assertEquals(8192L, (long) vds.getMemFree());
+    }
+
+    private static VDS createFullVds() {
+        VDS vds = new VDS();
+        vds.setId(Guid.newGuid());
+        vds.setClusterId(Guid.newGuid());
+        vds.setStoragePoolId(Guid.newGuid());
+        vds.setStatus(VDSStatus.Up);
+        vds.setSpmStatus(VdsSpmStatus.SPM);
+        vds.setSupportedClusterLevels("4.6,4.7");
+        vds.setSupportedEmulatedMachines("pc-q35-rhel8.6.0,q35");
+        vds.setPhysicalMemMb(16384);
+        vds.setMemCommited(2048);
+        vds.setReservedMem(256);
+        vds.setGuestOverhead(64);
+        vds.setMaxVdsMemoryOverCommit(150);
+        vds.setPendingVcpusCount(2);
+        vds.setPendingVmemSize(1024);
+        vds.setMemFree(8192L);
+        vds.setSwapFree(1024L);
+        vds.setSwapTotal(2048L);
+        vds.setCpuCores(4);
+        vds.setCpuThreads(8);
+        vds.setCpuSockets(1);
+        vds.setCpuTopology(Arrays.asList(new VdsCpuUnit(0, 0, 0, 0), new VdsCpuUnit(0, 0, 0, 1)));
+        vds.setHugePages(Collections.singletonList(new HugePage(2048, 10, 10)));
+        return vds;
+    }
 }
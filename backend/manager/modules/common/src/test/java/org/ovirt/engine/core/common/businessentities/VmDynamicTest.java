@@ -0,0 +1,82 @@
+package org.ovirt.engine.core.common.businessentities;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.ovirt.engine.core.compat.Guid;
+
+public class VmDynamicTest {
+
+    /**
+     * The monitoring writes back the copy of the dynamic data of a VM, so a field the copy misses is reset in the
+     * database.
+     */
+    @Test
+    public void copyHasAllFields() throws IllegalAccessException {
+        VmDynamic vmDynamic = new VmDynamic();
+        for (Field field : getFields()) {
+            field.set(vmDynamic, createValue(field));
+        }
+
+        VmDynamic copy = new VmDynamic(vmDynamic);
+
+        for (Field field : getFields()) {
+            assertNotNull(field.get(copy), field.getName());
+            assertEquals(field.get(vmDynamic), field.get(copy), field.getName());
+        }
+    }
+
+    private static List<Field> getFields() {
+        List<Field> fields = new ArrayList<>();
+        for (Field field : VmDynamic.class.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers())) {
+                field.setAccessible(true);
+                fields.add(field);
+            }
+        }
+        return fields;
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static Object createValue(Field field) {
+        Class<?> type = field.getType();
+        if (type == String.class) {
+            return field.getName();
+        }
+        if (type == Guid.class) {
+            return Guid.newGuid();
+        }
+        if (type == int.class || type == Integer.class) {
+            return field.getName().length();
+        }
+        if (type == long.class || type == Long.class) {
+            return (long) field.getName().length();
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            return true;
+        }
+        if (type == Date.class) {
+            return new Date(field.getName().length());
+        }
+        if (type.isEnum()) {
+            Object[] values = type.getEnumConstants();
+            return values[values.length - 1];
+        }
+        if (type == Map.class) {
+            return Collections.singletonMap(field.getName(), field.getName());
+        }
+        if (type == List.class) {
+            return Collections.singletonList(field.getName());
+        }
+        throw new IllegalArgumentException("No value for field " + field.getName() + " of type " + type);
+    }
+}
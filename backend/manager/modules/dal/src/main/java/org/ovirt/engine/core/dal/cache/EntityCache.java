@@ -0,0 +1,36 @@
+package org.ovirt.engine.core.dal.cache;
+
+import java.util.function.Function;
+
+/**
+ * A cache of entities read by their id, layered under a DAO. Implementations must be thread safe.
+ *
+ * @param <ID>
+ *            The type of the entity's id.
+ * @param <T>
+ *            The type of entity.
+ */
+public interface EntityCache<ID, T> {
+
+    /**
+     * Returns the cached entity with the given id, loading it if it is not cached.
+     *
+     * @param id
+     *            the entity id
+     * @param loader
+     *            loads the entity from the database upon a cache miss
+     * @return the entity, or {@code null} if it doesn't exist
+     */
+    T get(ID id, Function<ID, T> loader);
+
+    /**
+     * Invalidates the entity with the given id. If called within a transaction, the entity is also kept out of the
+     * cache until the transaction completes, so neither uncommitted nor stale data is cached meanwhile.
+     */
+    void invalidate(ID id);
+
+    /**
+     * Invalidates all the cached entities.
+     */
+    void invalidateAll();
+}
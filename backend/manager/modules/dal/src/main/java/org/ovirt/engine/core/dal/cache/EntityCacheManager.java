@@ -0,0 +1,137 @@
+package org.ovirt.engine.core.dal.cache;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import javax.management.ObjectName;
+
+import org.ovirt.engine.core.utils.MBeanUtils;
+import org.ovirt.engine.core.utils.transaction.TransactionCompletionListener;
+import org.ovirt.engine.core.utils.transaction.TransactionSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Holds the entity caches used by the DAOs. All the caches are disabled until {@link #configure(Map, int)} is called
+ * with the entity types to cache, which happens once the configuration is available.
+ */
+@Named
+@Singleton
+public class EntityCacheManager implements EntityCacheMonitorMXBean {
+
+    private static final Logger log = LoggerFactory.getLogger(EntityCacheManager.class);
+
+    private volatile Map<String, LruEntityCache<?, ?>> caches = Collections.emptyMap();
+    private ObjectName objectName;
+
+    /**
+     * Enables the caches of the given entity types.
+     *
+     * @param timeToLiveInSeconds
+     *            the time to live of the cached entities, keyed by the entity type name
+     * @param maxSize
+     *            the maximal number of cached entities of each type
+     */
+    public synchronized void configure(Map<String, ?> timeToLiveInSeconds, int maxSize) {
+        Map<String, LruEntityCache<?, ?>> newCaches = new HashMap<>();
+        timeToLiveInSeconds.forEach((name, value) -> {
+            int ttl;
+            try {
+                ttl = Integer.parseInt(String.valueOf(value));
+            } catch (NumberFormatException e) {
+                log.warn("Invalid time to live '{}' of cached entity type '{}', not caching it", value, name);
+                return;
+            }
+            if (ttl > 0 && maxSize > 0) {
+                newCaches.put(name,
+                        new LruEntityCache<>(name, maxSize, ttl, EntityCacheManager::afterTransactionCompletion));
+            }
+        });
+        caches = Collections.unmodifiableMap(newCaches);
+        log.info("Entity caches enabled for: {}", newCaches.keySet());
+        registerMBean();
+    }
+
+    /**
+     * @param entityName
+     *            the entity type name
+     * @return the cache of the given entity type, or a pass-through cache if the type isn't cached
+     */
+    @SuppressWarnings("unchecked")
+    public <ID, T extends Serializable> EntityCache<ID, T> getCache(String entityName) {
+        EntityCache<ID, T> cache = (EntityCache<ID, T>) caches.get(entityName);
+        return cache != null ? cache : NoOpEntityCache.getInstance();
+    }
+
+    private static boolean afterTransactionCompletion(Runnable callback) {
+        try {
+            if (TransactionSupport.current() == null) {
+                return false;
+            }
+            TransactionSupport.registerRollbackHandler(new TransactionCompletionListener() {
+                @Override
+                public void onSuccess() {
+                    callback.run();
+                }
+
+                @Override
+                public void onRollback() {
+                    callback.run();
+                }
+            });
+            return true;
+        } catch (RuntimeException e) {
+            log.debug("Unable to defer entity cache invalidation to transaction completion", e);
+            return false;
+        }
+    }
+
+    private void registerMBean() {
+        if (objectName == null) {
+            objectName = MBeanUtils.registerMBean(this, "EntityCacheManager", "entity cache monitor");
+        }
+    }
+
+    @PreDestroy
+    private void unregisterMBean() {
+        MBeanUtils.unregisterMBean(objectName, "entity cache monitor");
+        objectName = null;
+    }
+
+    @Override
+    public Map<String, Long> getHits() {
+        return collect(LruEntityCache::getHits);
+    }
+
+    @Override
+    public Map<String, Long> getMisses() {
+        return collect(LruEntityCache::getMisses);
+    }
+
+    @Override
+    public Map<String, Long> getEvictions() {
+        return collect(LruEntityCache::getEvictions);
+    }
+
+    @Override
+    public Map<String, Long> getSizes() {
+        return collect(LruEntityCache::size);
+    }
+
+    @Override
+    public void invalidateAll() {
+        caches.values().forEach(LruEntityCache::invalidateAll);
+    }
+
+    private Map<String, Long> collect(ToLongFunction<LruEntityCache<?, ?>> counter) {
+        Map<String, Long> result = new HashMap<>();
+        caches.forEach((name, cache) -> result.put(name, counter.applyAsLong(cache)));
+        return result;
+    }
+}
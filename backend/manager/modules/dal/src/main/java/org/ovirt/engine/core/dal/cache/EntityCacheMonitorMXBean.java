@@ -0,0 +1,34 @@
+package org.ovirt.engine.core.dal.cache;
+
+import java.util.Map;
+
+/**
+ * The following interface is used as interface for JMX bean
+ */
+public interface EntityCacheMonitorMXBean {
+
+    /**
+     * The following method will return the number of cache hits, per cached entity type
+     */
+    Map<String, Long> getHits();
+
+    /**
+     * The following method will return the number of cache misses, per cached entity type
+     */
+    Map<String, Long> getMisses();
+
+    /**
+     * The following method will return the number of evicted and expired entities, per cached entity type
+     */
+    Map<String, Long> getEvictions();
+
+    /**
+     * The following method will return the number of currently cached entities, per cached entity type
+     */
+    Map<String, Long> getSizes();
+
+    /**
+     * The following method will allow to clear all the caches via JMX console
+     */
+    void invalidateAll();
+}
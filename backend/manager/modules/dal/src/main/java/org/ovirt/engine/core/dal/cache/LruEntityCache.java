@@ -0,0 +1,170 @@
+package org.ovirt.engine.core.dal.cache;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+import org.apache.commons.lang.SerializationUtils;
+
+/**
+ * A size bounded entity cache, evicting the least recently used entities once full and expiring entities after a
+ * fixed time to live.
+ * <p>
+ * Cached entities are copied on the way in and out of the cache, so callers are free to modify the entities they get.
+ * <p>
+ * An invalidated entity is kept out of the cache until the transaction that invalidated it completes, and is
+ * invalidated again at that point. Loads racing with an invalidation are not cached, so an entity read before a
+ * modification is never cached after it.
+ */
+public class LruEntityCache<ID, T extends Serializable> implements EntityCache<ID, T> {
+
+    private final String name;
+    private final int maxSize;
+    private final long timeToLiveNanos;
+    private final Predicate<Runnable> afterTransactionCompletion;
+    private final LongSupplier nanoTime;
+
+    private final Map<ID, CachedEntity<T>> entities;
+    private final Map<ID, Integer> pendingTransactions = new HashMap<>();
+    private long generation;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * @param name
+     *            the cached entity type name
+     * @param maxSize
+     *            the maximal number of cached entities
+     * @param timeToLiveInSeconds
+     *            the time an entity is kept in the cache since it was loaded
+     * @param afterTransactionCompletion
+     *            registers the given callback to be called when the current transaction completes, returning
+     *            {@code false} if there is no active transaction
+     */
+    public LruEntityCache(String name,
+            int maxSize,
+            int timeToLiveInSeconds,
+            Predicate<Runnable> afterTransactionCompletion) {
+        this(name, maxSize, timeToLiveInSeconds, afterTransactionCompletion, System::nanoTime);
+    }
+
+    LruEntityCache(String name,
+            int maxSize,
+            int timeToLiveInSeconds,
+            Predicate<Runnable> afterTransactionCompletion,
+            LongSupplier nanoTime) {
+        this.name = name;
+        this.maxSize = maxSize;
+        this.timeToLiveNanos = TimeUnit.SECONDS.toNanos(timeToLiveInSeconds);
+        this.afterTransactionCompletion = afterTransactionCompletion;
+        this.nanoTime = nanoTime;
+        this.entities = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ID, CachedEntity<T>> eldest) {
+                if (size() > LruEntityCache.this.maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public T get(ID id, Function<ID, T> loader) {
+        long loadGeneration;
+        synchronized (this) {
+            if (!pendingTransactions.containsKey(id)) {
+                CachedEntity<T> cached = entities.get(id);
+                if (cached != null) {
+                    if (cached.expiresAt - nanoTime.getAsLong() > 0) {
+                        hits.incrementAndGet();
+                        return copy(cached.entity);
+                    }
+                    entities.remove(id);
+                    evictions.incrementAndGet();
+                }
+            }
+            misses.incrementAndGet();
+            loadGeneration = generation;
+        }
+
+        T entity = loader.apply(id);
+        if (entity != null) {
+            T copy = copy(entity);
+            synchronized (this) {
+                if (generation == loadGeneration && !pendingTransactions.containsKey(id)) {
+                    entities.put(id, new CachedEntity<>(copy, nanoTime.getAsLong() + timeToLiveNanos));
+                }
+            }
+        }
+        return entity;
+    }
+
+    @Override
+    public void invalidate(ID id) {
+        synchronized (this) {
+            entities.remove(id);
+            generation++;
+            pendingTransactions.merge(id, 1, Integer::sum);
+        }
+        if (!afterTransactionCompletion.test(() -> transactionCompleted(id))) {
+            transactionCompleted(id);
+        }
+    }
+
+    private synchronized void transactionCompleted(ID id) {
+        pendingTransactions.computeIfPresent(id, (k, count) -> count > 1 ? count - 1 : null);
+        entities.remove(id);
+        generation++;
+    }
+
+    @Override
+    public synchronized void invalidateAll() {
+        entities.clear();
+        generation++;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized int size() {
+        return entities.size();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Serializable> T copy(T entity) {
+        return (T) SerializationUtils.clone(entity);
+    }
+
+    private static class CachedEntity<T> {
+        private final T entity;
+        private final long expiresAt;
+
+        CachedEntity(T entity, long expiresAt) {
+            this.entity = entity;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package org.ovirt.engine.core.dal.cache;
+
+import java.util.function.Function;
+
+/**
+ * The cache used for entity types that are not configured to be cached, always delegating to the loader.
+ */
+public final class NoOpEntityCache<ID, T> implements EntityCache<ID, T> {
+
+    @SuppressWarnings("rawtypes")
+    private static final NoOpEntityCache INSTANCE = new NoOpEntityCache();
+
+    private NoOpEntityCache() {
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <ID, T> NoOpEntityCache<ID, T> getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public T get(ID id, Function<ID, T> loader) {
+        return loader.apply(id);
+    }
+
+    @Override
+    public void invalidate(ID id) {
+    }
+
+    @Override
+    public void invalidateAll() {
+    }
+}
@@ -0,0 +1,137 @@
+package org.ovirt.engine.core.dal.dbbroker;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.support.JdbcUtils;
+
+/**
+ * Creates streams of query results backed by a server side cursor.
+ * <p>
+ * The PostgreSQL driver uses a cursor only when the fetch size is set and the connection is not in auto-commit mode.
+ * Within a transaction this is already the case. Otherwise auto-commit is switched off for the lifetime of the stream
+ * and restored when it is closed, so the rows are fetched in chunks of the fetch size instead of all at once.
+ */
+public final class CursorStreams {
+
+    private static final Logger log = LoggerFactory.getLogger(CursorStreams.class);
+
+    private CursorStreams() {
+    }
+
+    /**
+     * Runs the query and returns a stream of its mapped rows. The stream holds the connection, statement and cursor
+     * until it is closed, so it must always be closed, preferably using try-with-resources.
+     */
+    public static <T> Stream<T> query(JdbcTemplate jdbcTemplate,
+            String sql,
+            PreparedStatementSetter setter,
+            RowMapper<T> rowMapper,
+            int fetchSize) {
+        CursorResources resources = new CursorResources(jdbcTemplate.getDataSource());
+        try {
+            resources.open(sql, fetchSize);
+            setter.setValues(resources.statement);
+            resources.resultSet = resources.statement.executeQuery();
+        } catch (SQLException e) {
+            resources.close();
+            throw translate(jdbcTemplate, sql, e);
+        } catch (RuntimeException e) {
+            resources.close();
+            throw e;
+        }
+
+        return StreamSupport.stream(new ResultSetSpliterator<>(jdbcTemplate, sql, resources.resultSet, rowMapper), false)
+                .onClose(resources::close);
+    }
+
+    private static DataAccessException translate(JdbcTemplate jdbcTemplate, String sql, SQLException e) {
+        return jdbcTemplate.getExceptionTranslator().translate("CursorStreams", sql, e);
+    }
+
+    private static class CursorResources {
+        private final DataSource dataSource;
+        private Connection connection;
+        private boolean restoreAutoCommit;
+        private PreparedStatement statement;
+        private ResultSet resultSet;
+
+        CursorResources(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        void open(String sql, int fetchSize) throws SQLException {
+            connection = DataSourceUtils.getConnection(dataSource);
+            if (connection.getAutoCommit()) {
+                connection.setAutoCommit(false);
+                restoreAutoCommit = true;
+            }
+            statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+        }
+
+        void close() {
+            JdbcUtils.closeResultSet(resultSet);
+            JdbcUtils.closeStatement(statement);
+            if (connection == null) {
+                return;
+            }
+            if (restoreAutoCommit) {
+                try {
+                    connection.commit();
+                    connection.setAutoCommit(true);
+                } catch (SQLException e) {
+                    log.warn("Failed to restore auto-commit mode of a cursor connection: {}", e.getMessage());
+                    log.debug("Exception", e);
+                }
+            }
+            DataSourceUtils.releaseConnection(connection, dataSource);
+            connection = null;
+        }
+    }
+
+    private static class ResultSetSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+        private final JdbcTemplate jdbcTemplate;
+        private final String sql;
+        private final ResultSet resultSet;
+        private final RowMapper<T> rowMapper;
+        private int rowNum;
+
+        ResultSetSpliterator(JdbcTemplate jdbcTemplate, String sql, ResultSet resultSet, RowMapper<T> rowMapper) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED);
+            this.jdbcTemplate = jdbcTemplate;
+            this.sql = sql;
+            this.resultSet = resultSet;
+            this.rowMapper = rowMapper;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            try {
+                if (!resultSet.next()) {
+                    return false;
+                }
+                action.accept(rowMapper.mapRow(resultSet, rowNum++));
+                return true;
+            } catch (SQLException e) {
+                throw translate(jdbcTemplate, sql, e);
+            }
+        }
+    }
+}
@@ -1,12 +1,14 @@
 package org.ovirt.engine.core.dal.dbbroker;
 
 import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import javax.sql.DataSource;
 
@@ -80,7 +82,7 @@ public class PostgresDbEngineDialect implements DbEngineDialect {
      * <br>
      * The {@link SimpleJdbcCall} can't handle this, so we need a few hacks to make it work.
      */
-    private static class PostgresSimpleJdbcCall extends SimpleJdbcCall {
+    private static class PostgresSimpleJdbcCall extends SimpleJdbcCall implements StreamingJdbcCall {
 
         /**
          * This is the key to put in the returned map, emulating the way the {@link SimpleJdbcCallOperations} works.
@@ -151,16 +153,35 @@ public class PostgresDbEngineDialect implements DbEngineDialect {
             Map<String, Object> result = new HashMap<>(1);
             result.put(returnedMapKey, getJdbcTemplate().query(
                     generateSql(),
-                    ps -> {
-                        List<SqlParameter> callParameters = getCallParameters();
-                        for (int i = 0; i < callParameters.size(); i++) {
-                            SqlParameter parameter = callParameters.get(i);
-                            ps.setObject(i + 1, params.get(parameter.getName()), parameter.getSqlType());
-                        }
-                    }, rowMapper));
+                    ps -> setParameters(ps, params), rowMapper));
             return result;
         }
 
+        /**
+         * Execute the call the same way as {@link #executeCallInternal(Map)} does, but fetch the rows lazily through a
+         * cursor.
+         */
+        @Override
+        public <T> Stream<T> executeStream(SqlParameterSource parameterSource, RowMapper<T> rowMapper, int fetchSize) {
+            getInParameterNames().addAll(
+                    SqlParameterSourceUtils.extractCaseInsensitiveParameterNames(parameterSource).keySet());
+            checkCompiled();
+            Map<String, Object> params = matchInParameterValuesWithCallParameters(parameterSource);
+            return CursorStreams.query(getJdbcTemplate(),
+                    generateSql(),
+                    ps -> setParameters(ps, params),
+                    rowMapper,
+                    fetchSize);
+        }
+
+        private void setParameters(PreparedStatement ps, Map<String, ?> params) throws SQLException {
+            List<SqlParameter> callParameters = getCallParameters();
+            for (int i = 0; i < callParameters.size(); i++) {
+                SqlParameter parameter = callParameters.get(i);
+                ps.setObject(i + 1, params.get(parameter.getName()), parameter.getSqlType());
+            }
+        }
+
         /**
          * @return The query used for calling the function.
          */
@@ -1,12 +1,15 @@
 package org.ovirt.engine.core.dal.dbbroker;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -25,8 +28,15 @@ public class SimpleJdbcCallsHandler {
 
     private static final String RETURN_VALUE_PARAMETER = "RETURN_VALUE";
 
+    /**
+     * The default number of rows fetched from the database cursor in each round trip by
+     * {@link #executeReadStream(String, RowMapper, MapSqlParameterSource)}.
+     */
+    public static final int DEFAULT_FETCH_SIZE = 1000;
+
     private final ConcurrentMap<String, SimpleJdbcCall> callsMap = new ConcurrentHashMap<>();
     private final ConcurrentMap<String, Pair<String, Integer>> outParamsMap = new ConcurrentHashMap<>();
+    private volatile Map<String, List<StoredProcedureParameter>> procedureParameters = Collections.emptyMap();
 
     private final DbEngineDialect dialect;
     private final JdbcTemplate jdbcTemplate;
@@ -128,6 +138,38 @@ public class SimpleJdbcCallsHandler {
         return (List<T>) resultsMap.get(RETURN_VALUE_PARAMETER);
     }
 
+    public <T> Stream<T> executeReadStream(final String procedureName,
+            final RowMapper<T> mapper,
+            final MapSqlParameterSource parameterSource) {
+        return executeReadStream(procedureName, mapper, parameterSource, DEFAULT_FETCH_SIZE);
+    }
+
+    /**
+     * Execute a read procedure and stream its results through a server side cursor, so the rows are fetched and mapped
+     * as the stream is consumed instead of being loaded into a list upfront. The stream holds a database connection
+     * until it is closed, so it must always be closed, preferably using try-with-resources.
+     *
+     * @param procedureName
+     *            the procedure name
+     * @param mapper
+     *            the mapper of the returned rows
+     * @param parameterSource
+     *            the IN parameters map
+     * @param fetchSize
+     *            the number of rows to fetch from the cursor in each round trip
+     * @return the stream of mapped rows
+     */
+    public <T> Stream<T> executeReadStream(final String procedureName,
+            final RowMapper<T> mapper,
+            final MapSqlParameterSource parameterSource,
+            int fetchSize) {
+        SimpleJdbcCall call = getCall(procedureName, createCallForRead(procedureName, mapper, parameterSource));
+        if (call instanceof StreamingJdbcCall) {
+            return ((StreamingJdbcCall) call).executeStream(parameterSource, mapper, fetchSize);
+        }
+        return executeReadList(procedureName, mapper, parameterSource).stream();
+    }
+
     private CallCreator createCallForRead(final String procedureName,
             final RowMapper<?> mapper,
             final MapSqlParameterSource parameterSource) {
@@ -158,9 +200,9 @@ public class SimpleJdbcCallsHandler {
     }
 
     /**
-     * Creates a call object and compiles its metadata, if not found in the map. Bare in mind the existence check if not
-     * atomic, so at worst case few more redundant information schema calls * will be made. The compilation is done at
-     * the scope of the method in order to avoid concurrency issues upon first time usage of the stored procedure.
+     * Creates a call object and compiles its metadata, if not found in the map. The compilation is done at most once
+     * per stored procedure, so concurrent first time callers wait for a single set of information schema calls instead
+     * of each issuing their own.
      *
      * @param procedureName
      *            stored procedure name
@@ -175,19 +217,60 @@ public class SimpleJdbcCallsHandler {
     protected <T> SimpleJdbcCall getCall(String procedureName, CallCreator callCreator, RowMapper<T> mapper) {
         SimpleJdbcCall call = callsMap.get(procedureName);
         if (call == null) {
-            call = callCreator.createCall();
-            if (outParamsMap.containsKey(procedureName)) {
-                Pair<String, Integer>  pair = outParamsMap.get(procedureName);
-                call.declareParameters(new SqlOutParameter("v_" + pair.getFirst(), pair.getSecond()));
-            }
-            call.compile();
-            callsMap.putIfAbsent(procedureName, call);
-        } else if (mapper != null) {
+            call = callsMap.computeIfAbsent(procedureName, name -> compileCall(name, callCreator));
+        }
+        if (mapper != null) {
             call.returningResultSet(RETURN_VALUE_PARAMETER, mapper);
         }
         return call;
     }
 
+    private SimpleJdbcCall compileCall(String procedureName, CallCreator callCreator) {
+        SimpleJdbcCall call = callCreator.createCall();
+        List<StoredProcedureParameter> parameters = procedureParameters.get(procedureName.toLowerCase());
+        if (parameters != null) {
+            declareParameters(call, parameters);
+        }
+        if (outParamsMap.containsKey(procedureName)) {
+            Pair<String, Integer>  pair = outParamsMap.get(procedureName);
+            call.declareParameters(new SqlOutParameter("v_" + pair.getFirst(), pair.getSecond()));
+        }
+        call.compile();
+        return call;
+    }
+
+    /**
+     * Declares the already resolved parameters on the call, so its compilation doesn't query the procedure columns
+     * metadata. Like Spring does, when the call was limited to the IN parameters passed by the caller, the other IN
+     * parameters are left out. Procedures with default parameter values are never resolved upfront, see
+     * {@link StoredProceduresPrecompiler}, so their calls keep reading the metadata and the defaults apply.
+     */
+    private void declareParameters(SimpleJdbcCall call, List<StoredProcedureParameter> parameters) {
+        Set<String> limitedInParameterNames = call.getInParameterNames()
+                .stream()
+                .map(String::toLowerCase)
+                .collect(Collectors.toSet());
+        call.withoutProcedureColumnMetaDataAccess();
+        parameters.stream()
+                .filter(StoredProcedureParameter::isCallArgument)
+                .filter(p -> !p.isIn()
+                        || limitedInParameterNames.isEmpty()
+                        || limitedInParameterNames.contains(p.getName().toLowerCase()))
+                .map(StoredProcedureParameter::toSqlParameter)
+                .forEach(call::declareParameters);
+    }
+
+    /**
+     * Sets the resolved parameters of the stored procedures, used when compiling calls that were not compiled yet
+     * instead of reading the procedure columns metadata from the database.
+     *
+     * @param procedureParameters
+     *            the parameters of each procedure, keyed by the lower cased procedure name
+     */
+    public void setProcedureParameters(Map<String, List<StoredProcedureParameter>> procedureParameters) {
+        this.procedureParameters = Objects.requireNonNull(procedureParameters);
+    }
+
     public DbEngineDialect getDialect() {
         return dialect;
     }
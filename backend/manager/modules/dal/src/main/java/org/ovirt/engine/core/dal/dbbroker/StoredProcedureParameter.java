@@ -0,0 +1,91 @@
+package org.ovirt.engine.core.dal.dbbroker;
+
+import java.sql.DatabaseMetaData;
+import java.util.Objects;
+
+import org.springframework.jdbc.core.SqlInOutParameter;
+import org.springframework.jdbc.core.SqlOutParameter;
+import org.springframework.jdbc.core.SqlParameter;
+
+/**
+ * Resolved metadata of a single stored procedure argument, as reported by
+ * {@link DatabaseMetaData#getProcedureColumns(String, String, String, String)}.
+ */
+public class StoredProcedureParameter {
+    private final String name;
+    private final int sqlType;
+    private final int columnType;
+
+    public StoredProcedureParameter(String name, int sqlType, int columnType) {
+        this.name = Objects.requireNonNull(name, "name cannot be null");
+        this.sqlType = sqlType;
+        this.columnType = columnType;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getSqlType() {
+        return sqlType;
+    }
+
+    /**
+     * @return one of the {@code DatabaseMetaData.procedureColumn*} constants
+     */
+    public int getColumnType() {
+        return columnType;
+    }
+
+    public boolean isIn() {
+        return columnType == DatabaseMetaData.procedureColumnIn;
+    }
+
+    /**
+     * @return whether this is an argument passed to or returned from the call, rather than a result set column or the
+     *         function return value, which are never declared explicitly
+     */
+    public boolean isCallArgument() {
+        return columnType == DatabaseMetaData.procedureColumnIn
+                || columnType == DatabaseMetaData.procedureColumnInOut
+                || columnType == DatabaseMetaData.procedureColumnOut;
+    }
+
+    /**
+     * Creates the declared parameter the same way Spring does when it reads the procedure column metadata by itself.
+     */
+    public SqlParameter toSqlParameter() {
+        switch (columnType) {
+        case DatabaseMetaData.procedureColumnOut:
+            return new SqlOutParameter(name, sqlType);
+        case DatabaseMetaData.procedureColumnInOut:
+            return new SqlInOutParameter(name, sqlType);
+        default:
+            return new SqlParameter(name, sqlType);
+        }
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof StoredProcedureParameter)) {
+            return false;
+        }
+        StoredProcedureParameter other = (StoredProcedureParameter) obj;
+        return name.equals(other.name)
+                && sqlType == other.sqlType
+                && columnType == other.columnType;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, sqlType, columnType);
+    }
+
+    @Override
+    public String toString() {
+        return name + ":" + sqlType + ":" + columnType;
+    }
+}
@@ -0,0 +1,102 @@
+package org.ovirt.engine.core.dal.dbbroker;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+
+import org.apache.commons.lang.StringUtils;
+
+/**
+ * A versioned snapshot of the resolved stored procedures parameters. The snapshot is bound to a key describing the
+ * database schema it was read from, so a snapshot taken before a schema upgrade is never applied after it.
+ */
+public class StoredProcedureParametersSnapshot {
+
+    static final String FORMAT_VERSION = "2";
+
+    private static final String FORMAT_VERSION_PROPERTY = "@format";
+    private static final String KEY_PROPERTY = "@key";
+    private static final String PARAMETERS_SEPARATOR = ",";
+    private static final String FIELDS_SEPARATOR = ":";
+
+    private final String key;
+    private final Map<String, List<StoredProcedureParameter>> procedures;
+
+    public StoredProcedureParametersSnapshot(String key, Map<String, List<StoredProcedureParameter>> procedures) {
+        this.key = Objects.requireNonNull(key, "key cannot be null");
+        this.procedures = Collections.unmodifiableMap(new HashMap<>(procedures));
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * @return the parameters of each procedure, keyed by the lower cased procedure name
+     */
+    public Map<String, List<StoredProcedureParameter>> getProcedures() {
+        return procedures;
+    }
+
+    public void store(Writer writer) throws IOException {
+        Properties props = new Properties();
+        props.setProperty(FORMAT_VERSION_PROPERTY, FORMAT_VERSION);
+        props.setProperty(KEY_PROPERTY, key);
+        procedures.forEach((name, parameters) -> props.setProperty(name, StringUtils.join(parameters, PARAMETERS_SEPARATOR)));
+        props.store(writer, "Resolved stored procedures parameters, generated by the engine - do not edit");
+    }
+
+    /**
+     * Loads a snapshot previously written by {@link #store(Writer)}.
+     *
+     * @param reader
+     *            the snapshot source
+     * @param expectedKey
+     *            the key describing the current database schema
+     * @return the loaded snapshot, or {@code null} if it has a different format or was taken from another schema
+     */
+    public static StoredProcedureParametersSnapshot load(Reader reader, String expectedKey) throws IOException {
+        Properties props = new Properties();
+        props.load(reader);
+        if (!FORMAT_VERSION.equals(props.getProperty(FORMAT_VERSION_PROPERTY))
+                || !Objects.equals(expectedKey, props.getProperty(KEY_PROPERTY))) {
+            return null;
+        }
+
+        Map<String, List<StoredProcedureParameter>> procedures = new HashMap<>();
+        for (String name : props.stringPropertyNames()) {
+            if (!name.startsWith("@")) {
+                procedures.put(name, parseParameters(props.getProperty(name)));
+            }
+        }
+        return new StoredProcedureParametersSnapshot(expectedKey, procedures);
+    }
+
+    private static List<StoredProcedureParameter> parseParameters(String value) throws IOException {
+        List<StoredProcedureParameter> parameters = new ArrayList<>();
+        if (StringUtils.isEmpty(value)) {
+            return parameters;
+        }
+        for (String parameter : value.split(PARAMETERS_SEPARATOR)) {
+            String[] fields = parameter.split(FIELDS_SEPARATOR);
+            if (fields.length != 3) {
+                throw new IOException("Malformed stored procedure parameter '" + parameter + "'");
+            }
+            try {
+                parameters.add(new StoredProcedureParameter(fields[0],
+                        Integer.parseInt(fields[1]),
+                        Integer.parseInt(fields[2])));
+            } catch (NumberFormatException e) {
+                throw new IOException("Malformed stored procedure parameter '" + parameter + "'", e);
+            }
+        }
+        return parameters;
+    }
+}
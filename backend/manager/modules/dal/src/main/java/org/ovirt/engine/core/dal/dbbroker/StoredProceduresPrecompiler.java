@@ -0,0 +1,165 @@
+package org.ovirt.engine.core.dal.dbbroker;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.ovirt.engine.core.common.BackendService;
+import org.ovirt.engine.core.common.config.Config;
+import org.ovirt.engine.core.common.config.ConfigValues;
+import org.ovirt.engine.core.utils.EngineLocalConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SingleColumnRowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+
+/**
+ * Resolves the parameters of all the stored procedures at startup, so the {@link SimpleJdbcCallsHandler} doesn't need
+ * to query the procedure columns metadata of each procedure upon its first call. The resolved parameters are persisted
+ * in a snapshot bound to the schema version, which is reused by later restarts instead of reading the catalog.
+ * <p>
+ * Procedures having parameters with default values are not resolved, their calls keep reading the metadata so only the
+ * parameters passed by the caller are declared and the defaults apply to the others.
+ */
+@Singleton
+public class StoredProceduresPrecompiler implements BackendService {
+
+    private static final Logger log = LoggerFactory.getLogger(StoredProceduresPrecompiler.class);
+
+    static final String SNAPSHOT_FILE_NAME = "stored-procedures-parameters.properties";
+
+    @Inject
+    private SimpleJdbcCallsHandler callsHandler;
+
+    @Inject
+    private JdbcTemplate jdbcTemplate;
+
+    public StoredProceduresPrecompiler() {
+    }
+
+    /* visible for testing */
+    StoredProceduresPrecompiler(SimpleJdbcCallsHandler callsHandler, JdbcTemplate jdbcTemplate) {
+        this.callsHandler = callsHandler;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    private void init() {
+        if (!Config.<Boolean> getValue(ConfigValues.PrecompileStoredProcedures)) {
+            return;
+        }
+
+        try {
+            long start = System.currentTimeMillis();
+            String key = callsHandler.executeRead("GetStoredProceduresFingerprint",
+                    SingleColumnRowMapper.newInstance(String.class),
+                    new MapSqlParameterSource());
+            File snapshotFile = new File(EngineLocalConfig.getInstance().getCacheDir(), SNAPSHOT_FILE_NAME);
+            StoredProcedureParametersSnapshot snapshot = loadSnapshot(snapshotFile, key);
+            if (snapshot == null) {
+                snapshot = new StoredProcedureParametersSnapshot(key, readProcedureParameters());
+                storeSnapshot(snapshotFile, snapshot);
+            }
+            callsHandler.setProcedureParameters(snapshot.getProcedures());
+            log.info("Resolved parameters of {} stored procedures in {} ms",
+                    snapshot.getProcedures().size(),
+                    System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            log.warn("Failed to resolve the stored procedures parameters, they will be resolved upon first call: {}",
+                    e.getMessage());
+            log.debug("Exception", e);
+        }
+    }
+
+    private StoredProcedureParametersSnapshot loadSnapshot(File snapshotFile, String key) {
+        if (!snapshotFile.exists()) {
+            return null;
+        }
+        try (Reader reader = Files.newBufferedReader(snapshotFile.toPath(), StandardCharsets.UTF_8)) {
+            StoredProcedureParametersSnapshot snapshot = StoredProcedureParametersSnapshot.load(reader, key);
+            if (snapshot == null) {
+                log.info("Stored procedures parameters snapshot '{}' is outdated, discarding it", snapshotFile);
+            }
+            return snapshot;
+        } catch (IOException e) {
+            log.warn("Failed to read stored procedures parameters snapshot '{}': {}", snapshotFile, e.getMessage());
+            log.debug("Exception", e);
+            return null;
+        }
+    }
+
+    private void storeSnapshot(File snapshotFile, StoredProcedureParametersSnapshot snapshot) {
+        File tmpFile = new File(snapshotFile.getPath() + ".tmp");
+        try {
+            try (Writer writer = Files.newBufferedWriter(tmpFile.toPath(), StandardCharsets.UTF_8)) {
+                snapshot.store(writer);
+            }
+            Files.move(tmpFile.toPath(), snapshotFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.warn("Failed to write stored procedures parameters snapshot '{}': {}", snapshotFile, e.getMessage());
+            log.debug("Exception", e);
+        }
+    }
+
+    /**
+     * Reads the parameters of all the procedures in the current schema in a single catalog query. Overloaded
+     * procedures and procedures with default parameter values are left out, their calls keep resolving the parameters
+     * by themselves.
+     */
+    Map<String, List<StoredProcedureParameter>> readProcedureParameters() {
+        Map<String, List<StoredProcedureParameter>> procedures = readAllProcedureParameters();
+        callsHandler.executeReadList("GetStoredProceduresWithDefaultParameters",
+                SingleColumnRowMapper.newInstance(String.class),
+                new MapSqlParameterSource())
+                .forEach(procedures::remove);
+        return procedures;
+    }
+
+    private Map<String, List<StoredProcedureParameter>> readAllProcedureParameters() {
+        return jdbcTemplate.execute((ConnectionCallback<Map<String, List<StoredProcedureParameter>>>) con -> {
+            Map<String, List<StoredProcedureParameter>> procedures = new HashMap<>();
+            Map<String, String> specificNames = new HashMap<>();
+            Set<String> overloaded = new HashSet<>();
+            try (ResultSet rs = con.getMetaData().getProcedureColumns(null, getSchema(con), "%", "%")) {
+                while (rs.next()) {
+                    String procedureName = rs.getString("PROCEDURE_NAME").toLowerCase();
+                    String specificName = rs.getString("SPECIFIC_NAME");
+                    String knownSpecificName = specificNames.putIfAbsent(procedureName, specificName);
+                    if (knownSpecificName != null && !knownSpecificName.equals(specificName)) {
+                        overloaded.add(procedureName);
+                    }
+                    procedures.computeIfAbsent(procedureName, k -> new ArrayList<>())
+                            .add(new StoredProcedureParameter(rs.getString("COLUMN_NAME"),
+                                    rs.getInt("DATA_TYPE"),
+                                    rs.getShort("COLUMN_TYPE")));
+                }
+            }
+            overloaded.forEach(procedures::remove);
+            return procedures;
+        });
+    }
+
+    private static String getSchema(Connection con) throws SQLException {
+        String schema = con.getSchema();
+        return schema != null ? schema : "public";
+    }
+}
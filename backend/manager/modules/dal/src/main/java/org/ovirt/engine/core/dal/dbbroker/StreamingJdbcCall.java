@@ -0,0 +1,25 @@
+package org.ovirt.engine.core.dal.dbbroker;
+
+import java.util.stream.Stream;
+
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+/**
+ * A call which can return its results lazily, instead of mapping all of them into a list upfront.
+ */
+public interface StreamingJdbcCall {
+
+    /**
+     * Executes the call and streams its results through a database cursor.
+     *
+     * @param parameterSource
+     *            the IN parameters of the call
+     * @param rowMapper
+     *            the mapper of the returned rows
+     * @param fetchSize
+     *            the number of rows to fetch from the cursor in each round trip
+     * @return the stream of mapped rows, which holds a database connection until it is closed
+     */
+    <T> Stream<T> executeStream(SqlParameterSource parameterSource, RowMapper<T> rowMapper, int fetchSize);
+}
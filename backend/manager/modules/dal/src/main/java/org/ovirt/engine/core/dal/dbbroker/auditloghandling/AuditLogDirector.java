@@ -8,8 +8,6 @@ import javax.inject.Singleton;
 import org.apache.commons.lang.StringUtils;
 import org.ovirt.engine.core.common.AuditLogType;
 import org.ovirt.engine.core.common.businessentities.AuditLog;
-import org.ovirt.engine.core.dao.AuditLogDao;
-import org.ovirt.engine.core.utils.transaction.TransactionSupport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -19,7 +17,7 @@ public class AuditLogDirector {
     private static final int USERNAME_LENGTH = 255;
 
     @Inject
-    private AuditLogDao auditLogDao;
+    private AuditLogWriter auditLogWriter;
 
     public void log(AuditLogable auditLogable, AuditLogType logType) {
         log(auditLogable, logType, "", false);
@@ -45,22 +43,50 @@ public class AuditLogDirector {
      *            the indication if ignore the time limit set for log or not in special cases
      */
     public void log(AuditLogable auditLogable, AuditLogType logType, String message, boolean ignoreTimeout) {
+        log(auditLogable, logType, message, ignoreTimeout, false);
+    }
+
+    /**
+     * Log an event with the given message and wait for it to be written to the database, for callers which read the
+     * event back. Events are otherwise written in the background when the {@link AuditLogWriter} is started.
+     *
+     * @param auditLogable
+     *            the event which contains the data members to log
+     * @param logType
+     *            the log type to be logged
+     * @param message
+     *            the message to be logged, which overrides the calculated message provided by the given auditLogable
+     */
+    public void logSynchronously(AuditLogable auditLogable, AuditLogType logType, String message) {
+        log(auditLogable, logType, message, false, true);
+    }
+
+    private void log(AuditLogable auditLogable,
+            AuditLogType logType,
+            String message,
+            boolean ignoreTimeout,
+            boolean synchronous) {
         if (!logType.shouldBeLogged()) {
             return;
         }
 
         EventFloodRegulator eventFloodRegulator = new EventFloodRegulator(auditLogable, logType);
         if (eventFloodRegulator.isLegal(ignoreTimeout)) {
-            AuditLog savedAuditLog = saveToDb(auditLogable, logType, message);
+            AuditLog savedAuditLog = saveToDb(auditLogable, logType, message, synchronous);
             if (savedAuditLog == null) {
                 log.warn("Unable to create AuditLog");
             } else {
                 logMessage(savedAuditLog);
             }
+        } else {
+            auditLogWriter.eventSuppressed();
         }
     }
 
-    private AuditLog saveToDb(AuditLogable auditLogable, AuditLogType logType, String loggerString) {
+    private AuditLog saveToDb(AuditLogable auditLogable,
+            AuditLogType logType,
+            String loggerString,
+            boolean synchronous) {
         AuditLog auditLog = create(auditLogable, logType, loggerString);
 
         if (auditLog == null) {
@@ -71,10 +97,11 @@ public class AuditLogDirector {
         // truncate user name
         auditLog.setUserName(StringUtils.abbreviate(auditLog.getUserName(), USERNAME_LENGTH));
 
-        TransactionSupport.executeInNewTransaction(() -> {
-            auditLogDao.save(auditLog);
-            return null;
-        });
+        if (synchronous) {
+            auditLogWriter.writeSynchronously(auditLog);
+        } else {
+            auditLogWriter.write(auditLog);
+        }
         return auditLog;
     }
 
@@ -0,0 +1,214 @@
+package org.ovirt.engine.core.dal.dbbroker.auditloghandling;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.PreDestroy;
+import javax.enterprise.concurrent.ManagedScheduledExecutorService;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.management.ObjectName;
+
+import org.ovirt.engine.core.common.AuditLogSeverity;
+import org.ovirt.engine.core.common.businessentities.AuditLog;
+import org.ovirt.engine.core.dao.AuditLogDao;
+import org.ovirt.engine.core.utils.MBeanUtils;
+import org.ovirt.engine.core.utils.threadpool.ThreadPools;
+import org.ovirt.engine.core.utils.transaction.TransactionSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes the audit log events to the database. The events are written synchronously until {@link #start(int)} is
+ * called with a positive queue capacity, from then on they are queued and written periodically in batches, each in
+ * its own transaction, so the callers don't wait for the database.
+ * <p>
+ * Alerts are always written synchronously, since {@link AlertDirector} removes them synchronously and a removal must
+ * not run before the queued insert of the alert it removes.
+ * <p>
+ * An event that doesn't fit the queue is dropped rather than blocking its caller. The dropped events, as well as the
+ * events suppressed by the {@link EventFloodRegulator}, are counted and exposed via JMX.
+ */
+@Singleton
+public class AuditLogWriter implements AuditLogWriterMXBean {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLogWriter.class);
+
+    static final int BATCH_SIZE = 1000;
+    static final long FLUSH_INTERVAL_IN_MILLIS = 1000;
+
+    @Inject
+    private AuditLogDao auditLogDao;
+    @Inject
+    @ThreadPools(ThreadPools.ThreadPoolType.EngineScheduledThreadPool)
+    private ManagedScheduledExecutorService executor;
+
+    private final LongAdder writtenEvents = new LongAdder();
+    private final LongAdder droppedEvents = new LongAdder();
+    private final LongAdder suppressedEvents = new LongAdder();
+    private long reportedDroppedEvents;
+
+    private volatile BlockingQueue<AuditLog> queue;
+    private ScheduledFuture<?> flushJob;
+    private ObjectName objectName;
+
+    /**
+     * Starts writing the events in the background.
+     *
+     * @param queueCapacity
+     *            the maximal number of events waiting to be written, 0 keeps writing the events synchronously
+     */
+    public synchronized void start(int queueCapacity) {
+        if (queue == null && queueCapacity > 0) {
+            queue = new LinkedBlockingQueue<>(queueCapacity);
+            flushJob = executor.scheduleWithFixedDelay(this::flush,
+                    FLUSH_INTERVAL_IN_MILLIS,
+                    FLUSH_INTERVAL_IN_MILLIS,
+                    TimeUnit.MILLISECONDS);
+            log.info("Audit log events are written in the background, up to {} queued events", queueCapacity);
+        }
+        registerMBean();
+    }
+
+    @PreDestroy
+    synchronized void shutdown() {
+        if (flushJob != null) {
+            flushJob.cancel(false);
+            flushJob = null;
+            // events which are logged from now on are written synchronously
+            BlockingQueue<AuditLog> currentQueue = queue;
+            queue = null;
+            flush(currentQueue);
+        }
+        unregisterMBean();
+    }
+
+    /**
+     * Writes the given event, in the background if the writer is started and the event isn't an alert.
+     */
+    public void write(AuditLog auditLog) {
+        BlockingQueue<AuditLog> currentQueue = queue;
+        if (currentQueue == null || auditLog.getSeverity() == AuditLogSeverity.ALERT) {
+            writeSynchronously(auditLog);
+        } else if (!currentQueue.offer(auditLog)) {
+            droppedEvents.increment();
+        }
+    }
+
+    /**
+     * Writes the given event before returning, so its id is set and it can be read back from the database.
+     */
+    public void writeSynchronously(AuditLog auditLog) {
+        TransactionSupport.executeInNewTransaction(() -> {
+            auditLogDao.save(auditLog);
+            return null;
+        });
+        writtenEvents.increment();
+    }
+
+    void eventSuppressed() {
+        suppressedEvents.increment();
+    }
+
+    synchronized void flush() {
+        BlockingQueue<AuditLog> currentQueue = queue;
+        if (currentQueue != null) {
+            flush(currentQueue);
+        }
+    }
+
+    private void flush(BlockingQueue<AuditLog> currentQueue) {
+        try {
+            List<AuditLog> batch = new ArrayList<>(Math.min(currentQueue.size(), BATCH_SIZE));
+            while (currentQueue.drainTo(batch, BATCH_SIZE) > 0) {
+                writeBatch(batch);
+                batch = new ArrayList<>(Math.min(currentQueue.size(), BATCH_SIZE));
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to write audit log events: {}", e.getMessage());
+            log.debug("Exception", e);
+        }
+        reportDroppedEvents();
+    }
+
+    /**
+     * Writes the given events in a single transaction. If that fails, the events are written one by one, so a single
+     * invalid event doesn't take the others with it.
+     */
+    private void writeBatch(List<AuditLog> batch) {
+        try {
+            TransactionSupport.executeInNewTransaction(() -> {
+                auditLogDao.saveAll(batch);
+                return null;
+            });
+            writtenEvents.add(batch.size());
+        } catch (RuntimeException e) {
+            log.warn("Failed to write a batch of {} audit log events, writing them one by one: {}",
+                    batch.size(),
+                    e.getMessage());
+            log.debug("Exception", e);
+            for (AuditLog auditLog : batch) {
+                try {
+                    writeSynchronously(auditLog);
+                } catch (RuntimeException ex) {
+                    droppedEvents.increment();
+                    log.error("Failed to write audit log event {}: {}", auditLog.getLogType(), ex.getMessage());
+                    log.debug("Exception", ex);
+                }
+            }
+        }
+    }
+
+    private void reportDroppedEvents() {
+        long dropped = droppedEvents.sum();
+        if (dropped > reportedDroppedEvents) {
+            log.warn("{} audit log events were dropped, {} in total",
+                    dropped - reportedDroppedEvents,
+                    dropped);
+            reportedDroppedEvents = dropped;
+        }
+    }
+
+    private void registerMBean() {
+        if (objectName == null) {
+            objectName = MBeanUtils.registerMBean(this, "AuditLogWriter", "audit log writer monitor");
+        }
+    }
+
+    private void unregisterMBean() {
+        MBeanUtils.unregisterMBean(objectName, "audit log writer monitor");
+        objectName = null;
+    }
+
+    @Override
+    public long getWrittenEvents() {
+        return writtenEvents.sum();
+    }
+
+    @Override
+    public long getDroppedEvents() {
+        return droppedEvents.sum();
+    }
+
+    @Override
+    public long getSuppressedEvents() {
+        return suppressedEvents.sum();
+    }
+
+    @Override
+    public int getQueuedEvents() {
+        BlockingQueue<AuditLog> currentQueue = queue;
+        return currentQueue == null ? 0 : currentQueue.size();
+    }
+
+    @Override
+    public int getQueueCapacity() {
+        BlockingQueue<AuditLog> currentQueue = queue;
+        return currentQueue == null ? 0 : currentQueue.size() + currentQueue.remainingCapacity();
+    }
+}
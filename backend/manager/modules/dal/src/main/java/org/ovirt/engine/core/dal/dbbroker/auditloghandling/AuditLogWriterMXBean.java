@@ -0,0 +1,33 @@
+package org.ovirt.engine.core.dal.dbbroker.auditloghandling;
+
+/**
+ * The following interface is used as interface for JMX bean
+ */
+public interface AuditLogWriterMXBean {
+
+    /**
+     * The following method will return the number of audit log events written to the database
+     */
+    long getWrittenEvents();
+
+    /**
+     * The following method will return the number of audit log events dropped because the queue was full or because
+     * they failed to be written
+     */
+    long getDroppedEvents();
+
+    /**
+     * The following method will return the number of audit log events suppressed by the event flood regulation
+     */
+    long getSuppressedEvents();
+
+    /**
+     * The following method will return the number of audit log events waiting in the queue to be written
+     */
+    int getQueuedEvents();
+
+    /**
+     * The following method will return the capacity of the queue, 0 when the events are written synchronously
+     */
+    int getQueueCapacity();
+}
@@ -1,5 +1,6 @@
 package org.ovirt.engine.core.dao;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 
@@ -114,6 +115,15 @@ public interface AuditLogDao extends Dao, SearchDao<AuditLog> {
      */
     void save(AuditLog entry);
 
+    /**
+     * Saves the provided audit logs in a single batch. Unlike {@link #save(AuditLog)}, the ids of the saved entries
+     * are not set.
+     *
+     * @param entries
+     *            the entries
+     */
+    void saveAll(Collection<AuditLog> entries);
+
     /**
      * Updates the provided audit log entry.
      *
@@ -138,6 +148,17 @@ public interface AuditLogDao extends Dao, SearchDao<AuditLog> {
      */
     void removeAllBeforeDate(Date cutoff);
 
+    /**
+     * Creates the partitions of the audit log up to the given date. {@link #removeAllBeforeDate(Date)} drops the
+     * expired partitions instead of removing their entries one by one.
+     *
+     * @param until
+     *            the date to create the partitions up to
+     * @param partitionDays
+     *            the number of days of audit log kept in each partition
+     */
+    void createPartitions(Date until, int partitionDays);
+
     /**
      * Removes all entries for the given VDS id.
      *
@@ -1,5 +1,6 @@
 package org.ovirt.engine.core.dao;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -168,6 +169,11 @@ public class AuditLogDaoImpl extends BaseDao implements AuditLogDao {
         event.setAuditLogId((Long) outParameters.get("audit_log_id"));
     }
 
+    @Override
+    public void saveAll(Collection<AuditLog> events) {
+        getCallsHandler().executeStoredProcAsBatch("InsertAuditLogInBatch", events, this::getSqlMapper);
+    }
+
     @Override
     public void update(AuditLog event) {
         throw new UnsupportedOperationException();
@@ -228,6 +234,15 @@ public class AuditLogDaoImpl extends BaseDao implements AuditLogDao {
         getCallsHandler().executeModification("DeleteAuditLogOlderThenDate", parameterSource);
     }
 
+    @Override
+    public void createPartitions(Date until, int partitionDays) {
+        MapSqlParameterSource parameterSource = getCustomMapSqlParameterSource()
+                .addValue("until", until)
+                .addValue("partition_days", partitionDays);
+
+        getCallsHandler().executeModification("CreateAuditLogPartitions", parameterSource);
+    }
+
     @Override
     public void removeAllForVds(Guid id, boolean removeConfigAlerts) {
         MapSqlParameterSource parameterSource = getCustomMapSqlParameterSource()
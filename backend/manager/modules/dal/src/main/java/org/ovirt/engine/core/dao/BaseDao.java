@@ -1,5 +1,6 @@
 package org.ovirt.engine.core.dao;
 
+import java.io.Serializable;
 import java.math.BigInteger;
 import java.sql.Array;
 import java.sql.Connection;
@@ -14,6 +15,9 @@ import javax.inject.Inject;
 
 import org.apache.commons.lang.StringUtils;
 import org.ovirt.engine.core.compat.Guid;
+import org.ovirt.engine.core.dal.cache.EntityCache;
+import org.ovirt.engine.core.dal.cache.EntityCacheManager;
+import org.ovirt.engine.core.dal.cache.NoOpEntityCache;
 import org.ovirt.engine.core.dal.dbbroker.CustomMapSqlParameterSource;
 import org.ovirt.engine.core.dal.dbbroker.DbEngineDialect;
 import org.ovirt.engine.core.dal.dbbroker.SimpleJdbcCallsHandler;
@@ -32,6 +36,9 @@ public abstract class BaseDao {
     @Inject
     private SimpleJdbcCallsHandler callsHandler;
 
+    @Inject
+    private EntityCacheManager entityCacheManager;
+
     public BaseDao() {
     }
 
@@ -72,6 +79,16 @@ public abstract class BaseDao {
         return callsHandler;
     }
 
+    /**
+     * @param entityName
+     *            the name of the cached entity type
+     * @return the cache of the given entity type, which is a pass-through cache unless the type is configured to be
+     *         cached
+     */
+    protected <ID, T extends Serializable> EntityCache<ID, T> getEntityCache(String entityName) {
+        return entityCacheManager != null ? entityCacheManager.getCache(entityName) : NoOpEntityCache.getInstance();
+    }
+
     /**
      * Returns a Double or a null if the column was NULL.
      * @param resultSet the ResultSet to extract the result from
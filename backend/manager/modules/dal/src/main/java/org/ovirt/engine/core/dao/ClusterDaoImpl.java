@@ -24,6 +24,7 @@ import org.ovirt.engine.core.common.network.FirewallType;
 import org.ovirt.engine.core.common.network.SwitchType;
 import org.ovirt.engine.core.common.scheduling.OptimizationType;
 import org.ovirt.engine.core.compat.Guid;
+import org.ovirt.engine.core.dal.cache.EntityCache;
 import org.ovirt.engine.core.dal.dbbroker.DbFacadeUtils;
 import org.ovirt.engine.core.utils.SerializationFactory;
 import org.springframework.jdbc.core.RowMapper;
@@ -38,9 +39,11 @@ import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 @Singleton
 public class ClusterDaoImpl extends BaseDao implements ClusterDao {
 
+    public static final String ENTITY_NAME = "Cluster";
+
     @Override
     public Cluster get(Guid id) {
-        return get(id, null, false);
+        return getEntityCache().get(id, clusterId -> get(clusterId, null, false));
     }
 
     @Override
@@ -134,11 +137,13 @@ public class ClusterDaoImpl extends BaseDao implements ClusterDao {
             cluster.setId(id);
         }
         getCallsHandler().executeModification("InsertCluster", getClusterParamSource(cluster));
+        getEntityCache().invalidate(id);
     }
 
     @Override
     public void update(Cluster cluster) {
         getCallsHandler().executeModification("UpdateCluster", getClusterParamSource(cluster));
+        getEntityCache().invalidate(cluster.getId());
     }
 
     @Override
@@ -147,6 +152,11 @@ public class ClusterDaoImpl extends BaseDao implements ClusterDao {
                 .addValue("cluster_id", id);
 
         getCallsHandler().executeModification("DeleteCluster", parameterSource);
+        getEntityCache().invalidate(id);
+    }
+
+    private EntityCache<Guid, Cluster> getEntityCache() {
+        return getEntityCache(ENTITY_NAME);
     }
 
     @Override
@@ -185,6 +195,7 @@ public class ClusterDaoImpl extends BaseDao implements ClusterDao {
                 .addValue("detect_emulated_machine", detectEmulatedMachine);
 
         getCallsHandler().executeModification("UpdateClusterEmulatedMachine", parameterSource);
+        getEntityCache().invalidate(clusterId);
     }
 
     @Override
@@ -198,6 +209,7 @@ public class ClusterDaoImpl extends BaseDao implements ClusterDao {
                         parameterSource,
                         "updated",
                         Types.BIT);
+        getEntityCache().invalidate(clusterId);
 
         return (Boolean) results.get("updated");
     }
@@ -213,6 +225,7 @@ public class ClusterDaoImpl extends BaseDao implements ClusterDao {
                         parameterSource,
                         "updated",
                         Types.BIT);
+        getEntityCache().invalidate(clusterId);
 
         return (Boolean) results.get("updated");
     }
@@ -227,12 +240,14 @@ public class ClusterDaoImpl extends BaseDao implements ClusterDao {
                         parameterSource,
                         "updated",
                         Types.BIT);
+        getEntityCache().invalidate(clusterId);
         return (Boolean) results.get("updated");
     }
 
     @Override
     public void clearAllUpgradeRunning() {
         getCallsHandler().executeModification("ClearAllClusterUpgradeRunning", getCustomMapSqlParameterSource());
+        getEntityCache().invalidateAll();
     }
 
     @Override
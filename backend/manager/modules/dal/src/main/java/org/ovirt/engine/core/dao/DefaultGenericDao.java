@@ -91,6 +91,7 @@ public abstract class DefaultGenericDao<T extends BusinessEntity<ID>, ID extends
     @Override
     public void save(T entity) {
         getCallsHandler().executeModification(getProcedureNameForSave(), createFullParametersMapper(entity));
+        getEntityCache().invalidate(entity.getId());
     }
 
     @Override
@@ -100,11 +101,13 @@ public abstract class DefaultGenericDao<T extends BusinessEntity<ID>, ID extends
 
     protected void update(T entity, String procedureName) {
         getCallsHandler().executeModification(procedureName, createFullParametersMapper(entity));
+        getEntityCache().invalidate(entity.getId());
     }
 
     @Override
     public void remove(ID id) {
         getCallsHandler().executeModification(getProcedureNameForRemove(), createIdParameterMapper(id));
+        getEntityCache().invalidate(id);
     }
 
     /**
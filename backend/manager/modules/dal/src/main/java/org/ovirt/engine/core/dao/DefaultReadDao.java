@@ -5,6 +5,7 @@ import java.text.MessageFormat;
 import java.util.List;
 
 import org.ovirt.engine.core.common.businessentities.BusinessEntity;
+import org.ovirt.engine.core.dal.cache.EntityCache;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 
@@ -31,6 +32,11 @@ public abstract class DefaultReadDao<T extends BusinessEntity<ID>, ID extends Se
      */
     protected String procedureNameForGetAll;
 
+    /**
+     * The name of the entity type, used to look up the cache of {@link GenericDao#get(Serializable)}.
+     */
+    private final String entityName;
+
     /**
      * Initialize default procedure names with the given entity name.<br>
      * The default procedure names are determined by the following formats:
@@ -45,6 +51,7 @@ public abstract class DefaultReadDao<T extends BusinessEntity<ID>, ID extends Se
      *            The name to use in the default procedure names templates.
      */
     public DefaultReadDao(String entityStoredProcedureName) {
+        entityName = entityStoredProcedureName;
         procedureNameForGet = MessageFormat.format(DEFAULT_GET_PROCEDURE_FORMAT, entityStoredProcedureName);
         procedureNameForGetAll = MessageFormat.format(DEFAULT_GET_ALL_PROCEDURE_FORMAT, entityStoredProcedureName);
     }
@@ -70,12 +77,24 @@ public abstract class DefaultReadDao<T extends BusinessEntity<ID>, ID extends Se
         if (id == null) {
             return null;
         } else {
-            return getCallsHandler().executeRead(getProcedureNameForGet(),
-                    createEntityRowMapper(),
-                    createIdParameterMapper(id));
+            return getEntityCache().get(id, this::load);
         }
     }
 
+    private T load(ID id) {
+        return getCallsHandler().executeRead(getProcedureNameForGet(),
+                createEntityRowMapper(),
+                createIdParameterMapper(id));
+    }
+
+    /**
+     * @return the cache of the entities returned by {@link GenericDao#get(Serializable)}, which must be invalidated by
+     *         any modification of the entity
+     */
+    protected EntityCache<ID, T> getEntityCache() {
+        return getEntityCache(entityName);
+    }
+
     @Override
     public List<T> getAll() {
         return getCallsHandler().executeReadList(getProcedureNameForGetAll(),
@@ -3,6 +3,7 @@ package org.ovirt.engine.core.dao;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import org.ovirt.engine.core.common.businessentities.storage.DiskImage;
 import org.ovirt.engine.core.common.businessentities.storage.RepoImage;
@@ -132,6 +133,16 @@ public interface DiskImageDao extends ReadDao<DiskImage, Guid> {
      */
     List<DiskImage> getAllForStorageDomain(Guid storageDomainId);
 
+    /**
+     * Same as {@link #getAllForStorageDomain(Guid)}, but fetches the images lazily through a database cursor. The
+     * returned stream must be closed.
+     *
+     * @param storageDomainId
+     *            The Storage Domain to be fetched entities from.
+     * @return Stream of DiskImages related to the Storage Domain.
+     */
+    Stream<DiskImage> streamAllForStorageDomain(Guid storageDomainId);
+
     /**
      * Return all images that attached to disk profile.
      *
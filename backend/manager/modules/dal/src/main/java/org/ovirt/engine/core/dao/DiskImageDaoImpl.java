@@ -8,6 +8,7 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import javax.inject.Named;
 import javax.inject.Singleton;
@@ -181,6 +182,16 @@ public class DiskImageDaoImpl extends BaseDao implements DiskImageDao {
                 parameterSource);
     }
 
+    @Override
+    public Stream<DiskImage> streamAllForStorageDomain(Guid storageDomainId) {
+        MapSqlParameterSource parameterSource = getCustomMapSqlParameterSource()
+                .addValue("storage_domain_id", storageDomainId);
+
+        return getCallsHandler().executeReadStream("GetAllForStorageDomain",
+                DiskImageRowMapper.instance,
+                parameterSource);
+    }
+
     @Override
     public List<DiskImage> getAllForDiskProfiles(Collection<Guid> diskProfileIds) {
         MapSqlParameterSource parameterSource = getCustomMapSqlParameterSource()
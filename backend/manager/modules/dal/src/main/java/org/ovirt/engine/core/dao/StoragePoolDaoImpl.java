@@ -6,11 +6,13 @@ import javax.inject.Named;
 import javax.inject.Singleton;
 
 import org.ovirt.engine.core.common.businessentities.ActionGroup;
+import org.ovirt.engine.core.common.businessentities.Cluster;
 import org.ovirt.engine.core.common.businessentities.QuotaEnforcementTypeEnum;
 import org.ovirt.engine.core.common.businessentities.StorageFormatType;
 import org.ovirt.engine.core.common.businessentities.StoragePool;
 import org.ovirt.engine.core.common.businessentities.StoragePoolStatus;
 import org.ovirt.engine.core.compat.Guid;
+import org.ovirt.engine.core.dal.cache.EntityCache;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 
@@ -21,6 +23,8 @@ import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 @Singleton
 @SuppressWarnings("synthetic-access")
 public class StoragePoolDaoImpl extends BaseDao implements StoragePoolDao {
+    private static final String ENTITY_NAME = "StoragePool";
+
     private static final RowMapper<StoragePool> mapper = (rs, rowNum) -> {
         StoragePool entity = new StoragePool();
         entity.setdescription(rs.getString("description"));
@@ -40,7 +44,7 @@ public class StoragePoolDaoImpl extends BaseDao implements StoragePoolDao {
 
     @Override
     public StoragePool get(Guid id) {
-        return get(id, null, false);
+        return getEntityCache().get(id, poolId -> get(poolId, null, false));
     }
 
     @Override
@@ -133,6 +137,7 @@ public class StoragePoolDaoImpl extends BaseDao implements StoragePoolDao {
 
         getCallsHandler().executeModification("Insertstorage_pool",
                 parameterSource);
+        getEntityCache().invalidate(pool.getId());
     }
 
     @Override
@@ -155,6 +160,8 @@ public class StoragePoolDaoImpl extends BaseDao implements StoragePoolDao {
                 .addValue("managed", pool.isManaged());
 
         getCallsHandler().executeModification("Updatestorage_pool", parameterSource);
+        getEntityCache().invalidate(pool.getId());
+        getClusterCache().invalidateAll();
     }
 
     @Override
@@ -172,6 +179,8 @@ public class StoragePoolDaoImpl extends BaseDao implements StoragePoolDao {
                         pool.getQuotaEnforcementType().getValue());
 
         getCallsHandler().executeModification("Updatestorage_pool_partial", parameterSource);
+        getEntityCache().invalidate(pool.getId());
+        getClusterCache().invalidateAll();
     }
 
     @Override
@@ -180,7 +189,7 @@ public class StoragePoolDaoImpl extends BaseDao implements StoragePoolDao {
                 .addValue("id", id)
                 .addValue("status", status);
         getCallsHandler().executeModification("Updatestorage_pool_status", parameterSource);
-
+        getEntityCache().invalidate(id);
     }
 
     @Override
@@ -189,6 +198,20 @@ public class StoragePoolDaoImpl extends BaseDao implements StoragePoolDao {
                 .addValue("id", id);
 
         getCallsHandler().executeModification("Deletestorage_pool", parameterSource);
+        getEntityCache().invalidate(id);
+        getClusterCache().invalidateAll();
+    }
+
+    private EntityCache<Guid, StoragePool> getEntityCache() {
+        return getEntityCache(ENTITY_NAME);
+    }
+
+    /**
+     * @return the cache of {@link ClusterDao#get(Guid)}, which must be invalidated when the name of a data center
+     *         changes or a data center is removed, as the cached clusters hold the name of their data center
+     */
+    private EntityCache<Guid, Cluster> getClusterCache() {
+        return getEntityCache(ClusterDaoImpl.ENTITY_NAME);
     }
 
     @Override
@@ -209,7 +232,10 @@ public class StoragePoolDaoImpl extends BaseDao implements StoragePoolDao {
     public int increaseStoragePoolMasterVersion(Guid id) {
         MapSqlParameterSource parameterSource = getCustomMapSqlParameterSource()
                 .addValue("id", id);
-        return getCallsHandler().executeModificationReturnResult("IncreaseStoragePoolMasterVersion", parameterSource);
+        int masterVersion =
+                getCallsHandler().executeModificationReturnResult("IncreaseStoragePoolMasterVersion", parameterSource);
+        getEntityCache().invalidate(id);
+        return masterVersion;
     }
 
     @Override
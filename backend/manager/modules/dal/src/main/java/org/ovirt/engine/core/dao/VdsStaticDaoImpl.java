@@ -13,6 +13,7 @@ import org.ovirt.engine.core.common.businessentities.VDSType;
 import org.ovirt.engine.core.common.businessentities.VdsStatic;
 import org.ovirt.engine.core.common.utils.pm.FenceProxySourceTypeHelper;
 import org.ovirt.engine.core.compat.Guid;
+import org.ovirt.engine.core.dal.cache.EntityCache;
 import org.ovirt.engine.core.utils.SerializationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,12 +37,18 @@ public class VdsStaticDaoImpl extends BaseDao implements VdsStaticDao {
 
     private static final Logger log = LoggerFactory.getLogger(VdsStaticDaoImpl.class);
 
+    private static final String ENTITY_NAME = "VdsStatic";
+
     @Override
     public VdsStatic get(Guid id) {
-        return getCallsHandler().executeRead("GetVdsStaticByVdsId",
+        return getEntityCache().get(id, vdsId -> getCallsHandler().executeRead("GetVdsStaticByVdsId",
                 vdsStaticRowMapper,
                 getCustomMapSqlParameterSource()
-                        .addValue("vds_id", id));
+                        .addValue("vds_id", vdsId)));
+    }
+
+    private EntityCache<Guid, VdsStatic> getEntityCache() {
+        return getEntityCache(ENTITY_NAME);
     }
 
     @Override
@@ -77,6 +84,7 @@ public class VdsStaticDaoImpl extends BaseDao implements VdsStaticDao {
         }
         new SimpleJdbcCall(getJdbcTemplate()).withProcedureName("InsertVdsStatic")
                 .execute(getInsertOrUpdateParams(vds));
+        getEntityCache().invalidate(id);
     }
 
     /**
@@ -86,6 +94,7 @@ public class VdsStaticDaoImpl extends BaseDao implements VdsStaticDao {
     @Override
     public void update(VdsStatic vds) {
         getCallsHandler().executeModification("UpdateVdsStatic", getInsertOrUpdateParams(vds));
+        getEntityCache().invalidate(vds.getId());
     }
 
     private MapSqlParameterSource getInsertOrUpdateParams(final VdsStatic vds) {
@@ -123,6 +132,9 @@ public class VdsStaticDaoImpl extends BaseDao implements VdsStaticDao {
                 .addValue("vds_id", id);
 
         getCallsHandler().executeModification("DeleteVdsStatic", parameterSource);
+        getEntityCache().invalidate(id);
+        // The removal of the host also removes it from the hosts the VMs are pinned to:
+        getEntityCache(VmStaticDaoImpl.ENTITY_NAME).invalidateAll();
     }
 
     @Override
@@ -183,6 +195,7 @@ public class VdsStaticDaoImpl extends BaseDao implements VdsStaticDao {
                 getCustomMapSqlParameterSource()
                         .addValue("vds_id", vdsStaticId)
                         .addValue("last_stored_kernel_cmdline", lastStoredKernelCmdline));
+        getEntityCache().invalidate(vdsStaticId);
     }
 
     @Override
@@ -193,6 +206,7 @@ public class VdsStaticDaoImpl extends BaseDao implements VdsStaticDao {
                 getCustomMapSqlParameterSource()
                         .addValue("vds_id", vdsStaticId)
                         .addValue("kernel_cmdline", kernelCmdline));
+        getEntityCache().invalidate(vdsStaticId);
     }
 
     @Override
@@ -202,6 +216,7 @@ public class VdsStaticDaoImpl extends BaseDao implements VdsStaticDao {
                 getCustomMapSqlParameterSource()
                         .addValue("vds_id", vdsStaticId)
                         .addValue("reinstall_required", reinstallRequired));
+        getEntityCache().invalidate(vdsStaticId);
     }
 
     @Override
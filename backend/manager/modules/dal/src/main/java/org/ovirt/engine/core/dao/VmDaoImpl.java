@@ -16,10 +16,12 @@ import org.ovirt.engine.core.common.businessentities.OriginType;
 import org.ovirt.engine.core.common.businessentities.QuotaEnforcementTypeEnum;
 import org.ovirt.engine.core.common.businessentities.VM;
 import org.ovirt.engine.core.common.businessentities.VmDevice;
+import org.ovirt.engine.core.common.businessentities.VmStatic;
 import org.ovirt.engine.core.common.di.interceptor.InvocationLogger;
 import org.ovirt.engine.core.common.utils.Pair;
 import org.ovirt.engine.core.common.utils.SecretValue;
 import org.ovirt.engine.core.compat.Guid;
+import org.ovirt.engine.core.dal.cache.EntityCache;
 import org.ovirt.engine.core.utils.SerializationFactory;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.SingleColumnRowMapper;
@@ -239,12 +241,22 @@ public class VmDaoImpl extends BaseDao implements VmDao {
                 getCustomMapSqlParameterSource()
                         .addValue("vm_guid", vmid)
                         .addValue("is_initialized", isInitialized));
+        getVmStaticCache().invalidate(vmid);
     }
 
     @Override
     public void remove(Guid id) {
         getCallsHandler().executeModification("DeleteVm", getCustomMapSqlParameterSource()
                 .addValue("vm_guid", id));
+        getVmStaticCache().invalidate(id);
+    }
+
+    /**
+     * @return the cache of {@link VmStaticDao#get(java.io.Serializable)}, which must be invalidated by the
+     *         modifications of the static data of the VMs done by this DAO
+     */
+    private EntityCache<Guid, VmStatic> getVmStaticCache() {
+        return getEntityCache(VmStaticDaoImpl.ENTITY_NAME);
     }
 
     @Override
@@ -292,6 +304,7 @@ public class VmDaoImpl extends BaseDao implements VmDao {
                         .addValue("original_template_id", originalTemplateId)
                         .addValue("original_template_name", originalTemplateName)
         );
+        getVmStaticCache().invalidateAll();
     }
 
     @Override
@@ -1,6 +1,8 @@
 package org.ovirt.engine.core.dao;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 import org.ovirt.engine.core.common.businessentities.VmDevice;
 import org.ovirt.engine.core.common.businessentities.VmDeviceGeneralType;
@@ -20,6 +22,15 @@ public interface VmDeviceDao extends GenericDao<VmDevice, VmDeviceId>, MassOpera
 
     List<VmDevice> getVmDeviceByVmId(Guid vmId);
 
+    /**
+     * Retrieves the devices of all the given VMs in a single query.
+     *
+     * @param vmIds
+     *            the ids of the VMs
+     * @return the devices of each VM, keyed by the VM id. VMs without devices are not included.
+     */
+    Map<Guid, List<VmDevice>> getVmDevicesByVmIds(Collection<Guid> vmIds);
+
     List<VmDevice> getVmDeviceByVmId(Guid vmId, Guid userID, boolean isFiltered);
 
     List<VmDevice> getVmDevicesByDeviceId(Guid deviceId, Guid vmId);
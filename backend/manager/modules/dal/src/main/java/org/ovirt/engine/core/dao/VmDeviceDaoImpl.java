@@ -1,9 +1,11 @@
 package org.ovirt.engine.core.dao;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import javax.inject.Named;
 import javax.inject.Singleton;
@@ -82,6 +84,16 @@ public class VmDeviceDaoImpl extends
                 createEntityRowMapper(), parameterSource);
     }
 
+    @Override
+    public Map<Guid, List<VmDevice>> getVmDevicesByVmIds(Collection<Guid> vmIds) {
+        MapSqlParameterSource parameterSource = getCustomMapSqlParameterSource()
+                .addValue("vm_ids", createArrayOfUUIDs(vmIds));
+
+        return getCallsHandler().executeReadList("GetVmDeviceByVmIds", createEntityRowMapper(), parameterSource)
+                .stream()
+                .collect(Collectors.groupingBy(VmDevice::getVmId));
+    }
+
     @Override
     public List<VmDevice> getVmDevicesByDeviceId(Guid deviceId, Guid vmId) {
         MapSqlParameterSource parameterSource = getCustomMapSqlParameterSource()
@@ -2,8 +2,10 @@ package org.ovirt.engine.core.dao;
 
 import static org.ovirt.engine.core.utils.CollectionUtils.pairsToMap;
 
+import java.sql.Array;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -39,6 +41,27 @@ public class VmNumaNodeDaoImpl extends NumaNodeDaoBase<VmNumaNode> implements Vm
         return vmNumaNodes;
     }
 
+    @Override
+    public Map<Guid, List<VmNumaNode>> getAllVmNumaNodeByVmIds(Collection<Guid> vmIds) {
+        Array vmIdsArray = createArrayOfUUIDs(vmIds);
+
+        List<Pair<Guid, VmNumaNode>> vmNumaNodes =
+                getCallsHandler().executeReadList("GetNumaNodeByVmIds",
+                        vmNumaNodeCpuWithVmIdRowMapper,
+                        getCustomMapSqlParameterSource().addValue("vm_ids", vmIdsArray));
+
+        List<Pair<Guid, Integer>> numaNodesAssign =
+                getCallsHandler().executeReadList("GetAssignedNumaNodeInfomationByVmIds",
+                        vmNumaNodeAssignmentRowMapper,
+                        getCustomMapSqlParameterSource().addValue("vm_ids", vmIdsArray));
+        Map<Guid, List<Integer>> vmNumaNodesPinMap = pairsToMap(numaNodesAssign);
+
+        vmNumaNodes.stream().map(Pair::getSecond).filter(node -> vmNumaNodesPinMap.containsKey(node.getId())).forEach(
+                node -> node.setVdsNumaNodeList(vmNumaNodesPinMap.get(node.getId())));
+
+        return pairsToMap(vmNumaNodes);
+    }
+
     @Override
     public Map<Guid, List<VmNumaNode>> getVmNumaNodeInfoByClusterId(Guid clusterId) {
         MapSqlParameterSource parameterSource = getCustomMapSqlParameterSource()
@@ -128,6 +151,9 @@ public class VmNumaNodeDaoImpl extends NumaNodeDaoBase<VmNumaNode> implements Vm
         return entity;
     };
 
+    private static final RowMapper<Pair<Guid, VmNumaNode>> vmNumaNodeCpuWithVmIdRowMapper =
+            (rs, rowNum) -> new Pair<>(getGuid(rs, "vm_id"), vmNumaNodeCpuRowMapper.mapRow(rs, rowNum));
+
     private static final RowMapper<Pair<Guid, VmNumaNode>> vmNumaNodeInfoWithClusterRowMapper = (rs, rowNum) -> {
         VmNumaNode entity = new VmNumaNode();
         entity.setId(getGuid(rs, "vm_numa_node_id"));
@@ -19,9 +19,10 @@ import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 public class VmStaticDaoImpl extends VmBaseDao<VmStatic> implements VmStaticDao {
     public static final Integer USE_LATEST_VERSION_NUMBER_INDICATOR = null;
     public static final Integer DONT_USE_LATEST_VERSION_NUMBER_INDICATOR = 1;
+    static final String ENTITY_NAME = "VmStatic";
 
     public VmStaticDaoImpl() {
-        super("VmStatic");
+        super(ENTITY_NAME);
         setProcedureNameForGet("GetVmStaticByVmGuid");
     }
 
@@ -61,6 +62,7 @@ public class VmStaticDaoImpl extends VmBaseDao<VmStatic> implements VmStaticDao
         getCallsHandler().executeModification("DeleteVmStatic",
                 createIdParameterMapper(id)
                         .addValue("remove_permissions", removePermissions));
+        getEntityCache().invalidate(id);
     }
 
 
@@ -109,13 +111,14 @@ public class VmStaticDaoImpl extends VmBaseDao<VmStatic> implements VmStaticDao
     public void incrementDbGenerationForAllInStoragePool(Guid storagePoolId) {
         getCallsHandler().executeModification("IncrementDbGenerationForAllInStoragePool", getCustomMapSqlParameterSource()
                 .addValue("storage_pool_id", storagePoolId));
-
+        getEntityCache().invalidateAll();
     }
 
     @Override
     public void incrementDbGeneration(Guid id) {
         getCallsHandler().executeModification("IncrementDbGeneration", getCustomMapSqlParameterSource()
                 .addValue("vm_guid", id));
+        getEntityCache().invalidate(id);
     }
 
     @Override
@@ -125,6 +128,7 @@ public class VmStaticDaoImpl extends VmBaseDao<VmStatic> implements VmStaticDao
         getCallsHandler().executeModification(
                 "IncrementDbGenerationForVms",
                 parameterSource);
+        guids.forEach(getEntityCache()::invalidate);
     }
 
 
@@ -146,6 +150,7 @@ public class VmStaticDaoImpl extends VmBaseDao<VmStatic> implements VmStaticDao
                 getCustomMapSqlParameterSource()
                         .addValue("cluster_id", clusterId)
                         .addValue("cpu_profile_id", cpuProfileId));
+        getEntityCache().invalidateAll();
     }
 
     @Override
@@ -197,6 +202,7 @@ public class VmStaticDaoImpl extends VmBaseDao<VmStatic> implements VmStaticDao
                 getCustomMapSqlParameterSource()
                         .addValue("vm_guid", vmId)
                         .addValue("sd_id", storageDomainId));
+        getEntityCache().invalidate(vmId);
     }
 
     @Override
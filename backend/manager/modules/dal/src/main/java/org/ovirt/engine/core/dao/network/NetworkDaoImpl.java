@@ -53,7 +53,7 @@ public class NetworkDaoImpl extends DefaultGenericDao<Network, Guid> implements
 
     @Override
     public Network get(Guid networkId) {
-        return get(networkId, null, false);
+        return getEntityCache().get(networkId, id -> get(id, null, false));
     }
 
     @Override
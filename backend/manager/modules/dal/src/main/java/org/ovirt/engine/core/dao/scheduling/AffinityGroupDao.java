@@ -1,5 +1,6 @@
 package org.ovirt.engine.core.dao.scheduling;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.ovirt.engine.core.common.scheduling.AffinityGroup;
@@ -31,6 +32,13 @@ public interface AffinityGroupDao extends GenericDao<AffinityGroup, Guid> {
      */
     List<AffinityGroup> getAllAffinityGroupsWithFlatLabelsByVmId(Guid vmId);
 
+    /**
+     * Get all Affinity groups containing any of the given VMs, each group is returned once.
+     *
+     * The labels are unpacked and VMs and hosts are added to the group.
+     */
+    List<AffinityGroup> getAllAffinityGroupsWithFlatLabelsByVmIds(Collection<Guid> vmIds);
+
     /**
      * get Affinity Group by name
      */
@@ -3,6 +3,7 @@ package org.ovirt.engine.core.dao.scheduling;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Function;
@@ -55,6 +56,13 @@ public class AffinityGroupDaoImpl extends DefaultGenericDao<AffinityGroup, Guid>
                 getCustomMapSqlParameterSource().addValue("vm_id", vmId));
     }
 
+    @Override
+    public List<AffinityGroup> getAllAffinityGroupsWithFlatLabelsByVmIds(Collection<Guid> vmIds) {
+        return getCallsHandler().executeReadList("getAllAffinityGroupsWithFlatLabelsByVmIds",
+                createEntityRowMapper(),
+                getCustomMapSqlParameterSource().addValue("vm_ids", createArrayOfUUIDs(vmIds)));
+    }
+
     @Override
     public AffinityGroup getByName(String str) {
         MapSqlParameterSource parameterSource = getCustomMapSqlParameterSource()
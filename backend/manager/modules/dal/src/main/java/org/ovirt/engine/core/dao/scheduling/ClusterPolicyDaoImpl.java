@@ -17,6 +17,7 @@ import org.ovirt.engine.core.common.scheduling.PolicyUnit;
 import org.ovirt.engine.core.common.scheduling.PolicyUnitType;
 import org.ovirt.engine.core.common.utils.Pair;
 import org.ovirt.engine.core.compat.Guid;
+import org.ovirt.engine.core.dao.ClusterDaoImpl;
 import org.ovirt.engine.core.dao.DefaultGenericDao;
 import org.ovirt.engine.core.utils.SerializationFactory;
 import org.springframework.jdbc.core.RowMapper;
@@ -51,6 +52,8 @@ public class ClusterPolicyDaoImpl extends DefaultGenericDao<ClusterPolicy, Guid>
         if (clusterPolicyUnits != null) {
             clusterPolicyUnits.forEach(this::saveClusterPolicyUnit);
         }
+        // The cached clusters hold the name of their cluster policy:
+        getEntityCache(ClusterDaoImpl.ENTITY_NAME).invalidateAll();
     }
 
     @Override
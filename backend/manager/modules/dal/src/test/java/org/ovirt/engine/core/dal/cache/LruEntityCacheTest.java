@@ -0,0 +1,134 @@
+package org.ovirt.engine.core.dal.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class LruEntityCacheTest {
+
+    private static final int MAX_SIZE = 2;
+    private static final int TTL_SECONDS = 10;
+
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Function<Integer, String> loader = id -> {
+        loads.incrementAndGet();
+        return "entity" + id;
+    };
+
+    private List<Runnable> transactionCallbacks;
+    private boolean inTransaction;
+    private LruEntityCache<Integer, String> cache;
+
+    @BeforeEach
+    public void setUp() {
+        transactionCallbacks = new ArrayList<>();
+        inTransaction = false;
+        cache = new LruEntityCache<>("Test", MAX_SIZE, TTL_SECONDS, callback -> {
+            if (inTransaction) {
+                transactionCallbacks.add(callback);
+            }
+            return inTransaction;
+        }, now::get);
+    }
+
+    @Test
+    public void testHit() {
+        assertEquals("entity1", cache.get(1, loader));
+        assertEquals("entity1", cache.get(1, loader));
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testReturnsCopies() {
+        String loaded = cache.get(1, loader);
+        assertNotSame(loaded, cache.get(1, loader));
+        assertNotSame(cache.get(1, loader), cache.get(1, loader));
+    }
+
+    @Test
+    public void testNullNotCached() {
+        cache.get(1, id -> null);
+        cache.get(1, loader);
+        assertEquals(1, loads.get());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEvicted() {
+        cache.get(1, loader);
+        cache.get(2, loader);
+        cache.get(1, loader);
+        cache.get(3, loader);
+        assertEquals(MAX_SIZE, cache.size());
+        assertEquals(1, cache.getEvictions());
+
+        cache.get(1, loader);
+        assertEquals(3, loads.get());
+        cache.get(2, loader);
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    public void testExpired() {
+        cache.get(1, loader);
+        now.addAndGet(TimeUnit.SECONDS.toNanos(TTL_SECONDS));
+        cache.get(1, loader);
+        assertEquals(2, loads.get());
+        assertEquals(1, cache.getEvictions());
+    }
+
+    @Test
+    public void testInvalidateWithoutTransaction() {
+        cache.get(1, loader);
+        cache.invalidate(1);
+        cache.get(1, loader);
+        cache.get(1, loader);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testInvalidateBypassesCacheUntilTransactionCompletes() {
+        cache.get(1, loader);
+        inTransaction = true;
+        cache.invalidate(1);
+
+        cache.get(1, loader);
+        cache.get(1, loader);
+        assertEquals(3, loads.get());
+
+        transactionCallbacks.forEach(Runnable::run);
+        cache.get(1, loader);
+        cache.get(1, loader);
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    public void testLoadRacingWithInvalidationNotCached() {
+        cache.get(1, id -> {
+            cache.invalidate(id);
+            return loader.apply(id);
+        });
+        cache.get(1, loader);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testInvalidateAll() {
+        cache.get(1, loader);
+        cache.get(2, loader);
+        cache.invalidateAll();
+        assertEquals(0, cache.size());
+    }
+}
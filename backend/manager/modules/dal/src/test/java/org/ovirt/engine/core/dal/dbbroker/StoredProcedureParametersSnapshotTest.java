@@ -0,0 +1,75 @@
+package org.ovirt.engine.core.dal.dbbroker;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.sql.DatabaseMetaData;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.SqlOutParameter;
+import org.springframework.jdbc.core.SqlParameter;
+
+public class StoredProcedureParametersSnapshotTest {
+
+    private static final String KEY = "04050300/3500/123456";
+
+    @Test
+    public void testStoreAndLoad() throws IOException {
+        Map<String, List<StoredProcedureParameter>> procedures = new HashMap<>();
+        procedures.put("getvmbyvmguid", Arrays.asList(
+                new StoredProcedureParameter("v_vm_guid", Types.OTHER, DatabaseMetaData.procedureColumnIn),
+                new StoredProcedureParameter("v_user_id", Types.OTHER, DatabaseMetaData.procedureColumnIn),
+                new StoredProcedureParameter("v_is_filtered", Types.BIT, DatabaseMetaData.procedureColumnIn)));
+        procedures.put("getallfromvms", Collections.emptyList());
+
+        StoredProcedureParametersSnapshot loaded = storeAndLoad(
+                new StoredProcedureParametersSnapshot(KEY, procedures), KEY);
+
+        assertEquals(KEY, loaded.getKey());
+        assertEquals(procedures, loaded.getProcedures());
+    }
+
+    @Test
+    public void testLoadWithDifferentKey() throws IOException {
+        StoredProcedureParametersSnapshot snapshot = new StoredProcedureParametersSnapshot(KEY, Collections.emptyMap());
+        assertNull(storeAndLoad(snapshot, "04050310/3500/123456"));
+    }
+
+    @Test
+    public void testLoadMalformed() {
+        String content = "@format=" + StoredProcedureParametersSnapshot.FORMAT_VERSION + "\n@key=" + KEY
+                + "\ngetvmbyvmguid=v_vm_guid:1111\n";
+        assertThrows(IOException.class, () -> StoredProcedureParametersSnapshot.load(new StringReader(content), KEY));
+    }
+
+    @Test
+    public void testToSqlParameter() {
+        SqlParameter in = new StoredProcedureParameter("v_id", Types.OTHER, DatabaseMetaData.procedureColumnIn)
+                .toSqlParameter();
+        SqlParameter out = new StoredProcedureParameter("v_seq", Types.INTEGER, DatabaseMetaData.procedureColumnOut)
+                .toSqlParameter();
+
+        assertEquals(SqlParameter.class, in.getClass());
+        assertEquals("v_id", in.getName());
+        assertEquals(Types.OTHER, in.getSqlType());
+        assertEquals(SqlOutParameter.class, out.getClass());
+        assertEquals(Types.INTEGER, out.getSqlType());
+    }
+
+    private static StoredProcedureParametersSnapshot storeAndLoad(StoredProcedureParametersSnapshot snapshot,
+            String expectedKey) throws IOException {
+        StringWriter writer = new StringWriter();
+        snapshot.store(writer);
+        return StoredProcedureParametersSnapshot.load(new StringReader(writer.toString()), expectedKey);
+    }
+}
@@ -0,0 +1,80 @@
+package org.ovirt.engine.core.dal.dbbroker;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import javax.inject.Inject;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.ovirt.engine.core.dao.BaseDbTestCase;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SingleColumnRowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+
+public class StoredProceduresPrecompilerTest extends BaseDbTestCase {
+
+    private static final String PROCEDURE_WITH_DEFAULTS = "testprecompilerwithdefaults";
+
+    @Inject
+    private JdbcTemplate jdbcTemplate;
+
+    @Inject
+    private SimpleJdbcCallsHandler callsHandler;
+
+    private StoredProceduresPrecompiler underTest;
+
+    @BeforeEach
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        // created within the transaction of the test, so it is rolled back with it
+        jdbcTemplate.execute("CREATE FUNCTION " + PROCEDURE_WITH_DEFAULTS
+                + " (v_value INTEGER, v_addition INTEGER DEFAULT 7) RETURNS SETOF INTEGER AS $$"
+                + " SELECT v_value + v_addition $$ LANGUAGE sql");
+        underTest = new StoredProceduresPrecompiler(callsHandler, jdbcTemplate);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        callsHandler.setProcedureParameters(Collections.emptyMap());
+    }
+
+    /**
+     * Ensures that procedures without default parameter values are resolved
+     */
+    @Test
+    public void testProcedureResolved() {
+        assertTrue(underTest.readProcedureParameters().containsKey("gettagsbytag_id"));
+    }
+
+    /**
+     * Ensures that procedures with default parameter values are not resolved
+     */
+    @Test
+    public void testProcedureWithDefaultsNotResolved() {
+        assertFalse(underTest.readProcedureParameters().containsKey(PROCEDURE_WITH_DEFAULTS));
+    }
+
+    /**
+     * Ensures that the default parameter values apply to the parameters omitted by the caller once the parameters of
+     * the procedures are resolved
+     */
+    @Test
+    public void testDefaultAppliesToOmittedParameter() {
+        Map<String, List<StoredProcedureParameter>> procedures = underTest.readProcedureParameters();
+        callsHandler.setProcedureParameters(procedures);
+
+        Integer result = callsHandler.executeRead(PROCEDURE_WITH_DEFAULTS,
+                SingleColumnRowMapper.newInstance(Integer.class),
+                new MapSqlParameterSource().addValue("v_value", 1));
+
+        assertEquals(8, result.intValue());
+    }
+}
@@ -0,0 +1,185 @@
+package org.ovirt.engine.core.dal.dbbroker.auditloghandling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+
+import javax.enterprise.concurrent.ManagedScheduledExecutorService;
+import javax.transaction.Transaction;
+import javax.transaction.TransactionManager;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.ovirt.engine.core.common.AuditLogSeverity;
+import org.ovirt.engine.core.common.AuditLogType;
+import org.ovirt.engine.core.common.businessentities.AuditLog;
+import org.ovirt.engine.core.dao.AuditLogDao;
+import org.ovirt.engine.core.utils.InjectedMock;
+import org.ovirt.engine.core.utils.InjectorExtension;
+
+@ExtendWith({MockitoExtension.class, InjectorExtension.class})
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class AuditLogWriterTest {
+
+    private static final int QUEUE_CAPACITY = 2 * AuditLogWriter.BATCH_SIZE;
+
+    @Mock
+    private AuditLogDao auditLogDao;
+    @Mock
+    private ManagedScheduledExecutorService executor;
+    @Mock
+    @InjectedMock
+    public TransactionManager transactionManager;
+
+    @Captor
+    private ArgumentCaptor<Collection<AuditLog>> batchCaptor;
+
+    private final ScheduledFuture<?> flushJob = mock(ScheduledFuture.class);
+
+    @InjectMocks
+    private AuditLogWriter writer;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        doReturn(mock(Transaction.class)).when(transactionManager).getTransaction();
+        doReturn(flushJob).when(executor).scheduleWithFixedDelay(any(), anyLong(), anyLong(), any());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        writer.shutdown();
+    }
+
+    @Test
+    public void writesSynchronouslyWhenNotStarted() {
+        writer.start(0);
+        AuditLog auditLog = newAuditLog();
+
+        writer.write(auditLog);
+
+        verify(auditLogDao).save(auditLog);
+        verify(executor, never()).scheduleWithFixedDelay(any(), anyLong(), anyLong(), any());
+        assertEquals(1, writer.getWrittenEvents());
+        assertEquals(0, writer.getQueueCapacity());
+    }
+
+    @Test
+    public void queuesEventsUntilFlush() {
+        writer.start(QUEUE_CAPACITY);
+
+        writer.write(newAuditLog());
+        writer.write(newAuditLog());
+
+        verify(auditLogDao, never()).save(any());
+        verify(auditLogDao, never()).saveAll(anyCollection());
+        assertEquals(2, writer.getQueuedEvents());
+        assertEquals(QUEUE_CAPACITY, writer.getQueueCapacity());
+
+        writer.flush();
+
+        verify(auditLogDao).saveAll(batchCaptor.capture());
+        assertEquals(2, batchCaptor.getValue().size());
+        assertEquals(0, writer.getQueuedEvents());
+        assertEquals(2, writer.getWrittenEvents());
+    }
+
+    @Test
+    public void writesAlertsSynchronously() {
+        writer.start(QUEUE_CAPACITY);
+        AuditLog alert = new AuditLog(AuditLogType.VDS_ALERT_FENCE_IS_NOT_CONFIGURED, AuditLogSeverity.ALERT);
+        alert.setMessage("Testing");
+
+        writer.write(alert);
+
+        verify(auditLogDao).save(alert);
+        assertEquals(0, writer.getQueuedEvents());
+        assertEquals(1, writer.getWrittenEvents());
+    }
+
+    @Test
+    public void flushWritesInBatches() {
+        writer.start(QUEUE_CAPACITY);
+        int events = AuditLogWriter.BATCH_SIZE + 1;
+        for (int i = 0; i < events; i++) {
+            writer.write(newAuditLog());
+        }
+
+        writer.flush();
+
+        verify(auditLogDao, times(2)).saveAll(batchCaptor.capture());
+        List<Collection<AuditLog>> batches = batchCaptor.getAllValues();
+        assertEquals(AuditLogWriter.BATCH_SIZE, batches.get(0).size());
+        assertEquals(1, batches.get(1).size());
+        assertEquals(events, writer.getWrittenEvents());
+    }
+
+    @Test
+    public void dropsEventsWhenQueueIsFull() {
+        writer.start(QUEUE_CAPACITY);
+        for (int i = 0; i < QUEUE_CAPACITY + 3; i++) {
+            writer.write(newAuditLog());
+        }
+
+        assertEquals(QUEUE_CAPACITY, writer.getQueuedEvents());
+        assertEquals(3, writer.getDroppedEvents());
+    }
+
+    @Test
+    public void writesEventsOneByOneWhenBatchFails() {
+        writer.start(QUEUE_CAPACITY);
+        AuditLog valid = newAuditLog();
+        AuditLog invalid = newAuditLog();
+        doThrow(new RuntimeException()).when(auditLogDao).saveAll(anyCollection());
+        doThrow(new RuntimeException()).when(auditLogDao).save(invalid);
+        writer.write(valid);
+        writer.write(invalid);
+
+        writer.flush();
+
+        verify(auditLogDao).save(valid);
+        assertEquals(1, writer.getWrittenEvents());
+        assertEquals(1, writer.getDroppedEvents());
+    }
+
+    @Test
+    public void shutdownWritesQueuedEvents() {
+        writer.start(QUEUE_CAPACITY);
+        writer.write(newAuditLog());
+
+        writer.shutdown();
+
+        verify(flushJob).cancel(false);
+        verify(auditLogDao).saveAll(anyCollection());
+        assertEquals(1, writer.getWrittenEvents());
+
+        AuditLog auditLog = newAuditLog();
+        writer.write(auditLog);
+        verify(auditLogDao).save(auditLog);
+    }
+
+    private static AuditLog newAuditLog() {
+        AuditLog auditLog = new AuditLog(AuditLogType.USER_RUN_VM, AuditLogSeverity.NORMAL);
+        auditLog.setMessage("Testing");
+        return auditLog;
+    }
+}
@@ -13,6 +13,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.inject.Inject;
 
@@ -75,6 +76,24 @@ public class AffinityGroupDaoTest extends BaseDaoTestCase<AffinityGroupDao> {
         assertTrue(affinityGroupList.isEmpty());
     }
 
+    @Test
+    public void testGetWithFlatLabelsByVmIds() {
+        Guid vmId = FixturesTool.VM_RHEL5_POOL_50;
+        Guid anotherVmId = FixturesTool.VM_RHEL5_POOL_57;
+        List<Guid> expected = Stream.concat(
+                dao.getAllAffinityGroupsWithFlatLabelsByVmId(vmId).stream(),
+                dao.getAllAffinityGroupsWithFlatLabelsByVmId(anotherVmId).stream())
+                .map(AffinityGroup::getId)
+                .distinct()
+                .collect(Collectors.toList());
+
+        assertThat(dao.getAllAffinityGroupsWithFlatLabelsByVmIds(Arrays.asList(vmId, anotherVmId, Guid.newGuid())))
+                .extracting("id")
+                .hasSameSizeAs(expected)
+                .containsOnlyElementsOf(expected);
+        assertTrue(dao.getAllAffinityGroupsWithFlatLabelsByVmIds(Collections.singletonList(Guid.newGuid())).isEmpty());
+    }
+
     @Test
     public void testGetByName() {
         AffinityGroup affinityGroup = dao.getByName(AFFINITY_GROUP_NAME);
@@ -4,11 +4,14 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.text.SimpleDateFormat;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,6 +21,7 @@ import org.ovirt.engine.core.common.AuditLogType;
 import org.ovirt.engine.core.common.businessentities.AuditLog;
 import org.ovirt.engine.core.compat.Guid;
 import org.ovirt.engine.core.utils.MockConfigExtension;
+import org.springframework.dao.DuplicateKeyException;
 
 /**
  * {@code AuditLogDaoTest} performs tests against the {@link AuditLogDao} type.
@@ -35,6 +39,7 @@ public class AuditLogDaoTest extends BaseDaoTestCase<AuditLogDao> {
     private static final int AFTER_DATE_COUNT = 7;
     private static final int TOTAL_COUNT = 8;
     private static final int CUSTOM_BAKUP_EVENT_ID = 9022;
+    private static final int PARTITION_DAYS = 7;
 
     /** Note that {@link SimpleDateFormat} is inherently not thread-safe, and should not be static */
     private final SimpleDateFormat EXPECTED_DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
@@ -244,6 +249,31 @@ public class AuditLogDaoTest extends BaseDaoTestCase<AuditLogDao> {
         assertEquals(1, result.size());
     }
 
+    @Test
+    public void testRemoveAllBeforeDatePartitioned()
+            throws Exception {
+        dao.createPartitions(new Date(), PARTITION_DAYS);
+        Date cutoff = EXPECTED_DATE_FORMAT.parse("2010-12-20 13:11:00");
+        dao.removeAllBeforeDate(cutoff);
+        List<AuditLog> result = dao.getAll(PRIVILEGED_USER_ID, true);
+        assertEquals(1, result.size());
+    }
+
+    @Test
+    public void testRemoveAllBeforeDateDropsPartitions() {
+        Date now = new Date();
+        dao.createPartitions(now, PARTITION_DAYS);
+        dao.save(newAuditLog);
+        assertEquals(TOTAL_COUNT + 1, dao.getAll(null, false).size());
+
+        // all the partitions created so far end before the cutoff
+        dao.removeAllBeforeDate(new Date(now.getTime() + TimeUnit.DAYS.toMillis(3 * PARTITION_DAYS)));
+        assertEquals(0, dao.getAll(null, false).size());
+
+        dao.save(newAuditLog);
+        assertEquals(1, dao.getAll(null, false).size());
+    }
+
     @Test
     public void testRemoveAllForVds() {
         dao.removeAllForVds(FixturesTool.VDS_RHEL6_NFS_SPM, true);
@@ -294,6 +324,19 @@ public class AuditLogDaoTest extends BaseDaoTestCase<AuditLogDao> {
         assertEquals(newExternalEvent.getEventFloodInSec(), result.getEventFloodInSec());
     }
 
+    @Test
+    public void testSaveDuplicateExternalEvent() {
+        AuditLog existingExternalEvent = dao.getByOriginAndCustomEventId("EMC", 1);
+        AuditLog newExternalEvent = new AuditLog();
+        newExternalEvent.setLogType(AuditLogType.EXTERNAL_EVENT_NORMAL);
+        newExternalEvent.setExternal(true);
+        newExternalEvent.setOrigin(existingExternalEvent.getOrigin());
+        newExternalEvent.setCustomEventId(existingExternalEvent.getCustomEventId());
+        newExternalEvent.setMessage("Duplicate");
+
+        assertThrows(DuplicateKeyException.class, () -> dao.save(newExternalEvent));
+    }
+
     /**
      * Ensures that removing an AuditLog works as expected.
      */
@@ -376,6 +419,33 @@ public class AuditLogDaoTest extends BaseDaoTestCase<AuditLogDao> {
         assertEquals(2L, getAlertCount(entry, dao.getAll(null, false)));
     }
 
+    @Test
+    public void testSaveAll() {
+        AuditLog other = new AuditLog(AuditLogType.USER_RUN_VM, AuditLogSeverity.NORMAL);
+        other.setVmId(VM_ID);
+        other.setVmName(VM_NAME);
+        other.setMessage("Testing batch");
+
+        dao.saveAll(Arrays.asList(newAuditLog, other));
+
+        assertEquals(TOTAL_COUNT + 2, dao.getAll(null, false).size());
+    }
+
+    /**
+     * Checks if alerts saved in a batch are ignored the same way as alerts which are saved one by one
+     */
+    @Test
+    public void testSaveAllIgnoresMultipleAlertsWithSameTypeAndHost() {
+        AuditLog entry = new AuditLog(AuditLogType.VDS_ALERT_FENCE_DISABLED_BY_CLUSTER_POLICY, AuditLogSeverity.ALERT);
+        entry.setVdsId(FixturesTool.VDS_RHEL6_NFS_SPM);
+        entry.setVdsName(FixturesTool.GLUSTER_SERVER_NAME3);
+        entry.setMessage("Testing alert");
+
+        dao.saveAll(Arrays.asList(entry, entry));
+
+        assertEquals(1L, getAlertCount(entry, dao.getAll(null, false)));
+    }
+
     @Test
     public void testDeleteBackupRelatedAlerts() {
         AuditLog entry = dao.getByOriginAndCustomEventId(AuditLog.OVIRT_ORIGIN, CUSTOM_BAKUP_EVENT_ID);
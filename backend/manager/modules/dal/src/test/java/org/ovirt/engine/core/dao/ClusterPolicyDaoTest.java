@@ -8,16 +8,25 @@ import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 
+import javax.inject.Inject;
+
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.ovirt.engine.core.common.scheduling.ClusterPolicy;
 import org.ovirt.engine.core.compat.Guid;
+import org.ovirt.engine.core.dal.cache.EntityCacheManager;
 import org.ovirt.engine.core.dao.scheduling.ClusterPolicyDao;
 
 public class ClusterPolicyDaoTest extends BaseDaoTestCase<ClusterPolicyDao> {
 
     private static final int NUMBER_OF_CLUSTER_POLICIES = 2;
 
+    @Inject
+    private ClusterDao clusterDao;
+    @Inject
+    private EntityCacheManager entityCacheManager;
+
     private ClusterPolicy existingPolicy;
     private ClusterPolicy dummyPolicy;
 
@@ -29,6 +38,11 @@ public class ClusterPolicyDaoTest extends BaseDaoTestCase<ClusterPolicyDao> {
         createDummyPolicy();
     }
 
+    @AfterEach
+    public void tearDown() {
+        entityCacheManager.configure(Collections.emptyMap(), 0);
+    }
+
     @Test
     public void testGet() {
         ClusterPolicy result = dao.get(existingPolicy.getId(), Collections.emptyMap());
@@ -68,6 +82,16 @@ public class ClusterPolicyDaoTest extends BaseDaoTestCase<ClusterPolicyDao> {
         assertEquals(result, dummyPolicy);
     }
 
+    @Test
+    public void testUpdateInvalidatesClusterCache() {
+        entityCacheManager.configure(Collections.singletonMap(ClusterDaoImpl.ENTITY_NAME, 60), 100);
+        assertEquals(existingPolicy.getName(), clusterDao.get(FixturesTool.CLUSTER).getClusterPolicyName());
+
+        existingPolicy.setName("renamed");
+        dao.update(existingPolicy);
+        assertEquals("renamed", clusterDao.get(FixturesTool.CLUSTER).getClusterPolicyName());
+    }
+
     @Test
     public void testRemove() {
         dao.save(dummyPolicy);
@@ -12,8 +12,11 @@ import static org.ovirt.engine.core.dao.FixturesTool.TEMPLATE_IMAGE_ID;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.inject.Inject;
 
@@ -74,6 +77,17 @@ public class DiskImageDaoTest extends BaseReadDaoTestCase<Guid, DiskImage, DiskI
         assertThrows(UnsupportedOperationException.class, super::testGetAll);
     }
 
+    @Test
+    public void testStreamAllForStorageDomain() {
+        Guid storageDomainId = existingEntity.getStorageIds().get(0);
+        List<DiskImage> expected = dao.getAllForStorageDomain(storageDomainId);
+        assertFalse(expected.isEmpty());
+
+        try (Stream<DiskImage> result = dao.streamAllForStorageDomain(storageDomainId)) {
+            assertEquals(new HashSet<>(expected), result.collect(Collectors.toSet()));
+        }
+    }
+
     @Test
     public void testGetAncestorForSon() {
         DiskImage result = dao.getAncestor(existingEntity.getImageId());
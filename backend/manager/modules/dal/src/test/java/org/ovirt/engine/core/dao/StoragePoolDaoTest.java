@@ -6,8 +6,12 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.Collections;
 import java.util.List;
 
+import javax.inject.Inject;
+
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.ovirt.engine.core.common.businessentities.QuotaEnforcementTypeEnum;
 import org.ovirt.engine.core.common.businessentities.StorageFormatType;
@@ -15,10 +19,21 @@ import org.ovirt.engine.core.common.businessentities.StoragePool;
 import org.ovirt.engine.core.common.businessentities.StoragePoolStatus;
 import org.ovirt.engine.core.compat.Guid;
 import org.ovirt.engine.core.compat.Version;
+import org.ovirt.engine.core.dal.cache.EntityCacheManager;
 
 public class StoragePoolDaoTest extends BaseGenericDaoTestCase<Guid, StoragePool, StoragePoolDao> {
     private static final int NUMBER_OF_POOLS_FOR_PRIVELEGED_USER = 1;
 
+    @Inject
+    private ClusterDao clusterDao;
+    @Inject
+    private EntityCacheManager entityCacheManager;
+
+    @AfterEach
+    public void tearDown() {
+        entityCacheManager.configure(Collections.emptyMap(), 0);
+    }
+
     @Override
     protected StoragePool generateNewEntity() {
         StoragePool newPool = new StoragePool();
@@ -213,6 +228,30 @@ public class StoragePoolDaoTest extends BaseGenericDaoTestCase<Guid, StoragePool
         assertGetResult(result);
     }
 
+    @Test
+    public void testUpdateInvalidatesClusterCache() {
+        enableClusterCache();
+        assertEquals(existingEntity.getName(), clusterDao.get(FixturesTool.CLUSTER).getStoragePoolName());
+
+        existingEntity.setName("renamed");
+        dao.update(existingEntity);
+        assertEquals("renamed", clusterDao.get(FixturesTool.CLUSTER).getStoragePoolName());
+    }
+
+    @Test
+    public void testPartialUpdateInvalidatesClusterCache() {
+        enableClusterCache();
+        assertEquals(existingEntity.getName(), clusterDao.get(FixturesTool.CLUSTER).getStoragePoolName());
+
+        existingEntity.setName("renamed");
+        dao.updatePartial(existingEntity);
+        assertEquals("renamed", clusterDao.get(FixturesTool.CLUSTER).getStoragePoolName());
+    }
+
+    private void enableClusterCache() {
+        entityCacheManager.configure(Collections.singletonMap(ClusterDaoImpl.ENTITY_NAME, 60), 100);
+    }
+
     /**
      * Ensures that updating a storage pool status works as expected.
      */
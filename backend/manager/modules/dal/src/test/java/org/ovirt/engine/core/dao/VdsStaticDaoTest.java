@@ -5,15 +5,31 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.Collections;
 import java.util.List;
 
+import javax.inject.Inject;
+
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.ovirt.engine.core.common.businessentities.VDSStatus;
 import org.ovirt.engine.core.common.businessentities.VdsStatic;
+import org.ovirt.engine.core.common.businessentities.VmStatic;
 import org.ovirt.engine.core.compat.Guid;
+import org.ovirt.engine.core.dal.cache.EntityCacheManager;
 
 public class VdsStaticDaoTest extends BaseGenericDaoTestCase<Guid, VdsStatic, VdsStaticDao> {
+    @Inject
+    private VmStaticDao vmStaticDao;
+    @Inject
+    private EntityCacheManager entityCacheManager;
+
+    @AfterEach
+    public void tearDown() {
+        entityCacheManager.configure(Collections.emptyMap(), 0);
+    }
+
     @Override
     protected VdsStatic generateNewEntity() {
         VdsStatic newStaticVds = new VdsStatic();
@@ -96,6 +112,22 @@ public class VdsStaticDaoTest extends BaseGenericDaoTestCase<Guid, VdsStatic, Vd
         assertTrue(resultBeforeStatusUpdate);
     }
 
+    /**
+     * Ensures that removing a host isn't missed by the cached VMs pinned to it.
+     */
+    @Test
+    public void testRemoveInvalidatesVmStaticCache() {
+        VmStatic vm = vmStaticDao.get(FixturesTool.VM_RHEL5_POOL_57);
+        vm.setDedicatedVmForVdsList(Collections.singletonList(existingEntity.getId()));
+        vmStaticDao.update(vm);
+        entityCacheManager.configure(Collections.singletonMap(VmStaticDaoImpl.ENTITY_NAME, 60), 100);
+        assertEquals(vm.getDedicatedVmForVdsList(),
+                vmStaticDao.get(FixturesTool.VM_RHEL5_POOL_57).getDedicatedVmForVdsList());
+
+        dao.remove(existingEntity.getId());
+        assertTrue(vmStaticDao.get(FixturesTool.VM_RHEL5_POOL_57).getDedicatedVmForVdsList().isEmpty());
+    }
+
     @Test
     public void testUpdateVdsReinstallRequired() {
         dao.updateReinstallRequired(getExistingEntityId(), true);
@@ -3,6 +3,7 @@ package org.ovirt.engine.core.dao;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -16,6 +17,7 @@ import java.util.stream.Collectors;
 
 import javax.inject.Inject;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.ovirt.engine.core.common.businessentities.BiosType;
@@ -27,6 +29,7 @@ import org.ovirt.engine.core.common.businessentities.VmDynamic;
 import org.ovirt.engine.core.common.businessentities.VmStatic;
 import org.ovirt.engine.core.common.businessentities.VmStatistics;
 import org.ovirt.engine.core.compat.Guid;
+import org.ovirt.engine.core.dal.cache.EntityCacheManager;
 
 public class VmDaoTest extends BaseDaoTestCase<VmDao> {
     private static final int VM_COUNT = 10;
@@ -38,6 +41,8 @@ public class VmDaoTest extends BaseDaoTestCase<VmDao> {
     private VmDynamicDao vmDynamicDao;
     @Inject
     private VmStatisticsDao vmStatisticsDao;
+    @Inject
+    private EntityCacheManager entityCacheManager;
 
     @BeforeEach
     @Override
@@ -60,6 +65,11 @@ public class VmDaoTest extends BaseDaoTestCase<VmDao> {
         newVmStatic.setVmtGuid(FixturesTool.VM_TEMPLATE_RHEL5);
     }
 
+    @AfterEach
+    public void tearDown() {
+        entityCacheManager.configure(Collections.emptyMap(), 0);
+    }
+
     /**
      * Ensures that get requires a valid id.
      */
@@ -468,6 +478,39 @@ public class VmDaoTest extends BaseDaoTestCase<VmDao> {
         assertEquals(origInitialized, updatedVm.isInitialized(), "VM's is_initiazlied was not updated");
     }
 
+    @Test
+    public void testSaveIsInitializedInvalidatesVmStaticCache() {
+        enableVmStaticCache();
+        Guid vmId = existingVm.getId();
+        boolean origInitialized = vmStaticDao.get(vmId).isInitialized();
+
+        dao.saveIsInitialized(vmId, !origInitialized);
+        assertEquals(!origInitialized, vmStaticDao.get(vmId).isInitialized());
+    }
+
+    @Test
+    public void testRemoveInvalidatesVmStaticCache() {
+        enableVmStaticCache();
+        assertNotNull(vmStaticDao.get(existingVm.getId()));
+
+        dao.remove(existingVm.getId());
+        assertNull(vmStaticDao.get(existingVm.getId()));
+    }
+
+    @Test
+    public void testUpdateOriginalTemplateNameInvalidatesVmStaticCache() {
+        enableVmStaticCache();
+        Guid vmId = new Guid("77296e00-0cad-4e5a-9299-008a7b6f4354");
+        assertNotEquals("renamed", vmStaticDao.get(vmId).getOriginalTemplateName());
+
+        dao.updateOriginalTemplateName(FixturesTool.VM_TEMPLATE_RHEL6_2, "renamed");
+        assertEquals("renamed", vmStaticDao.get(vmId).getOriginalTemplateName());
+    }
+
+    private void enableVmStaticCache() {
+        entityCacheManager.configure(Collections.singletonMap(VmStaticDaoImpl.ENTITY_NAME, 60), 100);
+    }
+
     @Test
     public void testFailedAutoStartVms() {
         List<VM> result = dao.getAllFailedAutoStartVms();
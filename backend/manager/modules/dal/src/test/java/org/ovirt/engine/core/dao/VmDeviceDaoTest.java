@@ -4,9 +4,11 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -223,4 +225,14 @@ public class VmDeviceDaoTest extends BaseGenericDaoTestCase<VmDeviceId, VmDevice
                         true);
         assertTrue(devices.isEmpty(), "A user without any permissions should not see any devices");
     }
+
+    @Test
+    public void testGetVmDevicesByVmIds() {
+        Map<Guid, List<VmDevice>> devices =
+                dao.getVmDevicesByVmIds(Arrays.asList(EXISTING_VM_ID, EXISTING_VM_ID_3, NON_EXISTING_VM_ID));
+
+        assertEquals(dao.getVmDeviceByVmId(EXISTING_VM_ID), devices.get(EXISTING_VM_ID));
+        assertEquals(dao.getVmDeviceByVmId(EXISTING_VM_ID_3), devices.get(EXISTING_VM_ID_3));
+        assertFalse(devices.containsKey(NON_EXISTING_VM_ID));
+    }
 }
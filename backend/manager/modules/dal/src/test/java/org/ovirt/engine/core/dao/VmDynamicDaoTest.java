@@ -97,6 +97,21 @@ public class VmDynamicDaoTest extends BaseGenericDaoTestCase<Guid, VmDynamic, Vm
         assertEquals(existingVm2, dao.get(existingVm2.getId()));
     }
 
+    /**
+     * The monitoring writes back the copy of the dynamic data of a VM, so the copy should keep all the persisted fields.
+     */
+    @Test
+    public void testUpdateCopy() {
+        existingEntity.setRuntimeName("runtime");
+        dao.update(existingEntity);
+
+        dao.update(new VmDynamic(dao.get(existingEntity.getId())));
+
+        VmDynamic after = dao.get(existingEntity.getId());
+        assertEquals(existingEntity, after);
+        assertEquals("runtime", after.getRuntimeName());
+    }
+
     @Test
     public void testClearMigratingToVds() {
         VmDynamic vmDynamic = dao.get(FixturesTool.VM_RHEL5_POOL_51);
@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -57,6 +58,24 @@ public class VmNumaNodeDaoTest extends BaseDaoTestCase<VmNumaNodeDao> {
         assertEquals(0, nodes.get(vmNumaNode2).getVdsNumaNodeList().size());
     }
 
+    @Test
+    public void testGetAllVmNumaNodeByVmIds() {
+        Map<Guid, List<VmNumaNode>> result =
+                dao.getAllVmNumaNodeByVmIds(Arrays.asList(EXISTING_VM_ID, ANOTHER_EXISTING_VM_ID, Guid.newGuid()));
+
+        assertEquals(2, result.get(EXISTING_VM_ID).size());
+        for (Guid vmId : Arrays.asList(EXISTING_VM_ID, ANOTHER_EXISTING_VM_ID)) {
+            List<VmNumaNode> expected = dao.getAllVmNumaNodeByVmId(vmId);
+            List<VmNumaNode> nodes = result.getOrDefault(vmId, new ArrayList<>());
+            assertEquals(expected.size(), nodes.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i).getId(), nodes.get(i).getId());
+                assertEquals(expected.get(i).getCpuIds(), nodes.get(i).getCpuIds());
+                assertEquals(expected.get(i).getVdsNumaNodeList(), nodes.get(i).getVdsNumaNodeList());
+            }
+        }
+    }
+
     @Test
     public void testGetVmNumaNodeInfoByBdsGroupId() {
         Guid vdsGroupId = FixturesTool.CLUSTER;
@@ -39,6 +39,7 @@ public class SsoContext implements Serializable {
     private SsoClientsRegistry ssoClientRegistry;
     private Map<String, SsoSession> ssoSessions = new ConcurrentHashMap<>();
     private Map<String, SsoSession> ssoSessionsById = new ConcurrentHashMap<>();
+    private SsoSessionExpiryIndex ssoSessionExpiryIndex = new SsoSessionExpiryIndex();
     private Map<String, AuthenticationProfile> profiles = null;
     private Map<String, List<String>> scopeDependenciesMap = new HashMap<>();
 
@@ -162,11 +163,37 @@ public class SsoContext implements Serializable {
     }
 
     public void registerSsoSession(SsoSession ssoSession) {
+        ssoSessionExpiryIndex.add(ssoSession);
         ssoSessions.put(ssoSession.getAccessToken(), ssoSession);
     }
 
     public void removeSsoSession(String token) {
         ssoSessions.remove(token);
+        ssoSessionExpiryIndex.remove(token);
+    }
+
+    /**
+     * Records an access to the token of the given session, postponing its expiration.
+     */
+    public void touchSsoSession(SsoSession ssoSession) {
+        ssoSessionExpiryIndex.touch(ssoSession);
+    }
+
+    /**
+     * Returns the sessions whose token wasn't accessed for longer than the given timeout, without looking at the
+     * sessions that are still valid. The returned sessions are no longer considered for expiration, they are expected
+     * to be cleaned up by the caller.
+     *
+     * @param currentTime the current value of {@link System#nanoTime()}
+     * @param timeout the timeout of the tokens in nanoseconds
+     * @return the expired sessions by their token
+     */
+    public Map<String, SsoSession> pollExpiredSsoSessions(long currentTime, long timeout) {
+        return ssoSessionExpiryIndex.removeExpired(currentTime, timeout);
+    }
+
+    public int getSsoSessionsCount() {
+        return ssoSessions.size();
     }
 
     public SsoSession getSsoSessionById(String id) {
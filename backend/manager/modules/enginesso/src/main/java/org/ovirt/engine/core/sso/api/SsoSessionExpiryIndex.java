@@ -0,0 +1,97 @@
+package org.ovirt.engine.core.sso.api;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps the SSO sessions ordered by the last access to their token, least recently accessed first. As all the tokens
+ * expire after the same time without access, this is also the order in which the sessions expire, so the expired
+ * sessions are found without looking at the sessions that are still valid.
+ * <p>
+ * A session may be registered under several tokens, and all of them share the last access of the session, so the
+ * index is kept per session and a session expires together with all its tokens.
+ */
+public class SsoSessionExpiryIndex implements Serializable {
+    private static final long serialVersionUID = -2410557437207315812L;
+
+    private final LinkedHashMap<SsoSession, Set<String>> sessions = new LinkedHashMap<>();
+    private final Map<String, SsoSession> sessionsByToken = new HashMap<>();
+
+    /**
+     * Adds the current token of the given session to the index and makes the session the most recently accessed one.
+     */
+    public synchronized void add(SsoSession ssoSession) {
+        ssoSession.touch();
+        String token = ssoSession.getAccessToken();
+        SsoSession previous = sessionsByToken.put(token, ssoSession);
+        if (previous != null && previous != ssoSession) {
+            removeToken(previous, token);
+        }
+        Set<String> tokens = sessions.remove(ssoSession);
+        if (tokens == null) {
+            tokens = new LinkedHashSet<>();
+        }
+        tokens.add(token);
+        sessions.put(ssoSession, tokens);
+    }
+
+    /**
+     * Records an access to the token of the given session, moving it to the end of the index.
+     */
+    public synchronized void touch(SsoSession ssoSession) {
+        ssoSession.touch();
+        Set<String> tokens = sessions.remove(ssoSession);
+        if (tokens != null) {
+            sessions.put(ssoSession, tokens);
+        }
+    }
+
+    public synchronized void remove(String token) {
+        SsoSession ssoSession = sessionsByToken.remove(token);
+        if (ssoSession != null) {
+            removeToken(ssoSession, token);
+        }
+    }
+
+    private void removeToken(SsoSession ssoSession, String token) {
+        Set<String> tokens = sessions.get(ssoSession);
+        if (tokens != null && tokens.remove(token) && tokens.isEmpty()) {
+            sessions.remove(ssoSession);
+        }
+    }
+
+    /**
+     * Removes from the index the sessions whose token wasn't accessed for longer than the given timeout.
+     *
+     * @param currentTime the current value of {@link System#nanoTime()}
+     * @param timeout the timeout of the tokens in nanoseconds
+     * @return the removed sessions by all the tokens they were indexed with, least recently accessed first
+     */
+    public synchronized Map<String, SsoSession> removeExpired(long currentTime, long timeout) {
+        Map<String, SsoSession> expired = new LinkedHashMap<>();
+        for (Iterator<Map.Entry<SsoSession, Set<String>>> i = sessions.entrySet().iterator(); i.hasNext();) {
+            Map.Entry<SsoSession, Set<String>> entry = i.next();
+            if (currentTime - entry.getKey().getTokenLastAccess() <= timeout) {
+                break;
+            }
+            for (String token : entry.getValue()) {
+                expired.put(token, entry.getKey());
+                sessionsByToken.remove(token);
+            }
+            i.remove();
+        }
+        return expired;
+    }
+
+    /**
+     * Returns the number of tokens in the index.
+     */
+    public synchronized int size() {
+        return sessionsByToken.size();
+    }
+}
@@ -313,7 +313,7 @@ public class SsoService {
         if (StringUtils.isNotEmpty(token)) {
             ssoSession = getSsoContext(request).getSsoSession(token);
             if (ssoSession != null) {
-                ssoSession.touch();
+                ssoContext.touchSsoSession(ssoSession);
             }
         }
         if (mustExist && ssoSession == null) {
@@ -530,7 +530,7 @@ public class SsoService {
 
         persistUserPassword(request, ssoSession, password);
 
-        ssoSession.touch();
+        getSsoContext(request).touchSsoSession(ssoSession);
         return ssoSession;
     }
 
@@ -3,6 +3,7 @@ package org.ovirt.engine.core.sso.service;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import javax.servlet.ServletContext;
 import javax.servlet.http.HttpSession;
@@ -19,6 +20,8 @@ import org.slf4j.LoggerFactory;
 
 public class TokenCleanupService {
     private static long lastCleanup = 0;
+    private static volatile long lastCleanupDuration = 0;
+    private static volatile int lastCleanupExpiredTokens = 0;
     private static Logger log = LoggerFactory.getLogger(TokenCleanupService.class);
 
     public static synchronized void cleanupExpiredTokens(ServletContext ctx) {
@@ -33,17 +36,36 @@ public class TokenCleanupService {
         log.debug("Cleaning up expired tokens");
         long tokenTimeout = ssoContext.getSsoLocalConfig().getLong("SSO_TOKEN_TIMEOUT") * 1000000000;
 
-        for (Map.Entry<String, SsoSession> entry : ssoContext.getSsoSessions().entrySet()) {
-            if ((currentTime - entry.getValue().getTokenLastAccess()) > tokenTimeout) {
-                try {
-                    cleanupSsoSession(ssoContext, entry.getValue(), entry.getValue().getAssociatedClientIds());
-                } catch (Exception ex) {
-                    log.error("Unable to cleanup expired session for token {} : {}", entry.getKey(), ex.getMessage());
-                    log.debug("Exception", ex);
-                }
+        // The sessions are indexed by the last access to their token, so only the expired ones are visited:
+        Map<String, SsoSession> expired = ssoContext.pollExpiredSsoSessions(currentTime, tokenTimeout);
+        for (Map.Entry<String, SsoSession> entry : expired.entrySet()) {
+            try {
+                ssoContext.removeSsoSession(entry.getKey());
+                cleanupSsoSession(ssoContext, entry.getValue(), entry.getValue().getAssociatedClientIds());
+            } catch (Exception ex) {
+                log.error("Unable to cleanup expired session for token {} : {}", entry.getKey(), ex.getMessage());
+                log.debug("Exception", ex);
             }
         }
-        log.debug("Done cleaning up expired tokens");
+        lastCleanupDuration = System.nanoTime() - currentTime;
+        lastCleanupExpiredTokens = expired.size();
+        log.debug("Done cleaning up {} expired tokens in {} ms",
+                expired.size(),
+                TimeUnit.NANOSECONDS.toMillis(lastCleanupDuration));
+    }
+
+    /**
+     * Returns the time it took the last cleanup to clean up the expired tokens, in nanoseconds.
+     */
+    public static long getLastCleanupDuration() {
+        return lastCleanupDuration;
+    }
+
+    /**
+     * Returns the number of expired tokens cleaned up by the last cleanup.
+     */
+    public static int getLastCleanupExpiredTokens() {
+        return lastCleanupExpiredTokens;
     }
 
     public static void cleanupSsoSession(
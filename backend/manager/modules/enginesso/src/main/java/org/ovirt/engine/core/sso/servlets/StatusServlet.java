@@ -3,6 +3,7 @@ package org.ovirt.engine.core.sso.servlets;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServlet;
@@ -11,6 +12,7 @@ import javax.servlet.http.HttpServletResponse;
 
 import org.ovirt.engine.core.sso.api.SsoConstants;
 import org.ovirt.engine.core.sso.service.SsoService;
+import org.ovirt.engine.core.sso.service.TokenCleanupService;
 
 public class StatusServlet extends HttpServlet {
     private static final long serialVersionUID = -5178735022948234147L;
@@ -22,6 +24,10 @@ public class StatusServlet extends HttpServlet {
         data.put("status", "active");
         data.put("status_description", "SSO Webapp Deployed");
         data.put("version", SsoConstants.OVIRT_SSO_VERSION);
+        data.put("sessions", SsoService.getSsoContext(request).getSsoSessionsCount());
+        data.put("last_cleanup_expired_sessions", TokenCleanupService.getLastCleanupExpiredTokens());
+        data.put("last_cleanup_duration_us",
+                TimeUnit.NANOSECONDS.toMicros(TokenCleanupService.getLastCleanupDuration()));
         SsoService.sendJsonData(response, data);
     }
 }
@@ -0,0 +1,121 @@
+package org.ovirt.engine.core.sso.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class SsoSessionExpiryIndexTest {
+
+    private SsoSessionExpiryIndex index;
+    private SsoSession first;
+    private SsoSession second;
+    private SsoSession third;
+
+    @BeforeEach
+    public void setUp() {
+        index = new SsoSessionExpiryIndex();
+        first = createSession("first");
+        second = createSession("second");
+        third = createSession("third");
+        index.add(first);
+        waitForClock(first);
+        index.add(second);
+        waitForClock(second);
+        index.add(third);
+        waitForClock(third);
+    }
+
+    @Test
+    public void testNoSessionExpired() {
+        assertTrue(index.removeExpired(third.getTokenLastAccess(), Long.MAX_VALUE).isEmpty());
+        assertEquals(3, index.size());
+    }
+
+    /**
+     * Check that only the sessions accessed before the timeout are removed, in the order they were accessed.
+     */
+    @Test
+    public void testRemoveExpired() {
+        Map<String, SsoSession> expired = index.removeExpired(second.getTokenLastAccess() + 1, 0);
+        assertEquals(Arrays.asList("first", "second"), Arrays.asList(expired.keySet().toArray()));
+        assertEquals(1, index.size());
+    }
+
+    /**
+     * Check that touching a session postpones its expiration after the sessions accessed before it.
+     */
+    @Test
+    public void testTouchPostponesExpiration() {
+        index.touch(first);
+        waitForClock(first);
+        Map<String, SsoSession> expired = index.removeExpired(third.getTokenLastAccess() + 1, 0);
+        assertEquals(Arrays.asList("second", "third"), Arrays.asList(expired.keySet().toArray()));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void testRemove() {
+        index.remove("first");
+        Map<String, SsoSession> expired = index.removeExpired(first.getTokenLastAccess() + 1, 0);
+        assertTrue(expired.isEmpty());
+        assertEquals(2, index.size());
+    }
+
+    /**
+     * Check that a session registered again under a new token expires with both its tokens, and only when its last
+     * token access expires.
+     */
+    @Test
+    public void testReRegisteredSession() {
+        first.setAccessToken("fourth");
+        index.add(first);
+        waitForClock(first);
+        assertEquals(4, index.size());
+
+        Map<String, SsoSession> expired = index.removeExpired(third.getTokenLastAccess() + 1, 0);
+        assertEquals(Arrays.asList("second", "third"), Arrays.asList(expired.keySet().toArray()));
+
+        expired = index.removeExpired(first.getTokenLastAccess() + 1, 0);
+        assertEquals(Arrays.asList("first", "fourth"), Arrays.asList(expired.keySet().toArray()));
+        assertSame(first, expired.get("first"));
+        assertSame(first, expired.get("fourth"));
+        assertEquals(0, index.size());
+    }
+
+    /**
+     * Check that removing one of the tokens of a session keeps the session in the index under its other tokens.
+     */
+    @Test
+    public void testRemoveOneTokenOfSession() {
+        first.setAccessToken("fourth");
+        index.add(first);
+        waitForClock(first);
+        index.remove("first");
+
+        Map<String, SsoSession> expired = index.removeExpired(first.getTokenLastAccess() + 1, 0);
+        assertEquals(Arrays.asList("second", "third", "fourth"), Arrays.asList(expired.keySet().toArray()));
+        assertEquals(0, index.size());
+    }
+
+    /**
+     * Waits for the clock to advance past the last access to the given session, so sessions accessed afterwards don't
+     * share the same access time.
+     */
+    private static void waitForClock(SsoSession ssoSession) {
+        while (System.nanoTime() == ssoSession.getTokenLastAccess()) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static SsoSession createSession(String token) {
+        SsoSession ssoSession = new SsoSession();
+        ssoSession.setAccessToken(token);
+        return ssoSession;
+    }
+}
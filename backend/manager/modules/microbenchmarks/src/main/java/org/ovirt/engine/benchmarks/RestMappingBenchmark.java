@@ -0,0 +1,207 @@
+package org.ovirt.engine.benchmarks;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.ovirt.engine.api.model.Event;
+import org.ovirt.engine.api.model.Host;
+import org.ovirt.engine.api.model.Vm;
+import org.ovirt.engine.api.restapi.types.EventMapper;
+import org.ovirt.engine.api.restapi.types.HostMapper;
+import org.ovirt.engine.api.restapi.types.Mapper;
+import org.ovirt.engine.api.restapi.types.MappingLocator;
+import org.ovirt.engine.api.restapi.types.VmMapper;
+import org.ovirt.engine.benchmarks.scheduling.BenchmarkConfig;
+import org.ovirt.engine.core.common.AuditLogSeverity;
+import org.ovirt.engine.core.common.AuditLogType;
+import org.ovirt.engine.core.common.businessentities.AuditLog;
+import org.ovirt.engine.core.common.businessentities.OriginType;
+import org.ovirt.engine.core.common.businessentities.VDS;
+import org.ovirt.engine.core.common.businessentities.VDSStatus;
+import org.ovirt.engine.core.common.businessentities.VDSType;
+import org.ovirt.engine.core.common.businessentities.VM;
+import org.ovirt.engine.core.common.businessentities.VMStatus;
+import org.ovirt.engine.core.common.businessentities.VmType;
+import org.ovirt.engine.core.common.osinfo.OsRepository;
+import org.ovirt.engine.core.common.utils.SimpleDependencyInjector;
+import org.ovirt.engine.core.compat.Guid;
+
+/**
+ * <p> Benchmarks mapping large lists of backend entities to their REST API models, the way the collection resources
+ * map the results of their queries: the mapper of each entity is looked up in the {@link MappingLocator} and called.
+ * </p>
+ * <p> The same lists are also mapped by calling the mapping methods by reflection, which is how the
+ * {@link MappingLocator} used to call them, as a baseline for the generated mappers.</p>
+ *
+ * @see MappingLocator
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RestMappingBenchmark {
+
+    @Benchmark
+    public void mapVms(BenchmarkState state, Blackhole blackhole) {
+        for (VM vm : state.vms) {
+            Mapper<VM, Vm> mapper = state.mappingLocator.getMapper(VM.class, Vm.class);
+            blackhole.consume(mapper.map(vm, null));
+        }
+    }
+
+    @Benchmark
+    public void mapVmsByReflection(BenchmarkState state, Blackhole blackhole) throws Exception {
+        for (VM vm : state.vms) {
+            blackhole.consume(state.vmMapping.invoke(null, vm, null));
+        }
+    }
+
+    @Benchmark
+    public void mapHosts(BenchmarkState state, Blackhole blackhole) {
+        for (VDS host : state.hosts) {
+            Mapper<VDS, Host> mapper = state.mappingLocator.getMapper(VDS.class, Host.class);
+            blackhole.consume(mapper.map(host, null));
+        }
+    }
+
+    @Benchmark
+    public void mapHostsByReflection(BenchmarkState state, Blackhole blackhole) throws Exception {
+        for (VDS host : state.hosts) {
+            blackhole.consume(state.hostMapping.invoke(null, host, null));
+        }
+    }
+
+    @Benchmark
+    public void mapEvents(BenchmarkState state, Blackhole blackhole) {
+        for (AuditLog event : state.events) {
+            Mapper<AuditLog, Event> mapper = state.mappingLocator.getMapper(AuditLog.class, Event.class);
+            blackhole.consume(mapper.map(event, null));
+        }
+    }
+
+    @Benchmark
+    public void mapEventsByReflection(BenchmarkState state, Blackhole blackhole) throws Exception {
+        for (AuditLog event : state.events) {
+            blackhole.consume(state.eventMapping.invoke(null, event, null));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class BenchmarkState {
+
+        @Param({ "1000", "10000" })
+        private int entities;
+
+        private MappingLocator mappingLocator;
+        private Method vmMapping;
+        private Method hostMapping;
+        private Method eventMapping;
+        private List<VM> vms;
+        private List<VDS> hosts;
+        private List<AuditLog> events;
+
+        @Setup
+        public void setup() throws NoSuchMethodException {
+            new BenchmarkConfig().install();
+            SimpleDependencyInjector.getInstance().bind(OsRepository.class, createOsRepository());
+
+            mappingLocator = new MappingLocator();
+            mappingLocator.populate();
+            vmMapping = VmMapper.class.getMethod("map", VM.class, Vm.class);
+            hostMapping = HostMapper.class.getMethod("map", VDS.class, Host.class);
+            eventMapping = EventMapper.class.getMethod("map", AuditLog.class, Event.class);
+
+            Guid clusterId = Guid.newGuid();
+            vms = new ArrayList<>(entities);
+            hosts = new ArrayList<>(entities);
+            events = new ArrayList<>(entities);
+            for (int i = 0; i < entities; i++) {
+                vms.add(createVm(i, clusterId));
+                hosts.add(createHost(i, clusterId));
+                events.add(createEvent(i, vms.get(i), hosts.get(i)));
+            }
+        }
+
+        private static VM createVm(int index, Guid clusterId) {
+            VM vm = new VM();
+            vm.setId(Guid.newGuid());
+            vm.setName("vm-" + index);
+            vm.setClusterId(clusterId);
+            vm.setVmtGuid(Guid.Empty);
+            vm.setStatus(VMStatus.Down);
+            vm.setVmType(VmType.Server);
+            vm.setOrigin(OriginType.OVIRT);
+            vm.setVmMemSizeMb(4096);
+            vm.setNumOfSockets(2);
+            vm.setCpuPerSocket(2);
+            return vm;
+        }
+
+        private static VDS createHost(int index, Guid clusterId) {
+            VDS host = new VDS();
+            host.setId(Guid.newGuid());
+            host.setVdsName("host-" + index);
+            host.setHostName("host-" + index + ".example.com");
+            host.setPort(54321);
+            host.setClusterId(clusterId);
+            host.setStatus(VDSStatus.Up);
+            host.setVdsType(VDSType.VDS);
+            host.setPhysicalMemMb(262144);
+            host.setCpuSockets(2);
+            host.setCpuCores(32);
+            host.setCpuThreads(64);
+            return host;
+        }
+
+        private static AuditLog createEvent(int index, VM vm, VDS host) {
+            AuditLog event = new AuditLog(AuditLogType.USER_RUN_VM, AuditLogSeverity.NORMAL);
+            event.setAuditLogId(index);
+            event.setLogTime(new Date());
+            event.setMessage("VM " + vm.getName() + " started on Host " + host.getName());
+            event.setVmId(vm.getId());
+            event.setVmName(vm.getName());
+            event.setVdsId(host.getId());
+            event.setVdsName(host.getName());
+            return event;
+        }
+
+        /**
+         * The mappers only look up names in the {@link OsRepository}, so it is served by a stand-in returning the
+         * empty value of each method.
+         */
+        private static OsRepository createOsRepository() {
+            return (OsRepository) Proxy.newProxyInstance(OsRepository.class.getClassLoader(),
+                    new Class<?>[] { OsRepository.class },
+                    (proxy, method, args) -> {
+                        Class<?> type = method.getReturnType();
+                        if (Map.class.isAssignableFrom(type)) {
+                            return Collections.emptyMap();
+                        } else if (List.class.isAssignableFrom(type)) {
+                            return Collections.emptyList();
+                        } else if (type == boolean.class) {
+                            return false;
+                        } else if (type == int.class) {
+                            return 0;
+                        }
+                        return null;
+                    });
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package org.ovirt.engine.benchmarks.scheduling;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.ovirt.engine.core.common.config.Config;
+import org.ovirt.engine.core.common.config.ConfigCommon;
+import org.ovirt.engine.core.common.config.ConfigValues;
+import org.ovirt.engine.core.common.config.IConfigUtilsInterface;
+import org.ovirt.engine.core.common.config.TypeConverterAttribute;
+
+/**
+ * <p> The configuration of the scheduling benchmarks, which doesn't need a database.</p>
+ * <p> The values used by the scheduling are set to their defaults from the config upgrade script, all the other
+ * values are the empty value of their type.</p>
+ */
+public class BenchmarkConfig implements IConfigUtilsInterface {
+
+    private final Map<ConfigValues, Object> values = new EnumMap<>(ConfigValues.class);
+
+    public BenchmarkConfig() {
+        values.put(ConfigValues.VcpuConsumptionPercentage, 10);
+        values.put(ConfigValues.ExternalSchedulerEnabled, false);
+        values.put(ConfigValues.HighUtilizationForPowerSave, 75);
+        values.put(ConfigValues.HighUtilizationForEvenlyDistribute, 75);
+        values.put(ConfigValues.UtilizationThresholdInPercent, 80);
+        values.put(ConfigValues.SpmVmGraceForEvenGuestDistribute, 5);
+        values.put(ConfigValues.SpmVCpuConsumption, 1);
+        values.put(ConfigValues.SchedulerOverBookingThreshold, 10);
+        values.put(ConfigValues.CpuOverCommitDurationMinutes, 2);
+        values.put(ConfigValues.SpeedOptimizationSchedulingThreshold, 10);
+        values.put(ConfigValues.SchedulerAllowOverBooking, false);
+        values.put(ConfigValues.ScaleDownForHaReservation, 1);
+        values.put(ConfigValues.OverUtilizationForHaReservation, 200);
+        values.put(ConfigValues.OnlyRequiredNetworksMandatoryForVdsSelection, false);
+        values.put(ConfigValues.MigrationThresholdForEvenGuestDistribute, 5);
+        values.put(ConfigValues.MaxSchedulerWeight, 1000);
+        values.put(ConfigValues.LowUtilizationForPowerSave, 20);
+        values.put(ConfigValues.LowUtilizationForEvenlyDistribute, 0);
+        values.put(ConfigValues.HostsInReserve, 0);
+        values.put(ConfigValues.HostedEngineMaximumHighAvailabilityScore, 3400);
+        values.put(ConfigValues.HighVmCountForEvenGuestDistribute, 10);
+        values.put(ConfigValues.HighUtilizationForScheduling, 90);
+        values.put(ConfigValues.EnableSwapCheck, true);
+        values.put(ConfigValues.BlockMigrationOnSwapUsagePercentage, 0);
+        values.put(ConfigValues.NumberVmRefreshesBeforeSave, 5);
+        values.put(ConfigValues.SchedulingParallelism, 0);
+        values.put(ConfigValues.SchedulingResourceViewMaxAgeInSeconds, 0);
+        for (ConfigValues configValue : ConfigValues.values()) {
+            values.putIfAbsent(configValue, emptyValue(configValue));
+        }
+    }
+
+    /**
+     * Makes this configuration the one returned by {@link Config}.
+     */
+    public BenchmarkConfig install() {
+        Config.setConfigUtils(this);
+        return this;
+    }
+
+    public BenchmarkConfig set(ConfigValues configValue, Object value) {
+        values.put(configValue, value);
+        return this;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T getValue(ConfigValues configValue, String version) {
+        return (T) values.get(configValue);
+    }
+
+    @Override
+    public void refresh() {
+    }
+
+    @Override
+    public <T> Map<String, T> getValuesForAllVersions(ConfigValues configValue) {
+        return Collections.singletonMap(ConfigCommon.defaultConfigurationVersion, getValue(configValue, null));
+    }
+
+    @Override
+    public boolean valueExists(ConfigValues configValue, String version) {
+        return true;
+    }
+
+    private static Object emptyValue(ConfigValues configValue) {
+        TypeConverterAttribute typeAttribute;
+        try {
+            typeAttribute = ConfigValues.class.getField(configValue.name()).getAnnotation(TypeConverterAttribute.class);
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException(e);
+        }
+        Class<?> type = typeAttribute == null ? null : typeAttribute.value();
+
+        if (type == Integer.class) {
+            return 0;
+        } else if (type == Long.class) {
+            return 0L;
+        } else if (type == Double.class) {
+            return 0.0;
+        } else if (type == Boolean.class) {
+            return false;
+        } else if (type == String.class) {
+            return "";
+        } else if (type == List.class) {
+            return new ArrayList<>();
+        } else if (type == Map.class) {
+            return new HashMap<>();
+        } else if (type == HashSet.class) {
+            return new HashSet<>();
+        }
+        return null;
+    }
+}
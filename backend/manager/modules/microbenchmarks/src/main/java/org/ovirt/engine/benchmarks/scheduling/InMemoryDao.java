@@ -0,0 +1,89 @@
+package org.ovirt.engine.benchmarks.scheduling;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * <p> An in-memory stand-in of a DAO, or of any other interface the scheduling depends on.</p>
+ * <p> The stand-in answers the methods registered by {@link #answer(String, Function)} and returns an empty result
+ * for all the other methods, so only the queries which feed the benchmarked code have to be registered.</p>
+ */
+public class InMemoryDao implements InvocationHandler {
+
+    private static final Object[] NO_ARGS = new Object[0];
+
+    private final Map<String, Function<Object[], Object>> answers = new ConcurrentHashMap<>();
+
+    /**
+     * Registers the answer of all the overloads of the given method, the answer gets the arguments of the call.
+     */
+    public InMemoryDao answer(String methodName, Function<Object[], Object> answer) {
+        answers.put(methodName, answer);
+        return this;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T create(Class<T> type) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, this);
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        if (method.getDeclaringClass() == Object.class) {
+            switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            default:
+                return "InMemoryDao of " + proxy.getClass().getInterfaces()[0].getName();
+            }
+        }
+
+        Function<Object[], Object> answer = answers.get(method.getName());
+        if (answer != null) {
+            return answer.apply(args == null ? NO_ARGS : args);
+        }
+        return emptyResult(method.getReturnType());
+    }
+
+    static Object emptyResult(Class<?> type) {
+        if (type == List.class || type == Collection.class) {
+            return new ArrayList<>();
+        } else if (type == Set.class) {
+            return new HashSet<>();
+        } else if (type == Map.class) {
+            return new HashMap<>();
+        } else if (type == Optional.class) {
+            return Optional.empty();
+        } else if (type == boolean.class) {
+            return false;
+        } else if (type == int.class) {
+            return 0;
+        } else if (type == long.class) {
+            return 0L;
+        } else if (type == double.class) {
+            return 0.0;
+        } else if (type == float.class) {
+            return 0.0f;
+        } else if (type == short.class) {
+            return (short) 0;
+        } else if (type == byte.class) {
+            return (byte) 0;
+        } else if (type == char.class) {
+            return (char) 0;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,142 @@
+package org.ovirt.engine.benchmarks.scheduling;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.ovirt.engine.core.bll.scheduling.InternalPolicyUnits;
+import org.ovirt.engine.core.bll.scheduling.PolicyUnitImpl;
+import org.ovirt.engine.core.bll.scheduling.SchedulingContext;
+import org.ovirt.engine.core.bll.scheduling.SchedulingUnit;
+import org.ovirt.engine.core.bll.scheduling.pending.PendingResourceManager;
+import org.ovirt.engine.core.common.businessentities.VDS;
+import org.ovirt.engine.core.common.businessentities.VM;
+import org.ovirt.engine.core.common.scheduling.PerHostMessages;
+import org.ovirt.engine.core.common.scheduling.PolicyUnitType;
+import org.ovirt.engine.core.compat.Guid;
+import org.ovirt.engine.core.dao.scheduling.AffinityGroupDao;
+import org.ovirt.engine.core.vdsbroker.ResourceManager;
+
+/**
+ * <p> Benchmarks each of the internal filter and weight policy units of the scheduling on a {@link SyntheticCluster}.</p>
+ * <p> A single invocation is a single call of the policy unit, the way the {@code SchedulingManager} calls it, for one
+ * VM which is not running yet over all the hosts of the cluster. The VMs running in the cluster are the ones the
+ * affinity and the distribution units take into account.</p>
+ * <p> All the combinations take long to run, a subset is selected by the JMH parameters, for example
+ * {@code -p unit=VmAffinityFilterPolicyUnit -p hosts=1000}.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PolicyUnitsBenchmark {
+
+    private static final long SEED = 20L;
+
+    @Benchmark
+    public void policyUnit(BenchmarkState state, Blackhole blackhole) {
+        if (state.filter) {
+            blackhole.consume(state.policyUnit.filter(state.context, state.hostList, state.vmGroup,
+                    new PerHostMessages()));
+        } else {
+            blackhole.consume(state.policyUnit.score(state.context, state.hostList, state.vmGroup));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class BenchmarkState {
+
+        @Param({
+                // filters
+                "ClusterInMaintenanceFilterPolicyUnit",
+                "CompatibilityVersionFilterPolicyUnit",
+                "CpuLevelFilterPolicyUnit",
+                "CpuOverloadPolicyUnit",
+                "CpuPinningPolicyUnit",
+                "CPUPolicyUnit",
+                "CpuTopologyPolicyUnit",
+                "EmulatedMachineFilterPolicyUnit",
+                "HostDeviceFilterPolicyUnit",
+                "HostedEngineHAClusterFilterPolicyUnit",
+                "HostedEngineMemoryReservationFilterPolicyUnit",
+                "HostHooksFilterPolicyUnit",
+                "HugePagesFilterPolicyUnit",
+                "InClusterUpgradeFilterPolicyUnit",
+                "MDevicePolicyUnit",
+                "MemoryPolicyUnit",
+                "MigrationPolicyUnit",
+                "MigrationTscFrequencyPolicyUnit",
+                "NetworkPolicyUnit",
+                "NumaPolicyUnit",
+                "PinToHostPolicyUnit",
+                "SwapFilterPolicyUnit",
+                "VmAffinityFilterPolicyUnit",
+                "VmLeasesReadyFilterPolicyUnit",
+                "VmToHostAffinityFilterPolicyUnit",
+                // weights
+                "CpuAndNumaPinningWeightPolicyUnit",
+                "EvenDistributionCPUWeightPolicyUnit",
+                "EvenDistributionMemoryWeightPolicyUnit",
+                "EvenGuestDistributionWeightPolicyUnit",
+                "HaReservationWeightPolicyUnit",
+                "HighPerformanceCpuPolicyUnit",
+                "HostedEngineHAClusterWeightPolicyUnit",
+                "InClusterUpgradeWeightPolicyUnit",
+                "NumaWeightPolicyUnit",
+                "PowerSavingCPUWeightPolicyUnit",
+                "PowerSavingMemoryWeightPolicyUnit",
+                "PreferredHostsWeightPolicyUnit",
+                "VmAffinityWeightPolicyUnit",
+                "VmToHostAffinityWeightPolicyUnit"
+        })
+        private String unit;
+
+        @Param({ "10", "100", "1000" })
+        private int hosts;
+
+        @Param({ "1", "100", "10000" })
+        private int vms;
+
+        private PolicyUnitImpl policyUnit;
+        private boolean filter;
+        private SchedulingContext context;
+        private List<VDS> hostList;
+        private List<VM> vmGroup;
+
+        @Setup
+        public void setup() throws ReflectiveOperationException {
+            new BenchmarkConfig().install();
+            StandIns standIns = new StandIns().install();
+            SyntheticCluster cluster = new SyntheticCluster(hosts, vms, SEED);
+            cluster.register(standIns);
+
+            Class<? extends PolicyUnitImpl> unitType =
+                    Class.forName(PolicyUnitImpl.class.getPackage().getName() + ".policyunits." + unit)
+                            .asSubclass(PolicyUnitImpl.class);
+            PendingResourceManager pendingResourceManager =
+                    new PendingResourceManager(standIns.get(ResourceManager.class));
+            policyUnit = standIns.inject(InternalPolicyUnits.instantiate(unitType, pendingResourceManager));
+            filter = unitType.getAnnotation(SchedulingUnit.class).type() == PolicyUnitType.FILTER;
+
+            hostList = cluster.copyHosts();
+            vmGroup = List.of(cluster.createPendingVm());
+            List<Guid> vmIds = vmGroup.stream().map(VM::getId).collect(Collectors.toList());
+            context = new SchedulingContext(cluster.getCluster(), new HashMap<>(), false, false);
+            context.setVmAffinityGroups(vmIds,
+                    standIns.get(AffinityGroupDao.class).getAllAffinityGroupsWithFlatLabelsByVmIds(vmIds));
+            context.setVmDevices(vmIds, new HashMap<>());
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package org.ovirt.engine.benchmarks.scheduling;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.ovirt.engine.core.bll.scheduling.policyunits.RankSelectorPolicyUnit;
+import org.ovirt.engine.core.bll.scheduling.selector.SelectorInstance;
+import org.ovirt.engine.core.common.utils.Pair;
+import org.ovirt.engine.core.compat.Guid;
+
+/**
+ * <p> Benchmarks the {@link RankSelectorPolicyUnit}, which selects the best host by the ranks of the hosts in the
+ * scores of each of the weight policy units.</p>
+ * <p> A single invocation selects the best host out of the scores of all the weight policy units, recorded the way the
+ * {@code SchedulingManager} records them.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RankSelectorBenchmark {
+
+    private static final long SEED = 20L;
+
+    @Benchmark
+    public void rankSelector(BenchmarkState state, Blackhole blackhole) {
+        SelectorInstance selector = state.selectorUnit.selector(Collections.emptyMap());
+        selector.init(state.factors, state.hostIds);
+        for (int unit = 0; unit < state.factors.size(); unit++) {
+            Guid unitId = state.factors.get(unit).getFirst();
+            for (int host = 0; host < state.hostIds.size(); host++) {
+                selector.record(unitId, state.hostIds.get(host), state.weights[unit][host]);
+            }
+        }
+        blackhole.consume(selector.best());
+    }
+
+    @State(Scope.Benchmark)
+    public static class BenchmarkState {
+
+        @Param({ "10", "100", "1000" })
+        private int hosts;
+
+        @Param({ "1", "5", "14" })
+        private int units;
+
+        private RankSelectorPolicyUnit selectorUnit;
+        private List<Pair<Guid, Integer>> factors;
+        private List<Guid> hostIds;
+        private Integer[][] weights;
+
+        @Setup
+        public void setup() {
+            new BenchmarkConfig().install();
+            selectorUnit = new RankSelectorPolicyUnit(null, null);
+
+            Random random = new Random(SEED);
+            factors = new ArrayList<>();
+            for (int i = 0; i < units; i++) {
+                factors.add(new Pair<>(newGuid(random), 1 + random.nextInt(10)));
+            }
+            hostIds = new ArrayList<>();
+            for (int i = 0; i < hosts; i++) {
+                hostIds.add(newGuid(random));
+            }
+            weights = new Integer[units][hosts];
+            for (int unit = 0; unit < units; unit++) {
+                for (int host = 0; host < hosts; host++) {
+                    weights[unit][host] = random.nextInt(1000);
+                }
+            }
+        }
+
+        private static Guid newGuid(Random random) {
+            return new Guid(new UUID(random.nextLong(), random.nextLong()));
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package org.ovirt.engine.benchmarks.scheduling;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * <p> Runs all the scheduling benchmarks and writes their results as JSON, so the runs can be compared by tools.</p>
+ * <p> The only argument is the result file, {@value #DEFAULT_RESULT_FILE} by default. To run a subset of the
+ * benchmarks, or with other parameters, use the JMH command line with {@code -rf json -rff <file>} instead.</p>
+ */
+public class SchedulingBenchmarks {
+
+    private static final String DEFAULT_RESULT_FILE = "scheduling-benchmarks.json";
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(SchedulingBenchmarks.class.getPackage().getName() + ".*")
+                .resultFormat(ResultFormatType.JSON)
+                .result(args.length > 0 ? args[0] : DEFAULT_RESULT_FILE)
+                .build();
+        new Runner(options).run();
+    }
+}
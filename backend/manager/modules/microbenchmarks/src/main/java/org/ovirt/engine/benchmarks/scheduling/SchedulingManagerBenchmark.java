@@ -0,0 +1,122 @@
+package org.ovirt.engine.benchmarks.scheduling;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.ovirt.engine.core.bll.scheduling.InternalClusterPolicies;
+import org.ovirt.engine.core.bll.scheduling.PolicyUnitsRunner;
+import org.ovirt.engine.core.bll.scheduling.SchedulingManager;
+import org.ovirt.engine.core.common.businessentities.Cluster;
+import org.ovirt.engine.core.common.businessentities.VM;
+import org.ovirt.engine.core.common.config.ConfigValues;
+import org.ovirt.engine.core.common.scheduling.ClusterPolicy;
+
+/**
+ * <p> Benchmarks the full scheduling path of the {@link SchedulingManager} on a {@link SyntheticCluster}: fetching the
+ * hosts, running the filters and the weight policy units of the cluster policy and selecting the best host.</p>
+ * <p> The VMs are scheduled stateless, so no pending resources are added and each invocation sees the same cluster.
+ * The scheduling manager is initialized without the load balancing and the HA reservation jobs, which don't take part
+ * in the scheduling.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SchedulingManagerBenchmark {
+
+    private static final long SEED = 20L;
+    private static final int VM_GROUP_SIZE = 10;
+
+    @Benchmark
+    public void schedule(BenchmarkState state, Blackhole blackhole) {
+        blackhole.consume(state.schedulingManager.prepareCall(state.cluster).scheduleStateless(state.vm));
+    }
+
+    @Benchmark
+    public void canSchedule(BenchmarkState state, Blackhole blackhole) {
+        blackhole.consume(state.schedulingManager.prepareCall(state.cluster).canSchedule(state.vmGroup));
+    }
+
+    @State(Scope.Benchmark)
+    public static class BenchmarkState {
+
+        @Param({ "10", "100", "1000" })
+        private int hosts;
+
+        @Param({ "1", "100", "10000" })
+        private int vms;
+
+        @Param({ "none", "evenly_distributed", "vm_evenly_distributed" })
+        private String policy;
+
+        /** The SchedulingParallelism of the policy units **/
+        @Param({ "0", "4" })
+        private int parallelism;
+
+        /** The SchedulingResourceViewMaxAgeInSeconds, 0 reads the hosts from the (in-memory) database **/
+        @Param({ "0", "3600" })
+        private int resourceViewMaxAge;
+
+        private SchedulingManager schedulingManager;
+        private PolicyUnitsRunner policyUnitsRunner;
+        private Cluster cluster;
+        private VM vm;
+        private List<VM> vmGroup;
+
+        @Setup
+        public void setup() throws ReflectiveOperationException {
+            new BenchmarkConfig()
+                    .set(ConfigValues.SchedulingParallelism, parallelism)
+                    .set(ConfigValues.SchedulingResourceViewMaxAgeInSeconds, resourceViewMaxAge)
+                    .install();
+            StandIns standIns = new StandIns().install();
+            SyntheticCluster syntheticCluster = new SyntheticCluster(hosts, vms, SEED);
+            syntheticCluster.register(standIns);
+
+            cluster = syntheticCluster.getCluster();
+            cluster.setClusterPolicyId(InternalClusterPolicies.getClusterPolicies().values().stream()
+                    .filter(clusterPolicy -> clusterPolicy.getName().equals(policy))
+                    .map(ClusterPolicy::getId)
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown cluster policy " + policy)));
+
+            policyUnitsRunner = standIns.get(PolicyUnitsRunner.class);
+            invoke(policyUnitsRunner, "init");
+            schedulingManager = standIns.get(SchedulingManager.class);
+            invoke(schedulingManager, "initializePendingResourceManager");
+            invoke(schedulingManager, "loadPolicyUnits");
+            invoke(schedulingManager, "loadClusterPolicies");
+
+            vm = syntheticCluster.createPendingVm();
+            vmGroup = new ArrayList<>();
+            for (int i = 0; i < VM_GROUP_SIZE; i++) {
+                vmGroup.add(syntheticCluster.createPendingVm());
+            }
+        }
+
+        @TearDown
+        public void teardown() throws ReflectiveOperationException {
+            invoke(policyUnitsRunner, "shutdown");
+        }
+
+        private static void invoke(Object bean, String methodName) throws ReflectiveOperationException {
+            Method method = bean.getClass().getDeclaredMethod(methodName);
+            method.setAccessible(true);
+            method.invoke(bean);
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package org.ovirt.engine.benchmarks.scheduling;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import javax.enterprise.inject.Instance;
+import javax.enterprise.inject.spi.AnnotatedType;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.enterprise.inject.spi.CDI;
+import javax.enterprise.inject.spi.InjectionTarget;
+import javax.enterprise.util.TypeLiteral;
+import javax.inject.Inject;
+
+import org.ovirt.engine.core.di.Injector;
+
+/**
+ * <p> The beans of the scheduling benchmarks, which stand in for the CDI container.</p>
+ * <p> The {@code @Inject} fields of a bean are set to the registered beans, interfaces which weren't registered get an
+ * {@link InMemoryDao} and classes which weren't registered are created by their no-arg constructor and injected in turn.
+ * The {@code @PostConstruct} methods are not called, the benchmarks initialize the beans they measure themselves.</p>
+ * <p> Once {@link #install() installed}, the {@link Injector} uses these beans as well.</p>
+ */
+public class StandIns {
+
+    private static volatile StandIns current;
+
+    static {
+        CDI.setCDIProvider(StandInsCDI::new);
+    }
+
+    private final Map<Class<?>, Object> beans = new ConcurrentHashMap<>();
+    private final Map<Class<?>, InMemoryDao> daos = new ConcurrentHashMap<>();
+
+    /**
+     * Makes these beans the ones used by the {@link Injector}.
+     */
+    public StandIns install() {
+        current = this;
+        return this;
+    }
+
+    public <T> StandIns register(Class<T> type, T bean) {
+        beans.put(type, bean);
+        return this;
+    }
+
+    /**
+     * @return the stand-in of the given interface, on which the answers of its methods are registered
+     */
+    public InMemoryDao dao(Class<?> type) {
+        return daos.computeIfAbsent(type, t -> new InMemoryDao());
+    }
+
+    public <T> T get(Class<T> type) {
+        Object bean = beans.get(type);
+        return type.cast(bean != null ? bean : create(type));
+    }
+
+    /**
+     * Sets the {@code @Inject} fields of the given bean and of its super classes.
+     */
+    public <T> T inject(T bean) {
+        for (Class<?> type = bean.getClass(); type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (field.isAnnotationPresent(Inject.class) && !Modifier.isStatic(field.getModifiers())) {
+                    field.setAccessible(true);
+                    try {
+                        field.set(bean, resolve(field));
+                    } catch (IllegalAccessException e) {
+                        throw new IllegalStateException("Cannot inject " + field, e);
+                    }
+                }
+            }
+        }
+        return bean;
+    }
+
+    private Object resolve(Field field) {
+        if (field.getType() == Instance.class) {
+            Class<?> type = (Class<?>) ((ParameterizedType) field.getGenericType()).getActualTypeArguments()[0];
+            return new StandInInstance<>(() -> get(type));
+        }
+        return get(field.getType());
+    }
+
+    private synchronized Object create(Class<?> type) {
+        Object bean = beans.get(type);
+        if (bean != null) {
+            return bean;
+        }
+
+        if (type.isInterface()) {
+            bean = dao(type).create(type);
+            beans.put(type, bean);
+            return bean;
+        }
+
+        // the abstract beans the scheduling doesn't reach are left unset
+        if (Modifier.isAbstract(type.getModifiers())) {
+            return null;
+        }
+
+        try {
+            Constructor<?> constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            bean = constructor.newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create a stand-in of " + type.getName(), e);
+        }
+        // registered before the injection, to resolve the cyclic dependencies
+        beans.put(type, bean);
+        return inject(bean);
+    }
+
+    private static StandIns current() {
+        if (current == null) {
+            throw new IllegalStateException("The stand-ins are not installed");
+        }
+        return current;
+    }
+
+    /* Inner utils classes */
+
+    private static class StandInsCDI<T> extends CDI<T> {
+
+        private final BeanManager beanManager = (BeanManager) Proxy.newProxyInstance(
+                BeanManager.class.getClassLoader(),
+                new Class<?>[] { BeanManager.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                    case "createAnnotatedType":
+                        return annotatedType((Class<?>) args[0]);
+                    case "createInjectionTarget":
+                        return injectionTarget();
+                    default:
+                        return InMemoryDao.emptyResult(method.getReturnType());
+                    }
+                });
+
+        @Override
+        public BeanManager getBeanManager() {
+            return beanManager;
+        }
+
+        @Override
+        public Instance<T> select(Annotation... annotations) {
+            return null;
+        }
+
+        @Override
+        public <U extends T> Instance<U> select(TypeLiteral<U> typeLiteral, Annotation... annotations) {
+            return null;
+        }
+
+        @Override
+        public boolean isUnsatisfied() {
+            return false;
+        }
+
+        @Override
+        public boolean isAmbiguous() {
+            return false;
+        }
+
+        @Override
+        public void destroy(T t) {
+        }
+
+        @Override
+        public <U extends T> Instance<U> select(Class<U> type, Annotation... annotations) {
+            return new StandInInstance<>(() -> current().get(type));
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return null;
+        }
+
+        @Override
+        public T get() {
+            return null;
+        }
+
+        private static AnnotatedType<?> annotatedType(Class<?> type) {
+            return (AnnotatedType<?>) Proxy.newProxyInstance(AnnotatedType.class.getClassLoader(),
+                    new Class<?>[] { AnnotatedType.class },
+                    (proxy, method, args) -> "getJavaClass".equals(method.getName())
+                            ? type
+                            : InMemoryDao.emptyResult(method.getReturnType()));
+        }
+
+        /**
+         * The injection target looks up the current stand-ins on each injection, since the {@link Injector} caches
+         * the targets across the benchmarks.
+         */
+        private static InjectionTarget<?> injectionTarget() {
+            return (InjectionTarget<?>) Proxy.newProxyInstance(InjectionTarget.class.getClassLoader(),
+                    new Class<?>[] { InjectionTarget.class },
+                    (proxy, method, args) -> {
+                        if ("inject".equals(method.getName())) {
+                            current().inject(args[0]);
+                        }
+                        return InMemoryDao.emptyResult(method.getReturnType());
+                    });
+        }
+    }
+
+    private static class StandInInstance<T> implements Instance<T> {
+        private final Supplier<T> value;
+
+        StandInInstance(Supplier<T> value) {
+            this.value = value;
+        }
+
+        @Override
+        public T get() {
+            return value.get();
+        }
+
+        @Override
+        public Instance<T> select(Annotation... annotations) {
+            return this;
+        }
+
+        @Override
+        public <U extends T> Instance<U> select(Class<U> type, Annotation... annotations) {
+            return new StandInInstance<>(() -> current().get(type));
+        }
+
+        @Override
+        public <U extends T> Instance<U> select(TypeLiteral<U> typeLiteral, Annotation... annotations) {
+            return null;
+        }
+
+        @Override
+        public boolean isUnsatisfied() {
+            return false;
+        }
+
+        @Override
+        public boolean isAmbiguous() {
+            return false;
+        }
+
+        @Override
+        public void destroy(T t) {
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return Collections.singletonList(get()).iterator();
+        }
+    }
+}
@@ -0,0 +1,356 @@
+package org.ovirt.engine.benchmarks.scheduling;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.ovirt.engine.core.bll.scheduling.InternalClusterPolicies;
+import org.ovirt.engine.core.common.businessentities.Cluster;
+import org.ovirt.engine.core.common.businessentities.CpuPinningPolicy;
+import org.ovirt.engine.core.common.businessentities.HugePage;
+import org.ovirt.engine.core.common.businessentities.NumaNodeStatistics;
+import org.ovirt.engine.core.common.businessentities.NumaTuneMode;
+import org.ovirt.engine.core.common.businessentities.VDS;
+import org.ovirt.engine.core.common.businessentities.VDSStatus;
+import org.ovirt.engine.core.common.businessentities.VM;
+import org.ovirt.engine.core.common.businessentities.VMStatus;
+import org.ovirt.engine.core.common.businessentities.VdsCpuUnit;
+import org.ovirt.engine.core.common.businessentities.VdsNumaNode;
+import org.ovirt.engine.core.common.businessentities.VmNumaNode;
+import org.ovirt.engine.core.common.scheduling.AffinityGroup;
+import org.ovirt.engine.core.common.scheduling.ClusterPolicy;
+import org.ovirt.engine.core.common.scheduling.EntityAffinityRule;
+import org.ovirt.engine.core.compat.Guid;
+import org.ovirt.engine.core.compat.Version;
+import org.ovirt.engine.core.dao.ClusterDao;
+import org.ovirt.engine.core.dao.VdsDao;
+import org.ovirt.engine.core.dao.VdsNumaNodeDao;
+import org.ovirt.engine.core.dao.VmDao;
+import org.ovirt.engine.core.dao.VmNumaNodeDao;
+import org.ovirt.engine.core.dao.scheduling.AffinityGroupDao;
+import org.ovirt.engine.core.vdsbroker.ClusterResourceView;
+import org.ovirt.engine.core.vdsbroker.ResourceManager;
+import org.ovirt.engine.core.vdsbroker.VdsManager;
+
+/**
+ * <p> A synthetic cluster for the scheduling benchmarks, generated from a seed so all the runs see the same cluster.</p>
+ * <p> The hosts have two NUMA nodes with huge pages and a full CPU topology, the VMs running on them are split into
+ * affinity groups and some of them have virtual NUMA nodes or a CPU pinning. The cluster is served to the scheduling
+ * by in-memory {@link StandIns stand-ins} of the DAOs and of the host managers.</p>
+ */
+public class SyntheticCluster {
+
+    private static final int SOCKETS = 2;
+    private static final int CORES_PER_SOCKET = 16;
+    private static final int THREADS_PER_CORE = 2;
+    private static final int CPUS = SOCKETS * CORES_PER_SOCKET * THREADS_PER_CORE;
+    private static final int HOST_MEMORY_MB = 512 * 1024;
+    private static final int HUGE_PAGE_KB = 1024 * 1024;
+    private static final int HUGE_PAGES_PER_NODE = 64;
+
+    private static final int VM_MEMORY_MB = 4096;
+    private static final int AFFINITY_GROUP_SIZE = 10;
+    /** Every VM_NUMA_FREQUENCY-th VM has virtual NUMA nodes **/
+    private static final int VM_NUMA_FREQUENCY = 10;
+    /** Every VM_PINNING_FREQUENCY-th VM has a CPU pinning **/
+    private static final int VM_PINNING_FREQUENCY = 7;
+
+    private static final String CPU_FLAGS = "fpu,vme,de,pse,tsc,msr,pae,mce,cx8,apic,sep,mtrr,pge,mca,cmov,pat,pse36,"
+            + "clflush,mmx,fxsr,sse,sse2,ss,ht,syscall,nx,pdpe1gb,rdtscp,lm,constant_tsc,nopl,pni,pclmulqdq,ssse3,fma,"
+            + "cx16,pcid,sse4_1,sse4_2,x2apic,movbe,popcnt,aes,xsave,avx,f16c,rdrand,hypervisor,lahf_lm,abm,"
+            + "3dnowprefetch,fsgsbase,bmi1,hle,avx2,smep,bmi2,erms,invpcid,rtm,mpx,avx512f,avx512dq,rdseed,adx,smap,"
+            + "clflushopt,clwb,avx512cd,avx512bw,avx512vl,xsaveopt,xsavec,xgetbv1,arat,pku,ospke,model_Skylake-Server";
+
+    private final Random random;
+    private final Cluster cluster;
+    private final List<VDS> hosts = new ArrayList<>();
+    private final List<VM> vms = new ArrayList<>();
+    private final List<AffinityGroup> affinityGroups = new ArrayList<>();
+    private final Map<Guid, List<VmNumaNode>> vmNumaNodes = new HashMap<>();
+    private int vmIndex;
+
+    /**
+     * @param hostCount the number of hosts in the cluster
+     * @param vmCount the number of VMs running in the cluster
+     */
+    public SyntheticCluster(int hostCount, int vmCount, long seed) {
+        random = new Random(seed);
+
+        ClusterPolicy policy = InternalClusterPolicies.getClusterPolicies().values().stream()
+                .filter(ClusterPolicy::isDefaultPolicy)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("There is no default cluster policy"));
+        cluster = new Cluster();
+        cluster.setId(newGuid());
+        cluster.setName("benchmark-cluster");
+        cluster.setCompatibilityVersion(Version.getLast());
+        cluster.setClusterPolicyId(policy.getId());
+        cluster.setCpuName("Secure Intel Skylake Server Family");
+        cluster.setMaxVdsMemoryOverCommit(150);
+
+        for (int i = 0; i < hostCount; i++) {
+            hosts.add(createHost(i));
+        }
+
+        for (int i = 0; i < vmCount; i++) {
+            VM vm = createVm();
+            VDS host = hosts.get(random.nextInt(hosts.size()));
+            vm.setStatus(VMStatus.Up);
+            vm.setRunOnVds(host.getId());
+            host.setVmCount(host.getVmCount() + 1);
+            host.setMemCommited(host.getMemCommited() + VM_MEMORY_MB);
+            vms.add(vm);
+        }
+
+        for (int i = 0; i < vms.size(); i += AFFINITY_GROUP_SIZE) {
+            List<Guid> vmIds = vms.subList(i, Math.min(i + AFFINITY_GROUP_SIZE, vms.size())).stream()
+                    .map(VM::getId)
+                    .collect(Collectors.toList());
+            affinityGroups.add(createAffinityGroup(affinityGroups.size(), vmIds));
+        }
+    }
+
+    public Cluster getCluster() {
+        return cluster;
+    }
+
+    public List<VDS> getHosts() {
+        return hosts;
+    }
+
+    /**
+     * @return copies of the hosts, which the scheduling can modify
+     */
+    public List<VDS> copyHosts() {
+        return hosts.stream().map(this::copyHost).collect(Collectors.toList());
+    }
+
+    public List<VM> getVms() {
+        return vms;
+    }
+
+    /**
+     * Creates a VM which is not running yet, for the scheduling to place. The VM joins the affinity groups of the
+     * cluster round-robin.
+     */
+    public VM createPendingVm() {
+        VM vm = createVm();
+        vm.setStatus(VMStatus.Down);
+        if (!affinityGroups.isEmpty()) {
+            affinityGroups.get(vmIndex % affinityGroups.size()).getVmIds().add(vm.getId());
+        }
+        return vm;
+    }
+
+    /**
+     * Registers the in-memory DAOs and host managers of the cluster on the given stand-ins.
+     */
+    public void register(StandIns standIns) {
+        Map<Guid, VDS> hostsById = hosts.stream().collect(Collectors.toMap(VDS::getId, Function.identity()));
+        Map<Guid, VM> vmsById = vms.stream().collect(Collectors.toMap(VM::getId, Function.identity()));
+
+        standIns.dao(ClusterDao.class)
+                .answer("get", args -> cluster)
+                .answer("getAll", args -> new ArrayList<>(List.of(cluster)));
+        standIns.dao(VdsDao.class)
+                .answer("get", args -> hostsById.containsKey(args[0]) ? copyHost(hostsById.get(args[0])) : null)
+                .answer("getAllForCluster", args -> copyHosts())
+                .answer("getAllForClusterWithStatus", args -> copyHosts());
+        standIns.dao(VmDao.class)
+                .answer("get", args -> vmsById.get(args[0]))
+                .answer("getAllRunningByCluster", args -> new ArrayList<>(vms))
+                .answer("getAllRunningForVds", args -> vms.stream()
+                        .filter(vm -> args[0].equals(vm.getRunOnVds()))
+                        .collect(Collectors.toList()));
+        standIns.dao(VdsNumaNodeDao.class)
+                .answer("getAllVdsNumaNodeByVdsId", args -> createHostNumaNodes());
+        standIns.dao(VmNumaNodeDao.class)
+                .answer("getAllVmNumaNodeByVmId", args -> vmNumaNodes.getOrDefault(args[0], new ArrayList<>()))
+                .answer("getAllVmNumaNodeByVmIds", args -> ((Collection<?>) args[0]).stream()
+                        .filter(vmNumaNodes::containsKey)
+                        .collect(Collectors.toMap(Guid.class::cast, vmNumaNodes::get)));
+        standIns.dao(AffinityGroupDao.class)
+                .answer("getAllAffinityGroupsByClusterId", args -> new ArrayList<>(affinityGroups))
+                .answer("getAllAffinityGroupsWithFlatLabelsByClusterId", args -> new ArrayList<>(affinityGroups))
+                .answer("getAllAffinityGroupsByVmId", args -> affinityGroupsOf(List.of(args[0])))
+                .answer("getAllAffinityGroupsWithFlatLabelsByVmId", args -> affinityGroupsOf(List.of(args[0])))
+                .answer("getAllAffinityGroupsWithFlatLabelsByVmIds",
+                        args -> affinityGroupsOf((Collection<?>) args[0]));
+
+        // the managers are not injected, the scheduling reads only the cached hosts and CPU topologies from them
+        ResourceManager resourceManager = new ResourceManager();
+        standIns.register(ResourceManager.class, resourceManager);
+        ClusterResourceView clusterResourceView = standIns.get(ClusterResourceView.class);
+        try {
+            Constructor<VdsManager> constructor =
+                    VdsManager.class.getDeclaredConstructor(VDS.class, ResourceManager.class);
+            constructor.setAccessible(true);
+            Field vdsManagers = ResourceManager.class.getDeclaredField("vdsManagersDict");
+            vdsManagers.setAccessible(true);
+            Field cpuTopology = VdsManager.class.getDeclaredField("cpuTopology");
+            cpuTopology.setAccessible(true);
+            Method addHost = ClusterResourceView.class.getDeclaredMethod("addHost", VdsManager.class);
+            addHost.setAccessible(true);
+
+            @SuppressWarnings("unchecked")
+            Map<Guid, VdsManager> managers = (Map<Guid, VdsManager>) vdsManagers.get(resourceManager);
+            for (VDS host : hosts) {
+                VdsManager vdsManager = constructor.newInstance(copyHost(host), resourceManager);
+                cpuTopology.set(vdsManager, createCpuTopology());
+                managers.put(host.getId(), vdsManager);
+                addHost.invoke(clusterResourceView, vdsManager);
+            }
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot register the host managers", e);
+        }
+    }
+
+    private List<AffinityGroup> affinityGroupsOf(Collection<?> vmIds) {
+        return affinityGroups.stream()
+                .filter(group -> vmIds.stream().anyMatch(group.getVmIds()::contains))
+                .collect(Collectors.toList());
+    }
+
+    private VDS createHost(int index) {
+        VDS host = new VDS();
+        host.setId(newGuid());
+        host.setVdsName("host-" + index);
+        host.setHostName("host-" + index + ".benchmark");
+        host.setClusterId(cluster.getId());
+        host.setClusterCompatibilityVersion(cluster.getCompatibilityVersion());
+        host.setStatus(VDSStatus.Up);
+        host.setVdsSpmId(index + 1);
+        host.setCpuSockets(SOCKETS);
+        host.setCpuCores(SOCKETS * CORES_PER_SOCKET);
+        host.setCpuThreads(CPUS);
+        host.setOnlineCpus(IntStream.range(0, CPUS).mapToObj(Integer::toString).collect(Collectors.joining(",")));
+        host.setCpuFlags(CPU_FLAGS);
+        host.setCpuSpeedMh(2400.0);
+        host.setKvmEnabled(true);
+        host.setSupportedClusterLevels(Version.ALL.stream().map(Version::toString).collect(Collectors.joining(",")));
+        host.setSupportedEmulatedMachines("pc-q35-rhel8.6.0,pc-q35-rhel8.4.0,pc-i440fx-rhel7.6.0,q35,pc");
+        host.setPhysicalMemMb(HOST_MEMORY_MB);
+        host.setMemCommited(0);
+        host.setMemFree((long) HOST_MEMORY_MB - random.nextInt(HOST_MEMORY_MB / 4));
+        host.setSwapTotal(8192L);
+        host.setSwapFree(8192L);
+        host.setReservedMem(321);
+        host.setGuestOverhead(65);
+        host.setMaxVdsMemoryOverCommit(cluster.getMaxVdsMemoryOverCommit());
+        host.setUsageCpuPercent(random.nextInt(100));
+        host.setVmCount(0);
+        host.setVmsCoresCount(0);
+        host.setHighlyAvailableScore(3400);
+        host.setVdsmCpusAffinity("0");
+        host.setNumaNodeList(createHostNumaNodes());
+        host.setCpuTopology(createCpuTopology());
+        return host;
+    }
+
+    private VDS copyHost(VDS host) {
+        VDS copy = host.clone();
+        copy.setNumaNodeList(createHostNumaNodes());
+        copy.setCpuTopology(createCpuTopology());
+        return copy;
+    }
+
+    private static List<VdsNumaNode> createHostNumaNodes() {
+        int cpusPerNode = CPUS / 2;
+        List<VdsNumaNode> nodes = new ArrayList<>();
+        for (int index = 0; index < 2; index++) {
+            VdsNumaNode node = new VdsNumaNode();
+            node.setIndex(index);
+            node.setCpuIds(IntStream.range(index * cpusPerNode, (index + 1) * cpusPerNode)
+                    .boxed()
+                    .collect(Collectors.toList()));
+            node.setMemTotal(HOST_MEMORY_MB / 2);
+
+            NumaNodeStatistics statistics = new NumaNodeStatistics();
+            statistics.setMemFree(HOST_MEMORY_MB / 2 - HUGE_PAGES_PER_NODE * (HUGE_PAGE_KB / 1024));
+            List<HugePage> hugePages = new ArrayList<>();
+            hugePages.add(new HugePage(HUGE_PAGE_KB, HUGE_PAGES_PER_NODE, HUGE_PAGES_PER_NODE));
+            statistics.setHugePages(hugePages);
+            node.setNumaNodeStatistics(statistics);
+            nodes.add(node);
+        }
+        return nodes;
+    }
+
+    private static List<VdsCpuUnit> createCpuTopology() {
+        List<VdsCpuUnit> cpus = new ArrayList<>();
+        for (int cpu = 0; cpu < CPUS; cpu++) {
+            int core = cpu / THREADS_PER_CORE;
+            int socket = core / CORES_PER_SOCKET;
+            cpus.add(new VdsCpuUnit(socket, socket, core, cpu));
+        }
+        return cpus;
+    }
+
+    private VM createVm() {
+        int index = vmIndex++;
+        VM vm = new VM();
+        vm.setId(newGuid());
+        vm.setName("vm-" + index);
+        vm.setClusterId(cluster.getId());
+        vm.setClusterCompatibilityVersion(cluster.getCompatibilityVersion());
+        vm.setVmMemSizeMb(VM_MEMORY_MB);
+        vm.setMinAllocatedMem(VM_MEMORY_MB);
+        vm.setNumOfSockets(1);
+        vm.setCpuPerSocket(2);
+        vm.setThreadsPerCpu(1);
+        vm.setDedicatedVmForVdsList(new ArrayList<>());
+
+        if (index % VM_NUMA_FREQUENCY == 0) {
+            List<VmNumaNode> numaNodes = new ArrayList<>();
+            for (int node = 0; node < 2; node++) {
+                VmNumaNode numaNode = new VmNumaNode();
+                numaNode.setId(newGuid());
+                numaNode.setIndex(node);
+                numaNode.setCpuIds(new ArrayList<>(List.of(node)));
+                numaNode.setMemTotal(VM_MEMORY_MB / 2);
+                numaNode.setVdsNumaNodeList(new ArrayList<>(List.of(node)));
+                numaNode.setNumaTuneMode(NumaTuneMode.INTERLEAVE);
+                numaNodes.add(numaNode);
+            }
+            vm.setvNumaNodeList(numaNodes);
+            vmNumaNodes.put(vm.getId(), numaNodes);
+        }
+
+        if (index % VM_PINNING_FREQUENCY == 0) {
+            int cpu = random.nextInt(CPUS - 1);
+            vm.setCpuPinning(String.format("0#%d_1#%d", cpu, cpu + 1));
+            vm.setCpuPinningPolicy(CpuPinningPolicy.MANUAL);
+        } else {
+            vm.setCpuPinningPolicy(CpuPinningPolicy.NONE);
+        }
+        return vm;
+    }
+
+    private AffinityGroup createAffinityGroup(int index, List<Guid> vmIds) {
+        AffinityGroup group = new AffinityGroup();
+        group.setId(newGuid());
+        group.setName("affinity-group-" + index);
+        group.setClusterId(cluster.getId());
+        group.setVmIds(new ArrayList<>(vmIds));
+        group.setVmAffinityRule(index % 2 == 0 ? EntityAffinityRule.POSITIVE : EntityAffinityRule.NEGATIVE);
+        group.setVmEnforcing(false);
+        group.setVdsIds(new ArrayList<>());
+        group.setVdsAffinityRule(EntityAffinityRule.DISABLED);
+        group.setPriority(index);
+        return group;
+    }
+
+    private Guid newGuid() {
+        return new Guid(new UUID(random.nextLong(), random.nextLong()));
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright oVirt Authors
+ * SPDX-License-Identifier: Apache-2.0
+*/
+
+package org.ovirt.engine.api.restapi.invocation;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.function.Supplier;
+
+import javax.xml.bind.annotation.XmlElement;
+
+import org.ovirt.engine.api.model.BaseResource;
+import org.ovirt.engine.api.model.BaseResources;
+
+/**
+ * This class represents a collection whose entities aren't kept in memory, but are fetched, mapped and written to the
+ * response page by page. The resource returns the empty collection and stores the stream of its entities in the
+ * {@link Current} request, where the message body writers find it when they write the collection.
+ *
+ * @param <R> the type of the entities of the collection
+ */
+public class CollectionStream<R extends BaseResource> {
+    /**
+     * The value of the {@code name} attribute of the {@link XmlElement} annotation when it isn't explicitly set.
+     */
+    private static final String DEFAULT_NAME = "##default";
+
+    private final BaseResources collection;
+    private final String elementName;
+    private final Supplier<List<R>> pages;
+
+    /**
+     * @param collection the empty collection returned by the resource
+     * @param pages returns the next page of mapped entities with each call, and an empty list once all the entities
+     *     were returned
+     */
+    public CollectionStream(BaseResources collection, Supplier<List<R>> pages) {
+        this.collection = collection;
+        this.elementName = findElementName(collection.getClass());
+        this.pages = pages;
+    }
+
+    /**
+     * Returns the stream of the entities of the given collection, or {@code null} if the entities of the collection
+     * aren't streamed in the current request.
+     */
+    public static CollectionStream<?> of(Object collection) {
+        Current current = CurrentManager.get();
+        if (current == null || current.getCollectionStream() == null) {
+            return null;
+        }
+        CollectionStream<?> stream = current.getCollectionStream();
+        return stream.collection == collection ? stream : null;
+    }
+
+    /**
+     * Returns the name of the element that contains the entities in the documents representing the collection, for
+     * example {@code vm} for the {@code Vms} collection.
+     */
+    public String getElementName() {
+        return elementName;
+    }
+
+    /**
+     * Fetches and maps the next page of entities.
+     *
+     * @return the next page of entities, or an empty list if all the entities were already returned
+     */
+    public List<R> nextPage() {
+        return pages.get();
+    }
+
+    private static String findElementName(Class<?> type) {
+        for (Field field : type.getDeclaredFields()) {
+            if (List.class.isAssignableFrom(field.getType())) {
+                XmlElement element = field.getAnnotation(XmlElement.class);
+                return element != null && !DEFAULT_NAME.equals(element.name()) ? element.name() : field.getName();
+            }
+        }
+        throw new IllegalArgumentException("Collection type \"" + type.getName() + "\" doesn't contain a list.");
+    }
+}
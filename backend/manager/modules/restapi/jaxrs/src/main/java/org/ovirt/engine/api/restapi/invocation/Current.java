@@ -8,6 +8,8 @@ package org.ovirt.engine.api.restapi.invocation;
 import java.util.HashMap;
 import java.util.Map;
 
+import javax.servlet.http.HttpServletResponse;
+
 import org.ovirt.engine.core.common.businessentities.aaa.DbUser;
 import org.ovirt.engine.core.common.interfaces.BackendLocal;
 import org.ovirt.engine.core.common.mode.ApplicationMode;
@@ -69,6 +71,16 @@ public class Current {
      */
     private BackendLocal backend;
 
+    /**
+     * The response to the current request, used to add headers which aren't part of the returned model.
+     */
+    private HttpServletResponse response;
+
+    /**
+     * The collection whose entities are written to the response page by page, if the response is streamed.
+     */
+    private CollectionStream<?> collectionStream;
+
     /**
      * Returns the request version of the API.
      */
@@ -227,4 +239,20 @@ public class Current {
     public BackendLocal getBackend() {
         return backend;
     }
+
+    public HttpServletResponse getResponse() {
+        return response;
+    }
+
+    public void setResponse(HttpServletResponse response) {
+        this.response = response;
+    }
+
+    public CollectionStream<?> getCollectionStream() {
+        return collectionStream;
+    }
+
+    public void setCollectionStream(CollectionStream<?> collectionStream) {
+        this.collectionStream = collectionStream;
+    }
 }
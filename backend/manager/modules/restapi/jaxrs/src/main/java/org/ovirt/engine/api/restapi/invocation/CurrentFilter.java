@@ -97,6 +97,7 @@ public class CurrentFilter implements Filter {
         current.setPrefix(getPrefix(request));
         current.setPath(getPath(request));
         current.setBackend(backend);
+        current.setResponse(response);
         String correlationId = getCorrelationId(request);
         current.getParameters().put(CORRELATION_ID_PARAM, correlationId);
         response.setHeader(CORRELATION_ID_HEADER, correlationId);
@@ -5,11 +5,25 @@
 
 package org.ovirt.engine.api.restapi.json;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.List;
+
 import javax.ws.rs.Consumes;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.ext.Provider;
 
+import org.ovirt.engine.api.model.BaseResource;
+import org.ovirt.engine.api.restapi.invocation.CollectionStream;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.jaxrs.json.JacksonJsonProvider;
 
 @Provider
@@ -21,4 +35,40 @@ public class JSONProvider extends JacksonJsonProvider {
         setMapper(CustomObjectMapperFactory.create());
     }
 
+    @Override
+    public void writeTo(Object value, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+            MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException {
+        // The entities of streamed collections are written one by one, as they are fetched:
+        CollectionStream<?> stream = CollectionStream.of(value);
+        if (stream != null) {
+            writeStream(stream, locateMapper(type, mediaType), entityStream);
+        } else {
+            super.writeTo(value, type, genericType, annotations, mediaType, httpHeaders, entityStream);
+        }
+    }
+
+    /**
+     * Writes the entities of a streamed collection as the array that represents the collection. Each page of entities
+     * is serialized and flushed to the output stream before the next page is fetched, so only one page of entities is
+     * kept in memory.
+     */
+    private void writeStream(CollectionStream<?> stream, ObjectMapper mapper, OutputStream entityStream)
+            throws IOException {
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(entityStream, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            if (mapper.isEnabled(SerializationFeature.INDENT_OUTPUT)) {
+                generator.useDefaultPrettyPrinter();
+            }
+            generator.writeStartObject();
+            generator.writeArrayFieldStart(stream.getElementName());
+            for (List<? extends BaseResource> page = stream.nextPage(); !page.isEmpty(); page = stream.nextPage()) {
+                for (BaseResource entity : page) {
+                    mapper.writeValue(generator, entity);
+                }
+                generator.flush();
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
 }
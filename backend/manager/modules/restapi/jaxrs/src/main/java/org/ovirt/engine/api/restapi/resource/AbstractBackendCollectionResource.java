@@ -4,14 +4,23 @@ import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toSet;
 
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import javax.ws.rs.core.Response;
 
 import org.ovirt.engine.api.model.ActionableResource;
 import org.ovirt.engine.api.model.BaseResource;
+import org.ovirt.engine.api.model.BaseResources;
 import org.ovirt.engine.api.model.CreationStatus;
+import org.ovirt.engine.api.restapi.invocation.CollectionStream;
+import org.ovirt.engine.api.restapi.invocation.Current;
+import org.ovirt.engine.api.restapi.invocation.CurrentManager;
 import org.ovirt.engine.api.restapi.util.ExpectationHelper;
 import org.ovirt.engine.api.restapi.util.LinkHelper;
 import org.ovirt.engine.api.restapi.util.ParametersHelper;
@@ -34,6 +43,10 @@ public abstract class AbstractBackendCollectionResource<R extends BaseResource,
     private static final String CREATION_STATUS_REL = "creation_status";
     public static final String FROM_CONSTRAINT_PARAMETER = "from";
     public static final String CASE_SENSITIVE_CONSTRAINT_PARAMETER = "case_sensitive";
+    public static final String PAGE_TOKEN_CONSTRAINT_PARAMETER = "page_token";
+    public static final String NEXT_PAGE_TOKEN_HEADER = "Next-Page-Token";
+    public static final String STREAM_PARAMETER = "stream";
+    private static final int STREAM_PAGE_SIZE = 500;
     private static final Logger log = LoggerFactory.getLogger(AbstractBackendCollectionResource.class);
 
     protected AbstractBackendCollectionResource(Class<R> modelType, Class<Q> entityType) {
@@ -45,9 +58,12 @@ public abstract class AbstractBackendCollectionResource<R extends BaseResource,
     }
 
     protected List<Q> getBackendCollection(SearchType searchType, String constraint) {
-        return getBackendCollection(entityType,
-                QueryType.Search,
-                getSearchParameters(searchType, constraint));
+        SearchParameters searchParams = getSearchParameters(searchType, constraint);
+        List<Q> entities = getBackendCollection(entityType, QueryType.Search, searchParams);
+        if (searchParams.isKeysetPaging()) {
+            setNextPageToken(entities, searchParams.getMaxCount());
+        }
+        return entities;
     }
 
     private SearchParameters getSearchParameters(SearchType searchType, String constraint) {
@@ -61,9 +77,136 @@ public abstract class AbstractBackendCollectionResource<R extends BaseResource,
             searchParams.setSearchFrom(from);
         }
         searchParams.setMaxCount(max);
+        String pageToken = ParametersHelper.getParameter(httpHeaders, uriInfo, PAGE_TOKEN_CONSTRAINT_PARAMETER);
+        if (pageToken != null) {
+            searchParams.setKeysetPaging(true);
+            if (!pageToken.isEmpty()) {
+                searchParams.setSearchAfter(decodePageToken(pageToken));
+            }
+        }
         return searchParams;
     }
 
+    /**
+     * Keyset paging is requested with an empty {@code page_token} parameter. As long as there may be more results,
+     * the response has a {@code Next-Page-Token} header, whose value is passed as the {@code page_token} parameter
+     * to fetch the next page.
+     */
+    private void setNextPageToken(List<Q> entities, int max) {
+        if (entities.isEmpty() || entities.size() < max) {
+            return;
+        }
+        Object id = getId(entities.get(entities.size() - 1));
+        Current current = CurrentManager.get();
+        if (id != null && current != null && current.getResponse() != null) {
+            current.getResponse().setHeader(NEXT_PAGE_TOKEN_HEADER, encodePageToken(id.toString()));
+        }
+    }
+
+    private static String encodePageToken(String id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String decodePageToken(String pageToken) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(pageToken), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new WebFaultException(e, "Invalid page token '" + pageToken + "'", Response.Status.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Checks if the entities of the collection should be streamed to the client, as requested with the {@code stream}
+     * parameter. Links of streamed entities can't be followed, as that requires the complete collection.
+     */
+    protected boolean isStreamed() {
+        return ParametersHelper.getBooleanParameter(httpHeaders, uriInfo, STREAM_PARAMETER, true, false)
+                && ParametersHelper.getParameter(httpHeaders, uriInfo, FOLLOW) == null;
+    }
+
+    /**
+     * Streams the results of the search to the client. The search runs page by page with keyset paging while the
+     * response is written, and each page is mapped and written before the next one is fetched, so the memory used
+     * doesn't depend on the size of the collection. Streamed entities are sorted by their ids.
+     * <p>
+     * The first page is fetched and mapped before returning, so an invalid search or a failure of the backend still
+     * fails the request with the matching status. Only the following pages are fetched while the response is written.
+     *
+     * @param collection the empty collection to return from the resource
+     * @param mapper maps a page of backend entities to model entities
+     * @return the collection whose entities are streamed
+     */
+    protected <C extends BaseResources> C streamBackendCollection(C collection,
+            SearchType searchType,
+            Function<List<Q>, List<R>> mapper) {
+        String constraint = QueryHelper.getConstraint(httpHeaders, uriInfo, "", modelType);
+        boolean caseSensitive = ParametersHelper.getBooleanParameter(httpHeaders, uriInfo, CASE_SENSITIVE_CONSTRAINT_PARAMETER, true, false);
+        int max = ParametersHelper.getIntegerParameter(httpHeaders, uriInfo, MAX, Integer.MAX_VALUE, Integer.MAX_VALUE);
+        SearchPages pages = new SearchPages(constraint, searchType, caseSensitive, max, mapper);
+        pages.fetchFirstPage();
+        getCurrent().setCollectionStream(new CollectionStream<>(collection, pages));
+        return collection;
+    }
+
+    /**
+     * Fetches the results of a search one page after the other, using keyset paging.
+     */
+    private class SearchPages implements Supplier<List<R>> {
+        private final String constraint;
+        private final SearchType searchType;
+        private final boolean caseSensitive;
+        private final Function<List<Q>, List<R>> mapper;
+        private int remaining;
+        private String searchAfter;
+        private List<R> firstPage;
+
+        private SearchPages(String constraint,
+                SearchType searchType,
+                boolean caseSensitive,
+                int max,
+                Function<List<Q>, List<R>> mapper) {
+            this.constraint = constraint;
+            this.searchType = searchType;
+            this.caseSensitive = caseSensitive;
+            this.remaining = max;
+            this.mapper = mapper;
+        }
+
+        private void fetchFirstPage() {
+            firstPage = fetchPage();
+        }
+
+        @Override
+        public List<R> get() {
+            if (firstPage != null) {
+                List<R> page = firstPage;
+                firstPage = null;
+                return page;
+            }
+            return fetchPage();
+        }
+
+        private List<R> fetchPage() {
+            if (remaining <= 0) {
+                return Collections.emptyList();
+            }
+            SearchParameters searchParams = new SearchParameters(constraint, searchType);
+            searchParams.setCaseSensitive(caseSensitive);
+            searchParams.setMaxCount(Math.min(STREAM_PAGE_SIZE, remaining));
+            searchParams.setKeysetPaging(true);
+            searchParams.setSearchAfter(searchAfter);
+            List<Q> entities = getBackendCollection(entityType, QueryType.Search, searchParams);
+            Object lastId = entities.isEmpty() ? null : getId(entities.get(entities.size() - 1));
+            if (entities.size() < searchParams.getMaxCount() || lastId == null) {
+                remaining = 0;
+            } else {
+                remaining -= entities.size();
+                searchAfter = lastId.toString();
+            }
+            return entities.isEmpty() ? Collections.emptyList() : mapper.apply(entities);
+        }
+    }
+
     protected List<Q> getBackendCollection(QueryType query, QueryParametersBase queryParams) {
         return getBackendCollection(entityType, query, queryParams);
     }
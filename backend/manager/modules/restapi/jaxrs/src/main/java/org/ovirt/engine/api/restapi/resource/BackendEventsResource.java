@@ -30,6 +30,11 @@ public class BackendEventsResource
 
     @Override
     public Events list() {
+        if (!isFiltered() && isStreamed()) {
+            return streamBackendCollection(new Events(),
+                    SearchType.AuditLog,
+                    entities -> mapCollection(entities).getEvents());
+        }
         return mapCollection(getBackendCollection());
     }
 
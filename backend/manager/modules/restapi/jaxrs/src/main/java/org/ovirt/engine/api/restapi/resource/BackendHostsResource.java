@@ -97,6 +97,10 @@ public class BackendHostsResource extends AbstractBackendCollectionResource<Host
             return mapCollection(getBackendCollection(QueryType.GetValidHostsForVms, params));
         }
 
+        if (isStreamed()) {
+            return streamBackendCollection(new Hosts(), SearchType.VDS, entities -> mapCollection(entities).getHosts());
+        }
+
         return mapCollection(getBackendCollection(SearchType.VDS));
     }
 
@@ -77,8 +77,10 @@ import org.ovirt.engine.core.common.businessentities.VmRngDevice;
 import org.ovirt.engine.core.common.businessentities.VmStatic;
 import org.ovirt.engine.core.common.businessentities.VmTemplate;
 import org.ovirt.engine.core.common.businessentities.VmWatchdog;
+import org.ovirt.engine.core.common.businessentities.network.VmNetworkInterface;
 import org.ovirt.engine.core.common.businessentities.storage.BaseDisk;
 import org.ovirt.engine.core.common.businessentities.storage.DiskImage;
+import org.ovirt.engine.core.common.businessentities.storage.DiskVmElement;
 import org.ovirt.engine.core.common.interfaces.SearchType;
 import org.ovirt.engine.core.common.osinfo.OsRepository;
 import org.ovirt.engine.core.common.queries.GetFilteredAndSortedParameters;
@@ -114,11 +116,15 @@ public class BackendVmsResource extends
     private static final String HOST_DEVICES = "host_devices";
     private static final String WATCHDOGS = "watchdogs";
     private static final String SNAPSHOTS = "snapshots";
+    private static final String NICS = "nics";
+    private static final String DISK_ATTACHMENTS = "disk_attachments";
 
     private Map<String, VM> vmIdToVm = Collections.emptyMap();
 
     public BackendVmsResource() {
         super(Vm.class, org.ovirt.engine.core.common.businessentities.VM.class);
+        linkFollower.addBatchResolver(Vm.class, NICS, this::getNics);
+        linkFollower.addBatchResolver(Vm.class, DISK_ATTACHMENTS, this::getDiskAttachments);
     }
 
     @Override
@@ -129,6 +135,8 @@ public class BackendVmsResource extends
             } else {
                 return mapCollection(getBackendCollection(QueryType.GetAllVms, new QueryParametersBase(), SearchType.VM));
             }
+        } else if (isStreamed()) {
+            return streamBackendCollection(new Vms(), SearchType.VM, entities -> mapCollection(entities).getVms());
         } else {
             return mapCollection(getBackendCollection(SearchType.VM));
         }
@@ -804,6 +812,51 @@ public class BackendVmsResource extends
                 "GetWatchdogs", true);
     }
 
+    /**
+     * Fetches the nics of all the given VMs using a single query, for following the nics link of many VMs.
+     */
+    private Map<String, ActionableResource> getNics(List<Vm> vms) {
+        List<Guid> vmIds = vms.stream().map(Vm::getId).map(this::asGuid).collect(Collectors.toList());
+        Map<Guid, List<VmNetworkInterface>> vmsNics = getBackendCollection(VmNetworkInterface.class,
+                QueryType.GetVmInterfacesByVmIds,
+                new IdsQueryParameters(vmIds))
+                .stream()
+                .collect(Collectors.groupingBy(VmNetworkInterface::getVmId));
+        Map<String, ActionableResource> nics = new HashMap<>();
+        for (Guid vmId : vmIds) {
+            nics.put(vmId.toString(), getBackendVmNicsResource(vmId)
+                    .mapCollection(vmsNics.getOrDefault(vmId, Collections.emptyList())));
+        }
+        return nics;
+    }
+
+    private BackendVmNicsResource getBackendVmNicsResource(Guid vmId) {
+        return inject(new BackendVmNicsResource(vmId));
+    }
+
+    /**
+     * Fetches the disk attachments of all the given VMs using a single query, for following the disk attachments link
+     * of many VMs.
+     */
+    private Map<String, ActionableResource> getDiskAttachments(List<Vm> vms) {
+        List<Guid> vmIds = vms.stream().map(Vm::getId).map(this::asGuid).collect(Collectors.toList());
+        Map<Guid, List<DiskVmElement>> vmsDiskVmElements = getBackendCollection(DiskVmElement.class,
+                QueryType.GetDiskVmElementsByVmIds,
+                new IdsQueryParameters(vmIds))
+                .stream()
+                .collect(Collectors.groupingBy(DiskVmElement::getVmId));
+        Map<String, ActionableResource> diskAttachments = new HashMap<>();
+        for (Guid vmId : vmIds) {
+            diskAttachments.put(vmId.toString(), getBackendDiskAttachmentsResource(vmId)
+                    .mapCollection(vmsDiskVmElements.getOrDefault(vmId, Collections.emptyList())));
+        }
+        return diskAttachments;
+    }
+
+    private BackendDiskAttachmentsResource getBackendDiskAttachmentsResource(Guid vmId) {
+        return inject(new BackendDiskAttachmentsResource(vmId));
+    }
+
     private void setWatchdogs(Vm vm, List<VmWatchdog> watchdogs) {
         vm.setWatchdogs(getBackendVmWatchdogsResource(vm.getId(), watchdogs).list());
     }
@@ -0,0 +1,25 @@
+package org.ovirt.engine.api.restapi.resource.utils;
+
+import java.util.List;
+import java.util.Map;
+
+import org.ovirt.engine.api.model.ActionableResource;
+import org.ovirt.engine.api.model.BaseResource;
+
+/**
+ * Follows a link of many entities of the same type at once, typically using a single backend query for all of them,
+ * instead of following the link of each entity separately.
+ *
+ * @param <E> the type of the entities whose link is followed
+ */
+@FunctionalInterface
+public interface BatchLinkResolver<E extends BaseResource> {
+
+    /**
+     * Fetches the data the link points to for all the given entities.
+     *
+     * @return the fetched data by the id of the entity it belongs to, the link of entities which are missing from the
+     *     result is followed separately
+     */
+    Map<String, ActionableResource> resolve(List<E> entities);
+}
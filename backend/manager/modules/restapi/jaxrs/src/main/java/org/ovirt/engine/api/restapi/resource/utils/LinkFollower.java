@@ -2,9 +2,12 @@ package org.ovirt.engine.api.restapi.resource.utils;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.LinkedList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import javax.ws.rs.GET;
@@ -21,6 +24,7 @@ import org.ovirt.engine.api.utils.ReflectionHelper;
 public class LinkFollower {
 
     private ResourceLocator resourceLocator;
+    private Map<Class<?>, Map<String, BatchLinkResolver<?>>> batchResolvers = new HashMap<>();
 
     public LinkFollower() {
         this.resourceLocator =  ResourceLocator.getInstance();
@@ -30,6 +34,14 @@ public class LinkFollower {
         this.resourceLocator =  resourceLocator;
     }
 
+    /**
+     * Registers a resolver which follows the given link of many entities of the given type at once. The link of
+     * entities of other types, or of links without a resolver, is followed for each entity separately.
+     */
+    public <E extends BaseResource> void addBatchResolver(Class<E> type, String link, BatchLinkResolver<E> resolver) {
+        batchResolvers.computeIfAbsent(type, k -> new HashMap<>()).put(link, resolver);
+    }
+
     /**
      * Follow all links in the links-tree. Each node in the tree (except ROOT) is a link, and
      * links should be followed in a pre-order DFS (Depth-First-Search) manner. For example,
@@ -116,8 +128,9 @@ public class LinkFollower {
      *         networkfilter
      *         qos
      *
-     * This method will fetch the vnic-profiles of nic11, nic12, nic13, nic21, nic22, nic23,
-     * set them in the respected Nic objects, and store them in a list.
+     * This method will fetch the vnic-profiles of nic11, nic12, nic21, nic22, nic31, nic32,
+     * set them in the respected Nic objects, and store them in a list. If a {@link BatchLinkResolver}
+     * is registered for the vnic-profiles of nics, all of them are fetched at once.
      *
      * Then the method will recursively run on the list of vnic-profiles with the sub-tree
      *
@@ -128,64 +141,77 @@ public class LinkFollower {
      *    qos
      */
     private void followLinks(List<ActionableResource> entities, LinksTreeNode node) {
-        for (ActionableResource entity : entities) {
-            followLink(entity, node);
+        List<ActionableResource> nextStepEntities = fetchData(getMembers(entities, node), node);
+        for (LinksTreeNode child : node.getChildren()) {
+            followLinks(nextStepEntities, child);
         }
         node.setFollowed(true);
     }
 
     /**
-     * For the provided business entity (whether single (e.g: Nic) or collection (e.g: Nics) type,
-     * follow all links in the provided links-tree, recursively.
+     * Returns the single entities among the provided ones, replacing each collection-type entity
+     * (e.g: Nics) with the entities it contains (e.g: nic1, nic2).
      */
-    private void followLink(ActionableResource entity, LinksTreeNode node) {
-        List<ActionableResource> nextStepEntities = new LinkedList<>();
-        if (EntityHelper.isCollection(entity)) {
-            nextStepEntities.addAll(fetchData((BaseResources)entity, node));
-        } else {
-            nextStepEntities.add(fetchData((BaseResource)entity, node));
-        }
-        for (LinksTreeNode child : node.getChildren()) {
-            followLinks(nextStepEntities, child);
+    @SuppressWarnings("unchecked")
+    private List<BaseResource> getMembers(List<ActionableResource> entities, LinksTreeNode node) {
+        List<BaseResource> members = new ArrayList<>();
+        for (ActionableResource entity : entities) {
+            if (EntityHelper.isCollection(entity)) {
+                Method collectionGetter = EntityHelper.getCollectionGetter((BaseResources)entity);
+                try {
+                    //get the actual list of entities in the collection-type, e.g for Nics get List<Nic>
+                    //(by invoking nics.getNics() using reflection)
+                    members.addAll((List<BaseResource>)collectionGetter.invoke(entity));
+                } catch (Exception e) {
+                    throw new IllegalStateException("Problem following '" + node.getElement() + "' link in " + entity.getClass().getSimpleName() + " entity.", e);
+                }
+            } else {
+                members.add((BaseResource)entity);
+            }
         }
+        return members;
     }
 
     /**
-     * For the provided collection-type entity (e.g: Nics), follow the link represented by the
+     * For the provided single-entities (e.g: nic1, nic2), follow the link represented by the
      * provided node. Do not follow child-links of this node.
      *
-     * For example, for a Nics object:
-     *
-     *   nics [nic1, nic2]
-     *
-     * and the tree:
-     *
-     *   vnicprofiles
-     *        networkfilter
-     *        qos
-     *
-     * This method fetches all vnicprofiles of nic1, nic2, and sets them in these Nic objects.
-     * The method will return the fetched vnic-profile objects. The child links networkfilter, qos
-     * are purposely ignored.
+     * The link is followed for all the entities at once if a {@link BatchLinkResolver} is registered
+     * for it, otherwise, or for entities the resolver didn't return data for, it is followed for each
+     * entity separately. The method returns the fetched data, in the order of the entities.
      */
-    @SuppressWarnings("unchecked")
-    private List<ActionableResource> fetchData(BaseResources collectionEntity, LinksTreeNode node) {
-        List<ActionableResource> results = new LinkedList<>();
-        Method collectionGetter = EntityHelper.getCollectionGetter(collectionEntity);
-        try {
-            //get the actual list of entities in the collection-type, e.g for Nics get List<Nic>
-            //(by invoking nics.getNics() using reflection)
-            List<BaseResource> entities = (List<BaseResource>)collectionGetter.invoke(collectionEntity);
-            //for each entity in the list, fetch link data.
-            for (BaseResource entity : entities) {
-                results.add(fetchData(entity, node));
+    private List<ActionableResource> fetchData(List<BaseResource> entities, LinksTreeNode link) {
+        Map<String, ActionableResource> resolved = Collections.emptyMap();
+        BatchLinkResolver<BaseResource> resolver = getBatchResolver(entities, link);
+        if (resolver != null) {
+            resolved = resolver.resolve(entities);
+        }
+        List<ActionableResource> results = new ArrayList<>(entities.size());
+        for (BaseResource entity : entities) {
+            ActionableResource result = resolved.get(entity.getId());
+            if (result != null) {
+                setData(entity, link, result);
+                results.add(result);
+            } else {
+                results.add(fetchData(entity, link));
             }
-        } catch (Exception e) {
-            throw new IllegalStateException("Problem following '" + node.getElement() + "' link in " + collectionEntity.getClass().getSimpleName() + " entity.", e);
         }
         return results;
     }
 
+    @SuppressWarnings("unchecked")
+    private BatchLinkResolver<BaseResource> getBatchResolver(List<BaseResource> entities, LinksTreeNode link) {
+        if (link.isFollowed() || entities.isEmpty()) {
+            return null;
+        }
+        Class<?> type = entities.get(0).getClass();
+        if (entities.stream().anyMatch(entity -> entity.getClass() != type)) {
+            return null;
+        }
+        return (BatchLinkResolver<BaseResource>) batchResolvers.getOrDefault(type, Collections.emptyMap())
+                .get(link.getElement());
+    }
+
     /**
      * For the provided single-entity type (e.g: Nic), follow the link represented by the
      * provided node. Do not follow child-links of this node.
@@ -218,6 +244,19 @@ public class LinkFollower {
         }
     }
 
+    /**
+     * Sets the data fetched by a {@link BatchLinkResolver} in the provided single-entity.
+     */
+    private void setData(BaseResource entity, LinksTreeNode link, ActionableResource data) {
+        try {
+            Method setter = ReflectionHelper.getSetter(entity, underscoreToCamelCase(link.getElement()));
+            setter.invoke(entity, data);
+        } catch (Exception e) {
+            throw new IllegalStateException("Problem setting '" + link.getElement() +
+                    "' in " + entity.getClass().getSimpleName(), e);
+        }
+    }
+
     private String underscoreToCamelCase(String element) {
         StringBuilder builder = new StringBuilder();
         for (String s : element.split("_")) {
@@ -13,6 +13,7 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import javax.ws.rs.Consumes;
@@ -29,12 +30,17 @@ import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
 import javax.xml.bind.Unmarshaller;
 import javax.xml.bind.ValidationEventHandler;
+import javax.xml.namespace.QName;
 import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
 
 import org.ovirt.engine.api.model.Api;
+import org.ovirt.engine.api.model.BaseResource;
 import org.ovirt.engine.api.model.ObjectFactory;
+import org.ovirt.engine.api.restapi.invocation.CollectionStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -73,6 +79,11 @@ public class JAXBProvider implements MessageBodyReader<Object>, MessageBodyWrite
      */
     private XMLInputFactory parserFactory;
 
+    /**
+     * The factory used to create the XML writers used to write streamed collections.
+     */
+    private XMLOutputFactory writerFactory;
+
     /**
      * The JAXB jaxbContext used to convert XML documents into the corresponding model objects.
      */
@@ -100,6 +111,8 @@ public class JAXBProvider implements MessageBodyReader<Object>, MessageBodyWrite
         parserFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
         parserFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
 
+        writerFactory = XMLOutputFactory.newFactory();
+
         // Create a JAXB context for the tyeps package:
         try {
             jaxbContext = JAXBContext.newInstance(typesPackage.getName());
@@ -186,6 +199,30 @@ public class JAXBProvider implements MessageBodyReader<Object>, MessageBodyWrite
     public void writeTo(Object object, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
             MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream)
             throws IOException, WebApplicationException {
+        JAXBElement<Object> element = createElement(object, type);
+
+        // The entities of streamed collections are written one by one, as they are fetched:
+        CollectionStream<?> stream = CollectionStream.of(object);
+        if (stream != null) {
+            writeStream(stream, element.getName(), entityStream);
+            return;
+        }
+
+        // Marshal the element:
+        try {
+            Marshaller marshaller = jaxbContext.createMarshaller();
+            marshaller.setProperty(Marshaller.JAXB_ENCODING, "UTF-8");
+            marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
+            marshaller.marshal(element, entityStream);
+        } catch(JAXBException exception) {
+            throw new IOException("Can't marshall JAXB element of type \"" + type.getName() + "\".", exception);
+        }
+    }
+
+    /**
+     * Creates the JAXB element that wraps the given object, with the tag of its type.
+     */
+    private JAXBElement<Object> createElement(Object object, Class<?> type) throws IOException {
         // Find the factory method used to create the JAXB element with the right tag:
         Method factoryMethod = factoryMethods.get(type);
         if (factoryMethod == null) {
@@ -193,21 +230,45 @@ public class JAXBProvider implements MessageBodyReader<Object>, MessageBodyWrite
         }
 
         // Invoke the method to create the JAXB element:
-        JAXBElement<Object> element;
         try {
-            element = (JAXBElement<Object>) factoryMethod.invoke(objectFactory, object);
+            return (JAXBElement<Object>) factoryMethod.invoke(objectFactory, object);
         } catch(IllegalAccessException|InvocationTargetException exception) {
             throw new IOException("Error invoking factory method for type \"" +  type.getName() + "\".", exception);
         }
+    }
 
-        // Marshal the element:
+    /**
+     * Writes the entities of a streamed collection inside the element with the given name. Each page of entities is
+     * marshalled and flushed to the output stream before the next page is fetched, so only one page of entities is
+     * kept in memory.
+     */
+    private void writeStream(CollectionStream<?> stream, QName name, OutputStream entityStream) throws IOException {
+        XMLStreamWriter writer = null;
         try {
             Marshaller marshaller = jaxbContext.createMarshaller();
-            marshaller.setProperty(Marshaller.JAXB_ENCODING, "UTF-8");
-            marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
-            marshaller.marshal(element, entityStream);
-        } catch(JAXBException exception) {
-            throw new IOException("Can't marshall JAXB element of type \"" + type.getName() + "\".", exception);
+            marshaller.setProperty(Marshaller.JAXB_FRAGMENT, Boolean.TRUE);
+            writer = writerFactory.createXMLStreamWriter(entityStream, "UTF-8");
+            writer.writeStartDocument("UTF-8", "1.0");
+            writer.writeStartElement(name.getPrefix(), name.getLocalPart(), name.getNamespaceURI());
+            for (List<? extends BaseResource> page = stream.nextPage(); !page.isEmpty(); page = stream.nextPage()) {
+                for (BaseResource entity : page) {
+                    marshaller.marshal(createElement(entity, entity.getClass()), writer);
+                }
+                writer.flush();
+            }
+            writer.writeEndElement();
+            writer.writeEndDocument();
+            writer.flush();
+        } catch(JAXBException|XMLStreamException exception) {
+            throw new IOException("Can't write streamed collection \"" + name.getLocalPart() + "\".", exception);
+        } finally {
+            if (writer != null) {
+                try {
+                    writer.close();
+                } catch (XMLStreamException exception) {
+                    log.warn("Can't close XML stream writer.", exception);
+                }
+            }
         }
     }
 }
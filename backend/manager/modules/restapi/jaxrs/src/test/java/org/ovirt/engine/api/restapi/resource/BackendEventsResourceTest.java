@@ -1,6 +1,7 @@
 package org.ovirt.engine.api.restapi.resource;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -8,6 +9,7 @@ import static org.mockito.Mockito.when;
 import java.util.Date;
 import java.util.List;
 
+import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
 
@@ -16,7 +18,10 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.ovirt.engine.api.model.Action;
 import org.ovirt.engine.api.model.Event;
+import org.ovirt.engine.api.model.Events;
 import org.ovirt.engine.api.model.LogSeverity;
+import org.ovirt.engine.api.restapi.invocation.CollectionStream;
+import org.ovirt.engine.api.restapi.invocation.CurrentManager;
 import org.ovirt.engine.core.common.AuditLogSeverity;
 import org.ovirt.engine.core.common.AuditLogType;
 import org.ovirt.engine.core.common.action.ActionParametersBase;
@@ -103,6 +108,34 @@ public class BackendEventsResourceTest extends AbstractBackendCollectionResource
         verifyCollection(getCollection());
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testListStreamed() throws Exception {
+        UriInfo uriInfo = setUpUriExpectations(null);
+
+        setUpQueryExpectations("");
+        collection.setUriInfo(uriInfo);
+        CurrentManager.get().getParameters().put(AbstractBackendCollectionResource.STREAM_PARAMETER, "true");
+        Events events = collection.list();
+
+        assertTrue(events.getEvents().isEmpty());
+        CollectionStream<?> stream = CollectionStream.of(events);
+        assertNotNull(stream);
+        assertEquals("event", stream.getElementName());
+        verifyCollection((List<Event>) stream.nextPage());
+        assertTrue(stream.nextPage().isEmpty());
+    }
+
+    @Test
+    public void testListStreamedFailure() throws Exception {
+        UriInfo uriInfo = setUpUriExpectations(null);
+
+        setUpQueryExpectations("", FAILURE);
+        collection.setUriInfo(uriInfo);
+        CurrentManager.get().getParameters().put(AbstractBackendCollectionResource.STREAM_PARAMETER, "true");
+        verifyFault(assertThrows(WebApplicationException.class, collection::list));
+    }
+
     @Test
     public void testUndelete() {
 
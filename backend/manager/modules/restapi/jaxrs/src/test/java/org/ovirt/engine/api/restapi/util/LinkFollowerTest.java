@@ -3,8 +3,13 @@ package org.ovirt.engine.api.restapi.util;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -18,6 +23,7 @@ import org.ovirt.engine.api.model.Link;
 import org.ovirt.engine.api.model.Nic;
 import org.ovirt.engine.api.model.Nics;
 import org.ovirt.engine.api.model.Vm;
+import org.ovirt.engine.api.model.Vms;
 import org.ovirt.engine.api.restapi.resource.BackendVmNicsResource;
 import org.ovirt.engine.api.restapi.resource.ResourceLocator;
 import org.ovirt.engine.api.restapi.resource.utils.LinkFollower;
@@ -26,7 +32,11 @@ import org.ovirt.engine.api.restapi.resource.utils.LinksTreeNode;
 @ExtendWith(MockitoExtension.class)
 public class LinkFollowerTest {
 
+    private static final String VM_ID = "63978315-2d17-4e67-b393-2ea60a8aeacb";
+    private static final String OTHER_VM_ID = "8bd0f0a4-5f35-4c3e-a6bb-08b0e0b8e4a2";
+
     private LinkFollower linkFollower;
+    private List<String> fetched = new ArrayList<>();
 
     @Mock
     private ResourceLocator resourceLocator;
@@ -38,6 +48,7 @@ public class LinkFollowerTest {
         linkFollower = new LinkFollower(resourceLocator) {
             //override fetch() since it requires a real environment and would crash tests.
             protected ActionableResource fetch(String href) {
+                fetched.add(href);
                 if (href.equals("/ovirt-engine/api/vms/63978315-2d17-4e67-b393-2ea60a8aeacb/nics")){
                     return createNics();
                 } else if (href.equals("/ovirt-engine/api/vms/63978315-2d17-4e67-b393-2ea60a8aeacb/diskattachments")) {
@@ -75,6 +86,31 @@ public class LinkFollowerTest {
         assertNotNull(vm.getDiskAttachments().getDiskAttachments().get(2).getDisk());
     }
 
+    @Test
+    public void testFollowLinksWithBatchResolver() {
+        Nics nics = createNics();
+        linkFollower.addBatchResolver(Vm.class, "nics", vms -> {
+            assertEquals(2, vms.size());
+            return Collections.singletonMap(OTHER_VM_ID, nics);
+        });
+        LinksTreeNode linksTree = linkFollower.createLinksTree(Vms.class, "nics");
+        Vm vm = createVm();
+        vm.setId(VM_ID);
+        Vm otherVm = createVm();
+        otherVm.setId(OTHER_VM_ID);
+        Vms vms = new Vms();
+        vms.getVms().add(vm);
+        vms.getVms().add(otherVm);
+
+        linkFollower.followLinks(vms, linksTree);
+
+        assertSame(nics, otherVm.getNics());
+        //the resolver didn't return the nics of the first vm, so they are fetched separately
+        assertNotNull(vm.getNics());
+        assertEquals(2, vm.getNics().getNics().size());
+        assertEquals(Collections.singletonList("/ovirt-engine/api/vms/" + VM_ID + "/nics"), fetched);
+    }
+
     private Vm createVm() {
         Vm vm = new Vm();
         //add an irrelevant link
@@ -5,8 +5,14 @@
 
 package org.ovirt.engine.api.restapi.types;
 
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -54,7 +60,9 @@ public class MappingLocator {
      * Discover mappers and populate internal registry. The classloading
      * environment is scanned for classes contained under the
      * org.ovirt.engine.api.restapi.types package and exposing methods decorated
-     * with the @Mapping annotation.
+     * with the @Mapping annotation. Static mapping methods are called directly
+     * by mappers generated at discovery time, other methods are called by
+     * reflection.
      */
     public void populate() {
         String packageName = discoverPackageName != null? discoverPackageName: this.getClass().getPackage().getName();
@@ -67,7 +75,7 @@ public class MappingLocator {
                     Mapping mapping = method.getAnnotation(Mapping.class);
                     if (mapping != null) {
                         mappers.put(new ClassPairKey(mapping.from(), mapping.to()),
-                            new MethodInvokerMapper(method, mapping.to()));
+                            createMapper(method, mapping.to()));
                     }
                 }
             } catch (ClassNotFoundException exception) {
@@ -80,6 +88,35 @@ public class MappingLocator {
         }
     }
 
+    /**
+     * Creates a mapper calling the provided static mapping method directly, through a
+     * {@link Mapper} implementation generated by the {@link LambdaMetafactory}, as a
+     * method reference to the mapping method would. If the mapper can't be generated,
+     * or the method isn't static, the mapper calls the method by reflection.
+     */
+    private Mapper<?, ?> createMapper(Method method, Class<?> to) {
+        if (Modifier.isStatic(method.getModifiers())) {
+            try {
+                MethodHandles.Lookup lookup =
+                        MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup());
+                MethodHandle handle = lookup.unreflect(method);
+                CallSite site = LambdaMetafactory.metafactory(
+                        lookup,
+                        "map",
+                        MethodType.methodType(Mapper.class),
+                        MethodType.methodType(Object.class, Object.class, Object.class),
+                        handle,
+                        handle.type().wrap());
+                @SuppressWarnings("unchecked")
+                Mapper<Object, Object> mapper = (Mapper<Object, Object>) site.getTarget().invoke();
+                return new GeneratedMapper(mapper, method, to);
+            } catch (Throwable t) {
+                log.debug("Can't generate mapper for \"{}\", using reflection instead.", method, t);
+            }
+        }
+        return new MethodInvokerMapper(method, to);
+    }
+
     /**
      * Get an appropriate mapper mediating between the required types.
      *
@@ -131,6 +168,35 @@ public class MappingLocator {
         }
     }
 
+    private static class GeneratedMapper implements Mapper<Object, Object> {
+        private Mapper<Object, Object> mapper;
+        private Method method;
+        private Class<?> to;
+
+        private GeneratedMapper(Mapper<Object, Object> mapper, Method method, Class<?> to) {
+            this.mapper = mapper;
+            this.method = method;
+            this.to = to;
+        }
+
+        @Override
+        public Object map(Object from, Object template) {
+            Object result;
+            try {
+                result = mapper.map(from, template);
+            } catch (MalformedIdException | WebApplicationException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                throw new MappingException(e);
+            }
+            return to.cast(result);
+        }
+
+        public String toString() {
+            return "map to: " + to + " via generated call to " + method;
+        }
+    }
+
     private static class MethodInvokerMapper implements Mapper<Object, Object> {
         private Method method;
         private Class<?> to;
@@ -1,10 +1,13 @@
 package org.ovirt.engine.api.restapi.test.mapping;
 
+import java.util.UUID;
+
 import org.ovirt.engine.api.restapi.test.mappers.api.IBar;
 import org.ovirt.engine.api.restapi.test.mappers.api.IFoo;
 import org.ovirt.engine.api.restapi.test.mappers.impl.BarImpl;
 import org.ovirt.engine.api.restapi.test.mappers.impl.FooImpl;
 import org.ovirt.engine.api.restapi.types.Mapping;
+import org.ovirt.engine.api.restapi.utils.MalformedIdException;
 
 public class StaticMapper {
 
@@ -36,4 +39,15 @@ public class StaticMapper {
         return foo;
     }
 
+    @Mapping(from = String.class, to = FooImpl.class)
+    public static FooImpl mapIdToFoo(String id, FooImpl template) {
+        FooImpl foo = template != null ? template : new FooImpl();
+        try {
+            foo.set(UUID.fromString(id).toString());
+        } catch (IllegalArgumentException e) {
+            throw new MalformedIdException(e);
+        }
+        return foo;
+    }
+
 }
@@ -3,6 +3,7 @@ package org.ovirt.engine.api.restapi.types;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,6 +11,8 @@ import org.ovirt.engine.api.restapi.test.mappers.api.IBar;
 import org.ovirt.engine.api.restapi.test.mappers.api.IFoo;
 import org.ovirt.engine.api.restapi.test.mappers.impl.BarImpl;
 import org.ovirt.engine.api.restapi.test.mappers.impl.FooImpl;
+import org.ovirt.engine.api.restapi.utils.MalformedIdException;
+import org.ovirt.engine.api.restapi.utils.MappingException;
 
 public class MappingLocatorTest {
 
@@ -72,6 +75,22 @@ public class MappingLocatorTest {
         assertEquals("keep", foo.other());
     }
 
+    @Test
+    public void testMalformedIdIsNotWrapped() {
+        Mapper<String, FooImpl> mapper = mappingLocator.getMapper(String.class, FooImpl.class);
+        assertNotNull(mapper);
+        assertEquals("63978315-2d17-4e67-b393-2ea60a8aeacb",
+                mapper.map("63978315-2d17-4e67-b393-2ea60a8aeacb", null).get());
+        assertThrows(MalformedIdException.class, () -> mapper.map("foo", null));
+    }
+
+    @Test
+    public void testMappingFailureIsWrapped() {
+        Mapper<String, FooImpl> mapper = mappingLocator.getMapper(String.class, FooImpl.class);
+        MappingException exception = assertThrows(MappingException.class, () -> mapper.map(null, null));
+        assertEquals(NullPointerException.class, exception.getCause().getClass());
+    }
+
     @Test
     public void testSelfMapper() {
         Mapper<IFoo, IFoo> mapper = mappingLocator.getMapper(IFoo.class, IFoo.class);
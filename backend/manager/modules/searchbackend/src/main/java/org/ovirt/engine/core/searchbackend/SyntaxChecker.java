@@ -43,6 +43,7 @@ public class SyntaxChecker implements ISyntaxChecker {
 
     private final Regex firstDQRegexp;
     private final Regex nonSpaceRegexp;
+    private final Regex primaryKeyRegexp;
     private SqlInjectionChecker sqlInjectionChecker;
 
     public SyntaxChecker() {
@@ -59,6 +60,7 @@ public class SyntaxChecker implements ISyntaxChecker {
 
         firstDQRegexp = new Regex("^\\s*\"$");
         nonSpaceRegexp = new Regex("^\\S+$");
+        primaryKeyRegexp = new Regex("^[0-9a-zA-Z_-]+$");
 
         stateMap = new HashMap<>();
         stateMap.put(SyntaxObjectType.BEGIN, new SyntaxObjectType[] { SyntaxObjectType.SEARCH_OBJECT });
@@ -887,6 +889,19 @@ public class SyntaxChecker implements ISyntaxChecker {
                 whereBuilder.add("not deleted");
             }
 
+            String tableName = searchObjectAC.getRelatedTableName(searchObjStr, useTags);
+            String primeryKey = searchObjectAC.getPrimeryKeyName(searchObjStr);
+            // keyset paging seeks past the last result of the previous page instead of skipping the previous pages
+            if (syntax.isKeysetPaging() && syntax.getSearchAfter() != null) {
+                if (!primaryKeyRegexp.isMatch(syntax.getSearchAfter())) {
+                    throw new SqlInjectionException();
+                }
+                whereBuilder.add(StringFormat.format("%1$s.%2$s > '%3$s'",
+                        tableName,
+                        primeryKey,
+                        syntax.getSearchAfter()));
+            }
+
             // adding WHERE if required and All implicit AND
             StringBuilder wherePhrase = new StringBuilder();
             if (whereBuilder.size() > 0) {
@@ -907,16 +922,25 @@ public class SyntaxChecker implements ISyntaxChecker {
             }
             // adding the paging phrase
             String pagePhrase = getPagePhrase(syntax, pageNumber);
-            String primeryKey = searchObjectAC.getPrimeryKeyName(searchObjStr);
-            String tableName = searchObjectAC.getRelatedTableName(searchObjStr, useTags);
             boolean usingDistinct = searchObjectAC.isUsingDistinct(searchObjStr);
 
-            // adding a secondary default sort by entity name
             StringBuilder sortExpr = new StringBuilder();
-            sortExpr.append(sortByPhrase);
-            if (!sortByPhrase.contains(searchObjectAC.getDefaultSort(searchObjStr))) {
-                sortExpr.append(",");
-                sortExpr.append(searchObjectAC.getDefaultSort(searchObjStr));
+            String keysetPhrase = "";
+            if (syntax.isKeysetPaging()) {
+                // the results of keyset paging are ordered by the primary key alone, so the inner query can already
+                // limit them to a single page
+                sortExpr.append(" ORDER BY ").append(primeryKey).append(" ASC");
+                keysetPhrase = StringFormat.format(" ORDER BY %1$s.%2$s LIMIT %3$s",
+                        tableName,
+                        primeryKey,
+                        syntax.getMaxCount());
+            } else {
+                // adding a secondary default sort by entity name
+                sortExpr.append(sortByPhrase);
+                if (!sortByPhrase.contains(searchObjectAC.getDefaultSort(searchObjStr))) {
+                    sortExpr.append(",");
+                    sortExpr.append(searchObjectAC.getDefaultSort(searchObjStr));
+                }
             }
 
             // TODO: The database configuration PostgresSearchTemplate has an extra closing braces. Hence our
@@ -925,14 +949,16 @@ public class SyntaxChecker implements ISyntaxChecker {
             String inQuery = "";
             if (useTags) {
                 inQuery = StringFormat.format(
-                        "SELECT * FROM %1$s WHERE ( %2$s IN (%3$s)",
+                        "SELECT * FROM %1$s WHERE ( %2$s IN (%3$s%4$s)",
                                 searchObjectAC.getRelatedTableName(searchObjStr, false),
                                 primeryKey,
-                                getInnerQuery(tableName, primeryKey, fromStatement, wherePhrase, sortExpr, true));
+                                getInnerQuery(tableName, primeryKey, fromStatement, wherePhrase, sortExpr, true),
+                                keysetPhrase);
             } else {
-                inQuery = "(" + getInnerQuery(tableName, "*", fromStatement, wherePhrase, sortExpr, usingDistinct);
+                inQuery = "(" + getInnerQuery(tableName, "*", fromStatement, wherePhrase, sortExpr, usingDistinct)
+                        + keysetPhrase;
             }
-            if (syntax.getSearchFrom() > 0) {
+            if (syntax.getSearchFrom() > 0 && !syntax.isKeysetPaging()) {
                 inQuery = StringFormat.format("%1$s and  %2$s >  %3$s", inQuery, primeryKey, syntax.getSearchFrom());
             }
             // Prevent duplicate records when cross reference is used.
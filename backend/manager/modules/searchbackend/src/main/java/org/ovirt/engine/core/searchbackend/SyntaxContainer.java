@@ -18,6 +18,8 @@ public class SyntaxContainer implements Iterable<SyntaxObject> {
     private final int[] errorPos = new int[2];
     private int privateMaxCount;
     private long searchFrom = 0;
+    private boolean keysetPaging;
+    private String searchAfter;
     private boolean caseSensitive=true;
 
     /**
@@ -56,6 +58,22 @@ public class SyntaxContainer implements Iterable<SyntaxObject> {
         searchFrom = value;
     }
 
+    public boolean isKeysetPaging() {
+        return keysetPaging;
+    }
+
+    public void setKeysetPaging(boolean value) {
+        keysetPaging = value;
+    }
+
+    public String getSearchAfter() {
+        return searchAfter;
+    }
+
+    public void setSearchAfter(String value) {
+        searchAfter = value;
+    }
+
     public boolean getvalid() {
         return valid;
     }
@@ -2,6 +2,7 @@ package org.ovirt.engine.core.searchbackend;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
@@ -15,6 +16,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.ovirt.engine.core.common.businessentities.Tags;
 import org.ovirt.engine.core.common.config.ConfigValues;
+import org.ovirt.engine.core.common.errors.SqlInjectionException;
 import org.ovirt.engine.core.common.interfaces.ITagsHandler;
 import org.ovirt.engine.core.utils.MockConfigDescriptor;
 import org.ovirt.engine.core.utils.MockConfigExtension;
@@ -528,6 +530,35 @@ public class SyntaxCheckerTest {
                 "SELECT * FROM (SELECT * FROM vms WHERE ( vm_guid IN (SELECT distinct vms_with_tags.vm_guid FROM  vms_with_tags   LEFT OUTER JOIN storage_domains_with_hosts_view ON vms_with_tags.storage_id=storage_domains_with_hosts_view.id    WHERE (  vms_with_tags.status = '1'  AND  (  storage_domains_with_hosts_view.storage_comment LIKE '%iscsi%' OR  storage_domains_with_hosts_view.storage_description LIKE '%iscsi%' OR  storage_domains_with_hosts_view.storage_name LIKE '%iscsi%' OR  storage_domains_with_hosts_view.storage_pool_name::text LIKE '%iscsi%' )  )))  ORDER BY vm_name ASC ) as T1 OFFSET (1 -1) LIMIT 0");
     }
 
+    @Test
+    public void testKeysetPaging() {
+        testKeysetSql("Vms:", null,
+                "SELECT * FROM ((SELECT  vms.* FROM  vms   ORDER BY vms.vm_guid LIMIT 100)  ORDER BY vm_guid ASC) as T1 OFFSET (1 -1) LIMIT 100");
+        testKeysetSql("Vms:", "b3d1f7c2-8a4e-4f3b-9c1d-2e5f6a7b8c9d",
+                "SELECT * FROM ((SELECT  vms.* FROM  vms   WHERE vms.vm_guid > 'b3d1f7c2-8a4e-4f3b-9c1d-2e5f6a7b8c9d' ORDER BY vms.vm_guid LIMIT 100)  ORDER BY vm_guid ASC) as T1 OFFSET (1 -1) LIMIT 100");
+        testKeysetSql("Vms: storage.name = 111", "b3d1f7c2-8a4e-4f3b-9c1d-2e5f6a7b8c9d",
+                "SELECT * FROM (SELECT * FROM vms WHERE ( vm_guid IN (SELECT distinct vms_with_tags.vm_guid FROM  vms_with_tags   LEFT OUTER JOIN storage_domains_with_hosts_view ON vms_with_tags.storage_id=storage_domains_with_hosts_view.id    WHERE  storage_domains_with_hosts_view.storage_name LIKE 111  AND vms_with_tags.vm_guid > 'b3d1f7c2-8a4e-4f3b-9c1d-2e5f6a7b8c9d' ORDER BY vms_with_tags.vm_guid LIMIT 100))  ORDER BY vm_guid ASC) as T1 OFFSET (1 -1) LIMIT 100");
+        testKeysetSql("Events: ", "42",
+                "SELECT * FROM ((SELECT  audit_log.* FROM  audit_log   WHERE not deleted AND audit_log.audit_log_id > '42' ORDER BY audit_log.audit_log_id LIMIT 100)  ORDER BY audit_log_id ASC) as T1 OFFSET (1 -1) LIMIT 100");
+    }
+
+    @Test
+    public void testKeysetPagingRejectsInvalidKey() {
+        assertThrows(SqlInjectionException.class, () -> testKeysetSql("Vms:", "1' OR '1'='1", ""));
+    }
+
+    private void testKeysetSql(String dynamicQuery, String searchAfter, String exepctedSQLResult) {
+        SyntaxChecker chkr = new SyntaxChecker();
+        ISyntaxChecker curSyntaxChecker = SyntaxCheckerFactory.createBackendSyntaxChecker("foo");
+        SyntaxContainer res = curSyntaxChecker.analyzeSyntaxState(dynamicQuery, true);
+        assertTrue(res.getvalid(), "Invalid syntax: " + dynamicQuery);
+        res.setMaxCount(100);
+        res.setKeysetPaging(true);
+        res.setSearchAfter(searchAfter);
+        String query = chkr.generateQueryFromSyntaxContainer(res, true);
+        assertEquals(exepctedSQLResult, query);
+    }
+
     private void testValidSql(String dynamicQuery, String exepctedSQLResult) {
         SyntaxChecker chkr = new SyntaxChecker();
         ISyntaxChecker curSyntaxChecker = SyntaxCheckerFactory.createBackendSyntaxChecker("foo");
@@ -0,0 +1,63 @@
+package org.ovirt.engine.core.utils;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Registers the monitors of the engine components in the platform MBean server. A monitor which fails to register
+ * doesn't fail its component, the failure is only logged.
+ */
+public class MBeanUtils {
+
+    private static final Logger log = LoggerFactory.getLogger(MBeanUtils.class);
+
+    private MBeanUtils() {
+    }
+
+    /**
+     * Registers the given monitor as {@code <name>:type=<class name of the monitor>}.
+     *
+     * @param mbean
+     *            the monitor to register
+     * @param name
+     *            the name of the monitor
+     * @param description
+     *            the description of the monitor, for logging
+     * @return the object name of the registered monitor, or {@code null} if it failed to register
+     */
+    public static ObjectName registerMBean(Object mbean, String name, String description) {
+        try {
+            ObjectName objectName = new ObjectName(name + ":type=" + mbean.getClass().getName());
+            ManagementFactory.getPlatformMBeanServer().registerMBean(mbean, objectName);
+            return objectName;
+        } catch (Exception e) {
+            log.warn("Failed to register {}: {}", description, e.getMessage());
+            log.debug("Exception", e);
+            return null;
+        }
+    }
+
+    /**
+     * Unregisters the monitor of the given object name, if there is one.
+     *
+     * @param objectName
+     *            the object name returned when the monitor was registered, may be {@code null}
+     * @param description
+     *            the description of the monitor, for logging
+     */
+    public static void unregisterMBean(ObjectName objectName, String description) {
+        if (objectName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (Exception e) {
+            log.warn("Failed to unregister {}: {}", description, e.getMessage());
+            log.debug("Exception", e);
+        }
+    }
+}
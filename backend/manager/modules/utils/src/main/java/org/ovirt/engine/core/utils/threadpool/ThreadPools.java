@@ -16,7 +16,8 @@ public @interface ThreadPools {
         CoCo,
         HostUpdatesChecker,
         EngineScheduledThreadPool,
-        EngineThreadMonitoringThreadPool}
+        EngineThreadMonitoringThreadPool,
+        HostMonitoring}
 
     ThreadPoolType value();
 }
@@ -0,0 +1,53 @@
+package org.ovirt.engine.core.utils;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.Test;
+
+public class MBeanUtilsTest {
+
+    private static final String NAME = "MBeanUtilsTest";
+    private static final String DESCRIPTION = "test monitor";
+
+    @Test
+    public void testRegisterAndUnregister() {
+        ObjectName objectName = MBeanUtils.registerMBean(new TestMonitor(), NAME, DESCRIPTION);
+        assertNotNull(objectName);
+        assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(objectName));
+        MBeanUtils.unregisterMBean(objectName, DESCRIPTION);
+        assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(objectName));
+    }
+
+    @Test
+    public void testRegisterTwiceFails() {
+        ObjectName objectName = MBeanUtils.registerMBean(new TestMonitor(), NAME, DESCRIPTION);
+        try {
+            assertNull(MBeanUtils.registerMBean(new TestMonitor(), NAME, DESCRIPTION));
+        } finally {
+            MBeanUtils.unregisterMBean(objectName, DESCRIPTION);
+        }
+    }
+
+    @Test
+    public void testUnregisterNotRegistered() {
+        MBeanUtils.unregisterMBean(null, DESCRIPTION);
+    }
+
+    public interface TestMonitorMXBean {
+        long getValue();
+    }
+
+    public static class TestMonitor implements TestMonitorMXBean {
+        @Override
+        public long getValue() {
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package org.ovirt.engine.core.vdsbroker;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.ovirt.engine.core.common.businessentities.VDS;
+import org.ovirt.engine.core.common.businessentities.VDSStatus;
+import org.ovirt.engine.core.common.config.Config;
+import org.ovirt.engine.core.common.config.ConfigValues;
+import org.ovirt.engine.core.compat.Guid;
+import org.ovirt.engine.core.dao.VdsDao;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An in-memory view of the hosts of each cluster, which lets the scheduling read the hosts without reloading all of
+ * them from the database.
+ * <p>
+ * The view does not keep a data of its own, it indexes the {@link VdsManager}s by their cluster. The cached host of
+ * each manager is reloaded on every refresh of the host and updated in between by the host monitoring, the VMs
+ * monitoring (committed memory, VM counts) and the pending resources, so the view follows all of them incrementally.
+ * When the cached host of any of the hosts of the cluster wasn't refreshed within the configured bound, the hosts are
+ * loaded from the database instead. The bound of a host whose monitoring is slowed down because it is stable is
+ * extended by the slowdown, so stable hosts aren't considered stale just because they are refreshed less often.
+ */
+@Singleton
+public class ClusterResourceView {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterResourceView.class);
+
+    /** [cluster id, [host id, host manager]] map **/
+    private final Map<Guid, Map<Guid, VdsManager>> clusters = new ConcurrentHashMap<>();
+
+    @Inject
+    private VdsDao vdsDao;
+
+    /**
+     * @return copies of the hosts of the given cluster whose status is Up, mutating them doesn't affect the view
+     */
+    public List<VDS> getUpHosts(Guid clusterId) {
+        long maxAgeMillis = TimeUnit.SECONDS.toMillis(
+                Config.<Integer> getValue(ConfigValues.SchedulingResourceViewMaxAgeInSeconds));
+        if (maxAgeMillis <= 0) {
+            return vdsDao.getAllForClusterWithStatus(clusterId, VDSStatus.Up);
+        }
+
+        long now = System.currentTimeMillis();
+        List<VDS> hosts = new ArrayList<>();
+        for (VdsManager vdsManager : clusters.getOrDefault(clusterId, Collections.emptyMap()).values()) {
+            long hostMaxAgeMillis = maxAgeMillis + vdsManager.getRefreshSlowdownMillis();
+            if (now - vdsManager.getCachedVdsRefreshTime() > hostMaxAgeMillis) {
+                log.debug("Host '{}' wasn't refreshed within {} ms, loading the hosts of cluster '{}' from the database",
+                        vdsManager.getVdsId(),
+                        hostMaxAgeMillis,
+                        clusterId);
+                return vdsDao.getAllForClusterWithStatus(clusterId, VDSStatus.Up);
+            }
+            VDS host = vdsManager.getCopyVds();
+            // the cluster may have been changed since the host was indexed
+            if (host.getStatus() == VDSStatus.Up && clusterId.equals(host.getClusterId())) {
+                hosts.add(host);
+            }
+        }
+        return hosts;
+    }
+
+    void addHost(VdsManager vdsManager) {
+        Guid clusterId = vdsManager.getClusterId();
+        if (clusterId != null) {
+            clusters.computeIfAbsent(clusterId, id -> new ConcurrentHashMap<>()).put(vdsManager.getVdsId(), vdsManager);
+        }
+    }
+
+    void removeHost(Guid hostId) {
+        clusters.values().forEach(hosts -> hosts.remove(hostId));
+    }
+
+    /**
+     * Moves the host to the index of its current cluster, should be called when the cluster of a host changes
+     */
+    void updateHost(VdsManager vdsManager) {
+        removeHost(vdsManager.getVdsId());
+        addHost(vdsManager);
+    }
+}
@@ -0,0 +1,38 @@
+package org.ovirt.engine.core.vdsbroker;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The following interface is used as interface for JMX bean
+ */
+public interface HostMonitoringCadenceMXBean {
+
+    /**
+     * The following method will return the current interval in milliseconds of the refresh of each host, by host name
+     */
+    Map<String, Long> getHostRefreshIntervalsMillis();
+
+    /**
+     * The following method will return the current interval in milliseconds of fetching the statistics of the VMs
+     * running on each host, by host name
+     */
+    Map<String, Long> getVmsRefreshIntervalsMillis();
+
+    /**
+     * The following method will return how long in milliseconds the refresh of each host is behind its interval, by
+     * host name
+     */
+    Map<String, Long> getHostRefreshLagsMillis();
+
+    /**
+     * The following method will return how long in milliseconds fetching the statistics of the VMs running on each
+     * host is behind its interval, by host name
+     */
+    Map<String, Long> getVmsRefreshLagsMillis();
+
+    /**
+     * The following method will return the names of the hosts which are currently monitored slower than usual
+     */
+    List<String> getSlowedDownHosts();
+}
@@ -12,6 +12,13 @@ public abstract class ManagingVmCommand<P extends VdsAndVmIDVDSParametersBase> e
 
     protected void executeVDSCommand() {
         vmManager = resourceManager.getVmManager(getParameters().getVmId());
+        VdsManager vdsManager = getParameters().getVdsId() != null
+                ? resourceManager.getVdsManager(getParameters().getVdsId())
+                : null;
+        if (vdsManager != null) {
+            // an action on a VM is likely to change the host, so monitor it in its usual rate
+            vdsManager.getMonitoringCadence().reset("action on VM " + getParameters().getVmId());
+        }
         vmManager.lockVm();
         try {
             executeVmCommand();
@@ -25,6 +25,7 @@ public class RebootVmVDSCommand<P extends VdsAndVmIDVDSParametersBase> extends M
 
         if (vdsReturnValue.getSucceeded()) {
             vmDynamicDao.updateStatus(getParameters().getVmId(), VMStatus.RebootInProgress);
+            vmManager.invalidateLastVmDynamic();
         } else if (vdsReturnValue.getExceptionObject() != null) {
             log.error("Failed to reboot VM '{}' in VDS = '{}' error = '{}'",
                     getParameters().getVmId(),
@@ -25,6 +25,7 @@ public class ResetVmVDSCommand<P extends VdsAndVmIDVDSParametersBase> extends Ma
 
         if (vdsReturnValue.getSucceeded()) {
             vmDynamicDao.updateStatus(getParameters().getVmId(), VMStatus.RebootInProgress);
+            vmManager.invalidateLastVmDynamic();
         } else if (vdsReturnValue.getExceptionObject() != null) {
             log.error("Failed to reset VM '{}' in VDS = '{}' error = '{}'",
                     getParameters().getVmId(),
@@ -1,21 +1,24 @@
 package org.ovirt.engine.core.vdsbroker;
 
-import java.lang.reflect.Constructor;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collectors;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.enterprise.concurrent.ManagedScheduledExecutorService;
 import javax.enterprise.event.Observes;
 import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import javax.management.ObjectName;
 
 import org.apache.commons.lang.StringUtils;
 import org.ovirt.engine.core.common.AuditLogType;
@@ -51,7 +54,7 @@ import org.ovirt.engine.core.dao.VdsDao;
 import org.ovirt.engine.core.dao.VmDynamicDao;
 import org.ovirt.engine.core.dao.network.VmNetworkStatisticsDao;
 import org.ovirt.engine.core.di.Injector;
-import org.ovirt.engine.core.utils.ReflectionUtils;
+import org.ovirt.engine.core.utils.MBeanUtils;
 import org.ovirt.engine.core.utils.threadpool.ThreadPools;
 import org.ovirt.engine.core.vdsbroker.monitoring.HostMonitoringWatchdog;
 import org.ovirt.engine.core.vdsbroker.vdsbroker.FutureVDSCommand;
@@ -63,7 +66,7 @@ import org.slf4j.LoggerFactory;
 
 @InvocationLogger
 @Singleton
-public class ResourceManager implements BackendService {
+public class ResourceManager implements BackendService, HostMonitoringCadenceMXBean {
 
     private final Map<Guid, Set<Guid>> vdsAndVmsList = new ConcurrentHashMap<>();
     private final Map<Guid, VdsManager> vdsManagersDict = new ConcurrentHashMap<>();
@@ -71,13 +74,12 @@ public class ResourceManager implements BackendService {
             Collections.newSetFromMap(new ConcurrentHashMap<>());
     private final ConcurrentHashMap<Guid, VmManager> vmManagers = new ConcurrentHashMap<>();
 
-    private static final String VDSCommandPrefix = "VDSCommand";
-
     private static final Logger log = LoggerFactory.getLogger(ResourceManager.class);
     private int parallelism = Config.getValue(ConfigValues.EventProcessingPoolSize);
     private int eventTimeoutInHours = Config.getValue(ConfigValues.EventPurgeTimeoutInHours);
 
     private HostMonitoringWatchdog hostMonitoringWatchdog;
+    private ObjectName objectName;
 
     @Inject
     private Instance<IVdsEventListener> eventListener;
@@ -100,6 +102,12 @@ public class ResourceManager implements BackendService {
     @Inject
     private VdsManagerFactory vdsManagerFactory;
 
+    @Inject
+    private ClusterResourceView clusterResourceView;
+
+    @Inject
+    private VdsCommandsFactory vdsCommandsFactory;
+
     @PostConstruct
     private void init() {
         log.info("Start initializing {}", getClass().getSimpleName());
@@ -112,9 +120,62 @@ public class ResourceManager implements BackendService {
         }
         hostMonitoringWatchdog = new HostMonitoringWatchdog(monitoringExecutor, hostDao, () -> vdsManagersDict);
         hostMonitoringWatchdog.start();
+        registerMBean();
         log.info("Finished initializing {}", getClass().getSimpleName());
     }
 
+    @PreDestroy
+    private void shutdown() {
+        unregisterMBean();
+    }
+
+    @Override
+    public Map<String, Long> getHostRefreshIntervalsMillis() {
+        return getHostValues(VdsManager::getRefreshIntervalMillis);
+    }
+
+    @Override
+    public Map<String, Long> getVmsRefreshIntervalsMillis() {
+        return getHostValues(VdsManager::getVmsRefreshIntervalMillis);
+    }
+
+    @Override
+    public Map<String, Long> getHostRefreshLagsMillis() {
+        return getHostValues(VdsManager::getRefreshLagMillis);
+    }
+
+    @Override
+    public Map<String, Long> getVmsRefreshLagsMillis() {
+        return getHostValues(VdsManager::getVmsRefreshLagMillis);
+    }
+
+    @Override
+    public List<String> getSlowedDownHosts() {
+        return vdsManagersDict.values().stream()
+                .filter(vdsManager -> vdsManager.getMonitoringCadence().getFactor() > 1)
+                .map(VdsManager::getVdsName)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    private Map<String, Long> getHostValues(ToLongFunction<VdsManager> value) {
+        Map<String, Long> values = new TreeMap<>();
+        vdsManagersDict.values().forEach(vdsManager ->
+                values.put(vdsManager.getVdsName(), value.applyAsLong(vdsManager)));
+        return values;
+    }
+
+    private void registerMBean() {
+        if (objectName == null) {
+            objectName = MBeanUtils.registerMBean(this, "HostMonitoringCadence", "host monitoring cadence monitor");
+        }
+    }
+
+    private void unregisterMBean() {
+        MBeanUtils.unregisterMBean(objectName, "host monitoring cadence monitor");
+        objectName = null;
+    }
+
     private void populateVdsAndVmsList() {
         final List<VmDynamic> vms = vmDynamicDao.getAll();
         vdsAndVmsList.putAll(vms.stream()
@@ -202,6 +263,7 @@ public class ResourceManager implements BackendService {
         }
 
         vdsManagersDict.put(vds.getId(), vdsManager);
+        clusterResourceView.addHost(vdsManager);
         log.info("VDS '{}' was added to the Resource Manager", vds.getId());
 
     }
@@ -219,6 +281,7 @@ public class ResourceManager implements BackendService {
         if (vdsManager != null) {
             vdsManager.dispose();
             vdsManagersDict.remove(vdsId);
+            clusterResourceView.removeHost(vdsId);
         }
     }
 
@@ -253,7 +316,7 @@ public class ResourceManager implements BackendService {
     }
 
     private void storeVm(VM vm) {
-        vmDynamicDao.update(vm.getDynamicData());
+        getVmManager(vm.getId()).update(vm.getDynamicData());
         getVmManager(vm.getId()).update(vm.getStatisticsData());
         List<VmNetworkInterface> interfaces = vm.getInterfaces();
         if (interfaces != null) {
@@ -336,12 +399,6 @@ public class ResourceManager implements BackendService {
         vm.setGuestAgentNicsHash(0);
     }
 
-    private static String getCommandTypeName(VDSCommandType command) {
-        String packageName = command.getPackageName();
-        String commandName = String.format("%s.%s%s", packageName, command, VDSCommandPrefix);
-        return commandName;
-    }
-
     /**
      * Create the command which needs to run.
      * @return The command, or null if it can't be created.
@@ -349,57 +406,15 @@ public class ResourceManager implements BackendService {
     private <P extends VDSParametersBase> VDSCommandBase<P> createCommand(
             VDSCommandType commandType,
             P parameters) {
-        try {
-            @SuppressWarnings("unchecked")
-            Class<VDSCommandBase<P>> type =
-                    (Class<VDSCommandBase<P>>) Class.forName(getCommandTypeName(commandType));
-            Constructor<VDSCommandBase<P>> constructor =
-                    ReflectionUtils.findConstructor(type, parameters.getClass());
-
-            if (constructor != null) {
-                return instantiateInjectedCommand(parameters, constructor);
-            }
-        } catch (Exception e) {
-            if (e.getCause() != null) {
-                log.error("createCommand failed: {}", e.getCause().getMessage());
-                log.error("Exception", e);
-                throw new RuntimeException(e.getCause().getMessage(), e.getCause());
-            }
-            log.error("createCommand failed: {}", e.getMessage());
-            log.debug("Exception", e);
-        }
-        return null;
-    }
-
-    private <P extends VDSParametersBase, T extends VDSCommandBase<P>> T instantiateInjectedCommand(P parameters,
-            Constructor<T> constructor) throws Exception {
-        T cmd = constructor.newInstance(new Object[] { parameters });
-        Injector.injectMembers(cmd);
-        return cmd;
+        VDSCommandBase<P> command = vdsCommandsFactory.createCommand(commandType, parameters);
+        return command != null ? Injector.injectMembers(command) : null;
     }
 
     private <P extends VdsIdVDSCommandParametersBase> FutureVDSCommand<P> createFutureCommand(
             FutureVDSCommandType commandType,
             P parameters) {
-        try {
-            Class<FutureVDSCommand<P>> type =
-                    (Class<FutureVDSCommand<P>>) Class.forName(commandType.getFullyQualifiedClassName());
-            Constructor<FutureVDSCommand<P>> constructor = ReflectionUtils.findConstructor(type, parameters.getClass());
-
-            if (constructor != null) {
-                return instantiateInjectedCommand(parameters, constructor);
-            }
-        } catch (Exception e) {
-            if (e.getCause() != null) {
-                log.error("CreateFutureCommand failed: {}", e.getCause().getMessage());
-                log.debug("Exception", e);
-                throw new RuntimeException(e.getCause().getMessage(), e.getCause());
-            }
-            log.error("CreateFutureCommand failed: {}", e.getMessage());
-            log.debug("Exception", e);
-        }
-        return null;
-
+        FutureVDSCommand<P> command = vdsCommandsFactory.createFutureCommand(commandType, parameters);
+        return command != null ? Injector.injectMembers(command) : null;
     }
 
     public <P extends VDSParametersBase> VDSReturnValue runVdsCommand(VDSCommandType commandType, P parameters) {
@@ -407,7 +422,12 @@ public class ResourceManager implements BackendService {
         VDSCommandBase<P> command = createCommand(commandType, parameters);
 
         if (command != null) {
-            return commandExecutor.get().execute(command, commandType);
+            long start = System.nanoTime();
+            try {
+                return commandExecutor.get().execute(command, commandType);
+            } finally {
+                vdsCommandsFactory.recordExecution(commandType, System.nanoTime() - start);
+            }
         }
 
         return null;
@@ -419,7 +439,12 @@ public class ResourceManager implements BackendService {
 
         if (command != null) {
             command.setAsync(true);
-            commandExecutor.get().execute(command, commandType);
+            long start = System.nanoTime();
+            try {
+                commandExecutor.get().execute(command, commandType);
+            } finally {
+                vdsCommandsFactory.recordExecution(commandType, System.nanoTime() - start);
+            }
 
             VDSReturnValue value = command.getVDSReturnValue();
             if (!VDSAsyncReturnValue.class.isInstance(value)) {
@@ -461,6 +486,17 @@ public class ResourceManager implements BackendService {
         }
     }
 
+    /**
+     * Notifies the manager of the given VM, if there is one, that the dynamic data of the VM was changed in the
+     * database without going through the manager.
+     */
+    public void invalidateVmDynamic(Guid vmId) {
+        VmManager vmManager = getVmManager(vmId, false);
+        if (vmManager != null) {
+            vmManager.invalidateLastVmDynamic();
+        }
+    }
+
     public void onVmDelete(@Observes @VmDeleted Guid vmId) {
         vmManagers.remove(vmId);
     }
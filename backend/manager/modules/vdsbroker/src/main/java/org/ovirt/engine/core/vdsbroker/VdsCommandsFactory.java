@@ -0,0 +1,252 @@
+package org.ovirt.engine.core.vdsbroker;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Singleton;
+import javax.management.ObjectName;
+
+import org.ovirt.engine.core.common.vdscommands.FutureVDSCommandType;
+import org.ovirt.engine.core.common.vdscommands.VDSCommandType;
+import org.ovirt.engine.core.common.vdscommands.VDSParametersBase;
+import org.ovirt.engine.core.utils.MBeanUtils;
+import org.ovirt.engine.core.utils.ReflectionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Creates the VDS commands without looking up their classes and constructors on each execution, and keeps the
+ * execution statistics of each VDS command type.
+ * <p>
+ * The classes of all the command types are resolved once, when the factory is initialized, which also reports the
+ * command types without a class. The constructor is matched to the class of the parameters, as before, so it is
+ * resolved on the first creation of a command with each class of parameters and kept as a method handle.
+ */
+@Singleton
+public class VdsCommandsFactory implements VdsCommandsMonitorMXBean {
+
+    private static final Logger log = LoggerFactory.getLogger(VdsCommandsFactory.class);
+
+    private static final String VDS_COMMAND_SUFFIX = "VDSCommand";
+
+    /** The upper bounds of the latency histogram buckets **/
+    private static final long[] LATENCY_BUCKETS_MILLIS = { 10, 50, 100, 500, 1000, 5000, 30000 };
+
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private final Map<VDSCommandType, Class<?>> commandClasses = new EnumMap<>(VDSCommandType.class);
+    private final Map<FutureVDSCommandType, Class<?>> futureCommandClasses = new EnumMap<>(FutureVDSCommandType.class);
+
+    /** [command class, [parameters class, constructor]] map **/
+    private final Map<Class<?>, Map<Class<?>, MethodHandle>> constructors = new ConcurrentHashMap<>();
+
+    private final Map<VDSCommandType, CommandStatistics> statistics = new EnumMap<>(VDSCommandType.class);
+
+    private final List<String> missingCommandClasses = new ArrayList<>();
+
+    private ObjectName objectName;
+
+    public VdsCommandsFactory() {
+        for (VDSCommandType commandType : VDSCommandType.values()) {
+            statistics.put(commandType, new CommandStatistics());
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        for (VDSCommandType commandType : VDSCommandType.values()) {
+            resolveClass(getCommandTypeName(commandType)).ifPresent(type -> commandClasses.put(commandType, type));
+        }
+        for (FutureVDSCommandType commandType : FutureVDSCommandType.values()) {
+            resolveClass(commandType.getFullyQualifiedClassName())
+                    .ifPresent(type -> futureCommandClasses.put(commandType, type));
+        }
+        if (!missingCommandClasses.isEmpty()) {
+            log.error("The following VDS command classes were not found: {}", missingCommandClasses);
+        }
+        registerMBean();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        unregisterMBean();
+    }
+
+    /**
+     * Creates the command of the given type.
+     * @return The command, or null if it can't be created.
+     */
+    public <P extends VDSParametersBase, T> T createCommand(VDSCommandType commandType, P parameters) {
+        return createCommand(commandType, commandClasses, parameters);
+    }
+
+    /**
+     * Creates the future command of the given type.
+     * @return The command, or null if it can't be created.
+     */
+    public <P extends VDSParametersBase, T> T createFutureCommand(FutureVDSCommandType commandType, P parameters) {
+        return createCommand(commandType, futureCommandClasses, parameters);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <E extends Enum<E>, P extends VDSParametersBase, T> T createCommand(E commandType,
+            Map<E, Class<?>> classes,
+            P parameters) {
+        Class<?> type = classes.get(commandType);
+        if (type == null) {
+            log.error("createCommand failed: no command class for '{}'", commandType);
+            return null;
+        }
+        MethodHandle constructor = constructors.computeIfAbsent(type, t -> new ConcurrentHashMap<>())
+                .computeIfAbsent(parameters.getClass(), parametersType -> findConstructor(type, parametersType));
+        if (constructor == null) {
+            log.error("createCommand failed: no constructor of '{}' accepts '{}'",
+                    type.getName(),
+                    parameters.getClass().getName());
+            return null;
+        }
+        try {
+            return (T) (Object) constructor.invokeExact((Object) parameters);
+        } catch (Throwable t) {
+            log.error("createCommand failed: {}", t.getMessage());
+            log.error("Exception", t);
+            throw new RuntimeException(t.getMessage(), t);
+        }
+    }
+
+    /**
+     * Records a single execution of a command of the given type.
+     */
+    public void recordExecution(VDSCommandType commandType, long durationNanos) {
+        statistics.get(commandType).record(TimeUnit.NANOSECONDS.toMillis(durationNanos));
+    }
+
+    static String getCommandTypeName(VDSCommandType commandType) {
+        return String.format("%s.%s%s", commandType.getPackageName(), commandType, VDS_COMMAND_SUFFIX);
+    }
+
+    /**
+     * @return the classes of the command types which were not found when the factory was initialized
+     */
+    List<String> getMissingCommandClasses() {
+        return missingCommandClasses;
+    }
+
+    private Optional<Class<?>> resolveClass(String className) {
+        try {
+            return Optional.of(Class.forName(className));
+        } catch (ClassNotFoundException e) {
+            missingCommandClasses.add(className);
+            return Optional.empty();
+        }
+    }
+
+    private static MethodHandle findConstructor(Class<?> type, Class<?> parametersType) {
+        Constructor<?> constructor = ReflectionUtils.findConstructor(type, parametersType);
+        if (constructor == null) {
+            return null;
+        }
+        try {
+            return MethodHandles.lookup().unreflectConstructor(constructor).asType(CONSTRUCTOR_TYPE);
+        } catch (IllegalAccessException e) {
+            log.error("Failed to access the constructor of '{}': {}", type.getName(), e.getMessage());
+            log.debug("Exception", e);
+            return null;
+        }
+    }
+
+    @Override
+    public Map<String, Long> getInvocations() {
+        return getStatistics(commandStatistics -> commandStatistics.invocations.sum());
+    }
+
+    @Override
+    public Map<String, Long> getTotalTimeMillis() {
+        return getStatistics(commandStatistics -> commandStatistics.totalTimeMillis.sum());
+    }
+
+    @Override
+    public long[] getLatencyBucketsMillis() {
+        return LATENCY_BUCKETS_MILLIS.clone();
+    }
+
+    @Override
+    public Map<String, long[]> getLatencyHistograms() {
+        return getStatistics(commandStatistics -> Arrays.stream(commandStatistics.histogram)
+                .mapToLong(LongAdder::sum)
+                .toArray());
+    }
+
+    @Override
+    public void resetStatistics() {
+        statistics.values().forEach(CommandStatistics::reset);
+    }
+
+    /**
+     * @return the statistics of the command types which were executed since the last reset
+     */
+    private <T> Map<String, T> getStatistics(Function<CommandStatistics, T> value) {
+        Map<String, T> result = new LinkedHashMap<>();
+        statistics.forEach((commandType, commandStatistics) -> {
+            if (commandStatistics.invocations.sum() > 0) {
+                result.put(commandType.name(), value.apply(commandStatistics));
+            }
+        });
+        return Collections.unmodifiableMap(result);
+    }
+
+    private void registerMBean() {
+        if (objectName == null) {
+            objectName = MBeanUtils.registerMBean(this, "VdsCommandsFactory", "VDS commands monitor");
+        }
+    }
+
+    private void unregisterMBean() {
+        MBeanUtils.unregisterMBean(objectName, "VDS commands monitor");
+        objectName = null;
+    }
+
+    private static class CommandStatistics {
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder totalTimeMillis = new LongAdder();
+        private final LongAdder[] histogram = new LongAdder[LATENCY_BUCKETS_MILLIS.length + 1];
+
+        private CommandStatistics() {
+            for (int i = 0; i < histogram.length; i++) {
+                histogram[i] = new LongAdder();
+            }
+        }
+
+        private void record(long millis) {
+            invocations.increment();
+            totalTimeMillis.add(millis);
+            int bucket = 0;
+            while (bucket < LATENCY_BUCKETS_MILLIS.length && millis > LATENCY_BUCKETS_MILLIS[bucket]) {
+                bucket++;
+            }
+            histogram[bucket].increment();
+        }
+
+        private void reset() {
+            invocations.reset();
+            totalTimeMillis.reset();
+            Arrays.stream(histogram).forEach(LongAdder::reset);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package org.ovirt.engine.core.vdsbroker;
+
+import java.util.Map;
+
+/**
+ * The following interface is used as interface for JMX bean
+ */
+public interface VdsCommandsMonitorMXBean {
+
+    /**
+     * The following method will return the number of executions of each VDS command type
+     */
+    Map<String, Long> getInvocations();
+
+    /**
+     * The following method will return the total execution time in milliseconds of each VDS command type
+     */
+    Map<String, Long> getTotalTimeMillis();
+
+    /**
+     * The following method will return the upper bounds in milliseconds of the latency histogram buckets, the last
+     * bucket of each histogram counts the executions which took longer than all of them
+     */
+    long[] getLatencyBucketsMillis();
+
+    /**
+     * The following method will return the latency histogram of each VDS command type
+     */
+    Map<String, long[]> getLatencyHistograms();
+
+    /**
+     * The following method will reset the statistics of all the VDS command types
+     */
+    void resetStatistics();
+}
@@ -6,8 +6,10 @@ import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -77,6 +79,8 @@ import org.ovirt.engine.core.vdsbroker.kubevirt.PrometheusUrlResolver;
 import org.ovirt.engine.core.vdsbroker.monitoring.HostConnectionRefresherInterface;
 import org.ovirt.engine.core.vdsbroker.monitoring.HostMonitoring;
 import org.ovirt.engine.core.vdsbroker.monitoring.HostMonitoringInterface;
+import org.ovirt.engine.core.vdsbroker.monitoring.HostMonitoringJob;
+import org.ovirt.engine.core.vdsbroker.monitoring.MonitoringCadence;
 import org.ovirt.engine.core.vdsbroker.monitoring.MonitoringStrategy;
 import org.ovirt.engine.core.vdsbroker.monitoring.MonitoringStrategyFactory;
 import org.ovirt.engine.core.vdsbroker.monitoring.RefresherFactory;
@@ -112,6 +116,10 @@ public class VdsManager {
     @ThreadPools(ThreadPools.ThreadPoolType.EngineScheduledThreadPool)
     private ManagedScheduledExecutorService executor;
 
+    @Inject
+    @ThreadPools(ThreadPools.ThreadPoolType.HostMonitoring)
+    private Executor monitoringExecutor;
+
     @Inject
     private VdsDao vdsDao;
 
@@ -154,10 +162,14 @@ public class VdsManager {
     @Inject
     private PrometheusUrlResolver prometheusUrlResolver;
 
+    @Inject
+    private ClusterResourceView clusterResourceView;
+
     private final AtomicInteger unrespondedAttempts;
     private final Guid vdsId;
     private final VdsMonitor vdsMonitor = new VdsMonitor();
     private VDS cachedVds;
+    private volatile long cachedVdsRefreshTime;
     private long lastUpdate;
     private long updateStartTime;
     private long nextMaintenanceAttemptTime;
@@ -180,6 +192,9 @@ public class VdsManager {
     private final ReentrantLock autoStartVmsWithLeasesLock;
     protected final int NUMBER_HOST_REFRESHES_BEFORE_SAVE;
     private HostConnectionRefresherInterface hostRefresher;
+    private final MonitoringCadence monitoringCadence;
+    private MonitoringCadence.Ticker hostRefreshTicker;
+    private HostMonitoringJob hostRefreshJob;
     private volatile boolean inServerRebootTimeout;
     private List<VdsCpuUnit> cpuTopology;
     private int maxRunningVmsSharedCoresCount;
@@ -191,11 +206,14 @@ public class VdsManager {
         refreshIteration = new AtomicInteger(NUMBER_HOST_REFRESHES_BEFORE_SAVE - 1);
         log.info("Entered VdsManager constructor");
         cachedVds = vds;
+        cachedVdsRefreshTime = System.currentTimeMillis();
         vmsSharedCpusCount = cachedVds.getVmsCoresCount();
         vdsId = vds.getId();
         unrespondedAttempts = new AtomicInteger();
         autoStartVmsWithLeasesLock = new ReentrantLock();
         cpuTopology = new ArrayList<>();
+        monitoringCadence = new MonitoringCadence(vdsId,
+                Config.<Long> getValue(ConfigValues.VdsRefreshRate) * 1000);
     }
 
     @PostConstruct
@@ -235,8 +253,13 @@ public class VdsManager {
     public void scheduleJobs() {
         long refreshRate = Config.<Long> getValue(ConfigValues.VdsRefreshRate) * 1000;
 
-        registeredJobs.add(executor.scheduleWithFixedDelay(
+        hostRefreshTicker = monitoringCadence.createTicker(refreshRate);
+        hostRefreshJob = new HostMonitoringJob("refresh of host " + getVdsId(),
                 this::refresh,
+                monitoringExecutor,
+                hostRefreshTicker::getIntervalMillis);
+        registeredJobs.add(executor.scheduleWithFixedDelay(
+                this::refreshIfDue,
                 refreshRate,
                 refreshRate,
                 TimeUnit.MILLISECONDS));
@@ -277,6 +300,12 @@ public class VdsManager {
                 resourceManager.getExecutor());
     }
 
+    private void refreshIfDue() {
+        if (hostRefreshTicker.isDue()) {
+            hostRefreshJob.run();
+        }
+    }
+
     public void refresh() {
         try {
             refreshImpl();
@@ -312,12 +341,15 @@ public class VdsManager {
                         }
                     } catch (VDSNetworkException e) {
                         logNetworkException(e);
+                        monitoringCadence.reset("network error");
                         releaseLock = true;
                     } catch (VDSRecoveringException ex) {
                         handleVdsRecoveringException(ex);
+                        monitoringCadence.reset("host recovering");
                         releaseLock = true;
                     } catch (RuntimeException ex) {
                         logFailureMessage(ex);
+                        monitoringCadence.reset("refresh failed");
                         releaseLock = true;
                     }
                 }
@@ -354,6 +386,7 @@ public class VdsManager {
         final String hostName = cachedVds != null ? cachedVds.getHostName() : "n/a";
         if (!succeeded) {
             log.debug("[{}] Host monitoring refresh not succeeded. Releasing monitoring lock", hostName);
+            monitoringCadence.reset("refresh not succeeded");
             lockManager.releaseLock(monitoringLock);
             return;
         }
@@ -379,6 +412,9 @@ public class VdsManager {
 
                     hostMonitoring = null;
 
+                    if (cachedVds != null) {
+                        monitoringCadence.onRefresh(cachedVds, lastVmsList);
+                    }
 
                     log.debug("[{}] Host monitoring completed", hostName);
                 } catch (IRSErrorException ex) {
@@ -417,7 +453,19 @@ public class VdsManager {
     }
 
     private void refreshCachedVds() {
+        Guid previousClusterId = cachedVds != null ? cachedVds.getClusterId() : null;
         cachedVds = vdsDao.get(getVdsId());
+        cachedVdsRefreshTime = System.currentTimeMillis();
+        if (cachedVds != null && !Objects.equals(previousClusterId, cachedVds.getClusterId())) {
+            clusterResourceView.updateHost(this);
+        }
+    }
+
+    /**
+     * @return the time in milliseconds the internal VDS was last reloaded from the DB
+     */
+    public long getCachedVdsRefreshTime() {
+        return cachedVdsRefreshTime;
     }
 
     /**
@@ -632,6 +680,7 @@ public class VdsManager {
     }
 
     public void refreshHostSync(VDS vds) {
+        monitoringCadence.reset("host refreshed");
         VDSReturnValue caps = resourceManager.runVdsCommand(VDSCommandType.GetCapabilities,
                 new VdsIdAndVdsVDSCommandParametersBase(vds));
         handleRefreshCapabilitiesResponse(vds, caps);
@@ -716,6 +765,7 @@ public class VdsManager {
                 vds = vdsDao.get(getVdsId());
             }
             if (vds.getStatus() != status) {
+                monitoringCadence.reset("status changed to " + status);
                 if (status == VDSStatus.PreparingForMaintenance) {
                     calculateNextMaintenanceAttemptTime();
                 }
@@ -1122,6 +1172,7 @@ public class VdsManager {
         List<Guid> vmIds = vms.stream().map(VM::getId).collect(Collectors.toList());
         vmIds.forEach(resourceManager::removeAsyncRunningVm);
         getVmDynamicDao().updateVmsToUnknown(vmIds);
+        vmIds.forEach(resourceManager::invalidateVmDynamic);
 
         vmIds.forEach(vmId -> {
             // log VM transition to unknown status
@@ -1197,6 +1248,46 @@ public class VdsManager {
         beforeFirstRefresh = value;
     }
 
+    public MonitoringCadence getMonitoringCadence() {
+        return monitoringCadence;
+    }
+
+    /**
+     * @return the current interval of the host refresh, in milliseconds
+     */
+    public long getRefreshIntervalMillis() {
+        return hostRefreshTicker != null ? hostRefreshTicker.getIntervalMillis() : 0;
+    }
+
+    /**
+     * @return how much longer, in milliseconds, the current interval of the host refresh is than its usual interval,
+     *         0 unless the monitoring of the host is slowed down
+     */
+    public long getRefreshSlowdownMillis() {
+        return hostRefreshTicker != null ? hostRefreshTicker.getSlowdownMillis() : 0;
+    }
+
+    /**
+     * @return how long, in milliseconds, the host refresh is behind its interval
+     */
+    public long getRefreshLagMillis() {
+        return hostRefreshJob != null ? hostRefreshJob.getLagMillis() : 0;
+    }
+
+    /**
+     * @return how long, in milliseconds, fetching the statistics of the VMs running on the host is behind its interval
+     */
+    public long getVmsRefreshLagMillis() {
+        return vmsRefresher != null ? vmsRefresher.getRefreshLagMillis() : 0;
+    }
+
+    /**
+     * @return the current interval of fetching the statistics of the VMs running on the host, in milliseconds
+     */
+    public long getVmsRefreshIntervalMillis() {
+        return vmsRefresher != null ? vmsRefresher.getRefreshIntervalMillis() : 0;
+    }
+
     public Map<Guid, VMStatus> getLastVmsList() {
         return lastVmsList;
     }
@@ -33,12 +33,17 @@ import org.ovirt.engine.core.dao.VmDynamicDao;
 import org.ovirt.engine.core.dao.VmStaticDao;
 import org.ovirt.engine.core.dao.VmStatisticsDao;
 import org.ovirt.engine.core.dao.network.VmNetworkStatisticsDao;
+import org.ovirt.engine.core.utils.transaction.TransactionCompletionListener;
+import org.ovirt.engine.core.utils.transaction.TransactionSupport;
 import org.ovirt.engine.core.vdsbroker.monitoring.VdsmVm;
+import org.ovirt.engine.core.vdsbroker.monitoring.VmStatisticsPersister;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class VmManager {
 
+    private static final Logger log = LoggerFactory.getLogger(VmManager.class);
+
     private final Guid vmId;
 
     ///// Static fields ///////
@@ -88,6 +93,16 @@ public class VmManager {
 
     private Set<Guid> devicesBeingHotUnplugged;
 
+    /**
+     * The last known dynamic data of the VM, as written to the database by the engine, or {@code null} if it has to be
+     * read from the database. Guarded by {@code this}, like the fields below.
+     */
+    private VmDynamic lastVmDynamic;
+    /** Incremented whenever the dynamic data of the VM is changed */
+    private long vmDynamicVersion;
+    /** The number of transactions that changed the dynamic data of the VM and didn't complete yet */
+    private int pendingVmDynamicChanges;
+
     @Inject
     private VmDeviceDao vmDeviceDao;
     @Inject
@@ -102,6 +117,8 @@ public class VmManager {
     private ClusterDao clusterDao;
     @Inject
     private VmOverheadCalculator vmOverheadCalculator;
+    @Inject
+    private VmStatisticsPersister vmStatisticsPersister;
 
     VmManager(Guid vmId) {
         this.vmId = vmId;
@@ -186,9 +203,108 @@ public class VmManager {
     public void update(VmDynamic dynamic) {
         vmDynamicDao.update(dynamic);
         updateDynamicFields(dynamic);
+        setLastVmDynamic(dynamic);
+    }
+
+    /**
+     * Returns the last known dynamic data of the VM. The data is kept in memory as it is written by the engine, so the
+     * database is read only when the data isn't known, e.g. after the engine starts or after the data was changed in
+     * the database by other means than this manager.
+     *
+     * @return a copy of the dynamic data of the VM, or {@code null} if the VM has no dynamic data
+     */
+    public VmDynamic getLastVmDynamic() {
+        long version;
+        synchronized (this) {
+            if (lastVmDynamic != null) {
+                return new VmDynamic(lastVmDynamic);
+            }
+            version = vmDynamicVersion;
+        }
+        VmDynamic vmDynamic = vmDynamicDao.get(vmId);
+        synchronized (this) {
+            // the data is kept only if it wasn't changed while it was read
+            if (vmDynamic != null && version == vmDynamicVersion && pendingVmDynamicChanges == 0) {
+                lastVmDynamic = new VmDynamic(vmDynamic);
+            }
+        }
+        return vmDynamic;
+    }
+
+    /**
+     * Records the dynamic data of the VM that was just written to the database.
+     */
+    public void setLastVmDynamic(VmDynamic vmDynamic) {
+        // data written within a transaction isn't known to be persisted until the transaction completes
+        if (!invalidateOnTransactionCompletion()) {
+            synchronized (this) {
+                lastVmDynamic = new VmDynamic(vmDynamic);
+                vmDynamicVersion++;
+            }
+        }
+    }
+
+    /**
+     * Discards the in-memory dynamic data of the VM. This must be called after the dynamic data of the VM is changed
+     * in the database without going through this manager.
+     */
+    public void invalidateLastVmDynamic() {
+        if (!invalidateOnTransactionCompletion()) {
+            invalidateVmDynamic();
+        }
+    }
+
+    private synchronized void invalidateVmDynamic() {
+        lastVmDynamic = null;
+        vmDynamicVersion++;
+    }
+
+    /**
+     * Discards the in-memory dynamic data of the VM now and again once the current transaction completes, and keeps
+     * the data read meanwhile from being held in memory, as it may not reflect the changes of the transaction.
+     *
+     * @return {@code false} if there is no current transaction, in which case nothing is done
+     */
+    private boolean invalidateOnTransactionCompletion() {
+        try {
+            if (TransactionSupport.current() == null) {
+                return false;
+            }
+        } catch (RuntimeException e) {
+            log.debug("Unable to get the current transaction: {}", e.getMessage());
+            return false;
+        }
+        try {
+            TransactionSupport.registerRollbackHandler(new TransactionCompletionListener() {
+                @Override
+                public void onSuccess() {
+                    vmDynamicChangeCompleted();
+                }
+
+                @Override
+                public void onRollback() {
+                    vmDynamicChangeCompleted();
+                }
+            });
+        } catch (RuntimeException e) {
+            log.debug("Unable to defer the invalidation of the dynamic data of VM '{}': {}", vmId, e.getMessage());
+            invalidateVmDynamic();
+            return true;
+        }
+        synchronized (this) {
+            pendingVmDynamicChanges++;
+            invalidateVmDynamic();
+        }
+        return true;
+    }
+
+    private synchronized void vmDynamicChangeCompleted() {
+        pendingVmDynamicChanges--;
+        invalidateVmDynamic();
     }
 
     public void update(VmStatistics statistics) {
+        vmStatisticsPersister.discard(vmId);
         vmStatisticsDao.update(statistics);
         setStatistics(statistics);
     }
@@ -8,11 +8,13 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.exception.ExceptionUtils;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.ovirt.engine.core.common.action.VmExternalDataKind;
 import org.ovirt.engine.core.common.businessentities.storage.ImageTicket;
@@ -94,6 +96,7 @@ import org.ovirt.vdsm.jsonrpc.client.BrokerCommandCallback;
 import org.ovirt.vdsm.jsonrpc.client.ClientConnectionException;
 import org.ovirt.vdsm.jsonrpc.client.JsonRpcClient;
 import org.ovirt.vdsm.jsonrpc.client.JsonRpcRequest;
+import org.ovirt.vdsm.jsonrpc.client.JsonRpcResponse;
 import org.ovirt.vdsm.jsonrpc.client.RequestBuilder;
 import org.ovirt.vdsm.jsonrpc.client.internal.ClientPolicy;
 import org.slf4j.Logger;
@@ -389,18 +392,33 @@ public class JsonRpcVdsServer implements IVdsServer {
     @Override
     public VMInfoListReturn getVmStats(String vmId) {
         JsonRpcRequest request = new RequestBuilder("VM.getStats").withParameter("vmID", vmId).build();
-        Map<String, Object> response =
-                new FutureMap(this.client, request).withResponseKey("statsList");
-        return new VMInfoListReturn(response);
+        return callVmStats(request);
     }
 
     @Override
     public VMInfoListReturn getAllVmStats() {
         JsonRpcRequest request = new RequestBuilder("Host.getAllVmStats").build();
-        Map<String, Object> response =
-                new FutureMap(this.client, request).withResponseKey("statsList")
-                        .withResponseType(Object[].class);
-        return new VMInfoListReturn(response);
+        return callVmStats(request);
+    }
+
+    /**
+     * Sends a request whose result is a list of VM statistics, and decodes the response straight to typed records,
+     * rather than to maps as {@link FutureMap} does.
+     */
+    private VMInfoListReturn callVmStats(JsonRpcRequest request) {
+        Future<JsonRpcResponse> response;
+        try {
+            response = client.call(request);
+        } catch (ClientConnectionException e) {
+            throw new TransportRunTimeException("Connection issues during send request", e);
+        }
+        try {
+            return VmStatsDecoder.decode(response.get());
+        } catch (InterruptedException | ExecutionException e) {
+            logger.error("Exception occurred during response decomposition {}", ExceptionUtils.getRootCauseMessage(e));
+            logger.debug("Exception", e);
+            throw new IllegalStateException(e);
+        }
     }
 
     @Override
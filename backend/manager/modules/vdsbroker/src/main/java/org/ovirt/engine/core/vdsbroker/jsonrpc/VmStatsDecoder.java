@@ -0,0 +1,416 @@
+package org.ovirt.engine.core.vdsbroker.jsonrpc;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.ovirt.engine.core.vdsbroker.vdsbroker.Status;
+import org.ovirt.engine.core.vdsbroker.vdsbroker.VMInfoListReturn;
+import org.ovirt.engine.core.vdsbroker.vdsbroker.VdsProperties;
+import org.ovirt.engine.core.vdsbroker.vdsbroker.VmStatsRecord;
+import org.ovirt.vdsm.jsonrpc.client.JsonRpcResponse;
+import org.ovirt.vdsm.jsonrpc.client.ResponseDecomposer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Decodes the responses of {@code Host.getAllVmStats} and {@code VM.getStats} to {@link VmStatsRecord}s. The result
+ * of the response is read with a streaming parser, the statistics that are reported on each monitoring cycle are
+ * decoded straight to the typed fields of the records, and only the other values are decoded to maps, so the large
+ * maps of the statistics of the interfaces and disks of all the VMs aren't created for each monitoring cycle.
+ * <p>
+ * Numeric values are accepted either as JSON numbers or as strings, as VDSM reports most of them as strings. Values
+ * that are decoded to whole numbers are truncated at the decimal point. The size and the latencies of a disk that are
+ * reported with no value are decoded to 0.
+ */
+public final class VmStatsDecoder {
+
+    private static final Logger log = LoggerFactory.getLogger(VmStatsDecoder.class);
+    private static final String STATUS = "status";
+    private static final int STATUS_DONE_CODE = 0;
+    private static final String STATUS_DONE_MESSAGE = "Done";
+
+    /**
+     * Decodes the values which aren't typed like {@link ResponseDecomposer} does, arrays included.
+     */
+    private static final ObjectMapper mapper =
+            new ObjectMapper().enable(DeserializationFeature.USE_JAVA_ARRAY_FOR_JSON_ARRAY);
+
+    private VmStatsDecoder() {
+    }
+
+    @SuppressWarnings("unchecked")
+    public static VMInfoListReturn decode(JsonRpcResponse response) {
+        ResponseDecomposer decomposer = new ResponseDecomposer(response);
+        if (decomposer.isError()) {
+            Map<String, Object> error = decomposer.decomposeError();
+            return new VMInfoListReturn(new Status((Map<String, Object>) error.get(STATUS)), null);
+        }
+        JsonNode result = response.getResult();
+        VmStatsRecord[] records = null;
+        if (result != null && result.isArray()) {
+            try (JsonParser parser = result.traverse(mapper)) {
+                records = decodeList(parser);
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to decode the statistics of the VMs", e);
+            }
+        }
+        Status status = new Status();
+        status.code = STATUS_DONE_CODE;
+        status.message = STATUS_DONE_MESSAGE;
+        return new VMInfoListReturn(status, records);
+    }
+
+    private static VmStatsRecord[] decodeList(JsonParser parser) throws IOException {
+        List<VmStatsRecord> records = new ArrayList<>();
+        parser.nextToken();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (parser.currentToken() == JsonToken.START_OBJECT) {
+                records.add(decodeVm(parser));
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return records.toArray(new VmStatsRecord[0]);
+    }
+
+    private static VmStatsRecord decodeVm(JsonParser parser) throws IOException {
+        VmStatsRecord record = new VmStatsRecord();
+        record.struct = new HashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+            switch (name) {
+            case VdsProperties.elapsed_time:
+                record.elapsedTime = decodeDouble(parser, name);
+                break;
+            case VdsProperties.cpu_sys:
+                record.cpuSys = decodeDouble(parser, name);
+                break;
+            case VdsProperties.cpu_user:
+                record.cpuUser = decodeDouble(parser, name);
+                break;
+            case VdsProperties.vm_usage_mem_percent:
+                record.memUsage = decodeInteger(parser, name);
+                break;
+            case VdsProperties.vm_migration_progress_percent:
+                record.migrationProgress = decodeInteger(parser, name);
+                break;
+            case VdsProperties.vm_guest_mem_stats:
+                record.memoryStats = decodeObject(parser, VmStatsDecoder::decodeMemoryStats);
+                break;
+            case VdsProperties.vm_balloonInfo:
+                record.balloonInfo = decodeObject(parser, VmStatsDecoder::decodeBalloonInfo);
+                break;
+            case VdsProperties.VM_NETWORK:
+                record.network = decodeObjects(parser, VmStatsDecoder::decodeNic);
+                break;
+            case VdsProperties.vm_disks:
+                record.disks = decodeObjects(parser, VmStatsDecoder::decodeDisk);
+                break;
+            default:
+                record.struct.put(name, mapper.readValue(parser, Object.class));
+                break;
+            }
+        }
+        return record;
+    }
+
+    private static VmStatsRecord.MemoryStats decodeMemoryStats(JsonParser parser) throws IOException {
+        VmStatsRecord.MemoryStats memoryStats = new VmStatsRecord.MemoryStats();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+            switch (name) {
+            case VdsProperties.vm_guest_mem_buffered:
+                memoryStats.buffered = decodeLong(parser, name);
+                break;
+            case VdsProperties.vm_guest_mem_cached:
+                memoryStats.cached = decodeLong(parser, name);
+                break;
+            case VdsProperties.vm_guest_mem_free:
+                memoryStats.free = decodeLong(parser, name);
+                break;
+            case VdsProperties.vm_guest_mem_unused:
+                memoryStats.unused = decodeLong(parser, name);
+                break;
+            default:
+                parser.skipChildren();
+                break;
+            }
+        }
+        return memoryStats;
+    }
+
+    private static VmStatsRecord.BalloonInfo decodeBalloonInfo(JsonParser parser) throws IOException {
+        VmStatsRecord.BalloonInfo balloonInfo = new VmStatsRecord.BalloonInfo();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+            balloonInfo.size++;
+            switch (name) {
+            case VdsProperties.vm_balloon_cur:
+                balloonInfo.current = decodeLong(parser, name);
+                break;
+            case VdsProperties.vm_balloon_max:
+                balloonInfo.max = decodeLong(parser, name);
+                break;
+            case VdsProperties.vm_balloon_target:
+                balloonInfo.target = decodeLong(parser, name);
+                break;
+            case VdsProperties.vm_balloon_min:
+                balloonInfo.min = decodeLong(parser, name);
+                break;
+            default:
+                parser.skipChildren();
+                break;
+            }
+        }
+        return balloonInfo;
+    }
+
+    private static VmStatsRecord.Nic decodeNic(JsonParser parser) throws IOException {
+        VmStatsRecord.Nic nic = new VmStatsRecord.Nic();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+            switch (name) {
+            case VdsProperties.VM_INTERFACE_NAME:
+                nic.name = decodeString(parser);
+                break;
+            case VdsProperties.MAC_ADDR:
+                nic.macAddr = decodeString(parser);
+                break;
+            case VdsProperties.rx_dropped:
+                nic.rxDropped = decodeBigInteger(parser, name);
+                break;
+            case VdsProperties.rx_total:
+                nic.rx = decodeBigInteger(parser, name);
+                break;
+            case VdsProperties.tx_dropped:
+                nic.txDropped = decodeBigInteger(parser, name);
+                break;
+            case VdsProperties.tx_total:
+                nic.tx = decodeBigInteger(parser, name);
+                break;
+            case VdsProperties.sample_time:
+                nic.sampleTime = decodeDouble(parser, name);
+                break;
+            case VdsProperties.INTERFACE_SPEED:
+                nic.speed = decodeInteger(parser, name);
+                break;
+            default:
+                parser.skipChildren();
+                break;
+            }
+        }
+        return nic;
+    }
+
+    private static VmStatsRecord.Disk decodeDisk(JsonParser parser) throws IOException {
+        VmStatsRecord.Disk disk = new VmStatsRecord.Disk();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+            switch (name) {
+            case VdsProperties.image_group_id:
+                disk.imageId = decodeString(parser);
+                break;
+            case VdsProperties.lun_guid:
+                disk.lunGuid = decodeString(parser);
+                break;
+            case VdsProperties.vm_disk_read_rate:
+                disk.readRate = decodeLong(parser, name);
+                break;
+            case VdsProperties.vm_disk_read_ops:
+                disk.readOps = decodeLong(parser, name);
+                break;
+            case VdsProperties.vm_disk_write_rate:
+                disk.writeRate = decodeLong(parser, name);
+                break;
+            case VdsProperties.vm_disk_write_ops:
+                disk.writeOps = decodeLong(parser, name);
+                break;
+            case VdsProperties.disk_true_size:
+                disk.trueSize = decodeLongWithNullProtection(parser, name);
+                break;
+            case VdsProperties.vm_disk_read_latency:
+                disk.readLatency = decodeDoubleWithNullProtection(parser, name);
+                break;
+            case VdsProperties.vm_disk_write_latency:
+                disk.writeLatency = decodeDoubleWithNullProtection(parser, name);
+                break;
+            case VdsProperties.vm_disk_flush_latency:
+                disk.flushLatency = decodeDoubleWithNullProtection(parser, name);
+                break;
+            default:
+                parser.skipChildren();
+                break;
+            }
+        }
+        return disk;
+    }
+
+    /**
+     * Decodes the object the parser points to, or skips the value if it isn't an object.
+     */
+    private static <T> T decodeObject(JsonParser parser, Decoder<T> decoder) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+        return decoder.decode(parser);
+    }
+
+    /**
+     * Decodes the values of the object the parser points to, which are objects keyed by their names.
+     */
+    private static <T> List<T> decodeObjects(JsonParser parser, Decoder<T> decoder) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+        List<T> objects = new ArrayList<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            parser.nextToken();
+            T object = decodeObject(parser, decoder);
+            if (object != null) {
+                objects.add(object);
+            }
+        }
+        return objects;
+    }
+
+    private static String decodeString(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_STRING) {
+            return parser.getText();
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    private static Double decodeDouble(JsonParser parser, String name) throws IOException {
+        switch (parser.currentToken()) {
+        case VALUE_NUMBER_INT:
+        case VALUE_NUMBER_FLOAT:
+            return parser.getDoubleValue();
+        case VALUE_STRING:
+            try {
+                return Double.valueOf(parser.getText());
+            } catch (NumberFormatException e) {
+                log.error("Failed to parse '{}' value '{}' to double: {}", name, parser.getText(), e.getMessage());
+                return null;
+            }
+        default:
+            parser.skipChildren();
+            return null;
+        }
+    }
+
+    /**
+     * Decodes a double which is reported with no value as 0.
+     */
+    private static Double decodeDoubleWithNullProtection(JsonParser parser, String name) throws IOException {
+        Double value = decodeDouble(parser, name);
+        return value == null ? Double.valueOf(0.0) : value;
+    }
+
+    private static Integer decodeInteger(JsonParser parser, String name) throws IOException {
+        switch (parser.currentToken()) {
+        case VALUE_NUMBER_INT:
+            return parser.getIntValue();
+        case VALUE_NUMBER_FLOAT:
+            return (int) parser.getDoubleValue();
+        case VALUE_STRING:
+            String text = wholePart(parser.getText());
+            if (text.isEmpty()) {
+                return null;
+            }
+            try {
+                return Integer.valueOf(text);
+            } catch (NumberFormatException e) {
+                log.error("Failed to parse '{}' value '{}' to integer: {}", name, text, e.getMessage());
+                return null;
+            }
+        default:
+            parser.skipChildren();
+            return null;
+        }
+    }
+
+    private static Long decodeLong(JsonParser parser, String name) throws IOException {
+        switch (parser.currentToken()) {
+        case VALUE_NUMBER_INT:
+            return parser.getLongValue();
+        case VALUE_NUMBER_FLOAT:
+            return (long) parser.getDoubleValue();
+        case VALUE_STRING:
+            String text = wholePart(parser.getText());
+            if (text.isEmpty()) {
+                return null;
+            }
+            try {
+                return Long.valueOf(text);
+            } catch (NumberFormatException e) {
+                log.error("Failed to parse '{}' value '{}' to long: {}", name, text, e.getMessage());
+                return null;
+            }
+        default:
+            parser.skipChildren();
+            return null;
+        }
+    }
+
+    /**
+     * Decodes a long which is reported with no value as 0.
+     */
+    private static Long decodeLongWithNullProtection(JsonParser parser, String name) throws IOException {
+        Long value = decodeLong(parser, name);
+        return value == null ? Long.valueOf(0) : value;
+    }
+
+    private static BigInteger decodeBigInteger(JsonParser parser, String name) throws IOException {
+        switch (parser.currentToken()) {
+        case VALUE_NUMBER_INT:
+            return parser.getBigIntegerValue();
+        case VALUE_NUMBER_FLOAT:
+            return parser.getDecimalValue().toBigInteger();
+        case VALUE_STRING:
+            String text = wholePart(parser.getText());
+            if (text.isEmpty()) {
+                return null;
+            }
+            try {
+                return new BigInteger(text);
+            } catch (NumberFormatException e) {
+                log.error("Failed to parse '{}' value '{}' to BigInteger: {}", name, text, e.getMessage());
+                return null;
+            }
+        default:
+            parser.skipChildren();
+            return null;
+        }
+    }
+
+    /**
+     * Returns the part of the given decimal number before the decimal point.
+     */
+    private static String wholePart(String text) {
+        int point = text.indexOf('.');
+        return point >= 0 ? text.substring(0, point) : text;
+    }
+
+    @FunctionalInterface
+    private interface Decoder<T> {
+        T decode(JsonParser parser) throws IOException;
+    }
+}
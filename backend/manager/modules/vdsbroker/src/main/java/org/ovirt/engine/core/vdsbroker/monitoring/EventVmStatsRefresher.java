@@ -13,7 +13,6 @@ import org.ovirt.engine.core.common.businessentities.VMStatus;
 import org.ovirt.engine.core.common.businessentities.VmDynamic;
 import org.ovirt.engine.core.common.utils.Pair;
 import org.ovirt.engine.core.compat.Guid;
-import org.ovirt.engine.core.dao.VmDynamicDao;
 import org.ovirt.engine.core.di.Injector;
 import org.ovirt.engine.core.utils.ObjectDescriptor;
 import org.ovirt.engine.core.vdsbroker.ResourceManager;
@@ -28,8 +27,6 @@ public class EventVmStatsRefresher extends VmStatsRefresher {
     private static final Logger log = LoggerFactory.getLogger(EventVmStatsRefresher.class);
     private Flow.Subscription subscription;
     @Inject
-    private VmDynamicDao vmDynamicDao;
-    @Inject
     private VdsBrokerObjectsBuilder vdsBrokerObjectsBuilder;
     private final ResourceManager resourceManager;
     private final PollVmStatsRefresher allVmStatsOnlyRefresher;
@@ -57,6 +54,7 @@ public class EventVmStatsRefresher extends VmStatsRefresher {
             public void onNext(Map<String, Object> map) {
                 try {
                     long fetchTime = System.nanoTime();
+                    vdsManager.getMonitoringCadence().reset("VM status event");
                     printEventInDebug(map);
                     List<Pair<VmDynamic, VdsmVm>> vms = convertEvent(map);
                     if (!vms.isEmpty()) {
@@ -94,7 +92,8 @@ public class EventVmStatsRefresher extends VmStatsRefresher {
             }
 
             private Pair<VmDynamic, VdsmVm> toMonitoredVm(Guid vmId, Map<String, Object> vmMap, Double notifyTime) {
-                VmDynamic dbVm = vmDynamicDao.get(vmId);
+                // the last dynamic data written by the engine is kept by the VM manager, no need to read it back
+                VmDynamic dbVm = resourceManager.getVmManager(vmId).getLastVmDynamic();
                 VdsmVm vdsmVm = dbVm == null ?
                         createVdsmVm(vmId, vmMap, notifyTime)
                         : createVdsmVm(dbVm, vmMap, notifyTime);
@@ -140,6 +139,16 @@ public class EventVmStatsRefresher extends VmStatsRefresher {
         });
     }
 
+    @Override
+    public long getRefreshIntervalMillis() {
+        return allVmStatsOnlyRefresher.getRefreshIntervalMillis();
+    }
+
+    @Override
+    public long getRefreshLagMillis() {
+        return allVmStatsOnlyRefresher.getRefreshLagMillis();
+    }
+
     @Override
     public void stopMonitoring() {
         allVmStatsOnlyRefresher.stopMonitoring();
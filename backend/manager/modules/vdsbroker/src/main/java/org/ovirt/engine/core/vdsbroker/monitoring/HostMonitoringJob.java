@@ -0,0 +1,89 @@
+package org.ovirt.engine.core.vdsbroker.monitoring;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+import org.apache.commons.lang.exception.ExceptionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A periodic monitoring job of a single host. The job is triggered by the scheduler and executed by the given
+ * executor, so when the executor has threads of its own a host which is slow to respond only holds its own thread and
+ * not a thread of the scheduler shared by all the hosts. A run is skipped if the previous run of the job on the host
+ * didn't finish yet, so a host never holds more than one thread per job.
+ * <p>
+ * The job also tracks how far behind it is, that is how long ago it was last expected to run on top of its interval.
+ */
+public class HostMonitoringJob implements Runnable {
+
+    private static final Logger log = LoggerFactory.getLogger(HostMonitoringJob.class);
+
+    private final String name;
+    private final Runnable job;
+    private final Executor executor;
+    private final LongSupplier intervalMillis;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile long lastFinished;
+
+    /* visible for testing */
+    LongSupplier currentTime = System::currentTimeMillis;
+
+    /**
+     * @param name
+     *            the name of the job and the host, for logging
+     * @param job
+     *            the job to run
+     * @param executor
+     *            the executor running the job
+     * @param intervalMillis
+     *            supplies the current interval of the job, in milliseconds
+     */
+    public HostMonitoringJob(String name, Runnable job, Executor executor, LongSupplier intervalMillis) {
+        this.name = name;
+        this.job = job;
+        this.executor = executor;
+        this.intervalMillis = intervalMillis;
+        this.lastFinished = currentTime.getAsLong();
+    }
+
+    @Override
+    public void run() {
+        if (!running.compareAndSet(false, true)) {
+            log.debug("Previous run of {} is still in progress, skipping", name);
+            return;
+        }
+        try {
+            executor.execute(this::runJob);
+        } catch (RejectedExecutionException e) {
+            running.set(false);
+            log.warn("Failed to run {}: {}", name, ExceptionUtils.getRootCauseMessage(e));
+            log.debug("Exception", e);
+        }
+    }
+
+    private void runJob() {
+        try {
+            job.run();
+        } finally {
+            lastFinished = currentTime.getAsLong();
+            running.set(false);
+        }
+    }
+
+    /**
+     * @return whether a run of the job is in progress
+     */
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    /**
+     * @return how long, in milliseconds, the job is behind its interval, 0 if it ran in time
+     */
+    public long getLagMillis() {
+        return Math.max(0, currentTime.getAsLong() - lastFinished - intervalMillis.getAsLong());
+    }
+}
@@ -0,0 +1,212 @@
+package org.ovirt.engine.core.vdsbroker.monitoring;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.ovirt.engine.core.common.businessentities.VDS;
+import org.ovirt.engine.core.common.businessentities.VDSStatus;
+import org.ovirt.engine.core.common.businessentities.VMStatus;
+import org.ovirt.engine.core.common.config.Config;
+import org.ovirt.engine.core.common.config.ConfigValues;
+import org.ovirt.engine.core.compat.Guid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The cadence in which a host is monitored. The monitoring jobs of the host are scheduled in their usual rate and
+ * consult their {@link Ticker} on each run, which skips runs once the host has been stable for a while.
+ * <p>
+ * A host is considered stable while it is Up or in Maintenance, the set of its VMs and their statuses doesn't change,
+ * all of its VMs are Up or Paused, none of them is migrating and the CPU and memory usage of the host change by no
+ * more than a tolerance. Each time the host stays stable for a number of refreshes the monitoring slows down by a
+ * factor of 2, up to a maximal interval. Any change, as well as any action on the host or on its VMs, brings the
+ * monitoring back to its usual rate.
+ */
+public class MonitoringCadence {
+
+    private static final Logger log = LoggerFactory.getLogger(MonitoringCadence.class);
+
+    private final Guid vdsId;
+    private final long maxIntervalMillis;
+    private final int stableRefreshesBeforeSlowdown;
+    private final int usageTolerance;
+    private final int maxFactor;
+
+    private int factor = 1;
+    private int stableRefreshes;
+    private long generation;
+    private VDSStatus status;
+    private Map<Guid, VMStatus> vms;
+    private Integer usageCpuPercent;
+    private Integer usageMemPercent;
+
+    public MonitoringCadence(Guid vdsId, long refreshRateMillis) {
+        this(vdsId,
+                refreshRateMillis,
+                Config.<Integer> getValue(ConfigValues.HostMonitoringMaxIntervalInSeconds) * 1000L,
+                Config.<Integer> getValue(ConfigValues.HostMonitoringStableRefreshesBeforeSlowdown),
+                Config.<Integer> getValue(ConfigValues.HostMonitoringUsageChangeTolerancePercent));
+    }
+
+    MonitoringCadence(Guid vdsId,
+            long refreshRateMillis,
+            long maxIntervalMillis,
+            int stableRefreshesBeforeSlowdown,
+            int usageTolerance) {
+        this.vdsId = vdsId;
+        this.maxIntervalMillis = maxIntervalMillis;
+        this.stableRefreshesBeforeSlowdown = Math.max(1, stableRefreshesBeforeSlowdown);
+        this.usageTolerance = usageTolerance;
+        this.maxFactor = maxFactor(refreshRateMillis);
+    }
+
+    /**
+     * Creates a ticker for a monitoring job of the host.
+     *
+     * @param intervalMillis
+     *            the usual interval of the job, in milliseconds
+     */
+    public Ticker createTicker(long intervalMillis) {
+        return new Ticker(intervalMillis);
+    }
+
+    /**
+     * Updates the cadence with the state of the host after it was refreshed, slowing the monitoring down if the host
+     * has been stable for long enough, or bringing it back to its usual rate if the host changed.
+     *
+     * @param vds
+     *            the refreshed host
+     * @param lastVmsList
+     *            the statuses of the VMs last reported for the host
+     */
+    public synchronized void onRefresh(VDS vds, Map<Guid, VMStatus> lastVmsList) {
+        if (maxFactor == 1) {
+            return;
+        }
+
+        if (!isSettled(vds, lastVmsList) || !isSameAsBaseline(vds, lastVmsList)) {
+            status = vds.getStatus();
+            vms = new HashMap<>(lastVmsList);
+            usageCpuPercent = vds.getUsageCpuPercent();
+            usageMemPercent = vds.getUsageMemPercent();
+            reset("host changed");
+            return;
+        }
+
+        if (++stableRefreshes >= stableRefreshesBeforeSlowdown && factor < maxFactor) {
+            stableRefreshes = 0;
+            factor = Math.min(factor * 2, maxFactor);
+            log.debug("Host '{}' is stable, slowing its monitoring down by a factor of {}", vdsId, factor);
+        }
+    }
+
+    /**
+     * Brings the monitoring of the host back to its usual rate, the jobs of the host run on their next schedule.
+     *
+     * @param reason
+     *            the reason for the reset, for logging
+     */
+    public synchronized void reset(String reason) {
+        stableRefreshes = 0;
+        if (factor > 1) {
+            log.debug("Host '{}' monitoring is back to its usual rate: {}", vdsId, reason);
+            factor = 1;
+            generation++;
+        }
+    }
+
+    /**
+     * @return the current factor by which the monitoring of the host is slowed down, 1 when it runs in its usual rate
+     */
+    public synchronized int getFactor() {
+        return factor;
+    }
+
+    private int maxFactor(long refreshRateMillis) {
+        if (maxIntervalMillis <= 0 || refreshRateMillis <= 0) {
+            return 1;
+        }
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, maxIntervalMillis / refreshRateMillis));
+    }
+
+    private static boolean isSettled(VDS vds, Map<Guid, VMStatus> lastVmsList) {
+        if (vds.getStatus() != VDSStatus.Up && vds.getStatus() != VDSStatus.Maintenance) {
+            return false;
+        }
+        if (vds.getVmMigrating() != null && vds.getVmMigrating() > 0) {
+            return false;
+        }
+        return lastVmsList.values().stream().allMatch(VMStatus::isUpOrPaused);
+    }
+
+    private boolean isSameAsBaseline(VDS vds, Map<Guid, VMStatus> lastVmsList) {
+        return vds.getStatus() == status
+                && Objects.equals(lastVmsList, vms)
+                && isSimilar(vds.getUsageCpuPercent(), usageCpuPercent)
+                && isSimilar(vds.getUsageMemPercent(), usageMemPercent);
+    }
+
+    private boolean isSimilar(Integer usage, Integer baseline) {
+        if (usage == null || baseline == null) {
+            return usage == null && baseline == null;
+        }
+        return Math.abs(usage - baseline) <= usageTolerance;
+    }
+
+    /**
+     * Tells a monitoring job of the host on which of its runs it is due.
+     */
+    public class Ticker {
+
+        private final long intervalMillis;
+        private final int maxTickerFactor;
+        private int skipped;
+        private long seenGeneration;
+
+        private Ticker(long intervalMillis) {
+            this.intervalMillis = intervalMillis;
+            this.maxTickerFactor = maxFactor(intervalMillis);
+        }
+
+        /**
+         * @return whether the job is due on this run, when it isn't the run should be skipped
+         */
+        public boolean isDue() {
+            synchronized (MonitoringCadence.this) {
+                if (seenGeneration != generation) {
+                    seenGeneration = generation;
+                    skipped = 0;
+                    return true;
+                }
+                if (++skipped >= currentFactor()) {
+                    skipped = 0;
+                    return true;
+                }
+                return false;
+            }
+        }
+
+        /**
+         * @return the current interval of the job, in milliseconds
+         */
+        public long getIntervalMillis() {
+            synchronized (MonitoringCadence.this) {
+                return intervalMillis * currentFactor();
+            }
+        }
+
+        /**
+         * @return how much longer, in milliseconds, the current interval of the job is than its usual interval
+         */
+        public long getSlowdownMillis() {
+            synchronized (MonitoringCadence.this) {
+                return intervalMillis * (currentFactor() - 1);
+            }
+        }
+
+        private int currentFactor() {
+            return Math.min(factor, maxTickerFactor);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -41,10 +42,15 @@ public class PollVmStatsRefresher extends VmStatsRefresher {
     @ThreadPools(ThreadPools.ThreadPoolType.EngineScheduledThreadPool)
     private ManagedScheduledExecutorService schedulerService;
     @Inject
+    @ThreadPools(ThreadPools.ThreadPoolType.HostMonitoring)
+    private Executor monitoringExecutor;
+    @Inject
     private ResourceManager resourceManager;
     @Inject
     protected VmDynamicDao vmDynamicDao;
     private ScheduledFuture vmsMonitoringJob;
+    private MonitoringCadence.Ticker ticker;
+    private HostMonitoringJob pollJob;
 
     public PollVmStatsRefresher(VdsManager vdsManager) {
         super(vdsManager);
@@ -85,14 +91,35 @@ public class PollVmStatsRefresher extends VmStatsRefresher {
     }
 
     public void startMonitoring() {
+        ticker = vdsManager.getMonitoringCadence().createTicker(getRefreshRate());
+        pollJob = new HostMonitoringJob("VMs monitoring of host " + vdsManager.getVdsId(),
+                this::poll,
+                monitoringExecutor,
+                ticker::getIntervalMillis);
         vmsMonitoringJob =
                 schedulerService.scheduleWithFixedDelay(
-                        this::poll,
+                        this::pollIfDue,
                         getRefreshRate(),
                         getRefreshRate(),
                         TimeUnit.MILLISECONDS);
     }
 
+    private void pollIfDue() {
+        if (ticker.isDue()) {
+            pollJob.run();
+        }
+    }
+
+    @Override
+    public long getRefreshIntervalMillis() {
+        return ticker != null ? ticker.getIntervalMillis() : 0;
+    }
+
+    @Override
+    public long getRefreshLagMillis() {
+        return pollJob != null ? pollJob.getLagMillis() : 0;
+    }
+
     protected long getRefreshRate() {
         return VMS_REFRESH_RATE * NUMBER_VMS_REFRESHES_BEFORE_SAVE;
     }
@@ -0,0 +1,116 @@
+package org.ovirt.engine.core.vdsbroker.monitoring;
+
+import java.util.Arrays;
+
+import org.ovirt.engine.core.common.businessentities.VmStatistics;
+import org.ovirt.engine.core.common.businessentities.storage.DiskImageDynamic;
+import org.ovirt.engine.core.compat.Guid;
+
+/**
+ * The values of persisted statistics that are compared to tell whether newly reported statistics changed. Values that
+ * change on every report regardless of the activity of the VM, like its elapsed time, are left out. So are the usage
+ * histories of the VM, which only follow its usage percentages.
+ * <p>
+ * The values are split to exact values, like the cumulative counters and the sizes, which are compared as is, and to
+ * gauges, like the rates, percentages and latencies, which may be compared with a tolerance.
+ */
+final class StatisticsFingerprint {
+
+    private final Guid vmId;
+    private final long time;
+    private final Object[] values;
+    private final double[] gauges;
+
+    private StatisticsFingerprint(Guid vmId, long time, Object[] values, double[] gauges) {
+        this.vmId = vmId;
+        this.time = time;
+        this.values = values;
+        this.gauges = gauges;
+    }
+
+    static StatisticsFingerprint of(VmStatistics statistics, long time) {
+        return new StatisticsFingerprint(statistics.getId(),
+                time,
+                new Object[] {
+                        statistics.getDisksUsage(),
+                        statistics.getGuestMemoryFree(),
+                        statistics.getGuestMemoryBuffered(),
+                        statistics.getGuestMemoryCached(),
+                        statistics.getGuestMemoryUnused() },
+                gauges(statistics.getCpuSys(),
+                        statistics.getCpuUser(),
+                        statistics.getUsageCpuPercent(),
+                        statistics.getUsageMemPercent(),
+                        statistics.getUsageNetworkPercent(),
+                        statistics.getMigrationProgressPercent()));
+    }
+
+    static StatisticsFingerprint of(Guid vmId, DiskImageDynamic diskImageDynamic, long time) {
+        return new StatisticsFingerprint(vmId,
+                time,
+                new Object[] {
+                        diskImageDynamic.getActualSize(),
+                        diskImageDynamic.getReadOps(),
+                        diskImageDynamic.getWriteOps() },
+                gauges(diskImageDynamic.getReadRate(),
+                        diskImageDynamic.getWriteRate(),
+                        diskImageDynamic.getReadLatency(),
+                        diskImageDynamic.getWriteLatency(),
+                        diskImageDynamic.getFlushLatency()));
+    }
+
+    /**
+     * @return the id of the VM the statistics belong to
+     */
+    Guid getVmId() {
+        return vmId;
+    }
+
+    /**
+     * @return the time, in milliseconds, in which the statistics were persisted
+     */
+    long getTime() {
+        return time;
+    }
+
+    /**
+     * Tells whether the given statistics are the same as these statistics, allowing the gauges to differ by the given
+     * tolerance.
+     *
+     * @param tolerance
+     *            the maximal difference between the gauges, relative to the larger of them, 0 requires them to be equal
+     */
+    boolean isSimilar(StatisticsFingerprint other, double tolerance) {
+        if (!Arrays.equals(values, other.values) || gauges.length != other.gauges.length) {
+            return false;
+        }
+        for (int i = 0; i < gauges.length; i++) {
+            if (!isSimilar(gauges[i], other.gauges[i], tolerance)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSimilar(double value, double other, double tolerance) {
+        if (Double.compare(value, other) == 0) {
+            return true;
+        }
+        if (Double.isNaN(value) || Double.isNaN(other)) {
+            return false;
+        }
+        return Math.abs(value - other) <= tolerance * Math.max(Math.abs(value), Math.abs(other));
+    }
+
+    /**
+     * Converts the given gauges to doubles, missing gauges are converted to {@link Double#NaN}, so they only match
+     * missing gauges.
+     */
+    private static double[] gauges(Number... values) {
+        double[] gauges = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            gauges[i] = values[i] != null ? values[i].doubleValue() : Double.NaN;
+        }
+        return gauges;
+    }
+}
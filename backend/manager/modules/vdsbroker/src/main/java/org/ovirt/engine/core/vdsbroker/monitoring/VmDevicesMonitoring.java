@@ -713,6 +713,7 @@ public class VmDevicesMonitoring {
                         getVmDynamicDao().updateDevicesHashes(change.getVmsToSaveHash().stream()
                                 .map(vmId -> new Pair<>(vmId, vmDevicesStatuses.get(vmId).getHash()))
                                 .collect(Collectors.toList()));
+                change.getVmsToSaveHash().forEach(resourceManager::invalidateVmDynamic);
                 return null;
             });
             getVmStaticDao().incrementDbGenerationForVms(change.getVmsToSaveHash());
@@ -0,0 +1,351 @@
+package org.ovirt.engine.core.vdsbroker.monitoring;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.enterprise.concurrent.ManagedScheduledExecutorService;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.management.ObjectName;
+
+import org.ovirt.engine.core.common.businessentities.VmStatistics;
+import org.ovirt.engine.core.common.businessentities.network.VmNetworkStatistics;
+import org.ovirt.engine.core.common.businessentities.storage.DiskImageDynamic;
+import org.ovirt.engine.core.common.config.Config;
+import org.ovirt.engine.core.common.config.ConfigValues;
+import org.ovirt.engine.core.common.qualifiers.VmDeleted;
+import org.ovirt.engine.core.common.utils.Pair;
+import org.ovirt.engine.core.compat.Guid;
+import org.ovirt.engine.core.dao.DiskImageDynamicDao;
+import org.ovirt.engine.core.dao.VmStatisticsDao;
+import org.ovirt.engine.core.dao.network.VmNetworkStatisticsDao;
+import org.ovirt.engine.core.utils.MBeanUtils;
+import org.ovirt.engine.core.utils.threadpool.ThreadPools;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persists the statistics reported by the VMs monitoring. When write-behind is enabled the statistics are not written
+ * on each monitoring cycle of each host, only the latest statistics of each VM, its interfaces and its disks are kept
+ * and all of them are written periodically, across all the hosts, in a few large batches.
+ * <p>
+ * When change detection is enabled, the fingerprint of the statistics last persisted for each VM and disk is kept, and
+ * reported statistics that match it are not written at all, as is usually the case for idle VMs. Gauges, like rates
+ * and percentages, match if they are within a configurable tolerance of the persisted ones. Statistics are written
+ * anyway once the refresh interval passes since they were last written, to keep their rows fresh. The statistics of
+ * the interfaces are always written, since the rates of the interfaces are computed against their persisted sample.
+ * <p>
+ * Only statistics go through here - the dynamic data of the VMs, which carries their status, is always persisted
+ * synchronously by the monitoring.
+ */
+@Singleton
+public class VmStatisticsPersister implements VmStatisticsPersisterMXBean {
+
+    private static final Logger log = LoggerFactory.getLogger(VmStatisticsPersister.class);
+
+    static final int BATCH_SIZE = 1000;
+
+    @Inject
+    private VmStatisticsDao vmStatisticsDao;
+    @Inject
+    private VmNetworkStatisticsDao vmNetworkStatisticsDao;
+    @Inject
+    private DiskImageDynamicDao diskImageDynamicDao;
+    @Inject
+    @ThreadPools(ThreadPools.ThreadPoolType.EngineScheduledThreadPool)
+    private ManagedScheduledExecutorService executor;
+
+    private final Map<Guid, VmStatistics> pendingVmStatistics = new ConcurrentHashMap<>();
+    private final Map<Guid, VmNetworkStatistics> pendingNetworkStatistics = new ConcurrentHashMap<>();
+    private final Map<Pair<Guid, Guid>, Pair<Guid, DiskImageDynamic>> pendingDiskImageDynamic =
+            new ConcurrentHashMap<>();
+
+    private final Map<Guid, StatisticsFingerprint> persistedVmStatistics = new ConcurrentHashMap<>();
+    private final Map<Pair<Guid, Guid>, StatisticsFingerprint> persistedDiskImageDynamic = new ConcurrentHashMap<>();
+    /**
+     * Held by a flush and by discarding the statistics of a VM, so statistics taken out by a flush that is in progress
+     * are not written, or made pending again, once they are discarded.
+     */
+    private final Object flushLock = new Object();
+    private final LongAdder writtenRows = new LongAdder();
+    private final LongAdder skippedRows = new LongAdder();
+
+    LongSupplier currentTime = System::currentTimeMillis;
+
+    private ScheduledFuture<?> flushJob;
+    private long refreshInterval;
+    private double changeTolerance;
+    private ObjectName objectName;
+
+    @PostConstruct
+    void init() {
+        int interval = Config.<Integer> getValue(ConfigValues.VmStatisticsPersistIntervalInSeconds);
+        if (interval > 0) {
+            flushJob = executor.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.SECONDS);
+            log.info("VM statistics are persisted every {} seconds", interval);
+        }
+        refreshInterval = TimeUnit.SECONDS.toMillis(
+                Config.<Integer> getValue(ConfigValues.VmStatisticsRefreshIntervalInSeconds));
+        changeTolerance = Config.<Integer> getValue(ConfigValues.VmStatisticsChangeTolerancePercent) / 100.0;
+        if (isChangeDetection()) {
+            log.info("Unchanged VM statistics are persisted every {} seconds, with a tolerance of {}%",
+                    TimeUnit.MILLISECONDS.toSeconds(refreshInterval),
+                    Math.round(changeTolerance * 100));
+        }
+        registerMBean();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (flushJob != null) {
+            flushJob.cancel(false);
+            flushJob = null;
+            flush();
+        }
+        unregisterMBean();
+    }
+
+    public boolean isWriteBehind() {
+        return flushJob != null;
+    }
+
+    private boolean isChangeDetection() {
+        return refreshInterval > 0;
+    }
+
+    public void saveVmStatistics(Collection<VmStatistics> statistics) {
+        Collection<VmStatistics> changed =
+                changed(statistics, persistedVmStatistics, VmStatistics::getId, StatisticsFingerprint::of);
+        if (changed.isEmpty()) {
+            return;
+        }
+        if (isWriteBehind()) {
+            changed.forEach(stats -> pendingVmStatistics.put(stats.getId(), stats));
+        } else {
+            writeVmStatistics(changed);
+        }
+    }
+
+    private void writeVmStatistics(Collection<VmStatistics> statistics) {
+        vmStatisticsDao.updateAllInBatch(statistics);
+        persisted(statistics, persistedVmStatistics, VmStatistics::getId, StatisticsFingerprint::of);
+    }
+
+    /**
+     * Saves the statistics of the interfaces whether they changed or not, the rates of the interfaces are computed
+     * against the sample persisted last, so skipping unchanged samples would spread the next burst over the whole
+     * skipped interval.
+     */
+    public void saveVmNetworkStatistics(Collection<VmNetworkStatistics> statistics) {
+        if (statistics.isEmpty()) {
+            return;
+        }
+        if (isWriteBehind()) {
+            statistics.forEach(stats -> pendingNetworkStatistics.put(stats.getId(), stats));
+        } else {
+            writeVmNetworkStatistics(statistics);
+        }
+    }
+
+    private void writeVmNetworkStatistics(Collection<VmNetworkStatistics> statistics) {
+        vmNetworkStatisticsDao.updateAllInBatch(statistics);
+        writtenRows.add(statistics.size());
+    }
+
+    /**
+     * @param diskImageDynamic
+     *            the dynamic data of the disks, each paired with the id of the VM it was reported by
+     */
+    public void saveDiskImageDynamic(Collection<Pair<Guid, DiskImageDynamic>> diskImageDynamic) {
+        Collection<Pair<Guid, DiskImageDynamic>> changed = changed(diskImageDynamic,
+                persistedDiskImageDynamic,
+                VmStatisticsPersister::diskImageDynamicKey,
+                VmStatisticsPersister::diskImageDynamicFingerprint);
+        if (changed.isEmpty()) {
+            return;
+        }
+        if (isWriteBehind()) {
+            changed.forEach(pair -> pendingDiskImageDynamic.put(diskImageDynamicKey(pair), pair));
+        } else {
+            writeDiskImageDynamic(changed);
+        }
+    }
+
+    private void writeDiskImageDynamic(Collection<Pair<Guid, DiskImageDynamic>> diskImageDynamic) {
+        diskImageDynamicDao.updateAllDiskImageDynamicWithDiskIdByVmId(diskImageDynamic);
+        persisted(diskImageDynamic,
+                persistedDiskImageDynamic,
+                VmStatisticsPersister::diskImageDynamicKey,
+                VmStatisticsPersister::diskImageDynamicFingerprint);
+    }
+
+    private static Pair<Guid, Guid> diskImageDynamicKey(Pair<Guid, DiskImageDynamic> pair) {
+        return new Pair<>(pair.getFirst(), pair.getSecond().getId());
+    }
+
+    private static StatisticsFingerprint diskImageDynamicFingerprint(Pair<Guid, DiskImageDynamic> pair, long time) {
+        return StatisticsFingerprint.of(pair.getFirst(), pair.getSecond(), time);
+    }
+
+    /**
+     * Returns the given values which changed since they were last persisted, or weren't persisted for the refresh
+     * interval. The other values are skipped. The returned values are recorded as persisted only once they are
+     * written, so values that failed to be written are compared to the values that were persisted before them.
+     */
+    private <K, V> Collection<V> changed(Collection<V> values,
+            Map<K, StatisticsFingerprint> persisted,
+            Function<V, K> key,
+            Fingerprinter<V> fingerprinter) {
+        if (!isChangeDetection()) {
+            return values;
+        }
+        long now = currentTime.getAsLong();
+        List<V> changed = new ArrayList<>(values.size());
+        for (V value : values) {
+            K valueKey = key.apply(value);
+            StatisticsFingerprint fingerprint = fingerprinter.apply(value, now);
+            StatisticsFingerprint last = persisted.get(valueKey);
+            if (last != null
+                    && now - last.getTime() < refreshInterval
+                    && last.isSimilar(fingerprint, changeTolerance)) {
+                continue;
+            }
+            changed.add(value);
+        }
+        skippedRows.add(values.size() - changed.size());
+        return changed;
+    }
+
+    /**
+     * Records the given values as persisted, after they were written.
+     */
+    private <K, V> void persisted(Collection<V> values,
+            Map<K, StatisticsFingerprint> persisted,
+            Function<V, K> key,
+            Fingerprinter<V> fingerprinter) {
+        writtenRows.add(values.size());
+        if (!isChangeDetection()) {
+            return;
+        }
+        long now = currentTime.getAsLong();
+        for (V value : values) {
+            persisted.put(key.apply(value), fingerprinter.apply(value, now));
+        }
+    }
+
+    /**
+     * Drops the statistics of the given VM that are not persisted yet, so they won't override statistics which are
+     * written directly to the database. The fingerprints of its persisted statistics are dropped too, so the next
+     * statistics reported for it are written. Waits for a flush that is in progress to complete first.
+     */
+    public void discard(Guid vmId) {
+        synchronized (flushLock) {
+            pendingVmStatistics.remove(vmId);
+            pendingNetworkStatistics.values().removeIf(stats -> vmId.equals(stats.getVmId()));
+            pendingDiskImageDynamic.keySet().removeIf(key -> vmId.equals(key.getFirst()));
+            persistedVmStatistics.remove(vmId);
+            persistedDiskImageDynamic.keySet().removeIf(key -> vmId.equals(key.getFirst()));
+        }
+    }
+
+    public void onVmDelete(@Observes @VmDeleted Guid vmId) {
+        discard(vmId);
+    }
+
+    void flush() {
+        synchronized (flushLock) {
+            try {
+                flush(pendingVmStatistics, this::writeVmStatistics);
+                flush(pendingNetworkStatistics, this::writeVmNetworkStatistics);
+                flush(pendingDiskImageDynamic, this::writeDiskImageDynamic);
+            } catch (RuntimeException e) {
+                log.error("Failed to persist VM statistics: {}", e.getMessage());
+                log.debug("Exception", e);
+            }
+        }
+    }
+
+    /**
+     * Takes out the pending values and writes them in batches. A value that is reported while the flush is in
+     * progress stays pending for the next flush. When a batch fails to be written, its values become pending again,
+     * unless newer values were reported for them meanwhile, and the values not taken out yet stay pending.
+     */
+    private static <K, V> void flush(Map<K, V> pending, Consumer<List<V>> writer) {
+        Map<K, V> batch = new LinkedHashMap<>();
+        for (K key : pending.keySet()) {
+            V value = pending.remove(key);
+            if (value == null) {
+                continue;
+            }
+            batch.put(key, value);
+            if (batch.size() == BATCH_SIZE) {
+                write(pending, batch, writer);
+                batch = new LinkedHashMap<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(pending, batch, writer);
+        }
+    }
+
+    private static <K, V> void write(Map<K, V> pending, Map<K, V> batch, Consumer<List<V>> writer) {
+        try {
+            writer.accept(new ArrayList<>(batch.values()));
+        } catch (RuntimeException e) {
+            batch.forEach(pending::putIfAbsent);
+            throw e;
+        }
+    }
+
+    @Override
+    public long getWrittenRows() {
+        return writtenRows.sum();
+    }
+
+    @Override
+    public long getSkippedRows() {
+        return skippedRows.sum();
+    }
+
+    @Override
+    public double getSkipRatio() {
+        long skipped = skippedRows.sum();
+        long total = skipped + writtenRows.sum();
+        return total > 0 ? (double) skipped / total : 0;
+    }
+
+    @Override
+    public void resetStatistics() {
+        writtenRows.reset();
+        skippedRows.reset();
+    }
+
+    private void registerMBean() {
+        if (objectName == null) {
+            objectName = MBeanUtils.registerMBean(this, "VmStatisticsPersister", "VM statistics persister monitor");
+        }
+    }
+
+    private void unregisterMBean() {
+        MBeanUtils.unregisterMBean(objectName, "VM statistics persister monitor");
+        objectName = null;
+    }
+
+    @FunctionalInterface
+    private interface Fingerprinter<V> {
+        StatisticsFingerprint apply(V value, long time);
+    }
+}
@@ -0,0 +1,29 @@
+package org.ovirt.engine.core.vdsbroker.monitoring;
+
+/**
+ * The following interface is used as interface for JMX bean
+ */
+public interface VmStatisticsPersisterMXBean {
+
+    /**
+     * The following method will return the number of reported statistics rows which were written to the database, or
+     * queued to be written
+     */
+    long getWrittenRows();
+
+    /**
+     * The following method will return the number of reported statistics rows which were not written because they
+     * didn't change since they were last written
+     */
+    long getSkippedRows();
+
+    /**
+     * The following method will return the ratio of the skipped rows out of all the reported rows, between 0 and 1
+     */
+    double getSkipRatio();
+
+    /**
+     * The following method will reset the counters of the written and skipped rows
+     */
+    void resetStatistics();
+}
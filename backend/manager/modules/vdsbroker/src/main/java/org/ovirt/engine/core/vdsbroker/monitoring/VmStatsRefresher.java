@@ -41,6 +41,16 @@ public abstract class VmStatsRefresher {
      */
     public abstract void stopMonitoring();
 
+    /**
+     * Returns the current interval of fetching the statistics of the vms, in milliseconds.
+     */
+    public abstract long getRefreshIntervalMillis();
+
+    /**
+     * Returns how long, in milliseconds, fetching the statistics of the vms is behind its interval.
+     */
+    public abstract long getRefreshLagMillis();
+
     protected void processDevices(Stream<VdsmVm> vms, long fetchTime) {
         VmDevicesMonitoring.Change deviceChange = getVmDevicesMonitoring().createChange(vdsManager.getVdsId(), fetchTime);
         vms.filter(vm -> vm.getVmDynamic() != null && vm.getVmDynamic().getStatus() != VMStatus.MigratingTo)
@@ -18,14 +18,11 @@ import org.ovirt.engine.core.common.utils.Pair;
 import org.ovirt.engine.core.compat.Guid;
 import org.ovirt.engine.core.compat.TransactionScopeOption;
 import org.ovirt.engine.core.dal.dbbroker.auditloghandling.AuditLogDirector;
-import org.ovirt.engine.core.dao.DiskImageDynamicDao;
 import org.ovirt.engine.core.dao.VdsDynamicDao;
 import org.ovirt.engine.core.dao.VmDynamicDao;
 import org.ovirt.engine.core.dao.VmGuestAgentInterfaceDao;
 import org.ovirt.engine.core.dao.VmNumaNodeDao;
-import org.ovirt.engine.core.dao.VmStatisticsDao;
 import org.ovirt.engine.core.dao.network.VmNetworkInterfaceDao;
-import org.ovirt.engine.core.dao.network.VmNetworkStatisticsDao;
 import org.ovirt.engine.core.utils.transaction.TransactionSupport;
 import org.ovirt.engine.core.vdsbroker.ResourceManager;
 import org.ovirt.engine.core.vdsbroker.VdsManager;
@@ -51,16 +48,12 @@ public class VmsMonitoring {
     private LunDisksMonitoring lunDisksMonitoring;
     @Inject
     private VmJobsMonitoring vmJobsMonitoring;
-
     @Inject
-    private DiskImageDynamicDao diskImageDynamicDao;
+    private VmStatisticsPersister vmStatisticsPersister;
+
     @Inject
     private VmDynamicDao vmDynamicDao;
     @Inject
-    private VmNetworkStatisticsDao vmNetworkStatisticsDao;
-    @Inject
-    private VmStatisticsDao vmStatisticsDao;
-    @Inject
     private VmGuestAgentInterfaceDao vmGuestAgentInterfaceDao;
     @Inject
     private VmNetworkInterfaceDao vmNetworkInterfaceDao;
@@ -296,21 +289,29 @@ public class VmsMonitoring {
     }
 
     private void saveVmDiskImageStatistics(List<VmAnalyzer> vmAnalyzers) {
-        diskImageDynamicDao.updateAllDiskImageDynamicWithDiskIdByVmId(vmAnalyzers.stream()
+        vmStatisticsPersister.saveDiskImageDynamic(vmAnalyzers.stream()
                 .map(VmAnalyzer::getVmDiskImageDynamicToSave)
                 .flatMap(Collection::stream)
                 .collect(Collectors.toList()));
     }
 
     private void saveVmDynamic(List<VmAnalyzer> vmAnalyzers) {
-        vmDynamicDao.updateAllInBatch(vmAnalyzers.stream()
+        List<VmDynamic> vmDynamics = vmAnalyzers.stream()
                 .map(VmAnalyzer::getVmDynamicToSave)
                 .filter(Objects::nonNull)
-                .collect(Collectors.toList()));
+                .collect(Collectors.toList());
+        vmDynamicDao.updateAllInBatch(vmDynamics);
+        // the VM managers keep the saved data, so the next monitoring cycles don't have to read it back
+        vmDynamics.forEach(vmDynamic -> {
+            VmManager vmManager = getVmManager(vmDynamic.getId(), false);
+            if (vmManager != null) {
+                vmManager.setLastVmDynamic(vmDynamic);
+            }
+        });
     }
 
     private void saveVmInterfaceStatistics(List<VmAnalyzer> vmAnalyzers) {
-        vmNetworkStatisticsDao.updateAllInBatch(vmAnalyzers.stream()
+        vmStatisticsPersister.saveVmNetworkStatistics(vmAnalyzers.stream()
                 .map(VmAnalyzer::getVmNetworkStatistics)
                 .flatMap(List::stream)
                 .collect(Collectors.toList()));
@@ -321,7 +322,7 @@ public class VmsMonitoring {
                 .map(VmAnalyzer::getVmStatisticsToSave)
                 .filter(Objects::nonNull)
                 .collect(Collectors.toList());
-        vmStatisticsDao.updateAllInBatch(statistics);
+        vmStatisticsPersister.saveVmStatistics(statistics);
         statistics.forEach(stats -> {
             VmManager vmManager = getVmManager(stats.getId(), false);
             if (vmManager != null) {
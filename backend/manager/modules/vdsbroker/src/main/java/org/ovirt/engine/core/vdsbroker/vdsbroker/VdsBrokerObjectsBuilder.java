@@ -482,40 +482,6 @@ public class VdsBrokerObjectsBuilder {
         return sPool;
     }
 
-    public VmStatistics buildVMStatisticsData(Map<String, Object> struct) {
-        VmStatistics vmStatistics = new VmStatistics();
-        updateVMStatisticsData(vmStatistics, struct);
-        return vmStatistics;
-    }
-
-    public Map<String, LUNs> buildVmLunDisksData(Map<String, Object> struct) {
-        Map<String, Object> disks = (Map<String, Object>) struct.get(VdsProperties.vm_disks);
-        if (disks == null) {
-            return Collections.emptyMap();
-        }
-
-        Map<String, LUNs> lunsMap = new HashMap<>();
-        for (Object diskAsObj : disks.values()) {
-            Map<String, Object> disk = (Map<String, Object>) diskAsObj;
-
-            String lunGuidString = assignStringValue(disk, VdsProperties.lun_guid);
-            if (!StringUtils.isEmpty(lunGuidString)) {
-                LUNs lun = new LUNs();
-                lun.setLUNId(lunGuidString);
-
-                if (disk.containsKey(VdsProperties.disk_true_size)) {
-                    long sizeInBytes = assignLongValue(disk, VdsProperties.disk_true_size);
-                    int sizeInGB = SizeConverter.convert(
-                            sizeInBytes, SizeConverter.SizeUnit.BYTES, SizeConverter.SizeUnit.GiB).intValue();
-                    lun.setDeviceSize(sizeInGB);
-                }
-
-                lunsMap.put(lunGuidString, lun);
-            }
-        }
-        return lunsMap;
-    }
-
     public void updateVMDynamicData(VmDynamic vm, Map<String, Object> struct, VDS host) {
         if (struct.containsKey(VdsProperties.vm_guid)) {
             vm.setId(new Guid((String) struct.get(VdsProperties.vm_guid)));
@@ -831,83 +797,137 @@ public class VdsBrokerObjectsBuilder {
         return ArchitectureType.valueOf((String) struct.get(VdsProperties.vm_arch));
     }
 
-    public List<VmNetworkInterface> buildInterfaceStatisticsData(Map<String, Object> struct) {
-        // ------------- vm network statistics -----------------------
-        if (!struct.containsKey(VdsProperties.VM_NETWORK)) {
-            return null;
-        }
-
-        Map networkStruct = (Map) struct.get(VdsProperties.VM_NETWORK);
-        List<VmNetworkInterface> interfaceStatistics = new ArrayList<>();
-        for (Object tempNic : networkStruct.values()) {
-            Map nic = (Map) tempNic;
-            VmNetworkInterface stats = new VmNetworkInterface();
-
-            if (nic.containsKey(VdsProperties.VM_INTERFACE_NAME)) {
-                stats.setName((String) ((nic.get(VdsProperties.VM_INTERFACE_NAME) instanceof String) ? nic
-                        .get(VdsProperties.VM_INTERFACE_NAME) : null));
-            }
-            extractInterfaceStatistics(nic, stats);
-            stats.setMacAddress((String) ((nic.get(VdsProperties.MAC_ADDR) instanceof String) ? nic
-                    .get(VdsProperties.MAC_ADDR) : null));
-            interfaceStatistics.add(stats);
-        }
-        return interfaceStatistics;
-    }
-
-    public void updateVMStatisticsData(VmStatistics vm, Map<String, Object> struct) {
-        if (struct.containsKey(VdsProperties.vm_guid)) {
-            vm.setId(new Guid((String) struct.get(VdsProperties.vm_guid)));
+    public VmStatistics buildVMStatisticsData(VmStatsRecord record) {
+        VmStatistics vm = new VmStatistics();
+        if (record.struct.containsKey(VdsProperties.vm_guid)) {
+            vm.setId(new Guid((String) record.struct.get(VdsProperties.vm_guid)));
         }
 
-        vm.setElapsedTime(assignDoubleValue(struct, VdsProperties.elapsed_time));
+        vm.setElapsedTime(record.elapsedTime);
 
-        if (struct.containsKey(VdsProperties.VM_DISKS_USAGE)) {
-            initDisksUsage(struct, vm);
+        if (record.struct.containsKey(VdsProperties.VM_DISKS_USAGE)) {
+            initDisksUsage(record.struct, vm);
         }
 
         // ------------- vm cpu statistics -----------------------
-        vm.setCpuSys(assignDoubleValue(struct, VdsProperties.cpu_sys));
-        vm.setCpuUser(assignDoubleValue(struct, VdsProperties.cpu_user));
+        vm.setCpuSys(record.cpuSys);
+        vm.setCpuUser(record.cpuUser);
 
         // ------------- vm memory statistics -----------------------
-        vm.setUsageMemPercent(assignIntValue(struct, VdsProperties.vm_usage_mem_percent));
+        vm.setUsageMemPercent(record.memUsage);
 
-        if (struct.containsKey(VdsProperties.vm_guest_mem_stats)) {
-            Map<String, Object> sub = (Map<String, Object>)struct.get(VdsProperties.vm_guest_mem_stats);
-            if (sub.containsKey(VdsProperties.vm_guest_mem_buffered)) {
-                vm.setGuestMemoryBuffered(Long.parseLong(sub.get(VdsProperties.vm_guest_mem_buffered).toString()));
+        VmStatsRecord.MemoryStats memoryStats = record.memoryStats;
+        if (memoryStats != null) {
+            if (memoryStats.buffered != null) {
+                vm.setGuestMemoryBuffered(memoryStats.buffered);
             }
-            if (sub.containsKey(VdsProperties.vm_guest_mem_cached)) {
-                vm.setGuestMemoryCached(Long.parseLong(sub.get(VdsProperties.vm_guest_mem_cached).toString()));
+            if (memoryStats.cached != null) {
+                vm.setGuestMemoryCached(memoryStats.cached);
             }
-            if (sub.containsKey(VdsProperties.vm_guest_mem_free)) {
-                vm.setGuestMemoryFree(Long.parseLong(sub.get(VdsProperties.vm_guest_mem_free).toString()));
+            if (memoryStats.free != null) {
+                vm.setGuestMemoryFree(memoryStats.free);
             }
-            if (sub.containsKey(VdsProperties.vm_guest_mem_unused)) {
-                vm.setGuestMemoryUnused(Long.parseLong(sub.get(VdsProperties.vm_guest_mem_unused).toString()));
+            if (memoryStats.unused != null) {
+                vm.setGuestMemoryUnused(memoryStats.unused);
             }
         }
 
         // ------------- vm migration statistics -----------------------
-        Integer migrationProgress = assignIntValue(struct, VdsProperties.vm_migration_progress_percent);
-        vm.setMigrationProgressPercent(migrationProgress != null ? migrationProgress : 0);
+        vm.setMigrationProgressPercent(record.migrationProgress != null ? record.migrationProgress : 0);
+        return vm;
     }
 
-    public VmBalloonInfo buildVmBalloonInfo(Map<String, Object> struct) {
+    public List<VmNetworkInterface> buildInterfaceStatisticsData(VmStatsRecord record) {
+        if (record.network == null) {
+            return null;
+        }
+
+        List<VmNetworkInterface> interfaceStatistics = new ArrayList<>(record.network.size());
+        for (VmStatsRecord.Nic nic : record.network) {
+            VmNetworkInterface iface = new VmNetworkInterface();
+            iface.setName(nic.name);
+            NetworkStatistics stats = iface.getStatistics();
+            stats.setReceiveDrops(nic.rxDropped != null ? nic.rxDropped : BigInteger.ZERO);
+            stats.setReceivedBytes(nic.rx);
+            stats.setTransmitDrops(nic.txDropped != null ? nic.txDropped : BigInteger.ZERO);
+            stats.setTransmittedBytes(nic.tx);
+            stats.setSampleTime(nic.sampleTime);
+            iface.setSpeed(nic.speed);
+            iface.setMacAddress(nic.macAddr);
+            interfaceStatistics.add(iface);
+        }
+        return interfaceStatistics;
+    }
+
+    public VmBalloonInfo buildVmBalloonInfo(VmStatsRecord record) {
         VmBalloonInfo vmBalloonInfo = new VmBalloonInfo();
-        Map<String, Object> balloonInfo = (Map<String, Object>) struct.get(VdsProperties.vm_balloonInfo);
-        if (balloonInfo != null && !balloonInfo.isEmpty()) {
-            vmBalloonInfo.setCurrentMemory(assignLongValue(balloonInfo, VdsProperties.vm_balloon_cur));
-            vmBalloonInfo.setBalloonMaxMemory(assignLongValue(balloonInfo, VdsProperties.vm_balloon_max));
-            vmBalloonInfo.setBalloonTargetMemory(assignLongValue(balloonInfo, VdsProperties.vm_balloon_target));
-            vmBalloonInfo.setBalloonMinMemory(assignLongValue(balloonInfo, VdsProperties.vm_balloon_min));
+        VmStatsRecord.BalloonInfo balloonInfo = record.balloonInfo;
+        if (balloonInfo != null && balloonInfo.size > 0) {
+            vmBalloonInfo.setCurrentMemory(balloonInfo.current);
+            vmBalloonInfo.setBalloonMaxMemory(balloonInfo.max);
+            vmBalloonInfo.setBalloonTargetMemory(balloonInfo.target);
+            vmBalloonInfo.setBalloonMinMemory(balloonInfo.min);
             // only if all 4 properties are found the balloon is considered enabled (available from 3.3)
-            vmBalloonInfo.setBalloonDeviceEnabled(balloonInfo.size() >= 4);
+            vmBalloonInfo.setBalloonDeviceEnabled(balloonInfo.size >= 4);
         }
         return vmBalloonInfo;
     }
 
+    public Map<String, LUNs> buildVmLunDisksData(VmStatsRecord record) {
+        if (record.disks == null) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, LUNs> lunsMap = new HashMap<>();
+        for (VmStatsRecord.Disk disk : record.disks) {
+            if (!StringUtils.isEmpty(disk.lunGuid)) {
+                LUNs lun = new LUNs();
+                lun.setLUNId(disk.lunGuid);
+
+                if (disk.trueSize != null) {
+                    int sizeInGB = SizeConverter.convert(
+                            disk.trueSize, SizeConverter.SizeUnit.BYTES, SizeConverter.SizeUnit.GiB).intValue();
+                    lun.setDeviceSize(sizeInGB);
+                }
+
+                lunsMap.put(disk.lunGuid, lun);
+            }
+        }
+        return lunsMap;
+    }
+
+    public List<DiskImageDynamic> buildVmDiskStatistics(VmStatsRecord record) {
+        if (record.disks == null) {
+            return Collections.emptyList();
+        }
+
+        List<DiskImageDynamic> disksData = new ArrayList<>(record.disks.size());
+        for (VmStatsRecord.Disk disk : record.disks) {
+            if (!StringUtils.isEmpty(disk.imageId)) {
+                DiskImageDynamic diskData = new DiskImageDynamic();
+                diskData.setId(new Guid(disk.imageId));
+                diskData.setReadRate(disk.readRate);
+                diskData.setReadOps(disk.readOps);
+                diskData.setWriteRate(disk.writeRate);
+                diskData.setWriteOps(disk.writeOps);
+                if (disk.trueSize != null) {
+                    diskData.setActualSize(disk.trueSize);
+                }
+                if (disk.readLatency != null) {
+                    diskData.setReadLatency(disk.readLatency / NANO_SECONDS);
+                }
+                if (disk.writeLatency != null) {
+                    diskData.setWriteLatency(disk.writeLatency / NANO_SECONDS);
+                }
+                if (disk.flushLatency != null) {
+                    diskData.setFlushLatency(disk.flushLatency / NANO_SECONDS);
+                }
+                disksData.add(diskData);
+            }
+        }
+        return disksData;
+    }
+
     public List<VmJob> buildVmJobsData(Map<String, Object> struct) {
         if (!struct.containsKey(VdsProperties.vmJobs)) {
             return null;
@@ -1661,11 +1681,6 @@ public class VdsBrokerObjectsBuilder {
      * @param name - The name of the field we want to cast it to double.
      * @return - the double value.
      */
-    private static Double assignDoubleValueWithNullProtection(Map<String, Object> input, String name) {
-        Double doubleValue = assignDoubleValue(input, name);
-        return doubleValue == null ? Double.valueOf(0.0) : doubleValue;
-    }
-
     private static Integer assignIntValue(Map input, String name) {
         if (input.containsKey(name)) {
             if (input.get(name) instanceof Integer) {
@@ -1793,47 +1808,6 @@ public class VdsBrokerObjectsBuilder {
         return Boolean.FALSE;
     }
 
-    public List<DiskImageDynamic> buildVmDiskStatistics(Map<String, Object> vmStruct) {
-        Map<String, Object> disks = (Map<String, Object>) vmStruct.get(VdsProperties.vm_disks);
-        if (disks == null) {
-            return Collections.emptyList();
-        }
-
-        List<DiskImageDynamic> disksData = new ArrayList<>();
-        for (Object diskAsObj : disks.values()) {
-            Map<String, Object> disk = (Map<String, Object>) diskAsObj;
-            DiskImageDynamic diskData = new DiskImageDynamic();
-            String imageGroupIdString = assignStringValue(disk, VdsProperties.image_group_id);
-            if (!StringUtils.isEmpty(imageGroupIdString)) {
-                Guid imageGroupIdGuid = new Guid(imageGroupIdString);
-                diskData.setId(imageGroupIdGuid);
-                diskData.setReadRate(assignLongValue(disk, VdsProperties.vm_disk_read_rate));
-                diskData.setReadOps(assignLongValue(disk, VdsProperties.vm_disk_read_ops));
-                diskData.setWriteRate(assignLongValue(disk, VdsProperties.vm_disk_write_rate));
-                diskData.setWriteOps(assignLongValue(disk, VdsProperties.vm_disk_write_ops));
-
-                if (disk.containsKey(VdsProperties.disk_true_size)) {
-                    Long size = assignLongValue(disk, VdsProperties.disk_true_size);
-                    diskData.setActualSize(size != null ? size : 0);
-                }
-                if (disk.containsKey(VdsProperties.vm_disk_read_latency)) {
-                    diskData.setReadLatency(assignDoubleValueWithNullProtection(disk,
-                            VdsProperties.vm_disk_read_latency) / NANO_SECONDS);
-                }
-                if (disk.containsKey(VdsProperties.vm_disk_write_latency)) {
-                    diskData.setWriteLatency(assignDoubleValueWithNullProtection(disk,
-                            VdsProperties.vm_disk_write_latency) / NANO_SECONDS);
-                }
-                if (disk.containsKey(VdsProperties.vm_disk_flush_latency)) {
-                    diskData.setFlushLatency(assignDoubleValueWithNullProtection(disk,
-                            VdsProperties.vm_disk_flush_latency) / NANO_SECONDS);
-                }
-                disksData.add(diskData);
-            }
-        }
-        return disksData;
-    }
-
     private static void initAppsList(Map<String, Object> vmStruct, VmDynamic vm) {
         if (vmStruct.containsKey(VdsProperties.app_list)) {
             Object tempAppsList = vmStruct.get(VdsProperties.app_list);
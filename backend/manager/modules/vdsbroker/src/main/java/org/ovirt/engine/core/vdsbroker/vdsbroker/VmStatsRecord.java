@@ -0,0 +1,70 @@
+package org.ovirt.engine.core.vdsbroker.vdsbroker;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The statistics of a VM as reported by VDSM. The statistics that are reported on each monitoring cycle, like the CPU
+ * and memory usage and the statistics of the interfaces and disks, are decoded to typed fields. All the other values
+ * reported for the VM are kept in {@link #struct}, the same way they are kept for the other verbs.
+ */
+public final class VmStatsRecord {
+
+    /**
+     * The values reported for the VM which aren't decoded to the typed fields.
+     */
+    public Map<String, Object> struct;
+
+    public Double elapsedTime;
+    public Double cpuSys;
+    public Double cpuUser;
+    public Integer memUsage;
+    public Integer migrationProgress;
+    public MemoryStats memoryStats;
+    public BalloonInfo balloonInfo;
+    public List<Nic> network;
+    public List<Disk> disks;
+
+    public static final class MemoryStats {
+        public Long buffered;
+        public Long cached;
+        public Long free;
+        public Long unused;
+    }
+
+    public static final class BalloonInfo {
+        public Long current;
+        public Long max;
+        public Long target;
+        public Long min;
+        /**
+         * The number of the properties reported for the balloon.
+         */
+        public int size;
+    }
+
+    public static final class Nic {
+        public String name;
+        public String macAddr;
+        public BigInteger rxDropped;
+        public BigInteger rx;
+        public BigInteger txDropped;
+        public BigInteger tx;
+        public Double sampleTime;
+        public Integer speed;
+    }
+
+    public static final class Disk {
+        public String imageId;
+        public String lunGuid;
+        public Long readRate;
+        public Long readOps;
+        public Long writeRate;
+        public Long writeOps;
+        public Long trueSize;
+        public Double readLatency;
+        public Double writeLatency;
+        public Double flushLatency;
+    }
+}
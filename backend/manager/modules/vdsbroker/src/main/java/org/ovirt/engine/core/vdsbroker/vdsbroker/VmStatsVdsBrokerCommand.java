@@ -29,7 +29,8 @@ public abstract class VmStatsVdsBrokerCommand<P extends VdsIdVDSCommandParameter
         return vmListReturn;
     }
 
-    protected VdsmVm createVdsmVm(Map<String, Object> struct) {
+    protected VdsmVm createVdsmVm(VmStatsRecord record) {
+        Map<String, Object> struct = record.struct;
         VmDynamic vmDynamic = vdsBrokerObjectsBuilder.buildVMDynamicData(struct, getVds());
         Guid vmId = vmDynamic.getId();
         return new VdsmVm(vdsBrokerObjectsBuilder.getVdsmCallTimestamp(struct))
@@ -37,13 +38,13 @@ public abstract class VmStatsVdsBrokerCommand<P extends VdsIdVDSCommandParameter
                 .setDevicesHash(vdsBrokerObjectsBuilder.getVmDevicesHash(struct))
                 .setTpmDataHash(vdsBrokerObjectsBuilder.getTpmDataHash(struct))
                 .setNvramDataHash(vdsBrokerObjectsBuilder.getNvramDataHash(struct))
-                .setVmStatistics(vdsBrokerObjectsBuilder.buildVMStatisticsData(struct))
+                .setVmStatistics(vdsBrokerObjectsBuilder.buildVMStatisticsData(record))
                 .setVmJobs(vdsBrokerObjectsBuilder.buildVmJobsData(struct))
-                .setInterfaceStatistics(vdsBrokerObjectsBuilder.buildInterfaceStatisticsData(struct))
-                .setVmBalloonInfo(vdsBrokerObjectsBuilder.buildVmBalloonInfo(struct))
+                .setInterfaceStatistics(vdsBrokerObjectsBuilder.buildInterfaceStatisticsData(record))
+                .setVmBalloonInfo(vdsBrokerObjectsBuilder.buildVmBalloonInfo(record))
                 .setVmGuestAgentInterfaces(vdsBrokerObjectsBuilder.buildVmGuestAgentInterfacesData(vmId, struct))
-                .setLunsMap(vdsBrokerObjectsBuilder.buildVmLunDisksData(struct))
-                .setDiskStatistics(vdsBrokerObjectsBuilder.buildVmDiskStatistics(struct));
+                .setLunsMap(vdsBrokerObjectsBuilder.buildVmLunDisksData(record))
+                .setDiskStatistics(vdsBrokerObjectsBuilder.buildVmDiskStatistics(record));
     }
 
     @Override
@@ -0,0 +1,125 @@
+package org.ovirt.engine.core.vdsbroker;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.ovirt.engine.core.common.businessentities.VDS;
+import org.ovirt.engine.core.common.businessentities.VDSStatus;
+import org.ovirt.engine.core.common.config.ConfigValues;
+import org.ovirt.engine.core.compat.Guid;
+import org.ovirt.engine.core.dao.VdsDao;
+import org.ovirt.engine.core.utils.MockConfigDescriptor;
+import org.ovirt.engine.core.utils.MockConfigExtension;
+
+@ExtendWith({MockitoExtension.class, MockConfigExtension.class})
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class ClusterResourceViewTest {
+
+    private static final int MAX_AGE = 60;
+    private static final Guid CLUSTER_ID = new Guid("0b4a7a2e-6f1c-4b8f-9a0c-2f1d6c4e8a01");
+    private static final Guid OTHER_CLUSTER_ID = new Guid("0b4a7a2e-6f1c-4b8f-9a0c-2f1d6c4e8a02");
+
+    @Mock
+    private VdsDao vdsDao;
+
+    @InjectMocks
+    private ClusterResourceView view;
+
+    public static Stream<MockConfigDescriptor<?>> mockConfiguration() {
+        return Stream.of(MockConfigDescriptor.of(ConfigValues.SchedulingResourceViewMaxAgeInSeconds, MAX_AGE));
+    }
+
+    @Test
+    public void testUpHostsOfCluster() {
+        VdsManager up = mockVdsManager(CLUSTER_ID, VDSStatus.Up, System.currentTimeMillis());
+        view.addHost(up);
+        view.addHost(mockVdsManager(CLUSTER_ID, VDSStatus.Maintenance, System.currentTimeMillis()));
+        view.addHost(mockVdsManager(OTHER_CLUSTER_ID, VDSStatus.Up, System.currentTimeMillis()));
+
+        List<VDS> hosts = view.getUpHosts(CLUSTER_ID);
+
+        assertEquals(Collections.singletonList(up.getVdsId()), ids(hosts));
+        verify(vdsDao, never()).getAllForClusterWithStatus(any(), any());
+    }
+
+    @Test
+    public void testRemovedHost() {
+        VdsManager up = mockVdsManager(CLUSTER_ID, VDSStatus.Up, System.currentTimeMillis());
+        view.addHost(up);
+        view.removeHost(up.getVdsId());
+
+        assertTrue(view.getUpHosts(CLUSTER_ID).isEmpty());
+    }
+
+    @Test
+    public void testHostMovedToAnotherCluster() {
+        VdsManager up = mockVdsManager(CLUSTER_ID, VDSStatus.Up, System.currentTimeMillis());
+        view.addHost(up);
+        VDS moved = up.getCopyVds();
+        moved.setClusterId(OTHER_CLUSTER_ID);
+        when(up.getCopyVds()).thenReturn(moved);
+        when(up.getClusterId()).thenReturn(OTHER_CLUSTER_ID);
+
+        assertTrue(view.getUpHosts(CLUSTER_ID).isEmpty());
+
+        view.updateHost(up);
+        assertEquals(Collections.singletonList(up.getVdsId()), ids(view.getUpHosts(OTHER_CLUSTER_ID)));
+    }
+
+    @Test
+    public void testStaleHostLoadsFromDb() {
+        view.addHost(mockVdsManager(CLUSTER_ID, VDSStatus.Up, System.currentTimeMillis()));
+        view.addHost(mockVdsManager(CLUSTER_ID, VDSStatus.Up, System.currentTimeMillis() - (MAX_AGE + 1) * 1000L));
+        List<VDS> dbHosts = Collections.singletonList(new VDS());
+        when(vdsDao.getAllForClusterWithStatus(CLUSTER_ID, VDSStatus.Up)).thenReturn(dbHosts);
+
+        assertSame(dbHosts, view.getUpHosts(CLUSTER_ID));
+    }
+
+    @Test
+    public void testSlowedDownHostIsNotStale() {
+        VdsManager slowedDown =
+                mockVdsManager(CLUSTER_ID, VDSStatus.Up, System.currentTimeMillis() - (MAX_AGE + 30) * 1000L);
+        when(slowedDown.getRefreshSlowdownMillis()).thenReturn(60 * 1000L);
+        view.addHost(slowedDown);
+
+        assertEquals(Collections.singletonList(slowedDown.getVdsId()), ids(view.getUpHosts(CLUSTER_ID)));
+        verify(vdsDao, never()).getAllForClusterWithStatus(any(), any());
+    }
+
+    private static VdsManager mockVdsManager(Guid clusterId, VDSStatus status, long refreshTime) {
+        VDS vds = new VDS();
+        vds.setId(Guid.newGuid());
+        vds.setClusterId(clusterId);
+        vds.setStatus(status);
+
+        VdsManager vdsManager = mock(VdsManager.class);
+        when(vdsManager.getVdsId()).thenReturn(vds.getId());
+        when(vdsManager.getClusterId()).thenReturn(clusterId);
+        when(vdsManager.getCopyVds()).thenReturn(vds);
+        when(vdsManager.getCachedVdsRefreshTime()).thenReturn(refreshTime);
+        return vdsManager;
+    }
+
+    private static List<Guid> ids(List<VDS> hosts) {
+        return hosts.stream().map(VDS::getId).collect(Collectors.toList());
+    }
+}
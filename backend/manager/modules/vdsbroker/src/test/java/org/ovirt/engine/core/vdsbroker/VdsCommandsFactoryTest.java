@@ -0,0 +1,78 @@
+package org.ovirt.engine.core.vdsbroker;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.ovirt.engine.core.common.vdscommands.IsVmDuringInitiatingVDSCommandParameters;
+import org.ovirt.engine.core.common.vdscommands.VDSCommandType;
+import org.ovirt.engine.core.common.vdscommands.VDSParametersBase;
+import org.ovirt.engine.core.compat.Guid;
+
+public class VdsCommandsFactoryTest {
+
+    private VdsCommandsFactory factory;
+
+    @BeforeEach
+    public void setUp() {
+        factory = new VdsCommandsFactory();
+        factory.init();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        factory.shutdown();
+    }
+
+    @Test
+    public void testAllCommandClassesFound() {
+        assertTrue(factory.getMissingCommandClasses().isEmpty(),
+                () -> "Missing command classes: " + factory.getMissingCommandClasses());
+    }
+
+    @Test
+    public void testCreateCommand() {
+        IsVmDuringInitiatingVDSCommandParameters parameters = new IsVmDuringInitiatingVDSCommandParameters(Guid.newGuid());
+
+        VDSCommandBase<IsVmDuringInitiatingVDSCommandParameters> command =
+                factory.createCommand(VDSCommandType.IsVmDuringInitiating, parameters);
+        VDSCommandBase<IsVmDuringInitiatingVDSCommandParameters> other =
+                factory.createCommand(VDSCommandType.IsVmDuringInitiating, parameters);
+
+        assertEquals(IsVmDuringInitiatingVDSCommand.class, command.getClass());
+        assertSame(parameters, command.getParameters());
+        assertNotSame(command, other);
+    }
+
+    @Test
+    public void testCreateCommandWithIncompatibleParameters() {
+        VDSCommandBase<VDSParametersBase> command =
+                factory.createCommand(VDSCommandType.IsVmDuringInitiating, new VDSParametersBase());
+
+        assertNull(command);
+    }
+
+    @Test
+    public void testStatistics() {
+        factory.recordExecution(VDSCommandType.GetStats, TimeUnit.MILLISECONDS.toNanos(1));
+        factory.recordExecution(VDSCommandType.GetStats, TimeUnit.MILLISECONDS.toNanos(70));
+        factory.recordExecution(VDSCommandType.GetStats, TimeUnit.MINUTES.toNanos(1));
+
+        assertEquals(1, factory.getInvocations().size());
+        assertEquals(Long.valueOf(3), factory.getInvocations().get(VDSCommandType.GetStats.name()));
+        assertEquals(Long.valueOf(60071), factory.getTotalTimeMillis().get(VDSCommandType.GetStats.name()));
+        assertArrayEquals(new long[] { 1, 0, 1, 0, 0, 0, 0, 1 },
+                factory.getLatencyHistograms().get(VDSCommandType.GetStats.name()));
+
+        factory.resetStatistics();
+        assertTrue(factory.getInvocations().isEmpty());
+    }
+}
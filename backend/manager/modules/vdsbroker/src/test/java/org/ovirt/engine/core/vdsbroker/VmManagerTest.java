@@ -0,0 +1,93 @@
+package org.ovirt.engine.core.vdsbroker;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.ovirt.engine.core.common.businessentities.VMStatus;
+import org.ovirt.engine.core.common.businessentities.VmDynamic;
+import org.ovirt.engine.core.compat.Guid;
+import org.ovirt.engine.core.dao.VmDynamicDao;
+
+@ExtendWith(MockitoExtension.class)
+public class VmManagerTest {
+
+    private static final Guid VM_ID = new Guid("3d2e6bd4-9d3f-4a3b-8f0e-7c1f4b2a8e51");
+
+    @Mock
+    private VmDynamicDao vmDynamicDao;
+
+    @InjectMocks
+    private VmManager vmManager = new VmManager(VM_ID);
+
+    @Test
+    public void testDynamicDataIsReadOnce() {
+        when(vmDynamicDao.get(VM_ID)).thenReturn(createVmDynamic(VMStatus.Up));
+        assertEquals(VMStatus.Up, vmManager.getLastVmDynamic().getStatus());
+        assertEquals(VMStatus.Up, vmManager.getLastVmDynamic().getStatus());
+        verify(vmDynamicDao, times(1)).get(VM_ID);
+    }
+
+    @Test
+    public void testMissingDynamicDataIsNotKept() {
+        assertNull(vmManager.getLastVmDynamic());
+        assertNull(vmManager.getLastVmDynamic());
+        verify(vmDynamicDao, times(2)).get(VM_ID);
+    }
+
+    @Test
+    public void testUpdatedDynamicDataIsKept() {
+        vmManager.update(createVmDynamic(VMStatus.PoweringUp));
+        assertEquals(VMStatus.PoweringUp, vmManager.getLastVmDynamic().getStatus());
+        verify(vmDynamicDao, never()).get(VM_ID);
+    }
+
+    /**
+     * Check that changing the returned data doesn't change the data kept by the manager.
+     */
+    @Test
+    public void testDynamicDataIsCopied() {
+        vmManager.setLastVmDynamic(createVmDynamic(VMStatus.Up));
+        vmManager.getLastVmDynamic().setStatus(VMStatus.Down);
+        assertEquals(VMStatus.Up, vmManager.getLastVmDynamic().getStatus());
+    }
+
+    @Test
+    public void testInvalidatedDynamicDataIsReadAgain() {
+        vmManager.setLastVmDynamic(createVmDynamic(VMStatus.Up));
+        vmManager.invalidateLastVmDynamic();
+        when(vmDynamicDao.get(VM_ID)).thenReturn(createVmDynamic(VMStatus.RebootInProgress));
+        assertEquals(VMStatus.RebootInProgress, vmManager.getLastVmDynamic().getStatus());
+    }
+
+    /**
+     * Check that data read from the database isn't kept when the dynamic data is changed while it is read, as the read
+     * data may predate the change.
+     */
+    @Test
+    public void testDataChangedWhileReadIsNotKept() {
+        doAnswer(invocation -> {
+            vmManager.invalidateLastVmDynamic();
+            return createVmDynamic(VMStatus.Up);
+        }).when(vmDynamicDao).get(VM_ID);
+        vmManager.getLastVmDynamic();
+        vmManager.getLastVmDynamic();
+        verify(vmDynamicDao, times(2)).get(VM_ID);
+    }
+
+    private static VmDynamic createVmDynamic(VMStatus status) {
+        VmDynamic vmDynamic = new VmDynamic();
+        vmDynamic.setId(VM_ID);
+        vmDynamic.setStatus(status);
+        return vmDynamic;
+    }
+}
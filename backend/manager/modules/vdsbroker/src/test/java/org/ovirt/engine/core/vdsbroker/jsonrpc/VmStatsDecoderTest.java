@@ -0,0 +1,170 @@
+package org.ovirt.engine.core.vdsbroker.jsonrpc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.ovirt.engine.core.common.businessentities.VmBalloonInfo;
+import org.ovirt.engine.core.common.businessentities.VmStatistics;
+import org.ovirt.engine.core.common.businessentities.network.VmNetworkInterface;
+import org.ovirt.engine.core.common.businessentities.storage.DiskImageDynamic;
+import org.ovirt.engine.core.common.businessentities.storage.LUNs;
+import org.ovirt.engine.core.compat.Guid;
+import org.ovirt.engine.core.vdsbroker.vdsbroker.VMInfoListReturn;
+import org.ovirt.engine.core.vdsbroker.vdsbroker.VdsBrokerObjectsBuilder;
+import org.ovirt.engine.core.vdsbroker.vdsbroker.VdsProperties;
+import org.ovirt.engine.core.vdsbroker.vdsbroker.VmStatsRecord;
+import org.ovirt.vdsm.jsonrpc.client.JsonRpcResponse;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class VmStatsDecoderTest {
+
+    private static final String VM_ID = "71ca53fb-c223-4b31-926d-de1c2ab0b0a9";
+    private static final String IMAGE_ID = "ed185868-3f9e-4040-a340-e1a64726ebc0";
+    private static final String LUN_ID = "3600a0b80005ad1d7000024bc54a7f5e1";
+
+    private static final String VM_STATS = "{\"vmId\": \"" + VM_ID + "\", \"status\": \"Up\", "
+            + "\"statusTime\": \"4295740320\", \"hash\": \"-4942054084956770103\", \"elapsedTime\": \"1340\", "
+            + "\"cpuSys\": \"0.13\", \"cpuUser\": \"1.27\", \"memUsage\": \"24\", \"migrationProgress\": 0, "
+            + "\"disksUsage\": [{\"path\": \"/\", \"total\": \"8578400256\", \"used\": \"1179529216\", \"fs\": \"xfs\"}], "
+            + "\"memoryStats\": {\"mem_buffers\": \"2100\", \"mem_cached\": \"389652\", \"mem_free\": \"688924\", "
+            + "\"mem_unused\": \"299272\", \"swap_in\": 0}, "
+            + "\"balloonInfo\": {\"balloon_cur\": \"1048576\", \"balloon_max\": \"1048576\", "
+            + "\"balloon_min\": \"1048576\", \"balloon_target\": \"1048576\"}, "
+            + "\"network\": {\"vnet0\": {\"name\": \"vnet0\", \"macAddr\": \"00:1a:4a:16:01:51\", \"speed\": \"1000\", "
+            + "\"rxDropped\": \"0\", \"rx\": \"3154852\", \"txDropped\": \"0\", \"tx\": \"82312\", "
+            + "\"sampleTime\": 4295740.32, \"state\": \"unknown\"}}, "
+            + "\"disks\": {\"vda\": {\"imageID\": \"" + IMAGE_ID + "\", \"readRate\": \"512.0\", \"readOps\": \"4096\", "
+            + "\"writeRate\": \"0.0\", \"writeOps\": \"1024\", \"truesize\": \"1179529216\", "
+            + "\"readLatency\": \"1500000\", \"writeLatency\": \"0\", \"flushLatency\": \"350000\"}, "
+            + "\"sda\": {\"lunGUID\": \"" + LUN_ID + "\", \"truesize\": \"10737418240\"}}, "
+            + "\"guestFQDN\": \"vm1.example.com\", \"vmJobs\": {}}";
+
+    private final ObjectMapper mapper = new ObjectMapper().enable(DeserializationFeature.USE_JAVA_ARRAY_FOR_JSON_ARRAY);
+    private final VdsBrokerObjectsBuilder builder = new VdsBrokerObjectsBuilder();
+
+    private VmStatsRecord record;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        String json = "{\"jsonrpc\": \"2.0\", \"id\": \"aed1feb4-42cf-4bf4-8ddf-852251152b68\", \"result\": ["
+                + VM_STATS + "]}";
+        VMInfoListReturn listReturn = VmStatsDecoder.decode(JsonRpcResponse.fromJsonNode(mapper.readTree(json)));
+        assertEquals(0, listReturn.status.code);
+        assertEquals(1, listReturn.infoList.length);
+        record = listReturn.infoList[0];
+    }
+
+    @Test
+    public void testTypedValues() {
+        assertEquals(Double.valueOf(1340), record.elapsedTime);
+        assertEquals(Integer.valueOf(24), record.memUsage);
+        assertEquals(Long.valueOf(299272), record.memoryStats.unused);
+        assertEquals(4, record.balloonInfo.size);
+        assertEquals(1, record.network.size());
+        assertEquals(new BigInteger("3154852"), record.network.get(0).rx);
+        assertEquals(2, record.disks.size());
+        assertEquals(Long.valueOf(512), record.disks.get(0).readRate);
+    }
+
+    @Test
+    public void testOtherValuesKeptInStruct() {
+        assertEquals(VM_ID, record.struct.get(VdsProperties.vm_guid));
+        assertEquals("vm1.example.com", record.struct.get("guestFQDN"));
+        assertTrue(record.struct.get(VdsProperties.VM_DISKS_USAGE) instanceof Object[]);
+        assertFalse(record.struct.containsKey(VdsProperties.vm_disks));
+        assertFalse(record.struct.containsKey(VdsProperties.VM_NETWORK));
+    }
+
+    @Test
+    public void testStatistics() {
+        VmStatistics statistics = builder.buildVMStatisticsData(record);
+        assertEquals(Guid.createGuidFromString(VM_ID), statistics.getId());
+        assertEquals(Double.valueOf(1340), statistics.getElapsedTime());
+        assertEquals(Double.valueOf(0.13), statistics.getCpuSys());
+        assertEquals(Double.valueOf(1.27), statistics.getCpuUser());
+        assertEquals(Integer.valueOf(24), statistics.getUsageMemPercent());
+        assertEquals(Long.valueOf(2100), statistics.getGuestMemoryBuffered());
+        assertEquals(Long.valueOf(299272), statistics.getGuestMemoryUnused());
+        assertEquals(Integer.valueOf(0), statistics.getMigrationProgressPercent());
+        assertNotNull(statistics.getDisksUsage());
+    }
+
+    @Test
+    public void testDiskStatistics() {
+        List<DiskImageDynamic> disks = builder.buildVmDiskStatistics(record);
+        assertEquals(1, disks.size());
+        DiskImageDynamic disk = disks.get(0);
+        assertEquals(Guid.createGuidFromString(IMAGE_ID), disk.getId());
+        assertEquals(Long.valueOf(512), disk.getReadRate());
+        assertEquals(Long.valueOf(4096), disk.getReadOps());
+        assertEquals(Long.valueOf(1024), disk.getWriteOps());
+        assertEquals(1179529216L, disk.getActualSize());
+        assertEquals(0.0015, disk.getReadLatency(), 1e-12);
+        assertEquals(0.0, disk.getWriteLatency(), 1e-12);
+        assertEquals(0.00035, disk.getFlushLatency(), 1e-12);
+    }
+
+    @Test
+    public void testDiskWithNoLatencyValues() throws Exception {
+        String json = "{\"jsonrpc\": \"2.0\", \"id\": \"aed1feb4-42cf-4bf4-8ddf-852251152b68\", \"result\": ["
+                + "{\"vmId\": \"" + VM_ID + "\", \"disks\": {\"vda\": {\"imageID\": \"" + IMAGE_ID + "\", "
+                + "\"truesize\": null, \"readLatency\": null, \"writeLatency\": \"\"}}}]}";
+        VmStatsRecord noLatencies =
+                VmStatsDecoder.decode(JsonRpcResponse.fromJsonNode(mapper.readTree(json))).infoList[0];
+        DiskImageDynamic disk = builder.buildVmDiskStatistics(noLatencies).get(0);
+        assertEquals(0L, disk.getActualSize());
+        assertEquals(Double.valueOf(0.0), disk.getReadLatency());
+        assertEquals(Double.valueOf(0.0), disk.getWriteLatency());
+        assertNull(disk.getFlushLatency());
+    }
+
+    @Test
+    public void testLuns() {
+        Map<String, LUNs> luns = builder.buildVmLunDisksData(record);
+        assertEquals(Collections.singleton(LUN_ID), luns.keySet());
+        assertEquals(10, luns.get(LUN_ID).getDeviceSize());
+    }
+
+    @Test
+    public void testInterfaceStatistics() {
+        List<VmNetworkInterface> interfaces = builder.buildInterfaceStatisticsData(record);
+        assertEquals(1, interfaces.size());
+        VmNetworkInterface iface = interfaces.get(0);
+        assertEquals("vnet0", iface.getName());
+        assertEquals("00:1a:4a:16:01:51", iface.getMacAddress());
+        assertEquals(Integer.valueOf(1000), iface.getSpeed());
+        assertEquals(BigInteger.ZERO, iface.getStatistics().getReceiveDrops());
+        assertEquals(new BigInteger("3154852"), iface.getStatistics().getReceivedBytes());
+        assertEquals(new BigInteger("82312"), iface.getStatistics().getTransmittedBytes());
+        assertEquals(Double.valueOf(4295740.32), iface.getStatistics().getSampleTime());
+    }
+
+    @Test
+    public void testBalloonInfo() {
+        VmBalloonInfo balloonInfo = builder.buildVmBalloonInfo(record);
+        assertTrue(balloonInfo.isBalloonDeviceEnabled());
+        assertEquals(Long.valueOf(1048576), balloonInfo.getCurrentMemory());
+        assertEquals(Long.valueOf(1048576), balloonInfo.getBalloonTargetMemory());
+    }
+
+    @Test
+    public void testError() throws Exception {
+        String json = "{\"jsonrpc\": \"2.0\", \"id\": \"aed1feb4-42cf-4bf4-8ddf-852251152b68\", "
+                + "\"error\": {\"code\": 100, \"message\": \"General Exception\"}}";
+        VMInfoListReturn listReturn = VmStatsDecoder.decode(JsonRpcResponse.fromJsonNode(mapper.readTree(json)));
+        assertEquals(100, listReturn.status.code);
+        assertNull(listReturn.infoList);
+    }
+}
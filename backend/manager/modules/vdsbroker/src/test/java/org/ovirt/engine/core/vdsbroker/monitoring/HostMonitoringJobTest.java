@@ -0,0 +1,92 @@
+package org.ovirt.engine.core.vdsbroker.monitoring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class HostMonitoringJobTest {
+
+    private static final long INTERVAL = 3000;
+
+    private final List<Runnable> pending = new ArrayList<>();
+    private final AtomicInteger runs = new AtomicInteger();
+    private long now;
+    private HostMonitoringJob job;
+
+    @BeforeEach
+    public void setUp() {
+        now = 100000;
+        job = createJob(pending::add);
+    }
+
+    @Test
+    public void testRunsOnExecutor() {
+        job.run();
+        assertEquals(0, runs.get());
+        assertTrue(job.isRunning());
+        runPending();
+        assertEquals(1, runs.get());
+        assertFalse(job.isRunning());
+    }
+
+    @Test
+    public void testSkipsWhileRunning() {
+        job.run();
+        job.run();
+        job.run();
+        assertEquals(1, pending.size());
+        runPending();
+        job.run();
+        runPending();
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    public void testRejectedRunIsNotKeptRunning() {
+        job = createJob(command -> {
+            throw new RejectedExecutionException();
+        });
+        job.run();
+        assertFalse(job.isRunning());
+    }
+
+    @Test
+    public void testNoLagWhenInTime() {
+        job.run();
+        runPending();
+        now += INTERVAL;
+        assertEquals(0, job.getLagMillis());
+    }
+
+    @Test
+    public void testLagWhileBlocked() {
+        job.run();
+        runPending();
+        job.run();
+        now += INTERVAL + 5000;
+        assertEquals(5000, job.getLagMillis());
+        runPending();
+        assertEquals(0, job.getLagMillis());
+    }
+
+    private HostMonitoringJob createJob(Executor executor) {
+        HostMonitoringJob monitoringJob = new HostMonitoringJob("test", runs::incrementAndGet, executor, () -> INTERVAL);
+        monitoringJob.currentTime = () -> now;
+        return monitoringJob;
+    }
+
+    private void runPending() {
+        List<Runnable> toRun = new ArrayList<>(pending);
+        pending.clear();
+        toRun.forEach(Runnable::run);
+    }
+}
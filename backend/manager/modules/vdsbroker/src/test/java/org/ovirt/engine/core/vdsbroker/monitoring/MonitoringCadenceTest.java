@@ -0,0 +1,148 @@
+package org.ovirt.engine.core.vdsbroker.monitoring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.ovirt.engine.core.common.businessentities.VDS;
+import org.ovirt.engine.core.common.businessentities.VDSStatus;
+import org.ovirt.engine.core.common.businessentities.VMStatus;
+import org.ovirt.engine.core.compat.Guid;
+
+public class MonitoringCadenceTest {
+
+    private static final long REFRESH_RATE = 3000;
+    private static final long MAX_INTERVAL = 12000;
+    private static final int STABLE_REFRESHES = 2;
+    private static final int TOLERANCE = 10;
+
+    private final Guid vmId = Guid.newGuid();
+    private MonitoringCadence cadence;
+    private MonitoringCadence.Ticker ticker;
+    private VDS vds;
+    private Map<Guid, VMStatus> vms;
+
+    @BeforeEach
+    public void setUp() {
+        cadence = new MonitoringCadence(Guid.newGuid(), REFRESH_RATE, MAX_INTERVAL, STABLE_REFRESHES, TOLERANCE);
+        ticker = cadence.createTicker(REFRESH_RATE);
+        vds = new VDS();
+        vds.setStatus(VDSStatus.Up);
+        vds.setUsageCpuPercent(20);
+        vds.setUsageMemPercent(40);
+        vms = Collections.singletonMap(vmId, VMStatus.Up);
+    }
+
+    @Test
+    public void testSlowsDownWhenStable() {
+        refresh(1 + STABLE_REFRESHES);
+        assertEquals(2, cadence.getFactor());
+        assertEquals(2 * REFRESH_RATE, ticker.getIntervalMillis());
+        assertDueEvery(2);
+    }
+
+    @Test
+    public void testBoundedByMaxInterval() {
+        refresh(1 + 10 * STABLE_REFRESHES);
+        assertEquals(MAX_INTERVAL / REFRESH_RATE, cadence.getFactor());
+        assertEquals(MAX_INTERVAL, ticker.getIntervalMillis());
+        assertEquals(MAX_INTERVAL, cadence.createTicker(MAX_INTERVAL).getIntervalMillis());
+        assertDueEvery((int) (MAX_INTERVAL / REFRESH_RATE));
+    }
+
+    @Test
+    public void testDisabled() {
+        cadence = new MonitoringCadence(Guid.newGuid(), REFRESH_RATE, 0, STABLE_REFRESHES, TOLERANCE);
+        ticker = cadence.createTicker(REFRESH_RATE);
+        refresh(1 + 10 * STABLE_REFRESHES);
+        assertEquals(1, cadence.getFactor());
+        assertDueEvery(1);
+    }
+
+    @Test
+    public void testStableWithinUsageTolerance() {
+        refresh(1 + STABLE_REFRESHES);
+        vds.setUsageCpuPercent(20 + TOLERANCE);
+        refresh(1);
+        assertEquals(2, cadence.getFactor());
+    }
+
+    @Test
+    public void testUsageChangeResets() {
+        refresh(1 + STABLE_REFRESHES);
+        vds.setUsageMemPercent(40 + TOLERANCE + 1);
+        refresh(1);
+        assertEquals(1, cadence.getFactor());
+    }
+
+    @Test
+    public void testStatusChangeResets() {
+        refresh(1 + STABLE_REFRESHES);
+        vds.setStatus(VDSStatus.Maintenance);
+        refresh(1);
+        assertEquals(1, cadence.getFactor());
+    }
+
+    @Test
+    public void testVmsChangeResets() {
+        refresh(1 + STABLE_REFRESHES);
+        vms = Collections.singletonMap(vmId, VMStatus.Paused);
+        refresh(1);
+        assertEquals(1, cadence.getFactor());
+    }
+
+    @Test
+    public void testVmsAddedInPlaceResets() {
+        vms = new HashMap<>(vms);
+        refresh(1 + STABLE_REFRESHES);
+        vms.put(Guid.newGuid(), VMStatus.Up);
+        refresh(1);
+        assertEquals(1, cadence.getFactor());
+    }
+
+    @Test
+    public void testNotSlowedDownWhileMigrating() {
+        vms = Collections.singletonMap(vmId, VMStatus.MigratingFrom);
+        refresh(1 + 10 * STABLE_REFRESHES);
+        assertEquals(1, cadence.getFactor());
+    }
+
+    @Test
+    public void testNotSlowedDownWhenNotUp() {
+        vds.setStatus(VDSStatus.NonOperational);
+        refresh(1 + 10 * STABLE_REFRESHES);
+        assertEquals(1, cadence.getFactor());
+    }
+
+    @Test
+    public void testResetMakesTickerDue() {
+        refresh(1 + STABLE_REFRESHES);
+        assertFalse(ticker.isDue());
+        cadence.reset("test");
+        assertEquals(1, cadence.getFactor());
+        assertTrue(ticker.isDue());
+        assertDueEvery(1);
+    }
+
+    private void refresh(int times) {
+        for (int i = 0; i < times; i++) {
+            cadence.onRefresh(vds, vms);
+        }
+    }
+
+    private void assertDueEvery(int runs) {
+        int due = 0;
+        for (int i = 0; i < 4 * runs; i++) {
+            if (ticker.isDue()) {
+                due++;
+            }
+        }
+        assertEquals(4, due);
+    }
+}
@@ -0,0 +1,391 @@
+package org.ovirt.engine.core.vdsbroker.monitoring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import javax.enterprise.concurrent.ManagedScheduledExecutorService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.ovirt.engine.core.common.businessentities.VmStatistics;
+import org.ovirt.engine.core.common.businessentities.network.VmNetworkStatistics;
+import org.ovirt.engine.core.common.businessentities.storage.DiskImageDynamic;
+import org.ovirt.engine.core.common.config.ConfigValues;
+import org.ovirt.engine.core.common.utils.Pair;
+import org.ovirt.engine.core.compat.Guid;
+import org.ovirt.engine.core.dao.DiskImageDynamicDao;
+import org.ovirt.engine.core.dao.VmStatisticsDao;
+import org.ovirt.engine.core.dao.network.VmNetworkStatisticsDao;
+import org.ovirt.engine.core.utils.MockConfigDescriptor;
+import org.ovirt.engine.core.utils.MockConfigExtension;
+import org.ovirt.engine.core.utils.MockedConfig;
+
+@ExtendWith({MockitoExtension.class, MockConfigExtension.class})
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class VmStatisticsPersisterTest {
+
+    private static final int INTERVAL = 15;
+    private static final int REFRESH_INTERVAL = 60;
+    private static final int TOLERANCE = 10;
+    private static final Guid VM_ID_1 = new Guid("b7dfe5e6-5667-4e40-8ecb-6d97c8df504c");
+    private static final Guid VM_ID_2 = new Guid("b7dfe5e6-5667-4e40-8ecb-6d97c8df504d");
+
+    @Mock
+    private VmStatisticsDao vmStatisticsDao;
+    @Mock
+    private VmNetworkStatisticsDao vmNetworkStatisticsDao;
+    @Mock
+    private DiskImageDynamicDao diskImageDynamicDao;
+    @Mock
+    private ManagedScheduledExecutorService executor;
+    @Mock
+    private ScheduledFuture<?> flushJob;
+
+    @Captor
+    private ArgumentCaptor<Collection<VmStatistics>> statisticsCaptor;
+    @Captor
+    private ArgumentCaptor<Collection<Pair<Guid, DiskImageDynamic>>> diskImageDynamicCaptor;
+
+    @InjectMocks
+    private VmStatisticsPersister persister;
+
+    private long now;
+
+    public static Stream<MockConfigDescriptor<?>> mockConfiguration() {
+        return Stream.of(MockConfigDescriptor.of(ConfigValues.VmStatisticsPersistIntervalInSeconds, INTERVAL),
+                MockConfigDescriptor.of(ConfigValues.VmStatisticsRefreshIntervalInSeconds, 0),
+                MockConfigDescriptor.of(ConfigValues.VmStatisticsChangeTolerancePercent, 0));
+    }
+
+    public static Stream<MockConfigDescriptor<?>> changeDetectionConfiguration() {
+        return Stream.of(MockConfigDescriptor.of(ConfigValues.VmStatisticsPersistIntervalInSeconds, 0),
+                MockConfigDescriptor.of(ConfigValues.VmStatisticsRefreshIntervalInSeconds, REFRESH_INTERVAL),
+                MockConfigDescriptor.of(ConfigValues.VmStatisticsChangeTolerancePercent, TOLERANCE));
+    }
+
+    @BeforeEach
+    public void setUp() {
+        doReturn(flushJob).when(executor)
+                .scheduleWithFixedDelay(any(), anyLong(), anyLong(), any());
+        now = System.currentTimeMillis();
+        persister.currentTime = () -> now;
+    }
+
+    @Test
+    public void testSynchronousWhenNotScheduled() {
+        List<VmStatistics> statistics = Collections.singletonList(createStatistics(VM_ID_1));
+        persister.saveVmStatistics(statistics);
+        verify(vmStatisticsDao).updateAllInBatch(statistics);
+    }
+
+    @Test
+    public void testScheduledByInterval() {
+        persister.init();
+        verify(executor).scheduleWithFixedDelay(any(), eq((long) INTERVAL), eq((long) INTERVAL), eq(TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testFlushWritesLatestStatistics() {
+        persister.init();
+        VmStatistics latest = createStatistics(VM_ID_1);
+        VmStatistics other = createStatistics(VM_ID_2);
+        persister.saveVmStatistics(Arrays.asList(createStatistics(VM_ID_1), other));
+        persister.saveVmStatistics(Collections.singletonList(latest));
+        verify(vmStatisticsDao, never()).updateAllInBatch(any());
+
+        persister.flush();
+
+        verify(vmStatisticsDao).updateAllInBatch(statisticsCaptor.capture());
+        Collection<VmStatistics> written = statisticsCaptor.getValue();
+        assertEquals(2, written.size());
+        assertSame(latest, written.stream().filter(s -> VM_ID_1.equals(s.getId())).findFirst().orElse(null));
+    }
+
+    @Test
+    public void testFlushWritesLatestDiskImageDynamic() {
+        persister.init();
+        Guid imageId = Guid.newGuid();
+        Pair<Guid, DiskImageDynamic> latest = new Pair<>(VM_ID_1, createDiskImageDynamic(imageId));
+        persister.saveDiskImageDynamic(Collections.singletonList(
+                new Pair<>(VM_ID_1, createDiskImageDynamic(imageId))));
+        persister.saveDiskImageDynamic(Collections.singletonList(latest));
+
+        persister.flush();
+
+        verify(diskImageDynamicDao).updateAllDiskImageDynamicWithDiskIdByVmId(diskImageDynamicCaptor.capture());
+        assertEquals(Collections.singletonList(latest), diskImageDynamicCaptor.getValue());
+    }
+
+    @Test
+    public void testFlushWritesOnlyOnce() {
+        persister.init();
+        persister.saveVmStatistics(Collections.singletonList(createStatistics(VM_ID_1)));
+
+        persister.flush();
+        persister.flush();
+
+        verify(vmStatisticsDao).updateAllInBatch(any());
+    }
+
+    @Test
+    public void testFailedFlushKeepsStatisticsPending() {
+        persister.init();
+        VmStatistics statistics = createStatistics(VM_ID_1);
+        persister.saveVmStatistics(Collections.singletonList(statistics));
+        doThrow(new RuntimeException()).doNothing().when(vmStatisticsDao).updateAllInBatch(any());
+
+        persister.flush();
+        persister.flush();
+
+        verify(vmStatisticsDao, times(2)).updateAllInBatch(statisticsCaptor.capture());
+        assertEquals(Collections.singletonList(statistics), statisticsCaptor.getValue());
+    }
+
+    @Test
+    public void testFailedFlushKeepsNewerStatistics() {
+        persister.init();
+        persister.saveVmStatistics(Collections.singletonList(createStatistics(VM_ID_1)));
+        VmStatistics latest = createStatistics(VM_ID_1);
+        doAnswer(invocation -> {
+            persister.saveVmStatistics(Collections.singletonList(latest));
+            throw new RuntimeException();
+        }).doNothing().when(vmStatisticsDao).updateAllInBatch(any());
+
+        persister.flush();
+        persister.flush();
+
+        verify(vmStatisticsDao, times(2)).updateAllInBatch(statisticsCaptor.capture());
+        assertEquals(Collections.singletonList(latest), statisticsCaptor.getValue());
+    }
+
+    @Test
+    public void testDiscard() {
+        persister.init();
+        persister.saveVmStatistics(Collections.singletonList(createStatistics(VM_ID_1)));
+        VmNetworkStatistics networkStatistics = new VmNetworkStatistics();
+        networkStatistics.setId(Guid.newGuid());
+        networkStatistics.setVmId(VM_ID_1);
+        persister.saveVmNetworkStatistics(Collections.singletonList(networkStatistics));
+
+        persister.discard(VM_ID_1);
+        persister.flush();
+
+        verify(vmStatisticsDao, never()).updateAllInBatch(any());
+        verify(vmNetworkStatisticsDao, never()).updateAllInBatch(any());
+    }
+
+    /**
+     * Check that discarding the statistics of a VM waits for a flush that is writing them, so the statistics written
+     * directly after the discard aren't overridden by the flush.
+     */
+    @Test
+    public void testDiscardWaitsForFlush() throws InterruptedException {
+        persister.init();
+        persister.saveVmStatistics(Collections.singletonList(createStatistics(VM_ID_1)));
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch written = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            writing.countDown();
+            written.await();
+            return null;
+        }).when(vmStatisticsDao).updateAllInBatch(any());
+        Thread flush = new Thread(persister::flush);
+        flush.start();
+        writing.await();
+
+        Thread discard = new Thread(() -> persister.discard(VM_ID_1));
+        discard.start();
+        Thread.State state;
+        while ((state = discard.getState()) != Thread.State.BLOCKED && state != Thread.State.TERMINATED) {
+            Thread.onSpinWait();
+        }
+        written.countDown();
+        flush.join();
+        discard.join();
+
+        assertEquals(Thread.State.BLOCKED, state);
+    }
+
+    @Test
+    public void testShutdownFlushesPending() {
+        persister.init();
+        persister.saveVmStatistics(Collections.singletonList(createStatistics(VM_ID_1)));
+
+        persister.shutdown();
+
+        verify(flushJob).cancel(false);
+        verify(vmStatisticsDao).updateAllInBatch(any());
+    }
+
+    @Test
+    @MockedConfig("changeDetectionConfiguration")
+    public void testUnchangedStatisticsSkipped() {
+        persister.init();
+        persister.saveVmStatistics(Collections.singletonList(createStatistics(VM_ID_1, 10.0)));
+        persister.saveVmStatistics(Collections.singletonList(createStatistics(VM_ID_1, 10.0)));
+
+        verify(vmStatisticsDao).updateAllInBatch(any());
+        assertEquals(1, persister.getWrittenRows());
+        assertEquals(1, persister.getSkippedRows());
+        assertEquals(0.5, persister.getSkipRatio());
+    }
+
+    @Test
+    @MockedConfig("changeDetectionConfiguration")
+    public void testFailedStatisticsWrittenAgain() {
+        persister.init();
+        doThrow(new RuntimeException()).doNothing().when(vmStatisticsDao).updateAllInBatch(any());
+        assertThrows(RuntimeException.class,
+                () -> persister.saveVmStatistics(Collections.singletonList(createStatistics(VM_ID_1, 10.0))));
+        persister.saveVmStatistics(Collections.singletonList(createStatistics(VM_ID_1, 10.0)));
+
+        verify(vmStatisticsDao, times(2)).updateAllInBatch(any());
+        assertEquals(1, persister.getWrittenRows());
+        assertEquals(0, persister.getSkippedRows());
+    }
+
+    @Test
+    @MockedConfig("changeDetectionConfiguration")
+    public void testChangedStatisticsWritten() {
+        persister.init();
+        persister.saveVmStatistics(Collections.singletonList(createStatistics(VM_ID_1, 10.0)));
+        persister.saveVmStatistics(Collections.singletonList(createStatistics(VM_ID_1, 20.0)));
+
+        verify(vmStatisticsDao, times(2)).updateAllInBatch(any());
+        assertEquals(0, persister.getSkipRatio());
+    }
+
+    @Test
+    @MockedConfig("changeDetectionConfiguration")
+    public void testChangeWithinToleranceSkipped() {
+        persister.init();
+        persister.saveVmStatistics(Collections.singletonList(createStatistics(VM_ID_1, 10.0)));
+        persister.saveVmStatistics(Collections.singletonList(createStatistics(VM_ID_1, 10.5)));
+        verify(vmStatisticsDao).updateAllInBatch(any());
+
+        // compared to the written statistics rather than to the skipped ones
+        persister.saveVmStatistics(Collections.singletonList(createStatistics(VM_ID_1, 11.5)));
+        verify(vmStatisticsDao, times(2)).updateAllInBatch(any());
+    }
+
+    @Test
+    @MockedConfig("changeDetectionConfiguration")
+    public void testOnlyChangedStatisticsWritten() {
+        persister.init();
+        persister.saveVmStatistics(Arrays.asList(createStatistics(VM_ID_1, 10.0), createStatistics(VM_ID_2, 10.0)));
+        VmStatistics changed = createStatistics(VM_ID_2, 50.0);
+        persister.saveVmStatistics(Arrays.asList(createStatistics(VM_ID_1, 10.0), changed));
+
+        verify(vmStatisticsDao, times(2)).updateAllInBatch(statisticsCaptor.capture());
+        assertEquals(Collections.singletonList(changed), statisticsCaptor.getValue());
+    }
+
+    @Test
+    @MockedConfig("changeDetectionConfiguration")
+    public void testUnchangedStatisticsRefreshed() {
+        persister.init();
+        persister.saveVmStatistics(Collections.singletonList(createStatistics(VM_ID_1, 10.0)));
+        now += TimeUnit.SECONDS.toMillis(REFRESH_INTERVAL) - 1;
+        persister.saveVmStatistics(Collections.singletonList(createStatistics(VM_ID_1, 10.0)));
+        verify(vmStatisticsDao).updateAllInBatch(any());
+
+        now += 1;
+        persister.saveVmStatistics(Collections.singletonList(createStatistics(VM_ID_1, 10.0)));
+        verify(vmStatisticsDao, times(2)).updateAllInBatch(any());
+    }
+
+    @Test
+    @MockedConfig("changeDetectionConfiguration")
+    public void testUnchangedNetworkStatisticsWritten() {
+        persister.init();
+        Guid nicId = Guid.newGuid();
+        persister.saveVmNetworkStatistics(Collections.singletonList(createNetworkStatistics(nicId, 1.0)));
+        persister.saveVmNetworkStatistics(Collections.singletonList(createNetworkStatistics(nicId, 2.0)));
+
+        verify(vmNetworkStatisticsDao, times(2)).updateAllInBatch(any());
+        assertEquals(0, persister.getSkippedRows());
+    }
+
+    @Test
+    @MockedConfig("changeDetectionConfiguration")
+    public void testUnchangedDiskImageDynamicSkipped() {
+        persister.init();
+        Guid imageId = Guid.newGuid();
+        persister.saveDiskImageDynamic(Collections.singletonList(
+                new Pair<>(VM_ID_1, createDiskImageDynamic(imageId))));
+        persister.saveDiskImageDynamic(Collections.singletonList(
+                new Pair<>(VM_ID_1, createDiskImageDynamic(imageId))));
+        // the same disk reported by another VM is persisted separately
+        persister.saveDiskImageDynamic(Collections.singletonList(
+                new Pair<>(VM_ID_2, createDiskImageDynamic(imageId))));
+
+        verify(diskImageDynamicDao, times(2)).updateAllDiskImageDynamicWithDiskIdByVmId(any());
+    }
+
+    @Test
+    @MockedConfig("changeDetectionConfiguration")
+    public void testDiscardWritesNextStatistics() {
+        persister.init();
+        persister.saveVmStatistics(Collections.singletonList(createStatistics(VM_ID_1, 10.0)));
+        persister.saveVmNetworkStatistics(Collections.singletonList(createNetworkStatistics(Guid.newGuid(), 1.0)));
+
+        persister.discard(VM_ID_1);
+        persister.saveVmStatistics(Collections.singletonList(createStatistics(VM_ID_1, 10.0)));
+
+        verify(vmStatisticsDao, times(2)).updateAllInBatch(any());
+    }
+
+    private static VmStatistics createStatistics(Guid vmId, double cpuUser) {
+        VmStatistics statistics = createStatistics(vmId);
+        statistics.setCpuUser(cpuUser);
+        statistics.setElapsedTime(cpuUser * 1000);
+        return statistics;
+    }
+
+    private static VmNetworkStatistics createNetworkStatistics(Guid nicId, double sampleTime) {
+        VmNetworkStatistics statistics = new VmNetworkStatistics();
+        statistics.setId(nicId);
+        statistics.setVmId(VM_ID_1);
+        statistics.setSampleTime(sampleTime);
+        return statistics;
+    }
+
+    private static VmStatistics createStatistics(Guid vmId) {
+        VmStatistics statistics = new VmStatistics();
+        statistics.setId(vmId);
+        return statistics;
+    }
+
+    private static DiskImageDynamic createDiskImageDynamic(Guid imageId) {
+        DiskImageDynamic diskImageDynamic = new DiskImageDynamic();
+        diskImageDynamic.setId(imageId);
+        return diskImageDynamic;
+    }
+}
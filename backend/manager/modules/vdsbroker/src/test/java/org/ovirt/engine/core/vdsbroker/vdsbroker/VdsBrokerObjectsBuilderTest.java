@@ -27,27 +27,33 @@ import org.ovirt.engine.core.common.businessentities.network.VmNetworkInterface;
 import org.ovirt.engine.core.common.businessentities.storage.DiskImageDynamic;
 import org.ovirt.engine.core.compat.Guid;
 import org.ovirt.engine.core.utils.serialization.json.JsonObjectDeserializer;
+import org.ovirt.engine.core.vdsbroker.jsonrpc.VmStatsDecoder;
+import org.ovirt.vdsm.jsonrpc.client.JsonRpcResponse;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 
 public class VdsBrokerObjectsBuilderTest {
     private VdsBrokerObjectsBuilder vdsBrokerObjectsBuilder = new VdsBrokerObjectsBuilder();
 
     private static final long SIZE_FOR_DISK_STATS = 100L;
     private static final Guid IMAGE_ID = Guid.createGuidFromString("ed185868-3f9e-4040-a340-e1a64726ebc0");
-    private static final Guid VM_ID = Guid.createGuidFromString("71ca53fb-c223-4b31-926d-de1c2ab0b0a9");
     private static final String DEFAULT_VALUE = "0.00";
+    private static final ObjectMapper mapper = new ObjectMapper();
 
     @Test
     public void testDisksUsages() {
         Object[] disksUsages = initDisksUsageData();
         Map<String, Object> map = setDisksUsage(disksUsages);
-        validateDisksUsagesList(getVmStatistics(), disksUsages, map);
+        validateDisksUsagesList(disksUsages, map);
     }
 
     @Test
     public void testEmptyDisksUsages() {
         Object[] disksUsages = new Object[0];
         Map<String, Object> xml = setDisksUsage(disksUsages);
-        validateDisksUsagesList(getVmStatistics(), disksUsages, xml);
+        validateDisksUsagesList(disksUsages, xml);
     }
 
     @Test
@@ -55,7 +61,7 @@ public class VdsBrokerObjectsBuilderTest {
         Object[] disksUsages = initDisksUsageData();
         disksUsages[1] = new HashMap<>();
         Map<String, Object> xml = setDisksUsage(disksUsages);
-        validateDisksUsagesList(getVmStatistics(), disksUsages, xml);
+        validateDisksUsagesList(disksUsages, xml);
     }
 
     @Test
@@ -63,14 +69,13 @@ public class VdsBrokerObjectsBuilderTest {
         Object[] disksUsages = initDisksUsageData();
         disksUsages[1] = null;
         Map<String, Object> xml = setDisksUsage(disksUsages);
-        validateDisksUsagesList(getVmStatistics(), disksUsages, xml);
+        validateDisksUsagesList(disksUsages, xml);
     }
 
     @Test
     public void testNullDisksUsages() {
-        VmStatistics vmStatistics = getVmStatistics();
         Map<String, Object> xml = setDisksUsage(null);
-        vdsBrokerObjectsBuilder.updateVMStatisticsData(vmStatistics, xml);
+        VmStatistics vmStatistics = vdsBrokerObjectsBuilder.buildVMStatisticsData(toRecord(xml));
         assertNull(vmStatistics.getDisksUsage());
     }
 
@@ -80,7 +85,7 @@ public class VdsBrokerObjectsBuilderTest {
         Map<String, Object> diskData = setDiskData();
         diskData.put(VdsProperties.vm_disk_flush_latency, doubleValue);
         Map<String, Object> xml = setMockForTesting(diskData);
-        List<DiskImageDynamic> disks = vdsBrokerObjectsBuilder.buildVmDiskStatistics(xml);
+        List<DiskImageDynamic> disks = vdsBrokerObjectsBuilder.buildVmDiskStatistics(toRecord(xml));
         assertEquals(new Double("0.000000001"), disks.get(0).getFlushLatency());
     }
 
@@ -90,7 +95,7 @@ public class VdsBrokerObjectsBuilderTest {
         Map<String, Object> diskData = setDiskData();
         diskData.put(VdsProperties.vm_disk_read_latency, doubleValue);
         Map<String, Object> xml = setMockForTesting(diskData);
-        List<DiskImageDynamic> disks = vdsBrokerObjectsBuilder.buildVmDiskStatistics(xml);
+        List<DiskImageDynamic> disks = vdsBrokerObjectsBuilder.buildVmDiskStatistics(toRecord(xml));
         assertEquals(new Double("0.000000002"), disks.get(0).getReadLatency());
     }
 
@@ -100,7 +105,7 @@ public class VdsBrokerObjectsBuilderTest {
         Map<String, Object> diskData = setDiskData();
         diskData.put(VdsProperties.vm_disk_write_latency, doubleValue);
         Map<String, Object> xml = setMockForTesting(diskData);
-        List<DiskImageDynamic> disks = vdsBrokerObjectsBuilder.buildVmDiskStatistics(xml);
+        List<DiskImageDynamic> disks = vdsBrokerObjectsBuilder.buildVmDiskStatistics(toRecord(xml));
         assertEquals(new Double("0.000000003"), disks.get(0).getWriteLatency());
     }
 
@@ -110,7 +115,7 @@ public class VdsBrokerObjectsBuilderTest {
         Map<String, Object> diskData = setDiskData();
         diskData.put(VdsProperties.vm_disk_write_latency, doubleValue);
         Map<String, Object> xml = setMockForTesting(diskData);
-        List<DiskImageDynamic> disks = vdsBrokerObjectsBuilder.buildVmDiskStatistics(xml);
+        List<DiskImageDynamic> disks = vdsBrokerObjectsBuilder.buildVmDiskStatistics(toRecord(xml));
         assertEquals(new Double("1"), disks.get(0).getWriteLatency());
     }
 
@@ -120,7 +125,7 @@ public class VdsBrokerObjectsBuilderTest {
         Map<String, Object> diskData = setDiskData();
         diskData.put(VdsProperties.vm_disk_write_latency, doubleValue);
         Map<String, Object> xml = setMockForTesting(diskData);
-        List<DiskImageDynamic> disks = vdsBrokerObjectsBuilder.buildVmDiskStatistics(xml);
+        List<DiskImageDynamic> disks = vdsBrokerObjectsBuilder.buildVmDiskStatistics(toRecord(xml));
         assertEquals(new Double("0"), disks.get(0).getWriteLatency());
     }
 
@@ -130,7 +135,7 @@ public class VdsBrokerObjectsBuilderTest {
         Map<String, Object> diskData = setDiskData();
         diskData.put(VdsProperties.vm_disk_write_latency, doubleValue);
         Map<String, Object> xml = setMockForTesting(diskData);
-        List<DiskImageDynamic> disks = vdsBrokerObjectsBuilder.buildVmDiskStatistics(xml);
+        List<DiskImageDynamic> disks = vdsBrokerObjectsBuilder.buildVmDiskStatistics(toRecord(xml));
         assertEquals(new Double("999999999"), disks.get(0).getWriteLatency());
     }
 
@@ -141,7 +146,7 @@ public class VdsBrokerObjectsBuilderTest {
         diskData.put(VdsProperties.vm_disk_read_latency, null);
         diskData.put(VdsProperties.vm_disk_flush_latency, null);
         Map<String, Object> xml = setMockForTesting(diskData);
-        List<DiskImageDynamic> disks = vdsBrokerObjectsBuilder.buildVmDiskStatistics(xml);
+        List<DiskImageDynamic> disks = vdsBrokerObjectsBuilder.buildVmDiskStatistics(toRecord(xml));
         assertEquals(disks.get(0).getWriteLatency(), new Double(DEFAULT_VALUE));
         assertEquals(disks.get(0).getReadLatency(), new Double(DEFAULT_VALUE));
         assertEquals(disks.get(0).getFlushLatency(), new Double(DEFAULT_VALUE));
@@ -160,7 +165,7 @@ public class VdsBrokerObjectsBuilderTest {
         diskData.put(VdsProperties.vm_disk_flush_latency, DEFAULT_VALUE);
 
         Map<String, Object> xml = setMockForTesting(diskData);
-        List<DiskImageDynamic> disks = vdsBrokerObjectsBuilder.buildVmDiskStatistics(xml);
+        List<DiskImageDynamic> disks = vdsBrokerObjectsBuilder.buildVmDiskStatistics(toRecord(xml));
         assertNull(disks.get(0).getWriteLatency());
         assertNull(disks.get(0).getReadLatency());
         assertEquals(disks.get(0).getFlushLatency(), new Double(DEFAULT_VALUE));
@@ -244,8 +249,8 @@ public class VdsBrokerObjectsBuilderTest {
         assertEquals(Guid.createGuidFromString(nicId), vmNetworkInterface.getId());
     }
 
-    private void validateDisksUsagesList(VmStatistics vmStatistics, Object[] disksUsages, Map<String, Object> xml) {
-        vdsBrokerObjectsBuilder.updateVMStatisticsData(vmStatistics, xml);
+    private void validateDisksUsagesList(Object[] disksUsages, Map<String, Object> xml) {
+        VmStatistics vmStatistics = vdsBrokerObjectsBuilder.buildVMStatisticsData(toRecord(xml));
         assertEquals(Arrays.asList(disksUsages),
                 new JsonObjectDeserializer().deserializeUnformattedJson(vmStatistics.getDisksUsage(), ArrayList.class));
     }
@@ -273,10 +278,15 @@ public class VdsBrokerObjectsBuilderTest {
         return new VDS();
     }
 
-    private static VmStatistics getVmStatistics() {
-        VmStatistics vmStatistics = new VmStatistics();
-        vmStatistics.setId(VM_ID);
-        return vmStatistics;
+    /**
+     * Decodes the given statistics of a VM the way they are decoded from the response of VDSM.
+     */
+    private static VmStatsRecord toRecord(Map<String, Object> vmStruct) {
+        ObjectNode response = mapper.createObjectNode();
+        response.put("jsonrpc", "2.0");
+        response.put("id", Guid.newGuid().toString());
+        response.putArray("result").add(mapper.<JsonNode> valueToTree(vmStruct));
+        return VmStatsDecoder.decode(JsonRpcResponse.fromJsonNode(response)).infoList[0];
     }
 
     private static Map<String, Object> setDisks(Map<String, Map<String, Object>> disksData) {
@@ -441,7 +451,7 @@ public class VdsBrokerObjectsBuilderTest {
         Map<String, Object> diskData = setDiskData();
         diskData.put(VdsProperties.vm_disk_read_rate, longValue);
         Map<String, Object> xml = setMockForTesting(diskData);
-        List<DiskImageDynamic> disks = vdsBrokerObjectsBuilder.buildVmDiskStatistics(xml);
+        List<DiskImageDynamic> disks = vdsBrokerObjectsBuilder.buildVmDiskStatistics(toRecord(xml));
         assertEquals(2243888802L, disks.get(0).getReadRate());
     }
 
@@ -451,7 +461,7 @@ public class VdsBrokerObjectsBuilderTest {
         Map<String, Object> diskData = setDiskData();
         diskData.put(VdsProperties.vm_disk_write_rate, longValue);
         Map<String, Object> xml = setMockForTesting(diskData);
-        List<DiskImageDynamic> disks = vdsBrokerObjectsBuilder.buildVmDiskStatistics(xml);
+        List<DiskImageDynamic> disks = vdsBrokerObjectsBuilder.buildVmDiskStatistics(toRecord(xml));
         assertEquals(2649267647L, disks.get(0).getWriteRate());
     }
 
@@ -44,6 +44,23 @@ END;$FUNCTION$
 LANGUAGE plpgsql;
 
 
+-- get All Affinity Groups with members from labels, which contain any of the given VMs
+CREATE OR REPLACE FUNCTION getAllAffinityGroupsWithFlatLabelsByVmIds (v_vm_ids UUID[])
+RETURNS SETOF affinity_groups_with_members_from_labels_view STABLE AS $FUNCTION$
+BEGIN
+    RETURN QUERY
+
+    SELECT groups_view.*
+    FROM affinity_groups_with_members_from_labels_view as groups_view
+    WHERE groups_view.id IN (
+        SELECT members.affinity_group_id
+        FROM affinity_groups_members_flat_labels_view as members
+        WHERE members.vm_id = ANY(v_vm_ids)
+        );
+END;$FUNCTION$
+LANGUAGE plpgsql;
+
+
 -- get All Affinity Groups with members by cluster id
 CREATE OR REPLACE FUNCTION getAllAffinityGroupsByClusterId (v_cluster_id UUID)
 RETURNS SETOF affinity_groups_view STABLE AS $FUNCTION$
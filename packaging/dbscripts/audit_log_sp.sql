@@ -209,6 +209,83 @@ BEGIN
 END;$FUNCTION$
 LANGUAGE plpgsql;
 
+-- Inserts an audit log entry without returning its id, so the entries can be inserted in a batch
+CREATE OR REPLACE FUNCTION InsertAuditLogInBatch (
+    v_log_time TIMESTAMP WITH TIME ZONE,
+    v_log_type INT,
+    v_log_type_name VARCHAR(100),
+    v_severity INT,
+    v_message TEXT,
+    v_user_id UUID,
+    v_user_name VARCHAR(255),
+    v_vds_id UUID,
+    v_vds_name VARCHAR(255),
+    v_vm_id UUID,
+    v_vm_name VARCHAR(255),
+    v_vm_template_id UUID,
+    v_vm_template_name VARCHAR(40),
+    v_storage_pool_id UUID,
+    v_storage_pool_name VARCHAR(40),
+    v_storage_domain_id UUID,
+    v_storage_domain_name VARCHAR(250),
+    v_cluster_id UUID,
+    v_cluster_name VARCHAR(255),
+    v_quota_id UUID,
+    v_quota_name VARCHAR(60),
+    v_correlation_id VARCHAR(50),
+    v_job_id UUID,
+    v_gluster_volume_id UUID,
+    v_gluster_volume_name VARCHAR(1000),
+    v_call_stack TEXT,
+    v_repeatable BOOLEAN,
+    v_brick_id UUID,
+    v_brick_path TEXT,
+    v_origin VARCHAR(25),
+    v_custom_event_id INT,
+    v_event_flood_in_sec INT,
+    v_custom_data TEXT
+    )
+RETURNS VOID AS $FUNCTION$
+BEGIN
+    PERFORM InsertAuditLog(
+        NULL,
+        v_log_time,
+        v_log_type,
+        v_log_type_name,
+        v_severity,
+        v_message,
+        v_user_id,
+        v_user_name,
+        v_vds_id,
+        v_vds_name,
+        v_vm_id,
+        v_vm_name,
+        v_vm_template_id,
+        v_vm_template_name,
+        v_storage_pool_id,
+        v_storage_pool_name,
+        v_storage_domain_id,
+        v_storage_domain_name,
+        v_cluster_id,
+        v_cluster_name,
+        v_quota_id,
+        v_quota_name,
+        v_correlation_id,
+        v_job_id,
+        v_gluster_volume_id,
+        v_gluster_volume_name,
+        v_call_stack,
+        v_repeatable,
+        v_brick_id,
+        v_brick_path,
+        v_origin,
+        v_custom_event_id,
+        v_event_flood_in_sec,
+        v_custom_data
+        );
+END;$FUNCTION$
+LANGUAGE plpgsql;
+
 CREATE OR REPLACE FUNCTION DeleteAuditLog (v_audit_log_id BIGINT)
 RETURNS VOID AS $FUNCTION$
 BEGIN
@@ -431,6 +508,17 @@ DECLARE v_id BIGINT;
 SWV_RowCount INT;
 
 BEGIN
+    IF (IsAuditLogPartitioned()) THEN
+        PERFORM DropAuditLogPartitionsOlderThenDate(v_date);
+
+        -- only the partition holding the given date and the default partition are left to scan
+        DELETE
+        FROM audit_log
+        WHERE LOG_TIME < v_date;
+
+        RETURN;
+    END IF;
+
     -- get first the id from which to remove in order to use index
     SELECT audit_log_id
     INTO v_id
@@ -449,6 +537,154 @@ BEGIN
 END;$FUNCTION$
 LANGUAGE plpgsql;
 
+CREATE OR REPLACE FUNCTION IsAuditLogPartitioned ()
+RETURNS BOOLEAN STABLE AS $FUNCTION$
+BEGIN
+    RETURN EXISTS (
+            SELECT 1
+            FROM pg_partitioned_table
+            WHERE partrelid = 'audit_log'::regclass
+            );
+END;$FUNCTION$
+LANGUAGE plpgsql;
+
+-- Returns the start of the partition of the audit log that holds the given time
+CREATE OR REPLACE FUNCTION GetAuditLogPartitionStart (
+    v_time TIMESTAMP WITH TIME ZONE,
+    v_partition_days INT
+    )
+RETURNS TIMESTAMP WITH TIME ZONE STABLE AS $FUNCTION$
+BEGIN
+    RETURN (
+            DATE '2000-01-01' + ((v_time::DATE - DATE '2000-01-01') / v_partition_days) * v_partition_days
+            )::TIMESTAMP WITH TIME ZONE;
+END;$FUNCTION$
+LANGUAGE plpgsql;
+
+-- Returns the range partitions of the audit log, with the upper bound of each
+CREATE OR REPLACE FUNCTION GetAuditLogPartitions ()
+RETURNS TABLE (
+    partition_name NAME,
+    range_end TIMESTAMP WITH TIME ZONE
+    ) STABLE AS $FUNCTION$
+BEGIN
+    RETURN QUERY
+
+    SELECT c.relname,
+        substring(pg_get_expr(c.relpartbound, c.oid) FROM 'TO \(''([^'']+)''\)')::TIMESTAMP WITH TIME ZONE
+    FROM pg_inherits i
+    INNER JOIN pg_class c
+        ON c.oid = i.inhrelid
+    WHERE i.inhparent = 'audit_log'::regclass
+        AND pg_get_expr(c.relpartbound, c.oid) <> 'DEFAULT';
+END;$FUNCTION$
+LANGUAGE plpgsql;
+
+-- Creates the range partitions of the audit log up to the given date. The new partitions start after the entries kept
+-- in the default partition, the entries which don't fall into any of the range partitions, so these are never moved.
+CREATE OR REPLACE FUNCTION CreateAuditLogPartitions (
+    v_until TIMESTAMP WITH TIME ZONE,
+    v_partition_days INT
+    )
+RETURNS VOID AS $FUNCTION$
+DECLARE v_start TIMESTAMP WITH TIME ZONE;
+
+v_end TIMESTAMP WITH TIME ZONE;
+
+v_default_end TIMESTAMP WITH TIME ZONE;
+
+v_partition_name NAME;
+
+BEGIN
+    IF (NOT IsAuditLogPartitioned()) THEN
+        RETURN;
+    END IF;
+
+    -- no entries are added to the default partition until the new partitions are created
+    LOCK TABLE audit_log_default IN EXCLUSIVE MODE;
+
+    SELECT MAX(range_end)
+    INTO v_start
+    FROM GetAuditLogPartitions();
+
+    SELECT GetAuditLogPartitionStart(MAX(log_time), v_partition_days) + v_partition_days * INTERVAL '1 day'
+    INTO v_default_end
+    FROM audit_log_default;
+
+    v_start := COALESCE(GREATEST(v_start, v_default_end), GetAuditLogPartitionStart(NOW(), v_partition_days));
+
+    WHILE (v_start <= v_until) LOOP
+        v_end := v_start + v_partition_days * INTERVAL '1 day';
+        v_partition_name := 'audit_log_p' || to_char(v_start, 'YYYYMMDD');
+
+        EXECUTE format('CREATE TABLE %I PARTITION OF audit_log FOR VALUES FROM (%L) TO (%L)',
+            v_partition_name, v_start, v_end);
+
+        v_start := v_end;
+    END LOOP;
+END;$FUNCTION$
+LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION DropAuditLogPartitionsOlderThenDate (v_date TIMESTAMP WITH TIME ZONE)
+RETURNS VOID AS $FUNCTION$
+DECLARE v_partition RECORD;
+
+BEGIN
+    FOR v_partition IN
+        SELECT partition_name,
+            range_end
+        FROM GetAuditLogPartitions()
+        WHERE range_end <= v_date
+    LOOP
+        -- a partition can't be detached while notifications refer to its entries, the notifications of older entries
+        -- of the default partition are removed as well as these entries are removed right after
+        DELETE
+        FROM event_notification_hist
+        WHERE log_time < v_partition.range_end;
+
+        EXECUTE format('ALTER TABLE audit_log DETACH PARTITION %I', v_partition.partition_name);
+        EXECUTE format('DROP TABLE %I', v_partition.partition_name);
+    END LOOP;
+END;$FUNCTION$
+LANGUAGE plpgsql;
+
+DROP TRIGGER
+IF EXISTS check_audit_log_custom_event_id_on_insert
+    ON audit_log;
+
+-- Checks that the origin and the custom event id of an external event are unique. A unique index of the partitioned
+-- audit log has to include the log time, so it can't enforce the uniqueness across the partitions.
+CREATE OR REPLACE FUNCTION check_audit_log_custom_event_id ()
+RETURNS TRIGGER AS $$
+BEGIN
+    -- the insertions of the same external event wait for each other, so each sees the entries committed before it
+    PERFORM pg_advisory_xact_lock(hashtext(NEW.origin), NEW.custom_event_id);
+
+    IF EXISTS (
+            SELECT 1
+            FROM audit_log
+            WHERE origin = NEW.origin
+                AND custom_event_id = NEW.custom_event_id
+                AND origin NOT ILIKE 'ovirt'
+                AND audit_log_id <> NEW.audit_log_id
+            ) THEN
+        RAISE EXCEPTION USING ERRCODE = 'unique_violation',
+            MESSAGE = format('duplicate external event, origin: %s, custom event id: %s',
+                NEW.origin,
+                NEW.custom_event_id);
+    END IF;
+
+    RETURN NEW;
+END;$$
+LANGUAGE plpgsql;
+
+CREATE TRIGGER check_audit_log_custom_event_id_on_insert AFTER
+INSERT
+    ON audit_log
+FOR EACH ROW
+WHEN (NEW.origin NOT ILIKE 'ovirt')
+EXECUTE FUNCTION check_audit_log_custom_event_id();
+
 CREATE OR REPLACE FUNCTION DeleteAuditAlertLogByVdsIDAndType (
     v_vds_id UUID,
     v_log_type INT
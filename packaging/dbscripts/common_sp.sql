@@ -1447,3 +1447,39 @@ BEGIN
     END LOOP;
 END;$FUNCTION$
 LANGUAGE plpgsql;
+
+-- Returns a key identifying the current schema version and the set of stored procedures installed in it.
+-- Used by the engine to decide whether a persisted snapshot of the stored procedures parameters is still valid.
+CREATE OR REPLACE FUNCTION GetStoredProceduresFingerprint ()
+RETURNS VARCHAR AS $FUNCTION$
+BEGIN
+    RETURN (
+            SELECT version
+            FROM schema_version
+            WHERE current = true
+            ORDER BY id LIMIT 1
+            ) || '/' || (
+            SELECT count(*) || '/' || max(p.oid::BIGINT)
+            FROM pg_proc p
+            INNER JOIN pg_namespace n
+                ON n.oid = p.pronamespace
+            WHERE n.nspname = current_schema()
+            );
+END;$FUNCTION$
+LANGUAGE plpgsql STABLE;
+
+-- Returns the names of the stored procedures in the current schema having parameters with default values.
+-- The engine doesn't resolve the parameters of these procedures upfront, so the defaults apply to omitted parameters.
+CREATE OR REPLACE FUNCTION GetStoredProceduresWithDefaultParameters ()
+RETURNS SETOF VARCHAR AS $FUNCTION$
+BEGIN
+    RETURN QUERY
+
+    SELECT DISTINCT lower(p.proname)::VARCHAR
+    FROM pg_proc p
+    INNER JOIN pg_namespace n
+        ON n.oid = p.pronamespace
+    WHERE n.nspname = current_schema()
+        AND p.pronargdefaults > 0;
+END;$FUNCTION$
+LANGUAGE plpgsql STABLE;
@@ -16,6 +16,7 @@ RETURNS VOID AS $FUNCTION$
 BEGIN
     INSERT INTO event_notification_hist (
         audit_log_id,
+        log_time,
         event_name,
         method_type,
         reason,
@@ -24,6 +25,11 @@ BEGIN
         )
     VALUES (
         v_audit_log_id,
+        (
+            SELECT log_time
+            FROM audit_log
+            WHERE audit_log_id = v_audit_log_id
+            ),
         v_event_name,
         v_method_type,
         v_reason,
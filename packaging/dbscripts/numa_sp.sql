@@ -175,6 +175,22 @@ BEGIN
 END;$FUNCTION$
 LANGUAGE plpgsql;
 
+CREATE OR REPLACE FUNCTION GetNumaNodeByVmIds (v_vm_ids UUID[])
+RETURNS SETOF numa_node_cpus_view STABLE AS $FUNCTION$
+BEGIN
+    BEGIN
+        RETURN QUERY
+
+        SELECT numa_node_cpus_view.*
+        FROM numa_node_cpus_view
+        WHERE vm_id = ANY(v_vm_ids)
+        ORDER BY vm_id, numa_node_index ASC;
+    END;
+
+    RETURN;
+END;$FUNCTION$
+LANGUAGE plpgsql;
+
 ----------------------------------------------------------------
 -- [numa_node_cpu_map] Table
 --
@@ -287,6 +303,21 @@ BEGIN
 END;$FUNCTION$
 LANGUAGE plpgsql;
 
+CREATE OR REPLACE FUNCTION GetAssignedNumaNodeInfomationByVmIds (v_vm_ids UUID[])
+RETURNS SETOF numa_node_assignment_view STABLE AS $FUNCTION$
+BEGIN
+    BEGIN
+        RETURN QUERY
+
+        SELECT numa_node_assignment_view.*
+        FROM numa_node_assignment_view
+        WHERE vm_numa_node_vm_id = ANY(v_vm_ids);
+    END;
+
+    RETURN;
+END;$FUNCTION$
+LANGUAGE plpgsql;
+
 ----------------------------------------------------------------
 -- [numa_node_with_cluster_view] View
 --
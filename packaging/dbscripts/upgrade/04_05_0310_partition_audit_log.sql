@@ -0,0 +1,67 @@
+-- Partitions the audit log by the log time, so the audit log cleanup can drop whole expired partitions instead of
+-- deleting their entries one by one. The existing entries are kept in a single partition, audit_log_legacy, which is
+-- dropped once all of its entries expire. New entries are kept in the audit_log_default partition until the audit log
+-- cleanup creates range partitions for them, see AuditLogPartitionDays.
+CREATE FUNCTION tmp_partition_audit_log() RETURNS void AS $$
+DECLARE
+    index_definitions TEXT[];
+    index_definition TEXT;
+    index_name NAME;
+    legacy_end TIMESTAMP WITH TIME ZONE;
+BEGIN
+    -- a foreign key to the partitioned table has to include the log time
+    PERFORM fn_db_add_column('event_notification_hist', 'log_time', 'TIMESTAMP WITH TIME ZONE');
+
+    UPDATE event_notification_hist h
+    SET log_time = a.log_time
+    FROM audit_log a
+    WHERE a.audit_log_id = h.audit_log_id;
+
+    ALTER TABLE event_notification_hist ALTER COLUMN log_time SET NOT NULL;
+    ALTER TABLE event_notification_hist DROP CONSTRAINT fk_event_notification_hist_audit_log;
+
+    ALTER TABLE audit_log DROP CONSTRAINT pk_audit_log;
+
+    -- the indexes of the partitioned table take the definitions and the names of the existing indexes. A unique index
+    -- of a partitioned table has to include the log time, so the unique indexes become regular ones, the uniqueness of
+    -- the external events is checked by the check_audit_log_custom_event_id trigger instead
+    SELECT array_agg(replace(pg_get_indexdef(i.indexrelid), 'CREATE UNIQUE INDEX', 'CREATE INDEX'))
+    INTO index_definitions
+    FROM pg_index i
+    WHERE i.indrelid = 'audit_log'::regclass;
+
+    FOR index_name IN
+        SELECT c.relname
+        FROM pg_index i
+        INNER JOIN pg_class c
+            ON c.oid = i.indexrelid
+        WHERE i.indrelid = 'audit_log'::regclass
+    LOOP
+        EXECUTE format('ALTER INDEX %I RENAME TO %I', index_name, index_name || '_legacy');
+    END LOOP;
+
+    SELECT date_trunc('day', GREATEST(MAX(log_time), NOW())) + INTERVAL '1 day'
+    INTO legacy_end
+    FROM audit_log;
+
+    ALTER TABLE audit_log RENAME TO audit_log_legacy;
+
+    CREATE TABLE audit_log (LIKE audit_log_legacy INCLUDING DEFAULTS) PARTITION BY RANGE (log_time);
+    ALTER TABLE audit_log ADD CONSTRAINT pk_audit_log PRIMARY KEY (audit_log_id, log_time);
+
+    FOREACH index_definition IN ARRAY COALESCE(index_definitions, '{}') LOOP
+        EXECUTE index_definition;
+    END LOOP;
+
+    EXECUTE format('ALTER TABLE audit_log ATTACH PARTITION audit_log_legacy FOR VALUES FROM (MINVALUE) TO (%L)',
+        legacy_end);
+    CREATE TABLE audit_log_default PARTITION OF audit_log DEFAULT;
+
+    ALTER TABLE event_notification_hist ADD CONSTRAINT fk_event_notification_hist_audit_log
+        FOREIGN KEY (audit_log_id, log_time) REFERENCES audit_log(audit_log_id, log_time) ON DELETE CASCADE;
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT tmp_partition_audit_log();
+
+DROP FUNCTION tmp_partition_audit_log();
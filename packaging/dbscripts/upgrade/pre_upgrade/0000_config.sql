@@ -975,6 +975,43 @@ select fn_db_add_config_value('RemainingMacsInPoolWarningThreshold', '10', 'gene
 
 select fn_db_add_config_value('NotificationServiceBoots', '0', 'general');
 
+-- Resolve the stored procedures parameters at startup
+select fn_db_add_config_value('PrecompileStoredProcedures', 'false', 'general');
+
+-- Entity types cached by the DAOs and the time to live of their entities, in seconds
+select fn_db_add_config_value('EntityCacheTimeToLiveInSeconds', '{}', 'general');
+select fn_db_add_config_value('EntityCacheMaxSize', '10000', 'general');
+
+-- Interval of writing the latest VM statistics to the database, 0 writes them on each monitoring cycle
+select fn_db_add_config_value('VmStatisticsPersistIntervalInSeconds', '0', 'general');
+
+-- Interval of writing VM statistics which didn't change to the database, 0 writes them whether they changed or not
+select fn_db_add_config_value('VmStatisticsRefreshIntervalInSeconds', '0', 'general');
+-- Percentage by which the rates, usage percentages and latencies of VM statistics may change and count as unchanged
+select fn_db_add_config_value('VmStatisticsChangeTolerancePercent', '0', 'general');
+
+-- Number of threads evaluating the scheduling policy units concurrently, lower than 2 evaluates them sequentially
+select fn_db_add_config_value('SchedulingParallelism', '0', 'general');
+
+-- Maximal age of the in-memory hosts read by the scheduling, 0 always loads the hosts from the database
+select fn_db_add_config_value('SchedulingResourceViewMaxAgeInSeconds', '0', 'general');
+
+-- Maximal number of audit log events queued for writing in the background, 0 writes the events synchronously
+select fn_db_add_config_value('AuditLogQueueCapacity', '0', 'general');
+
+-- Number of days of audit log kept in each partition of the audit log table, 0 keeps the new entries in the default partition
+select fn_db_add_config_value('AuditLogPartitionDays', '0', 'general');
+
+-- Maximal number of queries generated from search expressions which are cached
+select fn_db_add_config_value('SearchQueryCacheMaxSize', '1000', 'general');
+
+-- Maximal interval of the monitoring of stable hosts, 0 monitors all the hosts in their usual rate
+select fn_db_add_config_value('HostMonitoringMaxIntervalInSeconds', '0', 'general');
+-- Number of refreshes in which a host has to stay stable before its monitoring slows down further
+select fn_db_add_config_value('HostMonitoringStableRefreshesBeforeSlowdown', '10', 'general');
+-- Percentage points by which the CPU and memory usage of a stable host may change
+select fn_db_add_config_value('HostMonitoringUsageChangeTolerancePercent', '10', 'general');
+
 ------------------------------------------------------------------------------------
 --                  Update with override section
 ------------------------------------------------------------------------------------
@@ -175,6 +175,18 @@ BEGIN
 END;$FUNCTION$
 LANGUAGE plpgsql;
 
+CREATE OR REPLACE FUNCTION GetVmDeviceByVmIds (v_vm_ids UUID[])
+RETURNS SETOF vm_device_view STABLE AS $FUNCTION$
+BEGIN
+    RETURN QUERY
+
+    SELECT *
+    FROM vm_device_view
+    WHERE vm_id = ANY(v_vm_ids)
+    ORDER BY vm_id, device_id;
+END;$FUNCTION$
+LANGUAGE plpgsql;
+
 CREATE OR REPLACE FUNCTION GetVmDeviceByVmIdAndType (
     v_vm_id UUID,
     v_type VARCHAR(30)